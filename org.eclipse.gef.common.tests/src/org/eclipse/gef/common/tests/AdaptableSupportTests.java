@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2016 itemis AG and others.
+ * Copyright (c) 2011, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -14,10 +14,19 @@ package org.eclipse.gef.common.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.gef.common.adapt.AdaptableSupport;
 import org.eclipse.gef.common.adapt.AdapterKey;
@@ -228,6 +237,85 @@ public class AdaptableSupportTests {
 
 	}
 
+	@Test
+	public void retrievalAfterSetAndUnset() {
+		AdaptableSupportWrapper td = new AdaptableSupportWrapper();
+		ParameterType1 adapter1 = new ParameterType1();
+		ParameterType1 adapter2 = new ParameterType1();
+
+		// perform lookups, so that they are cached
+		td.setAdapter(adapter1, "a1");
+		assertEquals(adapter1, td.getAdapter(ParameterType1.class));
+		assertEquals(1, td.getAdapters(Object.class).size());
+		assertNull(td.getAdapter(AdapterKey.get(ParameterType1.class, "a2")));
+
+		// register another adapter -> lookups are ambiguous now
+		td.setAdapter(adapter2, "a2");
+		assertNull(td.getAdapter(ParameterType1.class));
+		assertEquals(2, td.getAdapters(Object.class).size());
+		assertEquals(adapter2,
+				td.getAdapter(AdapterKey.get(ParameterType1.class, "a2")));
+
+		// unregister the first adapter -> lookups are unambiguous again
+		td.unsetAdapter(adapter1);
+		assertEquals(adapter2, td.getAdapter(ParameterType1.class));
+		assertEquals(1, td.getAdapters(Object.class).size());
+		assertNull(td.getAdapter(AdapterKey.get(ParameterType1.class, "a1")));
+	}
+
+	@Test
+	public void retrievalConcurrently() throws Exception {
+		final AdaptableSupportWrapper td = new AdaptableSupportWrapper();
+		final ParameterType1 adapter1 = new ParameterType1();
+		final ParameterType2 adapter2 = new ParameterType2();
+		td.setAdapter(adapter1);
+		td.setAdapter(adapter2);
+
+		// lookups (that are cached) may be performed concurrently
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				results.add(executor.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						return td.getAdapter(ParameterType1.class) == adapter1
+								&& td.getAdapter(ParameterType2.class) == adapter2
+								&& td.getAdapters(Object.class).size() == 2;
+					}
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void retrievalOfAdapterSnapshot() {
+		AdaptableSupportWrapper td = new AdaptableSupportWrapper();
+		ParameterType1 adapter1 = new ParameterType1();
+		td.setAdapter(adapter1, "a1");
+
+		// the same unmodifiable snapshot is returned until the adapters change
+		Map<AdapterKey<? extends Object>, Object> snapshot = td
+				.getAdapters(Object.class);
+		assertSame(snapshot, td.getAdapters(Object.class));
+		try {
+			snapshot.clear();
+			fail("Call succeeded but should have failed");
+		} catch (UnsupportedOperationException e) {
+		}
+
+		// the snapshot is not updated when the adapters change
+		td.setAdapter(new ParameterType1(), "a2");
+		assertEquals(1, snapshot.size());
+		assertNotSame(snapshot, td.getAdapters(Object.class));
+		assertEquals(2, td.getAdapters(Object.class).size());
+	}
+
 	@SuppressWarnings({ "serial", "rawtypes" })
 	@Test
 	public void retrievalOfMultipleAdapters() {
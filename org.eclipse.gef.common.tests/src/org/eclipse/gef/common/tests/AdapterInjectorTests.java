@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -14,6 +14,7 @@ package org.eclipse.gef.common.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.InvocationTargetException;
@@ -408,6 +409,74 @@ public class AdapterInjectorTests {
 				}, "a3")));
 	}
 
+	/**
+	 * Tests that the adapters, which are injected based on the cached adapter
+	 * bindings, match those that are injected when the adapter bindings are
+	 * determined (uncached) for the first time. This includes an adaptable that
+	 * is not registered as an adapter at its adaptable.
+	 */
+	@SuppressWarnings("serial")
+	@Test
+	public void injectAdaptersCached() {
+		Module module = new AbstractModule() {
+			@Override
+			protected void configure() {
+				install(new AdapterInjectionSupport());
+
+				MapBinder<AdapterKey<?>, Object> adapterMapBinder = AdapterMaps
+						.getAdapterMapBinder(binder(), AdapterStore.class);
+				// constructor binding
+				adapterMapBinder.addBinding(AdapterKey
+						.get(new TypeToken<ParameterizedSubType<Integer>>() {
+						}, "a1"))
+						.to(new TypeLiteral<ParameterizedSubType<Integer>>() {
+						});
+				// binding from which no type can be inferred
+				adapterMapBinder.addBinding(AdapterKey.role("a2"))
+						.toProvider(new Provider<RawType>() {
+							@Override
+							public RawType get() {
+								return new RawType();
+							}
+						});
+
+				MapBinder<AdapterKey<?>, Object> boundAdapterMapBinder = AdapterMaps
+						.getAdapterMapBinder(binder(),
+								AdapterStoreBoundAdaptable.class);
+				boundAdapterMapBinder.addBinding(AdapterKey.role("b1"))
+						.to(RawType.class);
+			}
+		};
+
+		// determine adapter bindings uncached
+		Injector injector = Guice.createInjector(module);
+		AdapterStore uncached = injector.getInstance(AdapterStore.class);
+		AdapterStoreBoundAdaptable uncachedBound = injector
+				.getInstance(AdapterStoreBoundAdaptable.class);
+		// adapters are injected when the adaptable is set
+		assertTrue(uncachedBound.getAdapters().isEmpty());
+		uncachedBound.setAdaptable(uncached);
+		assertEquals(2, uncached.getAdapters().size());
+		assertEquals(1, uncachedBound.getAdapters().size());
+
+		// use cached adapter bindings
+		AdapterStore cached = injector.getInstance(AdapterStore.class);
+		AdapterStoreBoundAdaptable cachedBound = injector
+				.getInstance(AdapterStoreBoundAdaptable.class);
+		cachedBound.setAdaptable(cached);
+		assertSameAdapters(uncached, cached);
+		assertSameAdapters(uncachedBound, cachedBound);
+
+		// compare with the adapters injected by another injector
+		injector = Guice.createInjector(module);
+		AdapterStore other = injector.getInstance(AdapterStore.class);
+		AdapterStoreBoundAdaptable otherBound = injector
+				.getInstance(AdapterStoreBoundAdaptable.class);
+		otherBound.setAdaptable(other);
+		assertSameAdapters(cached, other);
+		assertSameAdapters(cachedBound, otherBound);
+	}
+
 	/**
 	 * Tests that adapters, which are bound to an adaptable of a certain role
 	 * are injected to an adaptable, that is itself bound as an adapter with the
@@ -538,6 +607,19 @@ public class AdapterInjectorTests {
 				}, role3)));
 	}
 
+	private void assertSameAdapters(IAdaptable expected, IAdaptable actual) {
+		assertEquals(expected.getAdapters().size(),
+				actual.getAdapters().size());
+		for (Map.Entry<AdapterKey<?>, Object> entry : expected.getAdapters()
+				.entrySet()) {
+			// the adapter keys include the (inferred) adapter types
+			Object adapter = actual.getAdapters().get(entry.getKey());
+			assertNotNull(adapter);
+			assertNotSame(entry.getValue(), adapter);
+			assertEquals(entry.getValue().getClass(), adapter.getClass());
+		}
+	}
+
 	protected List<String> performInjection(AdapterStore adaptable,
 			Module module) throws NoSuchMethodException, IllegalAccessException,
 			InvocationTargetException {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,15 @@
 package org.eclipse.gef.common.adapt;
 
 import java.beans.PropertyChangeSupport;
+import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.gef.common.beans.property.ReadOnlyMapWrapperEx;
 import org.eclipse.gef.common.dispose.IDisposable;
@@ -33,6 +37,17 @@ import javafx.collections.ObservableMap;
  * all methods defined by {@link IAdaptable}, while not formally implementing
  * the interface, and can thus be used by a source {@link IAdaptable} as a
  * delegate.
+ * <p>
+ * Adapter lookups are served from an index, which is keyed by the requested
+ * type and role. It memoizes which registered adapters 'match' a lookup, so
+ * that repeated lookups do not need to re-evaluate the assignability of the
+ * registered adapter keys. The index is invalidated wholesale, i.e. all
+ * memoized lookups (not only the affected ones) are discarded whenever an
+ * adapter is set or unset, so that they have to be re-evaluated on demand.
+ * <p>
+ * Lookups may be performed concurrently by multiple threads, as long as no
+ * adapters are set or unset at the same time (the adapters map itself is not
+ * thread-safe).
  *
  * @author anyssen
  *
@@ -44,12 +59,48 @@ import javafx.collections.ObservableMap;
  */
 public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 
+	/**
+	 * The adapters that 'match' a lookup by type key and (optional) role, kept
+	 * as an unmodifiable (sorted) snapshot.
+	 */
+	private static final class AdapterLookup {
+
+		private final Map<AdapterKey<?>, Object> adapters;
+		// the single matching adapter instance (if unambiguous)
+		private final Object adapter;
+
+		public AdapterLookup(TypeToken<?> typeKey, String role,
+				Map<AdapterKey<?>, Object> registeredAdapters) {
+			Map<AdapterKey<?>, Object> matchingAdapters = new TreeMap<>();
+			for (Entry<AdapterKey<?>, Object> entry : registeredAdapters
+					.entrySet()) {
+				AdapterKey<?> key = entry.getKey();
+				if ((role == null || key.getRole().equals(role))
+						&& Types.isAssignable(typeKey, key.getKey())) {
+					matchingAdapters.put(key, entry.getValue());
+				}
+			}
+			adapters = matchingAdapters.isEmpty()
+					? Collections.<AdapterKey<?>, Object> emptyMap()
+					: Collections.unmodifiableMap(matchingAdapters);
+			// an adapter instance may be registered under different keys
+			Set<Object> instances = new HashSet<>(adapters.values());
+			adapter = instances.size() == 1 ? instances.iterator().next()
+					: null;
+		}
+	}
+
 	// XXX: We keep a sorted map of adapters (so activation/deactivation is in
 	// deterministic order)
 	private ObservableMap<AdapterKey<?>, Object> adapters = FXCollections
 			.observableMap(new TreeMap<AdapterKey<?>, Object>());
 	private ObservableMap<AdapterKey<?>, Object> adaptersUnmodifiable;
 	private ReadOnlyMapWrapperEx<AdapterKey<?>, Object> adaptersUnmodifiableProperty;
+	// lookup index (type -> role -> lookup), where the null role is used for
+	// lookups that disregard the role; the maps are never modified but
+	// replaced, so that concurrent lookups do not interfere
+	private final AtomicReference<Map<Type, Map<String, AdapterLookup>>> lookups = new AtomicReference<Map<Type, Map<String, AdapterLookup>>>(
+			new HashMap<Type, Map<String, AdapterLookup>>());
 	private A source;
 
 	/**
@@ -94,7 +145,9 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 	public void dispose() {
 		Map<AdapterKey<?>, Object> oldAdapters = new HashMap<>(adapters);
 		for (AdapterKey<?> key : oldAdapters.keySet()) {
+			invalidateLookups();
 			Object adapter = adapters.remove(key);
+			invalidateLookups();
 			if (adapter != null) {
 				// unbind adapter (if its bound)
 				if (adapter instanceof IAdaptable.Bound) {
@@ -109,6 +162,7 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 		}
 
 		adapters.clear();
+		invalidateLookups();
 		source = null;
 	}
 
@@ -127,22 +181,14 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 	 *
 	 * @see IAdaptable#getAdapter(AdapterKey)
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> T getAdapter(AdapterKey<T> key) {
 		if (adapters.isEmpty()) {
 			return null;
 		}
 
 		// see if we can unambiguously retrieve a matching adapter
-		Map<AdapterKey<? extends T>, T> adaptersForTypeKey = getAdapters(
-				key.getKey(), key.getRole());
-
-		// an adapter instance may be registered under different keys
-		int adapterCount = new HashSet<>(adaptersForTypeKey.values()).size();
-		if (adapterCount == 1) {
-			return adaptersForTypeKey.values().iterator().next();
-		}
-
-		return null;
+		return (T) getLookup(key.getKey().getType(), key.getRole()).adapter;
 	}
 
 	/**
@@ -162,7 +208,7 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 	 * @see IAdaptable#getAdapter(Class)
 	 */
 	public <T> T getAdapter(Class<T> key) {
-		return this.<T> getAdapter(TypeToken.of(key));
+		return getAdapter((Type) key);
 	}
 
 	/**
@@ -184,22 +230,26 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 	 * @see IAdaptable#getAdapter(TypeToken)
 	 */
 	public <T> T getAdapter(TypeToken<T> key) {
+		return getAdapter(key.getType());
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T getAdapter(Type type) {
+		if (adapters.isEmpty()) {
+			return null;
+		}
+
 		// if we have only one adapter (instance) for the given type key
-		// (disregarding the
-		// role), return this one
-		Map<AdapterKey<? extends T>, T> adaptersForTypeKey = getAdapters(key,
-				null);
-
-		// an adapter instance may be registered under different keys
-		int adapterCount = new HashSet<>(adaptersForTypeKey.values()).size();
-		if (adapterCount == 1) {
-			return adaptersForTypeKey.values().iterator().next();
+		// (disregarding the role), return this one
+		AdapterLookup lookup = getLookup(type, null);
+		if (lookup.adapter != null) {
+			return (T) lookup.adapter;
 		}
 
-		if (adapterCount > 1) {
+		if (!lookup.adapters.isEmpty()) {
 			// if we have more than one adapter instance, try to retrieve one
 			// unambiguously by using the default role
-			return getAdapter(AdapterKey.get(key, AdapterKey.DEFAULT_ROLE));
+			return (T) getLookup(type, AdapterKey.DEFAULT_ROLE).adapter;
 		}
 
 		return null;
@@ -254,13 +304,20 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 	 *         {@link AdaptableSupport}, whose {@link AdapterKey}'s
 	 *         {@link TypeToken} key ({@link AdapterKey#getKey()}) refers to the
 	 *         same or a sub-type of the given {@link Class} key, qualified by
-	 *         their respective {@link AdapterKey}s.
+	 *         their respective {@link AdapterKey}s. The returned {@link Map} is
+	 *         an unmodifiable snapshot, which is shared by all callers until
+	 *         the adapters change. It is not updated when the adapters change.
 	 *
 	 * @see IAdaptable#getAdapters(Class)
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> Map<AdapterKey<? extends T>, T> getAdapters(
 			Class<? super T> key) {
-		return getAdapters(TypeToken.of(key));
+		if (adapters.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		return (Map<AdapterKey<? extends T>, T>) (Map<?, ?>) getLookup(key,
+				null).adapters;
 	}
 
 	/**
@@ -277,7 +334,9 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 	 *         {@link AdaptableSupport}, whose {@link AdapterKey}'s
 	 *         {@link TypeToken} key ({@link AdapterKey#getKey()}) refers to the
 	 *         same or a sub-type of the given {@link TypeToken} key, qualified
-	 *         by their respective {@link AdapterKey}s.
+	 *         by their respective {@link AdapterKey}s. The returned {@link Map}
+	 *         is an unmodifiable snapshot, which is shared by all callers until
+	 *         the adapters change. It is not updated when the adapters change.
 	 *
 	 * @see IAdaptable#getAdapters(TypeToken)
 	 */
@@ -287,40 +346,39 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 		if (adapters.isEmpty()) {
 			return Collections.emptyMap();
 		}
-		Map<AdapterKey<? extends T>, T> typeSafeAdapters = new TreeMap<>();
-		for (AdapterKey<?> k : adapters.keySet()) {
-			if (Types.isAssignable(key, k.getKey())) {
-				// check type compliance...
-				typeSafeAdapters.put((AdapterKey<? extends T>) k,
-						(T) adapters.get(k));
-			}
-		}
-		return typeSafeAdapters;
+		return (Map<AdapterKey<? extends T>, T>) (Map<?, ?>) getLookup(
+				key.getType(), null).adapters;
 	}
 
-	@SuppressWarnings("unchecked")
-	private <T> Map<AdapterKey<? extends T>, T> getAdapters(
-			TypeToken<? super T> typeKey, String role) {
-		if (typeKey == null) {
+	private AdapterLookup getLookup(Type type, String role) {
+		if (type == null) {
 			throw new IllegalArgumentException("typeKey may not be null");
 		}
-		if (adapters.isEmpty()) {
-			return Collections.emptyMap();
+		Map<Type, Map<String, AdapterLookup>> index = lookups.get();
+		Map<String, AdapterLookup> lookupsForType = index.get(type);
+		AdapterLookup lookup = lookupsForType == null ? null
+				: lookupsForType.get(role);
+		if (lookup == null) {
+			lookup = new AdapterLookup(TypeToken.of(type), role, adapters);
+			// memoize the lookup in a copy of the index, unless the index was
+			// invalidated in the meantime
+			Map<String, AdapterLookup> newLookupsForType = lookupsForType == null
+					? new HashMap<String, AdapterLookup>()
+					: new HashMap<>(lookupsForType);
+			newLookupsForType.put(role, lookup);
+			Map<Type, Map<String, AdapterLookup>> newIndex = new HashMap<>(
+					index);
+			newIndex.put(type, newLookupsForType);
+			lookups.compareAndSet(index, newIndex);
 		}
+		return lookup;
+	}
 
-		Map<AdapterKey<? extends T>, T> typeSafeAdapters = new TreeMap<>();
-		for (AdapterKey<?> k : adapters.keySet()) {
-			if (role == null || k.getRole().equals(role)) {
-				// return all adapters assignable to the given type
-				// key
-				if (Types.isAssignable(typeKey, k.getKey())) {
-					typeSafeAdapters.put((AdapterKey<? extends T>) k,
-							(T) adapters.get(k));
-
-				}
-			}
-		}
-		return typeSafeAdapters;
+	// discard all memoized lookups (to be called before and after the adapters
+	// change); a new (empty) index instance is used, so that a lookup that was
+	// computed in the meantime is not memoized (see getLookup())
+	private void invalidateLookups() {
+		lookups.set(new HashMap<Type, Map<String, AdapterLookup>>());
 	}
 
 	/**
@@ -427,7 +485,13 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 			}
 		}
 
+		// invalidate the lookup index before the adapters map is changed, so
+		// that observers of the adapters map are served consistent lookups,
+		// and afterwards, so that no lookup that was computed from the
+		// previous adapters remains memoized
+		invalidateLookups();
 		adapters.put(key, adapter);
+		invalidateLookups();
 
 		if (adapter instanceof IAdaptable.Bound) {
 			((IAdaptable.Bound<A>) adapter).setAdaptable(source);
@@ -457,7 +521,9 @@ public class AdaptableSupport<A extends IAdaptable> implements IDisposable {
 		// process all keys and remove those pointing to the given adapter
 		for (AdapterKey<?> key : new HashMap<>(adapters).keySet()) {
 			if (adapters.get(key) == adapter) {
+				invalidateLookups();
 				adapters.remove(key);
+				invalidateLookups();
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,8 +16,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.common.adapt.IAdaptable;
@@ -72,6 +75,14 @@ import javafx.beans.value.ObservableValue;
  * infer the actual adapter type from respective bindings, or fall back to the
  * type inferred from the adapter instance (which will not be adequate for
  * generic types because of type erasure) in such a case.
+ * <p>
+ * The applicable adapter (map) bindings only depend on the type of the
+ * {@link IAdaptable} and on its context, i.e. the roles and types of the
+ * elements of its {@link IAdaptable.Bound} chain. They are thus only determined
+ * once per such context path and cached until another {@link Injector} is set.
+ * Likewise, the type of an adapter is only inferred (and validated) once per
+ * adapter binding and adapter class, so that binding issues are only reported
+ * for the first injected adapter.
  *
  * @see AdapterMap
  * @see AdaptableTypeListener
@@ -79,6 +90,53 @@ import javafx.beans.value.ObservableValue;
  */
 public class AdapterInjector implements MembersInjector<IAdaptable> {
 
+	/**
+	 * An adapter binding of an applicable adapter map binding, along with the
+	 * adapter types that were inferred from it per adapter class.
+	 */
+	private static class AdapterBinding {
+
+		private final AdapterKey<?> adapterKey;
+		private final Binding<?> binding;
+		private final TypeToken<?> bindingInferredType;
+		private final Map<Class<?>, TypeToken<?>> adapterTypes = new ConcurrentHashMap<>();
+
+		public AdapterBinding(AdapterKey<?> adapterKey, Binding<?> binding,
+				TypeToken<?> bindingInferredType) {
+			this.adapterKey = adapterKey;
+			this.binding = binding;
+			this.bindingInferredType = bindingInferredType;
+		}
+	}
+
+	/**
+	 * An element of a context path (see
+	 * {@link AdapterInjector#getContext(IAdaptable)}), which stores the adapter
+	 * bindings that are applicable for it, as well as the succeeding elements,
+	 * indexed by role and type, respectively.
+	 */
+	private static class Context {
+
+		private final ConcurrentHashMap<Object, Context> successors = new ConcurrentHashMap<>();
+		private volatile List<AdapterBinding> adapterBindings;
+
+		public Context getSuccessor(Object key) {
+			Context successor = successors.get(key);
+			if (successor == null) {
+				successor = new Context();
+				Context existing = successors.putIfAbsent(key, successor);
+				if (existing != null) {
+					successor = existing;
+				}
+			}
+			return successor;
+		}
+	}
+
+	// context path element for an IAdaptable.Bound that is not registered as
+	// an adapter at its adaptable (e.g. a visual part at its viewer)
+	private static final Object NO_ROLE = new Object();
+
 	private BindingTargetVisitor<Object, TypeToken<?>> ADAPTER_TYPE_INFERRER = new BindingTargetVisitor<Object, TypeToken<?>>() {
 
 		@Override
@@ -208,6 +266,10 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 
 	private final List<IAdaptable> deferredInstances = new ArrayList<>();
 
+	// the root of the context paths, for which the applicable adapter bindings
+	// are cached (see #getContext(IAdaptable))
+	private volatile Context contexts = new Context();
+
 	private Injector injector;
 
 	private final Method method;
@@ -230,6 +292,7 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 	 */
 	public AdapterInjector(final Method method, LoggingMode loggingMode) {
 		this.method = method;
+		this.method.setAccessible(true);
 		this.loggingMode = loggingMode;
 	}
 
@@ -265,12 +328,12 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 
 	/**
 	 * Infers the type of the given adapter, evaluating either the related
-	 * bindings or the runtime type of the adapter.
+	 * bindings or the runtime type of the adapter. The type is only inferred
+	 * (and the binding is only validated) once per adapter class.
 	 *
-	 * @param adapterKey
-	 *            The key of the map binding, which is an {@link AdapterKey}.
-	 * @param binding
-	 *            The binding related to the {@link AdapterKey}.
+	 * @param adapterBinding
+	 *            The {@link AdapterBinding} from which the adapter was
+	 *            obtained.
 	 * @param adapter
 	 *            The adapter instance.
 	 * @param issues
@@ -280,23 +343,27 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 	 * @return A {@link TypeToken} representing the type of the given adapter
 	 *         instance.
 	 */
-	private TypeToken<?> inferAdapterType(AdapterKey<?> adapterKey,
-			Binding<?> binding, Object adapter, List<String> issues) {
-		// try to infer the actual type of the adapter from the binding
-		TypeToken<?> bindingInferredType = binding
-				.acceptTargetVisitor(ADAPTER_TYPE_INFERRER);
-
-		// perform some sanity checks
-		validateAdapterBinding(adapterKey, binding, adapter,
-				bindingInferredType, issues);
-
-		// The key type always takes precedence. Otherwise, if we could
-		// infer a type from the binding, we use that before falling back to
-		// inferring the type from the adapter instance itself.
-		TypeToken<?> bindingKeyType = adapterKey.getKey();
-		return bindingKeyType != null ? bindingKeyType
-				: (bindingInferredType != null ? bindingInferredType
-						: TypeToken.of(adapter.getClass()));
+	private TypeToken<?> inferAdapterType(AdapterBinding adapterBinding,
+			Object adapter, List<String> issues) {
+		TypeToken<?> adapterType = adapterBinding.adapterTypes
+				.get(adapter.getClass());
+		if (adapterType == null) {
+			// perform some sanity checks
+			AdapterKey<?> adapterKey = adapterBinding.adapterKey;
+			TypeToken<?> bindingInferredType = adapterBinding.bindingInferredType;
+			validateAdapterBinding(adapterKey, adapterBinding.binding, adapter,
+					bindingInferredType, issues);
+
+			// The key type always takes precedence. Otherwise, if we could
+			// infer a type from the binding, we use that before falling back
+			// to inferring the type from the adapter instance itself.
+			TypeToken<?> bindingKeyType = adapterKey.getKey();
+			adapterType = bindingKeyType != null ? bindingKeyType
+					: (bindingInferredType != null ? bindingInferredType
+							: TypeToken.of(adapter.getClass()));
+			adapterBinding.adapterTypes.put(adapter.getClass(), adapterType);
+		}
+		return adapterType;
 	}
 
 	/**
@@ -332,60 +399,19 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 		}
 	}
 
-	private boolean isContextApplicable(IAdaptable injectionTarget,
-			BoundAdapter[] injectionContext) {
-		// walk up the adaptable chain and see whether context elements can be
-		// found
-		int contextIndex = 0;
-		String contextRole = injectionContext[contextIndex].adapterRole();
-		TypeToken<?> contextType = Types
-				.deserialize(injectionContext[contextIndex].adapterType());
-
-		IAdaptable chainElement = injectionTarget;
-		while (chainElement instanceof IAdaptable.Bound) {
-			IAdaptable nextChainElement = ((IAdaptable.Bound<?>) chainElement)
-					.getAdaptable();
-			if (nextChainElement == null) {
-				// this should not happen, as we defer injection
-				// until the chain is complete
-				throw new IllegalStateException(
-						"Adapter injection seems to have been performed while the adaptable chain is not complete yet. The adaptable is not yet set.");
-			}
-			if (nextChainElement.getAdapterKey(chainElement) == null) {
-				throw new IllegalStateException(
-						"Adapter injection seems to have been performed while the adaptable chain is not complete yet. The adapter is not yet set.");
-			}
-			if (contextRole.equals(
-					nextChainElement.getAdapterKey(chainElement).getRole())
-					&& Types.isAssignable(contextType,
-							TypeToken.of(chainElement.getClass()))) {
-				contextIndex++;
-				if (contextIndex == injectionContext.length) {
-					return true;
-				}
-				contextRole = injectionContext[contextIndex].adapterRole();
-				contextType = Types.deserialize(
-						injectionContext[contextIndex].adapterType());
-			}
-			chainElement = nextChainElement;
-		}
-		return false;
-	}
-
 	/**
-	 * Performs the adapter map injection for the given adaptable instance.
+	 * Determines the adapter bindings of all adapter map bindings that are
+	 * applicable for the given adaptable, evaluating all bindings of the
+	 * {@link Injector}.
 	 *
 	 * @param adaptable
-	 *            The adaptable to inject adapters into.
-	 * @param issues
-	 *            The list of issues.
+	 *            The adaptable for which to determine the applicable adapter
+	 *            bindings.
+	 * @return The applicable adapter bindings.
 	 */
-	private void performAdapterInjection(final IAdaptable adaptable,
-			List<String> issues) {
-		// XXX: We have to enter the scope before retrieving adapters
-		// System.out.println("Entering scope of " + adaptable);
-		AdaptableScopes.enter(adaptable);
-
+	private List<AdapterBinding> determineAdapterBindings(
+			final IAdaptable adaptable) {
+		List<AdapterBinding> adapterBindings = new ArrayList<>();
 		// check which bindings are applicable
 		for (final Entry<Key<?>, Binding<?>> entry : injector.getAllBindings()
 				.entrySet()) {
@@ -446,39 +472,157 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 			if (adapterMapBinding != null) {
 				for (final Entry<?, Binding<?>> adapterBinding : adapterMapBinding
 						.getEntries()) {
-					AdapterKey<?> adapterKey = (AdapterKey<?>) adapterBinding
-							.getKey();
-					Object adapter = adapterBinding.getValue().getProvider()
-							.get();
-
-					// determine adapter type
-					TypeToken<?> adapterType = inferAdapterType(adapterKey,
-							adapterBinding.getValue(), adapter, issues);
-
-					// inject the adapter
-					try {
-						// System.out.println("Inject adapter " + adapter
-						// + " with type " + adapterType + " for key "
-						// + key + " to adaptable " + adaptable);
-						method.setAccessible(true);
-						method.invoke(adaptable, new Object[] { adapterType,
-								adapter, adapterKey.getRole() });
-					} catch (final IllegalArgumentException e) {
-						e.printStackTrace();
-					} catch (final IllegalAccessException e) {
-						e.printStackTrace();
-					} catch (final InvocationTargetException e) {
-						e.printStackTrace();
-					}
+					// try to infer the actual type of the adapter from the
+					// binding
+					adapterBindings.add(new AdapterBinding(
+							(AdapterKey<?>) adapterBinding.getKey(),
+							adapterBinding.getValue(),
+							adapterBinding.getValue().acceptTargetVisitor(
+									ADAPTER_TYPE_INFERRER)));
 				}
 			}
 		}
+		return Collections.unmodifiableList(adapterBindings);
+	}
+
+	/**
+	 * Returns the adapter bindings that are applicable for the given
+	 * adaptable. The bindings are determined once per context path (see
+	 * {@link #getContext(IAdaptable)}) and cached afterwards.
+	 *
+	 * @param adaptable
+	 *            The adaptable for which to return the applicable adapter
+	 *            bindings.
+	 * @return The applicable adapter bindings.
+	 */
+	private List<AdapterBinding> getAdapterBindings(
+			final IAdaptable adaptable) {
+		Context context = getContext(adaptable);
+		List<AdapterBinding> adapterBindings = context.adapterBindings;
+		if (adapterBindings == null) {
+			adapterBindings = determineAdapterBindings(adaptable);
+			context.adapterBindings = adapterBindings;
+		}
+		return adapterBindings;
+	}
+
+	/**
+	 * Returns the last element of the context path of the given adaptable,
+	 * which consists of the type and role of each element of the
+	 * {@link IAdaptable.Bound} chain, starting at the given adaptable. The
+	 * applicability of adapter map bindings only depends on the context path
+	 * (see {@link #isContextApplicable(IAdaptable, BoundAdapter[])}).
+	 *
+	 * @param adaptable
+	 *            The adaptable for which to determine the context path.
+	 * @return The last element of the context path of the given adaptable.
+	 */
+	private Context getContext(IAdaptable adaptable) {
+		Context context = contexts.getSuccessor(adaptable.getClass());
+		IAdaptable chainElement = adaptable;
+		while (chainElement instanceof IAdaptable.Bound) {
+			IAdaptable nextChainElement = ((IAdaptable.Bound<?>) chainElement)
+					.getAdaptable();
+			if (nextChainElement == null) {
+				// this should not happen, as we defer injection
+				// until the chain is complete
+				throw new IllegalStateException(
+						"Adapter injection seems to have been performed while the adaptable chain is not complete yet. The adaptable is not yet set.");
+			}
+			AdapterKey<?> adapterKey = nextChainElement
+					.getAdapterKey(chainElement);
+			context = context
+					.getSuccessor(adapterKey == null ? NO_ROLE
+							: adapterKey.getRole())
+					.getSuccessor(nextChainElement.getClass());
+			chainElement = nextChainElement;
+		}
+		return context;
+	}
+
+	private boolean isContextApplicable(IAdaptable injectionTarget,
+			BoundAdapter[] injectionContext) {
+		// walk up the adaptable chain and see whether context elements can be
+		// found
+		int contextIndex = 0;
+		String contextRole = injectionContext[contextIndex].adapterRole();
+		TypeToken<?> contextType = Types
+				.deserialize(injectionContext[contextIndex].adapterType());
+
+		IAdaptable chainElement = injectionTarget;
+		while (chainElement instanceof IAdaptable.Bound) {
+			IAdaptable nextChainElement = ((IAdaptable.Bound<?>) chainElement)
+					.getAdaptable();
+			if (nextChainElement == null) {
+				// this should not happen, as we defer injection
+				// until the chain is complete
+				throw new IllegalStateException(
+						"Adapter injection seems to have been performed while the adaptable chain is not complete yet. The adaptable is not yet set.");
+			}
+			if (nextChainElement.getAdapterKey(chainElement) == null) {
+				throw new IllegalStateException(
+						"Adapter injection seems to have been performed while the adaptable chain is not complete yet. The adapter is not yet set.");
+			}
+			if (contextRole.equals(
+					nextChainElement.getAdapterKey(chainElement).getRole())
+					&& Types.isAssignable(contextType,
+							TypeToken.of(chainElement.getClass()))) {
+				contextIndex++;
+				if (contextIndex == injectionContext.length) {
+					return true;
+				}
+				contextRole = injectionContext[contextIndex].adapterRole();
+				contextType = Types.deserialize(
+						injectionContext[contextIndex].adapterType());
+			}
+			chainElement = nextChainElement;
+		}
+		return false;
+	}
+
+	/**
+	 * Performs the adapter map injection for the given adaptable instance.
+	 *
+	 * @param adaptable
+	 *            The adaptable to inject adapters into.
+	 * @param issues
+	 *            The list of issues.
+	 */
+	private void performAdapterInjection(final IAdaptable adaptable,
+			List<String> issues) {
+		// XXX: We have to enter the scope before retrieving adapters
+		// System.out.println("Entering scope of " + adaptable);
+		AdaptableScopes.enter(adaptable);
+
+		// inject the adapters of all applicable bindings
+		for (AdapterBinding adapterBinding : getAdapterBindings(adaptable)) {
+			Object adapter = adapterBinding.binding.getProvider().get();
+
+			// determine adapter type
+			TypeToken<?> adapterType = inferAdapterType(adapterBinding,
+					adapter, issues);
+
+			// inject the adapter
+			try {
+				// System.out.println("Inject adapter " + adapter
+				// + " with type " + adapterType + " for key "
+				// + key + " to adaptable " + adaptable);
+				method.invoke(adaptable, new Object[] { adapterType, adapter,
+						adapterBinding.adapterKey.getRole() });
+			} catch (final IllegalArgumentException e) {
+				e.printStackTrace();
+			} catch (final IllegalAccessException e) {
+				e.printStackTrace();
+			} catch (final InvocationTargetException e) {
+				e.printStackTrace();
+			}
+		}
 
 		// System.out.println("Leaving scope of " + adaptable);
 		AdaptableScopes.leave(adaptable);
 
 		// System.out.println("Finished adapter injection for " + adaptable
-		// + " with bindings " + adapterMapBindings);
+		// + " with bindings " + getAdapterBindings(adaptable));
 	}
 
 	/**
@@ -489,6 +633,10 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 	 */
 	@Inject
 	public void setInjector(final Injector injector) {
+		if (this.injector != injector) {
+			// the applicable adapter bindings depend on the injector
+			contexts = new Context();
+		}
 		this.injector = injector;
 		// perform injections for those instances that had to be exercised
 		// before the injector was available (if there have been any)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 itemis AG and others.
+ * Copyright (c) 2016, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -31,6 +31,8 @@ import org.eclipse.gef.mvc.fx.providers.GeometricOutlineProvider;
 import org.eclipse.gef.mvc.fx.providers.ShapeBoundsProvider;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.behaviors.NestedGraphBehavior;
 import org.eclipse.gef.zest.fx.parts.EdgeLabelPart;
 import org.eclipse.gef.zest.fx.parts.EdgePart;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
@@ -229,6 +231,10 @@ public class DotGraphViewModule extends MvcFxModule {
 				.to(LayoutContext.class);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole())
 				.to(GraphLayoutBehavior.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(LevelOfDetailBehavior.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(NestedGraphBehavior.class);
 	}
 
 	/**
@@ -1222,8 +1222,48 @@ public class InfiniteCanvas extends Region {
 	 *            The child {@link Node} to reveal.
 	 */
 	public void reveal(Node child) {
-		Bounds bounds = sceneToLocal(
-				child.localToScene(child.getBoundsInLocal()));
+		revealBounds(
+				sceneToLocal(child.localToScene(child.getBoundsInLocal())));
+	}
+
+	/**
+	 * Ensures that the specified child {@link Node}s are visible to the user
+	 * by scrolling to their position within a single step, i.e. the union of
+	 * their bounds is revealed as described in {@link #reveal(Node)}. If the
+	 * union does not fit within the current viewport bounds, the first child
+	 * {@link Node} is revealed instead.
+	 *
+	 * @param children
+	 *            The child {@link Node}s to reveal.
+	 */
+	public void reveal(List<? extends Node> children) {
+		if (children.isEmpty()) {
+			return;
+		}
+		Bounds first = null;
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (Node child : children) {
+			Bounds bounds = sceneToLocal(
+					child.localToScene(child.getBoundsInLocal()));
+			if (first == null) {
+				first = bounds;
+			}
+			minX = Math.min(minX, bounds.getMinX());
+			minY = Math.min(minY, bounds.getMinY());
+			maxX = Math.max(maxX, bounds.getMaxX());
+			maxY = Math.max(maxY, bounds.getMaxY());
+		}
+		if (maxX - minX <= getWidth() && maxY - minY <= getHeight()) {
+			revealBounds(new BoundingBox(minX, minY, maxX - minX, maxY - minY));
+		} else {
+			revealBounds(first);
+		}
+	}
+
+	private void revealBounds(Bounds bounds) {
 		if (bounds.getHeight() <= getHeight()) {
 			if (bounds.getMinY() < 0) {
 				setVerticalScrollOffset(
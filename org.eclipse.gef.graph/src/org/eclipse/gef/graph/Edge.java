@@ -293,13 +293,16 @@ public class Edge implements IAttributeStore {
 	 * Sets the {@link Graph} to which this {@link Edge} belongs to the given
 	 * value.
 	 *
+	 * <p>
+	 * This method is only called by the {@link Graph} when this {@link Edge}
+	 * is added to or removed from its {@link Graph#getEdges() edges}, so
+	 * that containment does not need to be verified (which would render bulk
+	 * additions quadratic).
+	 *
 	 * @param graph
 	 *            The new {@link Graph} for this {@link Edge}.
 	 */
 	void setGraph(Graph graph) {
-		if (graph != null && !graph.getEdges().contains(this)) {
-			throw new IllegalArgumentException("Edge is not contained in graph " + graph);
-		}
 		this.graph = graph;
 	}
 
@@ -449,13 +449,16 @@ public class Node implements IAttributeStore {
 	 * Sets the {@link Graph} to which this {@link Node} belongs to the given
 	 * value.
 	 *
+	 * <p>
+	 * This method is only called by the {@link Graph} when this {@link Node}
+	 * is added to or removed from its {@link Graph#getNodes() nodes}, so
+	 * that containment does not need to be verified (which would render bulk
+	 * additions quadratic).
+	 *
 	 * @param graph
 	 *            The new {@link Graph} for this {@link Node}.
 	 */
 	void setGraph(Graph graph) {
-		if (graph != null && !graph.getNodes().contains(this)) {
-			throw new IllegalArgumentException("Node is not contained in graph " + graph);
-		}
 		this.graph = graph;
 	}
 
@@ -10,7 +10,16 @@
  *******************************************************************************/
 package org.eclipse.gef.layout.tests;
 
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.BoxLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
 import org.eclipse.gef.layout.algorithms.TreeLayoutHelper;
 import org.junit.Assert;
 import org.junit.Test;
@@ -83,4 +92,154 @@ public class LayoutAlgorithmTests {
 		Assert.assertFalse(node3.isAncestorOf(node4));
 		Assert.assertFalse(node4.isAncestorOf(node3));
 	}
+
+	private static LayoutContext createContext(Rectangle bounds,
+			Dimension... sizes) {
+		Graph graph = new Graph();
+		for (Dimension size : sizes) {
+			Node node = new Node();
+			LayoutProperties.setSize(node, size);
+			graph.getNodes().add(node);
+		}
+		LayoutProperties.setBounds(graph, bounds);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		return context;
+	}
+
+	@Test
+	public void testBoxLayoutVertical() {
+		LayoutContext context = createContext(new Rectangle(0, 0, 100, 300),
+				new Dimension(10, 10), new Dimension(10, 10),
+				new Dimension(10, 10));
+		context.setLayoutAlgorithm(
+				new BoxLayoutAlgorithm(BoxLayoutAlgorithm.VERTICAL));
+		context.applyLayout(true);
+		Node[] nodes = context.getNodes();
+		// all nodes within one column, in consecutive rows
+		double x = LayoutProperties.getLocation(nodes[0]).x;
+		double y = LayoutProperties.getLocation(nodes[0]).y;
+		for (int i = 1; i < nodes.length; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			Assert.assertEquals(x, location.x, 0.0001);
+			Assert.assertEquals(y + i * 100, location.y, 0.0001);
+		}
+	}
+
+	@Test
+	public void testGridLayoutUniformCells() {
+		LayoutContext context = createContext(new Rectangle(0, 0, 200, 200),
+				new Dimension(10, 10), new Dimension(10, 10),
+				new Dimension(10, 10), new Dimension(10, 10));
+		context.setLayoutAlgorithm(new GridLayoutAlgorithm());
+		context.applyLayout(true);
+		Node[] nodes = context.getNodes();
+		// 2x2 grid with cells of 100x100
+		Point first = LayoutProperties.getLocation(nodes[0]);
+		Assert.assertEquals(first.getTranslated(100, 0),
+				LayoutProperties.getLocation(nodes[1]));
+		Assert.assertEquals(first.getTranslated(0, 100),
+				LayoutProperties.getLocation(nodes[2]));
+		Assert.assertEquals(first.getTranslated(100, 100),
+				LayoutProperties.getLocation(nodes[3]));
+	}
+
+	@Test
+	public void testGridLayoutVariableCells() {
+		LayoutContext context = createContext(new Rectangle(0, 0, 100, 100),
+				new Dimension(60, 10), new Dimension(20, 10),
+				new Dimension(20, 70), new Dimension(20, 10));
+		GridLayoutAlgorithm algorithm = new GridLayoutAlgorithm();
+		algorithm.setVariableCellSizes(true);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		Node[] nodes = context.getNodes();
+		// columns are 60 and 20 wide (spacing 10), rows are 10 and 70 high
+		// (spacing 10)
+		Assert.assertEquals(new Point(35, 10),
+				LayoutProperties.getLocation(nodes[0]));
+		Assert.assertEquals(new Point(85, 10),
+				LayoutProperties.getLocation(nodes[1]));
+		Assert.assertEquals(new Point(35, 60),
+				LayoutProperties.getLocation(nodes[2]));
+		Assert.assertEquals(new Point(85, 60),
+				LayoutProperties.getLocation(nodes[3]));
+	}
+
+	@Test
+	public void testGridLayoutVariableCellsRowPadding() {
+		LayoutContext context = createContext(new Rectangle(0, 0, 100, 100),
+				new Dimension(60, 10), new Dimension(20, 10),
+				new Dimension(20, 70), new Dimension(20, 10));
+		GridLayoutAlgorithm algorithm = new GridLayoutAlgorithm();
+		algorithm.setVariableCellSizes(true);
+		algorithm.setRowPadding(10);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		Node[] nodes = context.getNodes();
+		// rows are 20 and 80 high (including the padding once), which fills
+		// the bounds, so that there is no spacing between rows
+		Assert.assertEquals(new Point(35, 10),
+				LayoutProperties.getLocation(nodes[0]));
+		Assert.assertEquals(new Point(85, 10),
+				LayoutProperties.getLocation(nodes[1]));
+		Assert.assertEquals(new Point(35, 60),
+				LayoutProperties.getLocation(nodes[2]));
+		Assert.assertEquals(new Point(85, 60),
+				LayoutProperties.getLocation(nodes[3]));
+	}
+
+	@Test
+	public void testGridLayoutUniformCellsRowPadding() {
+		// the expected locations are those computed by the grid layout before
+		// it was changed to operate on arrays
+		LayoutContext context = createContext(new Rectangle(0, 0, 100, 100),
+				new Dimension(10, 10), new Dimension(10, 10),
+				new Dimension(10, 10), new Dimension(10, 10));
+		GridLayoutAlgorithm algorithm = new GridLayoutAlgorithm();
+		algorithm.setRowPadding(10);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		Node[] nodes = context.getNodes();
+		Assert.assertEquals(new Point(11, 11),
+				LayoutProperties.getLocation(nodes[0]));
+		Assert.assertEquals(new Point(61, 11),
+				LayoutProperties.getLocation(nodes[1]));
+		Assert.assertEquals(new Point(11, 61),
+				LayoutProperties.getLocation(nodes[2]));
+		Assert.assertEquals(new Point(61, 61),
+				LayoutProperties.getLocation(nodes[3]));
+
+		context = createContext(new Rectangle(0, 0, 300, 200),
+				new Dimension(10, 10), new Dimension(20, 10),
+				new Dimension(10, 30), new Dimension(10, 10),
+				new Dimension(10, 10));
+		algorithm = new GridLayoutAlgorithm();
+		algorithm.setRowPadding(8);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		nodes = context.getNodes();
+		double[][] expected = { { 11.3, 11.3 }, { 116.3, 11.3 },
+				{ 211.3, 21.3 }, { 11.3, 111.3 }, { 111.3, 111.3 } };
+		for (int i = 0; i < nodes.length; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			Assert.assertEquals(expected[i][0], location.x, 0.0001);
+			Assert.assertEquals(expected[i][1], location.y, 0.0001);
+		}
+	}
+
+	@Test
+	public void testGridLayoutResizing() {
+		LayoutContext context = createContext(new Rectangle(0, 0, 100, 100),
+				new Dimension(1, 1), new Dimension(1, 1));
+		GridLayoutAlgorithm algorithm = new GridLayoutAlgorithm();
+		algorithm.setResizing(true);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		for (Node node : context.getNodes()) {
+			Dimension size = LayoutProperties.getSize(node);
+			Assert.assertTrue(size.width > 1);
+			Assert.assertTrue(size.height > 1);
+		}
+	}
 }
@@ -45,6 +45,11 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 	private int rowPadding = 0;
 
 	private boolean resize = false;
+
+	/**
+	 * Whether cells are sized according to the nodes they contain.
+	 */
+	private boolean variableCellSizes = false;
 	/**
 	 * The number of rows.
 	 */
@@ -91,30 +96,144 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 	public void applyLayout(LayoutContext context, boolean clean) {
 		if (!clean)
 			return;
-		numChildren = context.getNodes().length;
+		// retrieve layout relevant nodes once, as the context evaluates its
+		// layout filters for every call
+		Node[] nodes = context.getNodes();
+		numChildren = nodes.length;
 		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
 		calculateGrid(bounds);
 
-		int index = 0;
-		for (int i = 0; i < rows; i++) {
-			for (int j = 0; j < cols; j++) {
-				if ((i * cols + j) < numChildren) {
-					Node node = context.getNodes()[index++];
-					if (resize && LayoutProperties.isResizable(node))
-						LayoutProperties.setSize(node, new Dimension(
-								Math.max(childrenWidth, MIN_ENTITY_SIZE),
-								Math.max(childrenHeight, MIN_ENTITY_SIZE)));
-					Dimension size = LayoutProperties.getSize(node);
-					double xmove = bounds.getX() + j * colWidth + offsetX
-							+ size.width / 2;
-					double ymove = bounds.getY() + i * rowHeight + offsetY
-							+ size.height / 2;
-					if (LayoutProperties.isMovable(node))
-						LayoutProperties.setLocation(node,
-								new Point(xmove, ymove));
+		// read sizes into arrays once (resizing nodes if requested)
+		double[] widths = new double[numChildren];
+		double[] heights = new double[numChildren];
+		boolean[] resized = new boolean[numChildren];
+		for (int i = 0; i < numChildren; i++) {
+			Node node = nodes[i];
+			if (resize && LayoutProperties.isResizable(node)) {
+				widths[i] = Math.max(childrenWidth, MIN_ENTITY_SIZE);
+				heights[i] = Math.max(childrenHeight, MIN_ENTITY_SIZE);
+				resized[i] = true;
+			} else {
+				Dimension size = LayoutProperties.getSize(node);
+				if (size != null) {
+					widths[i] = size.width;
+					heights[i] = size.height;
 				}
 			}
 		}
+
+		// compute locations
+		double[] xs = new double[numChildren];
+		double[] ys = new double[numChildren];
+		if (variableCellSizes) {
+			calculateVariableCellLocations(bounds, widths, heights, xs, ys);
+		} else {
+			calculateUniformCellLocations(bounds, widths, heights, xs, ys);
+		}
+
+		// write back the results in a single pass
+		for (int i = 0; i < numChildren; i++) {
+			Node node = nodes[i];
+			if (resized[i])
+				LayoutProperties.setSize(node,
+						new Dimension(widths[i], heights[i]));
+			if (LayoutProperties.isMovable(node))
+				LayoutProperties.setLocation(node, new Point(xs[i], ys[i]));
+		}
+	}
+
+	/**
+	 * Computes the (center) locations of the nodes, using cells of uniform
+	 * size ({@link #colWidth} x {@link #rowHeight}).
+	 * 
+	 * @param bounds
+	 *            A {@link Rectangle} representing the layout bounds.
+	 * @param widths
+	 *            The widths of the nodes.
+	 * @param heights
+	 *            The heights of the nodes.
+	 * @param xs
+	 *            The array to store the horizontal locations in.
+	 * @param ys
+	 *            The array to store the vertical locations in.
+	 */
+	private void calculateUniformCellLocations(Rectangle bounds,
+			double[] widths, double[] heights, double[] xs, double[] ys) {
+		for (int i = 0; i < numChildren; i++) {
+			int row = i / cols;
+			int col = i % cols;
+			xs[i] = bounds.getX() + col * colWidth + offsetX + widths[i] / 2;
+			ys[i] = bounds.getY() + row * rowHeight + offsetY + heights[i] / 2;
+		}
+	}
+
+	/**
+	 * Computes the (center) locations of the nodes, using cells of variable
+	 * size. The width of a column is determined by the widest node within
+	 * that column, and the height of a row is determined by the highest node
+	 * within that row. Remaining space is distributed evenly between the
+	 * columns and rows. The computation is linear in the number of nodes.
+	 * 
+	 * @param bounds
+	 *            A {@link Rectangle} representing the layout bounds.
+	 * @param widths
+	 *            The widths of the nodes.
+	 * @param heights
+	 *            The heights of the nodes.
+	 * @param xs
+	 *            The array to store the horizontal locations in.
+	 * @param ys
+	 *            The array to store the vertical locations in.
+	 */
+	private void calculateVariableCellLocations(Rectangle bounds,
+			double[] widths, double[] heights, double[] xs, double[] ys) {
+		// determine column widths and row heights
+		double[] colWidths = new double[cols];
+		double[] rowHeights = new double[rows];
+		for (int i = 0; i < numChildren; i++) {
+			int row = i / cols;
+			int col = i % cols;
+			colWidths[col] = Math.max(colWidths[col], widths[i]);
+			// the row padding is included once per row (as for uniform cells),
+			// i.e. half of it above and half of it below the centered nodes
+			rowHeights[row] = Math.max(rowHeights[row],
+					heights[i] + rowPadding);
+		}
+
+		// distribute remaining space
+		double totalWidth = 0;
+		for (double w : colWidths) {
+			totalWidth += w;
+		}
+		double totalHeight = 0;
+		for (double h : rowHeights) {
+			totalHeight += h;
+		}
+		double spacingX = Math.max(0, (bounds.getWidth() - totalWidth) / cols);
+		double spacingY = Math.max(0,
+				(bounds.getHeight() - totalHeight) / rows);
+
+		// compute cell offsets (prefix sums)
+		double[] colOffsets = new double[cols];
+		double x = bounds.getX() + spacingX / 2;
+		for (int col = 0; col < cols; col++) {
+			colOffsets[col] = x;
+			x += colWidths[col] + spacingX;
+		}
+		double[] rowOffsets = new double[rows];
+		double y = bounds.getY() + spacingY / 2;
+		for (int row = 0; row < rows; row++) {
+			rowOffsets[row] = y;
+			y += rowHeights[row] + spacingY;
+		}
+
+		// center nodes within their cells
+		for (int i = 0; i < numChildren; i++) {
+			int row = i / cols;
+			int col = i % cols;
+			xs[i] = colOffsets[col] + colWidths[col] / 2;
+			ys[i] = rowOffsets[row] + rowHeights[row] / 2;
+		}
 	}
 
 	/**
@@ -323,4 +442,27 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 		resize = resizing;
 	}
 
+	/**
+	 * 
+	 * @return true if this algorithm sizes the grid cells according to the
+	 *         nodes they contain
+	 */
+	public boolean isVariableCellSizes() {
+		return variableCellSizes;
+	}
+
+	/**
+	 * Specifies whether the grid cells should be sized according to the nodes
+	 * they contain, i.e. the width of a column is determined by its widest
+	 * node and the height of a row is determined by its highest node. When set
+	 * to <code>false</code> (default), all cells share the same size.
+	 * 
+	 * @param variableCellSizes
+	 *            true if this algorithm should use variable cell sizes
+	 *            (default is false)
+	 */
+	public void setVariableCellSizes(boolean variableCellSizes) {
+		this.variableCellSizes = variableCellSizes;
+	}
+
 }
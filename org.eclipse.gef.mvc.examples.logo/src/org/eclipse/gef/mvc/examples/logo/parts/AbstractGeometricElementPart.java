@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,7 +26,7 @@ public abstract class AbstractGeometricElementPart<N extends Node>
 		@Override
 		public void changed(ObservableValue<? extends Object> observable,
 				Object oldValue, Object newValue) {
-			refreshVisual();
+			scheduleRefreshVisual();
 		}
 	};
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -84,27 +84,27 @@ public class GeometricCurvePart extends AbstractGeometricElementPart<Connection>
 	private final ListChangeListener<Point> wayPointsChangeListener = new ListChangeListener<Point>() {
 		@Override
 		public void onChanged(javafx.collections.ListChangeListener.Change<? extends Point> c) {
-			refreshVisual();
+			scheduleRefreshVisual();
 		}
 	};
 	private final ListChangeListener<Double> dashesChangeListener = new ListChangeListener<Double>() {
 		@Override
 		public void onChanged(javafx.collections.ListChangeListener.Change<? extends Double> c) {
-			refreshVisual();
+			scheduleRefreshVisual();
 		}
 	};
 	private final ChangeListener<RoutingStyle> routingStyleChangeListener = new ChangeListener<RoutingStyle>() {
 		@Override
 		public void changed(ObservableValue<? extends RoutingStyle> observable, RoutingStyle oldValue,
 				RoutingStyle newValue) {
-			refreshVisual();
+			scheduleRefreshVisual();
 		}
 	};
 	private final ChangeListener<Decoration> decorationChangeListener = new ChangeListener<Decoration>() {
 		@Override
 		public void changed(ObservableValue<? extends Decoration> observable, Decoration oldValue,
 				Decoration newValue) {
-			refreshVisual();
+			scheduleRefreshVisual();
 		}
 	};
 
@@ -119,7 +119,7 @@ public class GeometricCurvePart extends AbstractGeometricElementPart<Connection>
 						// CircleSegmentHandlePart when attaching to an
 						// anchorage.
 						for (IVisualPart<? extends Node> anchored : getAnchoredsUnmodifiable()) {
-							anchored.refreshVisual();
+							anchored.scheduleRefreshVisual();
 						}
 					}
 				});
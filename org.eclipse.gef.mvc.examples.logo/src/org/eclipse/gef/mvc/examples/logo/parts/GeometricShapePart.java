@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -49,7 +49,7 @@ public class GeometricShapePart extends AbstractGeometricElementPart<GeometryNod
 	private final ChangeListener<? super Paint> fillObserver = new ChangeListener<Paint>() {
 		@Override
 		public void changed(ObservableValue<? extends Paint> observable, Paint oldValue, Paint newValue) {
-			refreshVisual();
+			scheduleRefreshVisual();
 		}
 	};
 	private final boolean debugging = false;
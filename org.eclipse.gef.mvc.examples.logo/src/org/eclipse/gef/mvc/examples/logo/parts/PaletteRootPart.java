@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 itemis AG and others.
+ * Copyright (c) 2016, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
  *******************************************************************************/
 package org.eclipse.gef.mvc.examples.logo.parts;
 
+import java.util.List;
+
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.parts.LayeredRootPart;
@@ -58,6 +60,15 @@ public class PaletteRootPart extends LayeredRootPart {
 		}
 	}
 
+	@Override
+	protected void doAddChildVisuals(List<? extends IVisualPart<? extends Node>> children, int index) {
+		// wrap each visual individually (see #doAddChildVisual(IVisualPart,
+		// int))
+		for (int i = 0; i < children.size(); i++) {
+			doAddChildVisual(children.get(i), index + i);
+		}
+	}
+
 	@Override
 	protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
 		if (child instanceof IContentPart) {
@@ -66,4 +77,12 @@ public class PaletteRootPart extends LayeredRootPart {
 			super.doRemoveChildVisual(child, index);
 		}
 	}
+
+	@Override
+	protected void doRemoveChildVisuals(List<? extends IVisualPart<? extends Node>> children, int[] indices) {
+		// remove each wrapped visual individually
+		for (int i = children.size() - 1; i >= 0; i--) {
+			doRemoveChildVisual(children.get(i), indices[i]);
+		}
+	}
 }
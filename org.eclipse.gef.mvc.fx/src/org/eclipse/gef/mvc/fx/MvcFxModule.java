@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import org.eclipse.gef.common.adapt.inject.AdaptableScopes;
 import org.eclipse.gef.common.adapt.inject.AdaptableTypeListener;
 import org.eclipse.gef.common.adapt.inject.AdapterInjectionSupport;
 import org.eclipse.gef.common.adapt.inject.AdapterMaps;
+import org.eclipse.gef.mvc.fx.behaviors.ClickableAreaScheduler;
 import org.eclipse.gef.mvc.fx.behaviors.ContentBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.ContentPartPool;
 import org.eclipse.gef.mvc.fx.behaviors.FocusBehavior;
@@ -69,8 +70,10 @@ import org.eclipse.gef.mvc.fx.policies.DeletionPolicy;
 import org.eclipse.gef.mvc.fx.policies.FocusTraversalPolicy;
 import org.eclipse.gef.mvc.fx.policies.ViewportPolicy;
 import org.eclipse.gef.mvc.fx.providers.TransformProvider;
+import org.eclipse.gef.mvc.fx.viewer.ContentPartSpatialIndex;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Binder;
@@ -201,6 +204,24 @@ public class MvcFxModule extends AbstractModule {
 				.to(ViewportPolicy.class);
 	}
 
+	/**
+	 * Adds a binding for {@link ClickableAreaScheduler} to the adapter map
+	 * binder for {@link IViewer}.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IViewer} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindClickableAreaSchedulerAsContentViewerAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(ClickableAreaScheduler.class);
+	}
+
 	/**
 	 * Binds {@link ClickDragGesture} to the {@link IDomain} adaptable scope.
 	 */
@@ -277,6 +298,24 @@ public class MvcFxModule extends AbstractModule {
 				.to(ContentPartPool.class);
 	}
 
+	/**
+	 * Adds a binding for {@link ContentPartSpatialIndex} to the adapter map
+	 * binder for {@link IViewer}.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IViewer} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindContentPartSpatialIndexAsContentViewerAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(ContentPartSpatialIndex.class);
+	}
+
 	/**
 	 * Adds a binding for {@link ContentPolicy}, parameterized by {@link Node} ,
 	 * to the adapter map binder for {@link AbstractContentPart}.
@@ -711,6 +750,7 @@ public class MvcFxModule extends AbstractModule {
 			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
 		bindIContentPartFactoryAsContentViewerAdapter(adapterMapBinder);
 		bindContentPartPoolAsContentViewerAdapter(adapterMapBinder);
+		bindContentPartSpatialIndexAsContentViewerAdapter(adapterMapBinder);
 
 		bindGridModelAsContentViewerAdapter(adapterMapBinder);
 		bindFocusModelAsContentViewerAdapter(adapterMapBinder);
@@ -723,6 +763,8 @@ public class MvcFxModule extends AbstractModule {
 				adapterMapBinder);
 		bindHoverHandlePartFactoryAsContentViewerAdapter(adapterMapBinder);
 		bindSelectionHandlePartFactoryAsContentViewerAdapter(adapterMapBinder);
+		bindVisualRefreshSchedulerAsContentViewerAdapter(adapterMapBinder);
+		bindClickableAreaSchedulerAsContentViewerAdapter(adapterMapBinder);
 	}
 
 	/**
@@ -1007,6 +1049,24 @@ public class MvcFxModule extends AbstractModule {
 				.to(TypeGesture.class);
 	}
 
+	/**
+	 * Adds a binding for {@link VisualRefreshScheduler} to the adapter map
+	 * binder for {@link IViewer}.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IViewer} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindVisualRefreshSchedulerAsContentViewerAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(VisualRefreshScheduler.class);
+	}
+
 	/**
 	 * Adds a binding for {@link ZoomOnPinchSpreadHandler} to the adapter map
 	 * binder for {@link IRootPart}.
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.behaviors;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.IAdaptable;
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.ContentPartSpatialIndex;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.EventHandler;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+
+/**
+ * The {@link ClickableAreaScheduler} is an {@link IViewer} adapter that
+ * regulates the zoom-dependent clickable area width of all connection curves
+ * that are registered by {@link ConnectionClickableAreaBehavior}s. Instead of
+ * observing the zoom level per connection, it observes the zoom level of the
+ * {@link InfiniteCanvas} once and, within the next JavaFX pulse after a zoom
+ * change (as scheduled by the {@link VisualRefreshScheduler} of the viewer),
+ * computes the clickable area width once and applies it to the curves that
+ * are visible within the viewport.
+ * <p>
+ * Scrolling and moving curves (e.g. by a layout or a drag) is not observed.
+ * Instead, the curves that are not up-to-date are updated lazily, i.e. when
+ * the mouse is moved near them (see {@link #updateAt(double, double)}), so
+ * that they are up-to-date before they are hit-tested by a subsequent mouse
+ * press, or when they are explicitly {@link #update(IVisualPart) updated}
+ * (e.g. before hit-testing them programmatically).
+ * <p>
+ * If a {@link ContentPartSpatialIndex} is bound to the viewer (which is the
+ * default), it is used to determine the curves within the viewport or near
+ * the mouse. Otherwise, the bounds of all registered curves that are not
+ * up-to-date are tested.
+ */
+public class ClickableAreaScheduler extends IAdaptable.Bound.Impl<IViewer>
+		implements IDisposable {
+
+	private Map<IVisualPart<? extends Node>, GeometryNode<?>> curves = new HashMap<>();
+	private InfiniteCanvas canvas;
+
+	private final Runnable flushTask = new Runnable() {
+		@Override
+		public void run() {
+			flush();
+		}
+	};
+
+	private final ChangeListener<Number> zoomObserver = new ChangeListener<Number>() {
+		@Override
+		public void changed(ObservableValue<? extends Number> observable,
+				Number oldValue, Number newValue) {
+			zoomChanged();
+		}
+	};
+
+	private final EventHandler<MouseEvent> mouseMovedFilter = new EventHandler<MouseEvent>() {
+		@Override
+		public void handle(MouseEvent event) {
+			updateAt(event.getSceneX(), event.getSceneY());
+		}
+	};
+
+	/**
+	 * Computes the clickable area width for the current zoom level of the
+	 * {@link InfiniteCanvas}.
+	 *
+	 * @return The clickable area width for the current zoom level.
+	 */
+	protected double computeClickableAreaWidth() {
+		double localClickableWidth = ConnectionClickableAreaBehavior.ABSOLUTE_CLICKABLE_WIDTH
+				/ getCanvas().getContentTransform().getMxx();
+		return Math.min(localClickableWidth,
+				ConnectionClickableAreaBehavior.ABSOLUTE_CLICKABLE_WIDTH);
+	}
+
+	@Override
+	public void dispose() {
+		if (!curves.isEmpty()) {
+			unregisterObservers();
+		}
+		unschedule();
+		curves.clear();
+	}
+
+	/**
+	 * Applies the clickable area width for the current zoom level to the
+	 * curves of all registered parts that are visible within the viewport.
+	 */
+	public void flush() {
+		unschedule();
+		if (!curves.isEmpty()) {
+			update(getViewportBounds());
+		}
+	}
+
+	private InfiniteCanvas getCanvas() {
+		if (canvas == null) {
+			canvas = ((InfiniteCanvasViewer) getAdaptable()).getCanvas();
+		}
+		return canvas;
+	}
+
+	/**
+	 * Returns the bounds of the viewport in scene coordinates.
+	 *
+	 * @return The bounds of the viewport in scene coordinates.
+	 */
+	protected Bounds getViewportBounds() {
+		return getCanvas().localToScene(getCanvas().getLayoutBounds());
+	}
+
+	/**
+	 * Registers the given curve of the given {@link IVisualPart}, so that its
+	 * clickable area width is regulated by this {@link ClickableAreaScheduler}.
+	 * The clickable area width for the current zoom level is applied to the
+	 * curve immediately.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} to which the curve belongs.
+	 * @param curve
+	 *            The {@link GeometryNode} whose clickable area width is to be
+	 *            regulated.
+	 */
+	public void register(IVisualPart<? extends Node> part,
+			GeometryNode<?> curve) {
+		if (part == null || curve == null) {
+			throw new IllegalArgumentException(
+					"part and curve may not be null.");
+		}
+		if (curves.isEmpty()) {
+			registerObservers();
+		}
+		curves.put(part, curve);
+		curve.setClickableAreaWidth(computeClickableAreaWidth());
+	}
+
+	/**
+	 * Registers the listener that calls {@link #zoomChanged()} when the zoom
+	 * level of the {@link InfiniteCanvas} changes, as well as the mouse event
+	 * filter that calls {@link #updateAt(double, double)} when the mouse is
+	 * moved. Called when the first curve is registered.
+	 */
+	protected void registerObservers() {
+		InfiniteCanvas canvas = getCanvas();
+		canvas.getContentTransform().mxxProperty().addListener(zoomObserver);
+		canvas.addEventFilter(MouseEvent.MOUSE_MOVED, mouseMovedFilter);
+	}
+
+	// update the visible curves within the next pulse (or immediately if no
+	// scheduler is available)
+	private void schedule() {
+		VisualRefreshScheduler scheduler = getAdaptable()
+				.getAdapter(VisualRefreshScheduler.class);
+		if (scheduler != null) {
+			scheduler.schedule(flushTask);
+		} else {
+			flush();
+		}
+	}
+
+	/**
+	 * Unregisters the curve of the given {@link IVisualPart}, so that its
+	 * clickable area width is no longer regulated by this
+	 * {@link ClickableAreaScheduler}.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} whose curve is to be unregistered.
+	 */
+	public void unregister(IVisualPart<? extends Node> part) {
+		if (curves.remove(part) != null && curves.isEmpty()) {
+			unregisterObservers();
+			unschedule();
+		}
+	}
+
+	/**
+	 * Unregisters the listener and the event filter that were registered by
+	 * {@link #registerObservers()}. Called when the last curve is
+	 * unregistered.
+	 */
+	protected void unregisterObservers() {
+		InfiniteCanvas canvas = getCanvas();
+		canvas.removeEventFilter(MouseEvent.MOUSE_MOVED, mouseMovedFilter);
+		canvas.getContentTransform().mxxProperty()
+				.removeListener(zoomObserver);
+	}
+
+	private void unschedule() {
+		IViewer viewer = getAdaptable();
+		VisualRefreshScheduler scheduler = viewer == null ? null
+				: viewer.getAdapter(VisualRefreshScheduler.class);
+		if (scheduler != null) {
+			scheduler.unschedule(flushTask);
+		}
+	}
+
+	// apply the clickable area width to the curves that are not up-to-date
+	// and intersect the given region (in scene coordinates)
+	private void update(Bounds regionInScene) {
+		double width = computeClickableAreaWidth();
+		ContentPartSpatialIndex index = getAdaptable()
+				.getAdapter(ContentPartSpatialIndex.class);
+		if (index != null) {
+			Bounds region = index.getContentGroup().sceneToLocal(regionInScene);
+			if (region != null) {
+				for (IContentPart<? extends Node> part : index
+						.getContentPartsIntersecting(
+								FX2Geometry.toRectangle(region))) {
+					GeometryNode<?> curve = curves.get(part);
+					if (curve != null
+							&& curve.getClickableAreaWidth() != width) {
+						curve.setClickableAreaWidth(width);
+					}
+				}
+				return;
+			}
+		}
+		for (GeometryNode<?> curve : curves.values()) {
+			// only the bounds of the curves that are not up-to-date are
+			// computed
+			if (curve.getClickableAreaWidth() != width && regionInScene
+					.intersects(curve.localToScene(curve.getBoundsInLocal()))) {
+				curve.setClickableAreaWidth(width);
+			}
+		}
+	}
+
+	/**
+	 * Applies the clickable area width for the current zoom level to the
+	 * curve of the given {@link IVisualPart} immediately, regardless of
+	 * whether it is visible within the viewport or not.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} whose curve is to be updated.
+	 */
+	public void update(IVisualPart<? extends Node> part) {
+		GeometryNode<?> curve = curves.get(part);
+		if (curve != null) {
+			curve.setClickableAreaWidth(computeClickableAreaWidth());
+		}
+	}
+
+	/**
+	 * Applies the clickable area width for the current zoom level to the
+	 * curves near the given position (in scene coordinates) immediately, so
+	 * that they can be hit-tested at that position. Called when the mouse is
+	 * moved over the {@link InfiniteCanvas}.
+	 *
+	 * @param sceneX
+	 *            The x-coordinate of the position in scene coordinates.
+	 * @param sceneY
+	 *            The y-coordinate of the position in scene coordinates.
+	 */
+	public void updateAt(double sceneX, double sceneY) {
+		if (curves.isEmpty()) {
+			return;
+		}
+		double tolerance = ConnectionClickableAreaBehavior.ABSOLUTE_CLICKABLE_WIDTH;
+		update(new BoundingBox(sceneX - tolerance, sceneY - tolerance,
+				2 * tolerance, 2 * tolerance));
+	}
+
+	/**
+	 * Called when the zoom level of the {@link InfiniteCanvas} changes.
+	 * Schedules an update of the curves of all registered parts that are
+	 * visible within the viewport.
+	 */
+	protected void zoomChanged() {
+		schedule();
+	}
+
+}
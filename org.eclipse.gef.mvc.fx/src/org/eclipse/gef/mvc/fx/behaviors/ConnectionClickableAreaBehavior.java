@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,14 +24,20 @@ import javafx.beans.value.ObservableValue;
 /**
  * A behavior that regulates the clickable area width of an {@link IVisualPart}
  * 's connection visual dependent on the zoom level.
+ * <p>
+ * If a {@link ClickableAreaScheduler} is bound to the viewer, the curve of the
+ * connection is registered at it, so that the clickable area width is
+ * computed once per zoom change for all connections (and only applied to the
+ * visible ones). Otherwise, the behavior observes the zoom level itself.
  *
  * @author anyssen
  *
  */
 public class ConnectionClickableAreaBehavior extends AbstractBehavior {
 
-	private static final double ABSOLUTE_CLICKABLE_WIDTH = 8;
+	static final double ABSOLUTE_CLICKABLE_WIDTH = 8;
 	private DoubleBinding clickableAreaBinding;
+	private ClickableAreaScheduler clickableAreaScheduler;
 
 	private final ChangeListener<? super Number> scaleXListener = new ChangeListener<Number>() {
 		@Override
@@ -44,6 +50,13 @@ public class ConnectionClickableAreaBehavior extends AbstractBehavior {
 	@SuppressWarnings("unchecked")
 	@Override
 	protected void doActivate() {
+		clickableAreaScheduler = getHost().getRoot().getViewer()
+				.getAdapter(ClickableAreaScheduler.class);
+		if (clickableAreaScheduler != null) {
+			clickableAreaScheduler.register(getHost(),
+					(GeometryNode<ICurve>) getHost().getVisual().getCurve());
+			return;
+		}
 		clickableAreaBinding = new DoubleBinding() {
 			@Override
 			protected double computeValue() {
@@ -64,6 +77,11 @@ public class ConnectionClickableAreaBehavior extends AbstractBehavior {
 
 	@Override
 	protected void doDeactivate() {
+		if (clickableAreaScheduler != null) {
+			clickableAreaScheduler.unregister(getHost());
+			clickableAreaScheduler = null;
+			return;
+		}
 		clickableAreaBinding.dispose();
 		((InfiniteCanvasViewer) getHost().getRoot().getViewer()).getCanvas()
 				.getContentTransform().mxxProperty()
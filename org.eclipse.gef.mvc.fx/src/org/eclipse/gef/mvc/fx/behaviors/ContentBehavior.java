@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,7 +15,9 @@ package org.eclipse.gef.mvc.fx.behaviors;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -153,65 +155,138 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 	private List<IContentPart<? extends Node>> addAll(
 			IVisualPart<? extends Node> parent,
 			List<? extends Object> contentChildren) {
-		List<IContentPart<? extends Node>> childContentParts = PartUtils
-				.filterParts(parent.getChildrenUnmodifiable(),
-						IContentPart.class);
 		List<IContentPart<? extends Node>> added = new ArrayList<>();
-		// store the existing content parts in a map using the contents as keys
-		Map<Object, IContentPart<? extends Node>> contentPartMap = new HashMap<>();
-		// find all content parts for which no content element exists in
-		// contentChildren, and therefore have to be removed
-		for (IContentPart<? extends Node> contentPart : childContentParts) {
-			// store content part in map
-			contentPartMap.put(contentPart.getContent(), contentPart);
-		}
-		int contentChildrenSize = contentChildren.size();
-		int childContentPartsSize = childContentParts.size();
-		for (int i = 0; i < contentChildrenSize; i++) {
-			Object content = contentChildren.get(i);
-			// Do a quick check to see if the existing content part is at
-			// the correct location in the children list.
-			if (i < childContentPartsSize
-					&& childContentParts.get(i).getContent() == content) {
-				continue;
+		List<? extends IVisualPart<? extends Node>> children = parent
+				.getChildrenUnmodifiable();
+
+		// Determine the content parts for the content children in a single
+		// pass. The existing content part children are checked in order
+		// first, so that the content part map only needs to be consulted for
+		// content children that are not yet in place.
+		List<IContentPart<? extends Node>> contentParts = new ArrayList<>(
+				contentChildren.size());
+		List<IVisualPart<? extends Node>> existing = new ArrayList<>();
+		Set<IContentPart<? extends Node>> existingSet = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		Set<Object> toAddContents = new HashSet<>();
+		int index = 0;
+		for (Object content : contentChildren) {
+			// skip non-content parts (e.g. feedback or handle parts)
+			while (index < children.size()
+					&& !(children.get(index) instanceof IContentPart)) {
+				index++;
 			}
-			// Look to see if the ContentPart is already around but in the
-			// wrong location.
-			IContentPart<? extends Node> contentPart = findOrCreatePartFor(
-					content);
-			if (contentPartMap.containsKey(content)) {
-				// Re-order the existing content part to its designated
-				// location in the children list.
-				// TODO: this is wrong, it has to take into consideration
-				// the visual parts in between
-				parent.reorderChild(contentPart, i);
+			IContentPart<? extends Node> contentPart = index < children.size()
+					? (IContentPart<? extends Node>) children.get(index) : null;
+			if (contentPart != null && contentPart.getContent() == content) {
+				index++;
 			} else {
-				// A ContentPart for this model does not exist yet. Create
-				// and insert one.
-				if (contentPart.getParent() != null) {
-					// TODO: Up to now a model element may only be
-					// controlled by a single content part; unless we
-					// differentiate content elements by context (which is not
-					// covered by the current content part map implementation)
-					// it is an illegal state if we locate a content part, which
-					// is already bound to a parent and whose content is equal
-					// to the one we are processing here.
+				contentPart = findOrCreatePartFor(content);
+			}
+			if (contentPart.getParent() == parent) {
+				if (!existingSet.add(contentPart)) {
 					throw new IllegalStateException(
-							"Located a ContentPart which controls the same (or an equal) content element but is already bound to a parent. A content element may only be controlled by a single ContentPart.");
+							"Located a ContentPart which controls the same (or an equal) content element twice. A content element may only be controlled by a single ContentPart.");
+				}
+				existing.add(contentPart);
+			} else if (contentPart.getParent() != null
+					|| !toAddContents.add(content)) {
+				// (the content parts that are about to be added are not yet
+				// registered in the content part map, so that they have to be
+				// checked separately)
+				// TODO: Up to now a model element may only be
+				// controlled by a single content part; unless we
+				// differentiate content elements by context (which is not
+				// covered by the current content part map implementation)
+				// it is an illegal state if we locate a content part, which
+				// is already bound to a parent and whose content is equal
+				// to the one we are processing here.
+				throw new IllegalStateException(
+						"Located a ContentPart which controls the same (or an equal) content element but is already bound to a parent. A content element may only be controlled by a single ContentPart.");
+			}
+			contentParts.add(contentPart);
+		}
+
+		// Re-order the existing content parts (which occupy the positions of
+		// all content part children, as obsolete ones have been removed
+		// before) with a single permutation.
+		List<IVisualPart<? extends Node>> reordered = new ArrayList<>(
+				children);
+		boolean isReordered = false;
+		int existingIndex = 0;
+		for (int i = 0; i < reordered.size(); i++) {
+			if (reordered.get(i) instanceof IContentPart) {
+				if (existingIndex == existing.size()) {
+					throw new IllegalStateException("The ContentPart "
+							+ reordered.get(i)
+							+ " does not control any of the content children.");
+				}
+				IVisualPart<? extends Node> contentPart = existing
+						.get(existingIndex++);
+				if (reordered.get(i) != contentPart) {
+					reordered.set(i, contentPart);
+					isReordered = true;
+				}
+			}
+		}
+		if (isReordered) {
+			parent.reorderChildren(reordered);
+		}
+
+		// Insert the new content parts in a single pass. Consecutive content
+		// parts that have to be created are collected and added as a batch.
+		List<IContentPart<? extends Node>> toAdd = new ArrayList<>();
+		int addIndex = 0;
+		index = 0;
+		for (IContentPart<? extends Node> contentPart : contentParts) {
+			// skip non-content parts (e.g. feedback or handle parts)
+			while (index < children.size()
+					&& !(children.get(index) instanceof IContentPart)) {
+				index++;
+			}
+			if (contentPart.getParent() == parent) {
+				// add the pending content parts before proceeding
+				index += addChildren(parent, toAdd, addIndex);
+				added.addAll(toAdd);
+				toAdd.clear();
+				// the existing content part is at its designated location
+				index++;
+			} else {
+				if (toAdd.isEmpty()) {
+					addIndex = index;
 				}
-				parent.addChild(contentPart, i);
-				added.add(contentPart);
-				added.addAll(addAll(contentPart,
-						contentPart.getContentChildrenUnmodifiable()));
+				toAdd.add(contentPart);
 			}
 		}
+		addChildren(parent, toAdd, addIndex);
+		added.addAll(toAdd);
+
+		// synchronize the children of the added content parts
+		int addedSize = added.size();
+		for (int i = 0; i < addedSize; i++) {
+			IContentPart<? extends Node> contentPart = added.get(i);
+			added.addAll(addAll(contentPart,
+					contentPart.getContentChildrenUnmodifiable()));
+		}
 		return added;
 	}
 
+	private int addChildren(IVisualPart<? extends Node> parent,
+			List<IContentPart<? extends Node>> toAdd, int index) {
+		if (toAdd.isEmpty()) {
+			return 0;
+		} else if (toAdd.size() == 1) {
+			parent.addChild(toAdd.get(0), index);
+		} else {
+			parent.addChildren(new ArrayList<>(toAdd), index);
+		}
+		return toAdd.size();
+	}
+
 	@SuppressWarnings("unchecked")
 	private List<IContentPart<? extends Node>> detachAll(
 			IVisualPart<? extends Node> parent,
-			final List<? extends Object> contentChildren) {
+			final Set<? extends Object> contentChildren) {
 		List<IContentPart<? extends Node>> toRemove = new ArrayList<>();
 		// only synchronize IContentPart children
 		// find all content parts for which no content element exists in
@@ -222,7 +297,7 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 			// mark for removal
 			if (!contentChildren.contains(contentPart.getContent())) {
 				toRemove.addAll(
-						detachAll(contentPart, Collections.emptyList()));
+						detachAll(contentPart, Collections.emptySet()));
 				toRemove.add(contentPart);
 				synchronizeContentPartAnchorages(contentPart,
 						HashMultimap.create());
@@ -243,7 +318,8 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 	/**
 	 * If the given {@link IContentPart} does neither have a parent nor any
 	 * anchoreds, then it's content is set to <code>null</code> and the part is
-	 * added to the {@link ContentPartPool}.
+	 * added to the {@link ContentPartPool}. If the {@link ContentPartPool} does
+	 * not accept the part, it is disposed.
 	 *
 	 * @param contentPart
 	 *            The {@link IContentPart} that is eventually disposed.
@@ -252,8 +328,11 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 		if (contentPart.getParent() == null
 				&& contentPart.getAnchoredsUnmodifiable().isEmpty()) {
 			// System.out.println("DISPOSE " + contentPart.getContent());
-			getContentPartPool().add(contentPart);
+			boolean pooled = getContentPartPool().add(contentPart);
 			contentPart.setContent(null);
+			if (!pooled) {
+				contentPart.dispose();
+			}
 		} // else {
 			// System.out.println("CANNOT DISPOSE " + contentPart.getContent());
 			// }
@@ -445,10 +524,27 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 					"contentChildren may not be null");
 		}
 
+		// use a hash set (consistent with the content part map) so that the
+		// content parts to remove are determined in linear time
 		List<IContentPart<? extends Node>> toRemove = detachAll(parent,
-				contentChildren);
+				new HashSet<>(contentChildren));
+		// remove the content parts grouped by their parents, so that each
+		// parent's children are only updated once
+		Map<IVisualPart<? extends Node>, List<IContentPart<? extends Node>>> toRemoveByParent = new LinkedHashMap<>();
+		for (IContentPart<? extends Node> contentPart : toRemove) {
+			List<IContentPart<? extends Node>> siblings = toRemoveByParent
+					.get(contentPart.getParent());
+			if (siblings == null) {
+				siblings = new ArrayList<>();
+				toRemoveByParent.put(contentPart.getParent(), siblings);
+			}
+			siblings.add(contentPart);
+		}
+		for (Entry<IVisualPart<? extends Node>, List<IContentPart<? extends Node>>> e : toRemoveByParent
+				.entrySet()) {
+			e.getKey().removeChildren(e.getValue());
+		}
 		for (IContentPart<? extends Node> contentPart : toRemove) {
-			contentPart.getParent().removeChild(contentPart);
 			disposeIfObsolete(contentPart);
 		}
 
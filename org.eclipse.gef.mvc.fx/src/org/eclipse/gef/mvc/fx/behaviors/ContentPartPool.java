@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,14 +11,30 @@
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.behaviors;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import org.eclipse.gef.common.adapt.IAdaptable;
 import org.eclipse.gef.common.dispose.IDisposable;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+
+import javafx.application.Platform;
 import javafx.scene.Node;
 
 /**
@@ -31,37 +47,93 @@ import javafx.scene.Node;
  * motivation behind recycling {@link IContentPart}s is that after an undo the
  * viewer is in the exact same state as before the execution of an operation
  * (which may be important for feedback or handles).
+ * <p>
+ * In addition, pooled {@link IContentPart}s may be re-bound to other content
+ * elements by retrieving them by their type (see {@link #removeAny(Class)}),
+ * so that the construction (and injection) of new {@link IContentPart}s can be
+ * avoided. {@link IContentPart}s of a specific type may also be created in
+ * advance on a background thread (see {@link #prewarm(Class, int)}).
+ * <p>
+ * The number of pooled {@link IContentPart}s is bounded per part type (see
+ * {@link #setCapacity(Class, int)}). If the capacity for a part type is
+ * exceeded, the least recently pooled {@link IContentPart}s are evicted from
+ * the pool and disposed. If the capacity for a part type is zero, or if
+ * memory is {@link #isMemoryLow() low}, {@link IContentPart}s are not added to
+ * the pool at all, so that the caller has to dispose them.
  *
  * @author mwienand
  * @author anyssen
  *
  */
-public class ContentPartPool implements IDisposable {
+public class ContentPartPool extends IAdaptable.Bound.Impl<IViewer>
+		implements IDisposable {
+
+	/**
+	 * The default number of {@link IContentPart}s that are pooled per part
+	 * type.
+	 */
+	public static final int DEFAULT_CAPACITY = 1000;
 
+	/**
+	 * The ratio of free to maximum heap memory below which memory is
+	 * considered to be {@link #isMemoryLow() low}.
+	 */
+	protected static final double LOW_MEMORY_RATIO = 0.1;
+
+	@Inject(optional = true)
+	private Injector injector;
+
+	// pooled parts by content element (parts that were created in advance are
+	// not contained)
 	private Map<Object, IContentPart<? extends Node>> pool = new HashMap<>();
+	// pooled parts by part type, in the order in which they were pooled, mapped
+	// to their content element (or null if created in advance)
+	private Map<Class<?>, LinkedHashMap<IContentPart<? extends Node>, Object>> pooledByType = new HashMap<>();
+	private Map<Class<?>, Integer> capacities = new HashMap<>();
+	private int defaultCapacity = DEFAULT_CAPACITY;
 
 	/**
 	 * Adds an {@link IContentPart} to this pool. The {@link IContentPart} will
 	 * be stored under its content element ({@link IContentPart#getContent()})
 	 * and may later be retrieved back via this content element (see
-	 * {@link #remove(Object)}.
+	 * {@link #remove(Object)}. If the {@link #getCapacity(Class) capacity} for
+	 * the type of the {@link IContentPart} is zero, or if memory is
+	 * {@link #isMemoryLow() low}, the {@link IContentPart} is not added, so
+	 * that it has to be disposed by the caller.
 	 *
 	 * @param part
 	 *            The {@link IContentPart} to add to the pool.
+	 * @return <code>true</code> if the {@link IContentPart} was added to the
+	 *         pool, otherwise <code>false</code>.
 	 */
-	public void add(IContentPart<? extends Node> part) {
-		// TODO: We need to handle the case that a content part was already
-		// registered for the same content element in case we will enable this
-		// in the viewer (e.g. by adding context information to the content part
-		// map).
-		pool.put(part.getContent(), part);
+	public boolean add(IContentPart<? extends Node> part) {
+		List<IContentPart<? extends Node>> evicted;
+		synchronized (this) {
+			if (getCapacity(part.getClass()) == 0 || isMemoryLow()) {
+				return false;
+			}
+			// TODO: We need to handle the case that a content part was
+			// already registered for the same content element in case we will
+			// enable this in the viewer (e.g. by adding context information to
+			// the content part map).
+			Object content = part.getContent();
+			IContentPart<? extends Node> replaced = pool.put(content, part);
+			if (replaced != null && replaced != part) {
+				getPooled(replaced.getClass()).remove(replaced);
+			}
+			getPooled(part.getClass()).put(part, content);
+			evicted = evict(part.getClass());
+		}
+		dispose(evicted);
+		return true;
 	}
 
 	/**
 	 * Clears the pool, that is removes all {@link IContentPart}s.
 	 */
-	public void clear() {
+	public synchronized void clear() {
 		pool.clear();
+		pooledByType.clear();
 	}
 
 	@Override
@@ -72,14 +144,255 @@ public class ContentPartPool implements IDisposable {
 		clear();
 	}
 
+	private void dispose(List<IContentPart<? extends Node>> parts) {
+		for (IContentPart<? extends Node> cp : parts) {
+			cp.dispose();
+		}
+	}
+
+	/**
+	 * Evicts the least recently pooled {@link IContentPart}s of the given type
+	 * that exceed its capacity.
+	 */
+	private List<IContentPart<? extends Node>> evict(Class<?> partType) {
+		List<IContentPart<? extends Node>> evicted = new ArrayList<>();
+		LinkedHashMap<IContentPart<? extends Node>, Object> pooled = getPooled(
+				partType);
+		int capacity = getCapacity(partType);
+		Iterator<Map.Entry<IContentPart<? extends Node>, Object>> it = pooled
+				.entrySet().iterator();
+		while (pooled.size() > capacity && it.hasNext()) {
+			Map.Entry<IContentPart<? extends Node>, Object> eldest = it.next();
+			it.remove();
+			if (eldest.getValue() != null) {
+				pool.remove(eldest.getValue());
+			}
+			evicted.add(eldest.getKey());
+		}
+		return evicted;
+	}
+
+	/**
+	 * Returns the {@link Executor} that is used to inject the adapters of
+	 * {@link IContentPart}s that were created in advance (see
+	 * {@link #prewarm(Class, int)}). As the {@link IContentPart}s are
+	 * temporarily bound to the viewer for this purpose, the returned
+	 * {@link Executor} runs the injection on the JavaFX application thread.
+	 *
+	 * @return The {@link Executor} to use for the adapter injection.
+	 */
+	protected Executor getAdapterInjectionExecutor() {
+		return new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				if (Platform.isFxApplicationThread()) {
+					command.run();
+				} else {
+					Platform.runLater(command);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns the maximum number of {@link IContentPart}s of the given type
+	 * that are pooled.
+	 *
+	 * @param partType
+	 *            The type of {@link IContentPart}.
+	 * @return The capacity for the given part type.
+	 */
+	public synchronized int getCapacity(Class<?> partType) {
+		Integer capacity = capacities.get(partType);
+		return capacity == null ? defaultCapacity : capacity;
+	}
+
+	/**
+	 * Returns the maximum number of {@link IContentPart}s that are pooled per
+	 * part type, unless a specific capacity is set for a part type (see
+	 * {@link #setCapacity(Class, int)}).
+	 *
+	 * @return The default capacity.
+	 */
+	public synchronized int getDefaultCapacity() {
+		return defaultCapacity;
+	}
+
 	/**
 	 * Returns the {@link IContentPart}'s that are contained in this pool.
 	 *
 	 * @return The {@link IContentPart}s that are currently contained in this
 	 *         pool.
 	 */
-	public Collection<IContentPart<? extends Node>> getPooled() {
-		return Collections.unmodifiableCollection(pool.values());
+	public synchronized Collection<IContentPart<? extends Node>> getPooled() {
+		List<IContentPart<? extends Node>> pooled = new ArrayList<>();
+		for (LinkedHashMap<IContentPart<? extends Node>, Object> parts : pooledByType
+				.values()) {
+			pooled.addAll(parts.keySet());
+		}
+		return Collections.unmodifiableCollection(pooled);
+	}
+
+	private LinkedHashMap<IContentPart<? extends Node>, Object> getPooled(
+			Class<?> partType) {
+		LinkedHashMap<IContentPart<? extends Node>, Object> pooled = pooledByType
+				.get(partType);
+		if (pooled == null) {
+			pooled = new LinkedHashMap<>();
+			pooledByType.put(partType, pooled);
+		}
+		return pooled;
+	}
+
+	/**
+	 * Returns the {@link Executor} that is used to create
+	 * {@link IContentPart}s in advance (see {@link #prewarm(Class, int)}).
+	 *
+	 * @return The {@link Executor} to use for pre-warming.
+	 */
+	protected Executor getPrewarmExecutor() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Injects the adapters of the given {@link IContentPart}, which was created
+	 * in advance, by temporarily binding it to the viewer to which this pool
+	 * is bound (if any). Otherwise, the adapters are injected when the
+	 * {@link IContentPart} is first attached to the viewer.
+	 *
+	 * @param part
+	 *            The {@link IContentPart} whose adapters are to be injected.
+	 */
+	protected void injectAdapters(IContentPart<? extends Node> part) {
+		IViewer viewer = getAdaptable();
+		if (viewer != null && part.getViewer() == null) {
+			// adapter injection is deferred until the part is bound to a
+			// viewer; it is not repeated when the part is bound again
+			part.setAdaptable(viewer);
+			part.setAdaptable(null);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the free heap memory falls below
+	 * {@link #LOW_MEMORY_RATIO} of the maximum heap memory, in which case
+	 * {@link IContentPart}s are not added to the pool. Otherwise returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if memory is low, otherwise
+	 *         <code>false</code>.
+	 */
+	protected boolean isMemoryLow() {
+		Runtime runtime = Runtime.getRuntime();
+		long maxMemory = runtime.maxMemory();
+		long freeMemory = maxMemory
+				- (runtime.totalMemory() - runtime.freeMemory());
+		return freeMemory < maxMemory * LOW_MEMORY_RATIO;
+	}
+
+	/**
+	 * Creates {@link IContentPart}s of the given type on a background thread
+	 * (see {@link #getPrewarmExecutor()}), injects their adapters (see
+	 * {@link #injectAdapters(IContentPart)}), and adds them to this pool, so
+	 * that they can later be retrieved via {@link #removeAny(Class)}. The
+	 * number of created parts is limited by the {@link #getCapacity(Class)
+	 * capacity} for the given type.
+	 *
+	 * @param <T>
+	 *            The type of {@link IContentPart}.
+	 * @param partType
+	 *            The type of {@link IContentPart} to create, which is
+	 *            instantiated using the {@link Injector}.
+	 * @param count
+	 *            The number of {@link IContentPart}s to create.
+	 * @return A {@link Future} that is completed when all
+	 *         {@link IContentPart}s are created and added to this pool.
+	 */
+	public <T extends IContentPart<? extends Node>> Future<?> prewarm(
+			final Class<T> partType, final int count) {
+		if (injector == null) {
+			throw new IllegalStateException(
+					"The injector has to be set before pre-warming.");
+		}
+		if (count < 0) {
+			throw new IllegalArgumentException(
+					"The count may not be negative.");
+		}
+		final int available;
+		synchronized (this) {
+			available = Math.max(0, Math.min(count,
+					getCapacity(partType) - getPooled(partType).size()));
+		}
+		return CompletableFuture.supplyAsync(new Supplier<List<T>>() {
+			@Override
+			public List<T> get() {
+				List<T> parts = new ArrayList<>();
+				for (int i = 0; i < available; i++) {
+					parts.add(injector.getInstance(partType));
+				}
+				return parts;
+			}
+		}, getPrewarmExecutor()).thenAcceptAsync(new Consumer<List<T>>() {
+			@Override
+			public void accept(List<T> parts) {
+				for (T part : parts) {
+					injectAdapters(part);
+					boolean pooled;
+					synchronized (ContentPartPool.this) {
+						pooled = getPooled(partType).size() < getCapacity(
+								partType);
+						if (pooled) {
+							getPooled(partType).put(part, null);
+						}
+					}
+					if (!pooled) {
+						part.dispose();
+					}
+				}
+			}
+		}, getAdapterInjectionExecutor());
+	}
+
+	/**
+	 * Retrieves the least recently pooled {@link IContentPart} of the given
+	 * type that is not bound to any content element (i.e. whose content is
+	 * <code>null</code>) and removes it from the pool, so that it can be
+	 * re-bound to a new content element.
+	 * <p>
+	 * The least recently pooled {@link IContentPart} is chosen because it is
+	 * the least likely one to be {@link #remove(Object) revived} for the
+	 * content element it was pooled for (e.g. by an undo), and it would be the
+	 * next one to be evicted anyway. Once re-bound, an {@link IContentPart}
+	 * can no longer be revived for its previous content element, so that a
+	 * new {@link IContentPart} has to be created for it if it re-appears.
+	 *
+	 * @param <T>
+	 *            The type of {@link IContentPart}.
+	 * @param partType
+	 *            The exact type of the {@link IContentPart} to retrieve.
+	 * @return A pooled {@link IContentPart} of the given type, or
+	 *         <code>null</code> if none could be found.
+	 */
+	public synchronized <T extends IContentPart<? extends Node>> T removeAny(
+			Class<T> partType) {
+		LinkedHashMap<IContentPart<? extends Node>, Object> pooled = pooledByType
+				.get(partType);
+		if (pooled == null) {
+			return null;
+		}
+		Iterator<Map.Entry<IContentPart<? extends Node>, Object>> it = pooled
+				.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<IContentPart<? extends Node>, Object> entry = it.next();
+			if (entry.getKey().getContent() == null) {
+				it.remove();
+				if (entry.getValue() != null) {
+					pool.remove(entry.getValue());
+				}
+				return partType.cast(entry.getKey());
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -93,8 +406,58 @@ public class ContentPartPool implements IDisposable {
 	 * @return The part that was retrieved for the given content element, or
 	 *         <code>null</code> if none could be found.
 	 */
-	public IContentPart<? extends Node> remove(Object content) {
-		return pool.remove(content);
+	public synchronized IContentPart<? extends Node> remove(Object content) {
+		IContentPart<? extends Node> part = pool.remove(content);
+		if (part != null) {
+			getPooled(part.getClass()).remove(part);
+		}
+		return part;
+	}
+
+	/**
+	 * Sets the maximum number of {@link IContentPart}s of the given type that
+	 * are pooled. Surplus {@link IContentPart}s are evicted from the pool.
+	 *
+	 * @param partType
+	 *            The type of {@link IContentPart}.
+	 * @param capacity
+	 *            The new capacity for the given part type.
+	 */
+	public void setCapacity(Class<?> partType, int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException(
+					"The capacity may not be negative.");
+		}
+		List<IContentPart<? extends Node>> evicted;
+		synchronized (this) {
+			capacities.put(partType, capacity);
+			evicted = evict(partType);
+		}
+		dispose(evicted);
+	}
+
+	/**
+	 * Sets the maximum number of {@link IContentPart}s that are pooled per
+	 * part type, unless a specific capacity is set for a part type (see
+	 * {@link #setCapacity(Class, int)}). Surplus {@link IContentPart}s are
+	 * evicted from the pool.
+	 *
+	 * @param defaultCapacity
+	 *            The new default capacity.
+	 */
+	public void setDefaultCapacity(int defaultCapacity) {
+		if (defaultCapacity < 0) {
+			throw new IllegalArgumentException(
+					"The capacity may not be negative.");
+		}
+		List<IContentPart<? extends Node>> evicted = new ArrayList<>();
+		synchronized (this) {
+			this.defaultCapacity = defaultCapacity;
+			for (Class<?> partType : pooledByType.keySet()) {
+				evicted.addAll(evict(partType));
+			}
+		}
+		dispose(evicted);
 	}
 
-}
\ No newline at end of file
+}
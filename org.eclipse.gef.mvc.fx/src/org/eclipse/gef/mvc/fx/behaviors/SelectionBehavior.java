@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,11 +13,15 @@
 package org.eclipse.gef.mvc.fx.behaviors;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.common.collections.CollectionUtils;
 import org.eclipse.gef.mvc.fx.models.SelectionModel;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IFeedbackPart;
 import org.eclipse.gef.mvc.fx.parts.IFeedbackPartFactory;
 import org.eclipse.gef.mvc.fx.parts.IHandlePartFactory;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
@@ -28,6 +32,10 @@ import javafx.scene.Node;
 /**
  * The default selection behavior is responsible for creating and removing
  * selection feedback and handles.
+ * <p>
+ * Upon selection changes, feedback is only added or removed for those parts
+ * that entered or left the selection, while handles (which are generated for
+ * the selection as a whole) are re-generated.
  *
  * @author anyssen
  * @author mwienand
@@ -57,8 +65,7 @@ public class SelectionBehavior extends AbstractBehavior {
 					c.getList());
 			List<? extends IContentPart<? extends Node>> oldSelection = CollectionUtils
 					.getPreviousContents(c);
-			removeFeedbackAndHandles(oldSelection);
-			addFeedbackAndHandles(newSelection);
+			updateFeedbackAndHandles(oldSelection, newSelection);
 		}
 	};
 
@@ -133,6 +140,19 @@ public class SelectionBehavior extends AbstractBehavior {
 		return selectionModel;
 	}
 
+	/**
+	 * Refreshes the visuals of the feedback parts that were generated for the
+	 * given {@link IContentPart}.
+	 *
+	 * @param selected
+	 *            The {@link IContentPart} whose feedback is refreshed.
+	 */
+	private void refreshFeedback(IContentPart<? extends Node> selected) {
+		for (IFeedbackPart<? extends Node> fp : getFeedback(selected)) {
+			fp.refreshVisual();
+		}
+	}
+
 	/**
 	 * @param selected
 	 *            List of {@link IContentPart}s for which to remove feedback and
@@ -157,4 +177,72 @@ public class SelectionBehavior extends AbstractBehavior {
 			}
 		}
 	}
+
+	/**
+	 * Updates feedback and handles for a change of the selection from the
+	 * given old selection to the given new selection. Feedback is only removed
+	 * for those parts that left the selection, and only added for those parts
+	 * that entered the selection. The feedback of the previous and the new
+	 * primary selection is refreshed in case the primary selection changed.
+	 * Handles are re-generated for the new selection as a whole.
+	 *
+	 * @param oldSelection
+	 *            The previous selection.
+	 * @param newSelection
+	 *            The new selection.
+	 */
+	protected void updateFeedbackAndHandles(
+			List<? extends IContentPart<? extends Node>> oldSelection,
+			List<? extends IContentPart<? extends Node>> newSelection) {
+		Set<IContentPart<? extends Node>> oldSelectionSet = Collections
+				.newSetFromMap(
+						new IdentityHashMap<IContentPart<? extends Node>, Boolean>());
+		oldSelectionSet.addAll(oldSelection);
+		Set<IContentPart<? extends Node>> newSelectionSet = Collections
+				.newSetFromMap(
+						new IdentityHashMap<IContentPart<? extends Node>, Boolean>());
+		newSelectionSet.addAll(newSelection);
+
+		// remove handles for the old selection
+		if (oldSelection.size() == 1) {
+			removeHandles(oldSelection.get(0));
+		} else if (!oldSelection.isEmpty()) {
+			removeHandles(oldSelection);
+		}
+
+		// remove feedback for the parts that left the selection
+		for (IContentPart<? extends Node> sel : oldSelection) {
+			if (!newSelectionSet.contains(sel)) {
+				removeFeedback(sel);
+			}
+		}
+
+		// add feedback for the parts that entered the selection
+		for (IContentPart<? extends Node> sel : newSelection) {
+			if (!oldSelectionSet.contains(sel)) {
+				addFeedback(sel);
+			}
+		}
+
+		// refresh feedback in case the primary selection changed
+		IContentPart<? extends Node> oldPrimary = oldSelection.isEmpty() ? null
+				: oldSelection.get(0);
+		IContentPart<? extends Node> newPrimary = newSelection.isEmpty() ? null
+				: newSelection.get(0);
+		if (oldPrimary != newPrimary) {
+			if (oldPrimary != null && newSelectionSet.contains(oldPrimary)) {
+				refreshFeedback(oldPrimary);
+			}
+			if (newPrimary != null && oldSelectionSet.contains(newPrimary)) {
+				refreshFeedback(newPrimary);
+			}
+		}
+
+		// add handles for the new selection
+		if (newSelection.size() == 1) {
+			addHandles(newSelection.get(0));
+		} else if (!newSelection.isEmpty()) {
+			addHandles(newSelection);
+		}
+	}
 }
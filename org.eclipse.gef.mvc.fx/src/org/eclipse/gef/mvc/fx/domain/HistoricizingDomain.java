@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,17 @@
 package org.eclipse.gef.mvc.fx.domain;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.WeakHashMap;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.operations.IOperationHistory;
@@ -31,30 +37,54 @@ import org.eclipse.gef.common.activate.IActivatable;
 import org.eclipse.gef.common.adapt.AdaptableSupport;
 import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.common.adapt.inject.InjectAdapters;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.mvc.fx.gestures.IGesture;
 import org.eclipse.gef.mvc.fx.operations.AbstractCompositeOperation;
 import org.eclipse.gef.mvc.fx.operations.ForwardUndoCompositeOperation;
+import org.eclipse.gef.mvc.fx.operations.IMergeableOperation;
 import org.eclipse.gef.mvc.fx.operations.ITransactionalOperation;
 import org.eclipse.gef.mvc.fx.operations.ReverseUndoCompositeOperation;
+import org.eclipse.gef.mvc.fx.parts.IBendableContentPart.BendPoint;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
+import com.google.common.collect.Multimap;
 import com.google.common.reflect.TypeToken;
 import com.google.inject.Inject;
 
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyMapProperty;
 import javafx.collections.ObservableMap;
+import javafx.scene.transform.Transform;
 
 /**
  * The {@link HistoricizingDomain} is an {@link IDomain} that uses an
  * {@link IOperationHistory} for executing {@link ITransactionalOperation
  * ITransactionalOperations}.
+ * <p>
+ * The undo history is bounded by the number of operations as well as by their
+ * {@link #estimateMemoryUsage(IUndoableOperation) estimated memory usage}
+ * (see {@link #setUndoMemoryLimit(long)}), and the oldest operations are
+ * discarded when either limit is exceeded. Moreover, an
+ * {@link IMergeableOperation} that is executed shortly after a compatible
+ * operation (see {@link #setMergeInterval(long)}) is merged with it, so that
+ * both are undone as a single step. An execution transaction that contains a
+ * single operation only is therefore added to the undo history as that
+ * operation.
  *
  * @author anyssen
  */
 public class HistoricizingDomain implements IDomain {
 
 	private static final int DEFAULT_UNDO_LIMIT = 128;
+	private static final long DEFAULT_UNDO_MEMORY_LIMIT = 64L * 1024 * 1024;
+	private static final long DEFAULT_MERGE_INTERVAL = 500;
+	// rough estimates (in bytes) of the memory that is retained by an object
+	// header, a reference, and a (JavaFX or GEF) affine transform
+	private static final long OBJECT_HEADER_SIZE = 16;
+	private static final long REFERENCE_SIZE = 8;
+	private static final long TRANSFORM_SIZE = 128;
 	private static final UncaughtExceptionHandler UNCAUGHT_EXCEPTION_HANDLER = new UncaughtExceptionHandler() {
 		@Override
 		public void uncaughtException(Thread t, Throwable e) {
@@ -74,6 +104,12 @@ public class HistoricizingDomain implements IDomain {
 	private IOperationHistory operationHistory;
 	private IUndoContext undoContext;
 
+	private long undoMemoryLimit = DEFAULT_UNDO_MEMORY_LIMIT;
+	private long mergeInterval = DEFAULT_MERGE_INTERVAL;
+	private Map<IUndoableOperation, Long> estimatedMemoryUsage = new WeakHashMap<>();
+	private IUndoableOperation lastAddedOperation;
+	private long lastAdditionTime;
+
 	private AbstractCompositeOperation transaction;
 	private Set<IGesture> transactionContext = new HashSet<>();
 	private IOperationHistoryListener transactionListener = new IOperationHistoryListener() {
@@ -182,15 +218,83 @@ public class HistoricizingDomain implements IDomain {
 					}
 				}
 				transaction.setLabel(label.toString());
+				// add a single operation directly, so that it can be merged
+				// with the previous one (see IMergeableOperation)
+				ITransactionalOperation operation = transaction.unwrap(false);
 				// only add undo context if we have a content related change
-				applyUndoContext(transaction);
-				getOperationHistory().add(transaction);
+				IUndoableOperation previous = getOperationHistory()
+						.getUndoOperation(getUndoContext());
+				applyUndoContext(operation);
+				getOperationHistory().add(operation);
+				compactUndoHistory(operation, previous);
 			}
 			transaction = null;
 		}
 		transactionContext.remove(tool);
 	}
 
+	/**
+	 * Compacts the undo history after the given operation has been added to
+	 * it. The operation is merged with the given previous operation (i.e. the
+	 * operation that was the most recent one of the undo history before), if
+	 * that was added within the merge interval and is compatible. Afterwards,
+	 * the oldest operations are discarded if the undo memory limit is
+	 * exceeded.
+	 */
+	private void compactUndoHistory(ITransactionalOperation operation,
+			IUndoableOperation previous) {
+		IOperationHistory history = getOperationHistory();
+		long now = System.currentTimeMillis();
+		if (history.getUndoOperation(getUndoContext()) != operation) {
+			// operation was not added (e.g. because its execution failed or
+			// it does not refer to our undo context)
+			return;
+		}
+
+		// merge with the previous operation
+		if (mergeInterval > 0 && previous != null
+				&& previous == lastAddedOperation
+				&& now - lastAdditionTime <= mergeInterval
+				&& operation instanceof IMergeableOperation
+				&& previous instanceof ITransactionalOperation
+				&& ((IMergeableOperation) operation)
+						.canMerge((ITransactionalOperation) previous)) {
+			((IMergeableOperation) operation)
+					.merge((ITransactionalOperation) previous);
+			history.replaceOperation(previous, new IUndoableOperation[0]);
+			if (operation.isNoOp()) {
+				// both operations cancel each other out
+				history.replaceOperation(operation, new IUndoableOperation[0]);
+				lastAddedOperation = null;
+				return;
+			}
+		}
+		lastAddedOperation = operation;
+		lastAdditionTime = now;
+
+		// discard the oldest operations in case the memory limit is exceeded
+		IUndoableOperation[] undoHistory = history
+				.getUndoHistory(getUndoContext());
+		long memoryUsage = 0;
+		for (int i = undoHistory.length - 1; i >= 0; i--) {
+			Long usage = estimatedMemoryUsage.get(undoHistory[i]);
+			if (usage == null) {
+				usage = estimateMemoryUsage(undoHistory[i]);
+				estimatedMemoryUsage.put(undoHistory[i], usage);
+			}
+			memoryUsage += usage;
+			// the most recent operation is always kept
+			if (memoryUsage > undoMemoryLimit
+					&& i < undoHistory.length - 1) {
+				for (int j = i; j >= 0; j--) {
+					history.replaceOperation(undoHistory[j],
+							new IUndoableOperation[0]);
+				}
+				break;
+			}
+		}
+	}
+
 	/**
 	 * Creates a {@link ForwardUndoCompositeOperation} which is used to store
 	 * the operations within an execution transaction. The operation is opened
@@ -231,6 +335,8 @@ public class HistoricizingDomain implements IDomain {
 		transactionContext.clear();
 		transactionContext = null;
 		transaction = null;
+		estimatedMemoryUsage.clear();
+		lastAddedOperation = null;
 
 		// dispose operation history and undo context
 		operationHistory.dispose(undoContext, true, true, true);
@@ -258,6 +364,135 @@ public class HistoricizingDomain implements IDomain {
 		deactivateAdapters();
 	}
 
+	/**
+	 * Estimates the memory (in bytes) that is retained by the given
+	 * {@link IUndoableOperation} while it is part of the undo history. The
+	 * estimate comprises the fields of the operation, the collections, maps,
+	 * and arrays it holds (e.g. the initial and final contents, children, or
+	 * selected parts), as well as the values it captured (e.g. transforms,
+	 * points, dimensions, bend points, or strings). The objects that are
+	 * referenced by those collections (such as parts or contents) are only
+	 * accounted as references, because they are usually retained by the model
+	 * or the viewer as well. The estimate is used to bound the undo history by
+	 * memory (see {@link #setUndoMemoryLimit(long)}). It accounts for the
+	 * operations combined in an {@link AbstractCompositeOperation}. May be
+	 * overwritten by clients to provide more accurate estimates for their own
+	 * operations.
+	 *
+	 * @param operation
+	 *            The {@link IUndoableOperation} for which to estimate the
+	 *            memory usage.
+	 * @return The estimated memory usage of the given operation in bytes.
+	 */
+	protected long estimateMemoryUsage(IUndoableOperation operation) {
+		long usage = OBJECT_HEADER_SIZE;
+		for (Class<?> type = operation.getClass(); type != null
+				&& type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				Class<?> fieldType = field.getType();
+				if (fieldType.isPrimitive()) {
+					usage += getPrimitiveSize(fieldType);
+					continue;
+				}
+				usage += REFERENCE_SIZE;
+				try {
+					field.setAccessible(true);
+					usage += estimatePayloadSize(field.get(operation));
+				} catch (RuntimeException | IllegalAccessException e) {
+					// only the reference can be accounted
+				}
+			}
+		}
+		if (operation instanceof AbstractCompositeOperation) {
+			for (ITransactionalOperation op : ((AbstractCompositeOperation) operation)
+					.getOperations()) {
+				usage += estimateMemoryUsage(op);
+			}
+		}
+		return usage;
+	}
+
+	/**
+	 * Estimates the memory (in bytes) that is retained by the given field
+	 * value of an operation, i.e. by the given collection, map, multimap, or
+	 * array including the values it contains, or by the given value.
+	 */
+	private long estimatePayloadSize(Object payload) {
+		long size = 0;
+		if (payload instanceof Collection) {
+			Collection<?> elements = (Collection<?>) payload;
+			size += OBJECT_HEADER_SIZE + elements.size() * REFERENCE_SIZE;
+			for (Object element : elements) {
+				size += estimateValueSize(element);
+			}
+		} else if (payload instanceof Map || payload instanceof Multimap) {
+			Collection<? extends Entry<?, ?>> entries = payload instanceof Map
+					? ((Map<?, ?>) payload).entrySet()
+					: ((Multimap<?, ?>) payload).entries();
+			size += OBJECT_HEADER_SIZE + entries.size()
+					* (OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE);
+			for (Entry<?, ?> entry : entries) {
+				size += estimateValueSize(entry.getKey())
+						+ estimateValueSize(entry.getValue());
+			}
+		} else if (payload != null && payload.getClass().isArray()) {
+			Class<?> componentType = payload.getClass().getComponentType();
+			int length = Array.getLength(payload);
+			if (componentType.isPrimitive()) {
+				size += OBJECT_HEADER_SIZE
+						+ length * getPrimitiveSize(componentType);
+			} else {
+				size += OBJECT_HEADER_SIZE + length * REFERENCE_SIZE;
+				for (int i = 0; i < length; i++) {
+					size += estimateValueSize(Array.get(payload, i));
+				}
+			}
+		} else {
+			size += estimateValueSize(payload);
+		}
+		return size;
+	}
+
+	/**
+	 * Estimates the memory (in bytes) that is retained by the given value in
+	 * case it is a value that is captured by an operation (such as a
+	 * transform, point, or string). Returns <code>0</code> for all other
+	 * objects (such as parts or contents), which are retained elsewhere.
+	 */
+	private long estimateValueSize(Object value) {
+		if (value instanceof String) {
+			return OBJECT_HEADER_SIZE + 2 * ((String) value).length();
+		} else if (value instanceof Number || value instanceof Boolean
+				|| value instanceof Character) {
+			return OBJECT_HEADER_SIZE + 8;
+		} else if (value instanceof Transform
+				|| value instanceof AffineTransform) {
+			return TRANSFORM_SIZE;
+		} else if (value instanceof Point || value instanceof Dimension) {
+			return OBJECT_HEADER_SIZE + 2 * 8;
+		} else if (value instanceof BendPoint) {
+			return OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE
+					+ estimateValueSize(((BendPoint) value).getPosition());
+		}
+		return 0;
+	}
+
+	// returns the size (in bytes) of a value of the given primitive type
+	private static long getPrimitiveSize(Class<?> primitiveType) {
+		if (primitiveType == long.class || primitiveType == double.class) {
+			return 8;
+		} else if (primitiveType == int.class || primitiveType == float.class) {
+			return 4;
+		} else if (primitiveType == short.class
+				|| primitiveType == char.class) {
+			return 2;
+		}
+		return 1;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -291,8 +526,11 @@ public class HistoricizingDomain implements IDomain {
 			transaction.add(operation);
 		} else {
 			// execute operation directly on operation history
+			IUndoableOperation previous = getOperationHistory()
+					.getUndoOperation(getUndoContext());
 			applyUndoContext(operation);
 			getOperationHistory().execute(operation, monitor, null);
+			compactUndoHistory(operation, previous);
 		}
 	}
 
@@ -333,6 +571,17 @@ public class HistoricizingDomain implements IDomain {
 		return ads.getAdapters(key);
 	}
 
+	/**
+	 * Returns the interval (in milliseconds) within which an
+	 * {@link IMergeableOperation} is merged with a compatible operation that
+	 * was added to the undo history before.
+	 *
+	 * @return The merge interval in milliseconds.
+	 */
+	public long getMergeInterval() {
+		return mergeInterval;
+	}
+
 	/**
 	 * Returns the {@link IOperationHistory} used by this
 	 * {@link HistoricizingDomain} to execute transactions.
@@ -358,6 +607,16 @@ public class HistoricizingDomain implements IDomain {
 		return undoContext;
 	}
 
+	/**
+	 * Returns the maximum {@link #estimateMemoryUsage(IUndoableOperation)
+	 * estimated memory usage} (in bytes) of the undo history.
+	 *
+	 * @return The undo memory limit in bytes.
+	 */
+	public long getUndoMemoryLimit() {
+		return undoMemoryLimit;
+	}
+
 	@Override
 	public Map<AdapterKey<? extends IViewer>, IViewer> getViewers() {
 		return ads.getAdapters(IViewer.class);
@@ -428,6 +687,23 @@ public class HistoricizingDomain implements IDomain {
 		ads.setAdapter(adapterType, adapter, role);
 	}
 
+	/**
+	 * Sets the interval (in milliseconds) within which an
+	 * {@link IMergeableOperation} is merged with a compatible operation that
+	 * was added to the undo history before. An interval of <code>0</code>
+	 * disables merging.
+	 *
+	 * @param mergeInterval
+	 *            The new merge interval in milliseconds.
+	 */
+	public void setMergeInterval(long mergeInterval) {
+		if (mergeInterval < 0) {
+			throw new IllegalArgumentException(
+					"The merge interval may not be negative.");
+		}
+		this.mergeInterval = mergeInterval;
+	}
+
 	/**
 	 * Sets the {@link IOperationHistory} that is used by this
 	 * {@link HistoricizingDomain} to the given value. Operation history
@@ -471,6 +747,23 @@ public class HistoricizingDomain implements IDomain {
 		}
 	}
 
+	/**
+	 * Sets the maximum {@link #estimateMemoryUsage(IUndoableOperation)
+	 * estimated memory usage} (in bytes) of the undo history. When the limit
+	 * is exceeded, the oldest operations are discarded from the undo history.
+	 * The most recent operation is always kept.
+	 *
+	 * @param undoMemoryLimit
+	 *            The new undo memory limit in bytes.
+	 */
+	public void setUndoMemoryLimit(long undoMemoryLimit) {
+		if (undoMemoryLimit <= 0) {
+			throw new IllegalArgumentException(
+					"The undo memory limit has to be positive.");
+		}
+		this.undoMemoryLimit = undoMemoryLimit;
+	}
+
 	@Override
 	public <T> void unsetAdapter(T adapter) {
 		ads.unsetAdapter(adapter);
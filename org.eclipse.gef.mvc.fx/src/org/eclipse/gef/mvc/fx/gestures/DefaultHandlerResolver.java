@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 itemis AG and others.
+ * Copyright (c) 2016, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,8 +29,8 @@ import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.parts.PartUtils;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
-import com.google.common.reflect.TypeToken;
-
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.scene.Node;
 
 /**
@@ -48,6 +51,15 @@ import javafx.scene.Node;
  * </ol>
  * For details, take a look at the
  * {@link #resolve(IGesture, Node, IViewer, Class)} method.
+ * <p>
+ * The result of the second stage only depends on the target part and the
+ * handler type. It is therefore cached per target part (for a bounded number
+ * of most recently resolved target parts) and handler type, and re-used as
+ * long as neither the parent hierarchy of the target part nor the respective
+ * handlers of the parts within it have changed. As the cached handlers refer
+ * to their parts (and thus to the viewer), the resolutions for a target part
+ * are discarded when the target part is deactivated, e.g. because it is
+ * removed from the viewer.
  *
  * @author mwienand
  *
@@ -70,12 +82,88 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 		}
 	}
 
+	/**
+	 * The handlers that were resolved for a target part, together with the
+	 * (target to root) part hierarchy and the handlers of each part within
+	 * it, based on which the resolution was performed.
+	 */
+	private final static class Resolution {
+		private final List<IVisualPart<? extends Node>> parts = new ArrayList<>();
+		private final List<Map<?, ?>> partHandlers = new ArrayList<>();
+		private List<? extends IHandler> handlers;
+
+		public boolean isValid(IVisualPart<? extends Node> targetPart,
+				Class<? extends IHandler> handlerClass) {
+			IVisualPart<? extends Node> part = targetPart;
+			for (int i = 0; i < parts.size(); i++) {
+				if (part != parts.get(i) || !part.getAdapters(handlerClass)
+						.equals(partHandlers.get(i))) {
+					return false;
+				}
+				part = part.getParent();
+			}
+			return part == null;
+		}
+	}
+
 	/**
 	 * The comparator that is used to sort drag adapters.
 	 */
 	private final static AdapterKeyComparator ADAPTER_KEY_COMPARATOR = new AdapterKeyComparator(
 			true);
 
+	/**
+	 * The maximum number of target parts for which the resolved handlers are
+	 * cached.
+	 */
+	protected static final int CACHE_SIZE = 64;
+
+	// the resolutions per target part (in access order) and handler type
+	private final Map<IVisualPart<? extends Node>, Map<Class<?>, Resolution>> resolutions = new LinkedHashMap<IVisualPart<? extends Node>, Map<Class<?>, Resolution>>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<IVisualPart<? extends Node>, Map<Class<?>, Resolution>> eldest) {
+			if (size() > CACHE_SIZE) {
+				eldest.getKey().activeProperty()
+						.removeListener(targetPartActiveObserver);
+				return true;
+			}
+			return false;
+		}
+	};
+
+	// discards the resolutions of target parts when they are deactivated
+	private final ChangeListener<Boolean> targetPartActiveObserver = new ChangeListener<Boolean>() {
+		@Override
+		public void changed(ObservableValue<? extends Boolean> observable,
+				Boolean oldValue, Boolean newValue) {
+			if (!newValue) {
+				discardInactiveResolutions();
+			}
+		}
+	};
+
+	/**
+	 * Discards the cached resolutions of all target parts that are not active
+	 * (anymore), so that the cache does not keep them (and their viewer)
+	 * alive.
+	 */
+	private void discardInactiveResolutions() {
+		Iterator<IVisualPart<? extends Node>> it = resolutions.keySet()
+				.iterator();
+		while (it.hasNext()) {
+			IVisualPart<? extends Node> targetPart = it.next();
+			if (!targetPart.isActive()) {
+				targetPart.activeProperty()
+						.removeListener(targetPartActiveObserver);
+				it.remove();
+			}
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -124,7 +212,7 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 	 * by the calling tool.
 	 */
 	@Override
-	@SuppressWarnings({ "serial", "unchecked" })
+	@SuppressWarnings("unchecked")
 	public <T extends IHandler> List<? extends T> resolve(IGesture gesture,
 			Node target, IViewer viewer, Class<T> handlerClass) {
 		// System.out.println("\n=== determine target policies ===");
@@ -135,10 +223,9 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 		// determine outer targets, i.e. already running/active policies of
 		// other tools
 		// System.out.println("Outer target policies:");
-		List<T> outerTargetHandlers = new ArrayList<>();
+		List<T> outerTargetHandlers = null;
 		Collection<IGesture> tools = viewer.getDomain()
-				.getAdapters(new TypeToken<IGesture>() {
-				}).values();
+				.<IGesture> getAdapters(IGesture.class).values();
 		for (IGesture tool : tools) {
 			// System.out.println("[find active policies of " + tool + "]");
 			if (tool != gesture) {
@@ -146,6 +233,9 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 					if (policy.getClass().isAssignableFrom(handlerClass)) {
 						// System.out.println("add active policy " + policy);
 						try {
+							if (outerTargetHandlers == null) {
+								outerTargetHandlers = new ArrayList<>();
+							}
 							outerTargetHandlers.add((T) policy);
 						} catch (ClassCastException e) {
 							// ignore target policy if type parameter is not
@@ -158,7 +248,7 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 
 		// already active policies that can process the events take precedence
 		// over scene graph related target policies
-		if (!outerTargetHandlers.isEmpty()) {
+		if (outerTargetHandlers != null) {
 			// System.out.println("RETURN outer target policies:");
 			// for (T p : outerTargetPolicies) {
 			// System.out.println(p.getHost() + " -> " + p);
@@ -174,6 +264,18 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 
 		// System.out.println("target part = " + targetPart);
 
+		// re-use the handlers that were previously resolved for the target
+		// part if the hierarchy and the handlers did not change since then
+		Map<Class<?>, Resolution> resolutionsForTargetPart = resolutions
+				.get(targetPart);
+		Resolution resolution = resolutionsForTargetPart == null ? null
+				: resolutionsForTargetPart.get(handlerClass);
+		if (resolution != null
+				&& resolution.isValid(targetPart, handlerClass)) {
+			return (List<? extends T>) resolution.handlers;
+		}
+		resolution = new Resolution();
+
 		// collect all on-drag-policies on the way from the target part to the
 		// root part
 		IVisualPart<? extends Node> part = targetPart;
@@ -183,6 +285,8 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 			// determine on-drag-policies
 			Map<AdapterKey<? extends T>, T> partHandlers = part
 					.<T> getAdapters(handlerClass);
+			resolution.parts.add(part);
+			resolution.partHandlers.add(partHandlers);
 
 			// sort descending by role (converted to integer)
 			List<AdapterKey<? extends T>> descendinglySortedKeys = new ArrayList<>(
@@ -208,6 +312,18 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 		// System.out.println(p.getHost() + " -> " + p);
 		// }
 
-		return handlers;
+		resolution.handlers = Collections.unmodifiableList(handlers);
+		// only cache the resolution for an active target part, as the cached
+		// resolutions are discarded upon deactivation
+		if (targetPart != null && targetPart.isActive()) {
+			if (resolutionsForTargetPart == null) {
+				resolutionsForTargetPart = new HashMap<>();
+				resolutions.put(targetPart, resolutionsForTargetPart);
+				targetPart.activeProperty()
+						.addListener(targetPartActiveObserver);
+			}
+			resolutionsForTargetPart.put(handlerClass, resolution);
+		}
+		return (List<? extends T>) resolution.handlers;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import java.util.Queue;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.mvc.fx.operations.SelectOperation;
 import org.eclipse.gef.mvc.fx.parts.AbstractFeedbackPart;
@@ -30,11 +31,13 @@ import org.eclipse.gef.mvc.fx.parts.IFeedbackPart;
 import org.eclipse.gef.mvc.fx.parts.IRootPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.parts.PartUtils;
+import org.eclipse.gef.mvc.fx.viewer.ContentPartSpatialIndex;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
 import com.google.common.reflect.TypeToken;
 import com.google.inject.Provider;
 
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.scene.Node;
@@ -220,12 +223,25 @@ public class MarqueeOnDragHandler extends AbstractHandler
 		Point2D end = rootVisual.localToScene(endPosInRoot);
 		double[] bbox = bbox(start, end);
 
-		// find nodes contained in bbox
-		List<Node> nodes = findContainedNodes(rootVisual.getScene().getRoot(),
-				bbox[0], bbox[1], bbox[2], bbox[3]);
-
-		// find content parts for contained nodes
-		List<IContentPart<? extends Node>> parts = getParts(nodes);
+		// find content parts contained in bbox
+		List<IContentPart<? extends Node>> parts;
+		ContentPartSpatialIndex index = root.getViewer()
+				.getAdapter(ContentPartSpatialIndex.class);
+		if (index != null) {
+			// query the spatial index in content coordinates
+			Bounds bboxInContent = index.getContentGroup()
+					.sceneToLocal(new BoundingBox(bbox[0], bbox[1],
+							bbox[2] - bbox[0], bbox[3] - bbox[1]));
+			parts = index.getContentPartsIn(
+					FX2Geometry.toRectangle(bboxInContent));
+		} else {
+			// find nodes contained in bbox
+			List<Node> nodes = findContainedNodes(
+					rootVisual.getScene().getRoot(), bbox[0], bbox[1], bbox[2],
+					bbox[3]);
+			// find content parts for contained nodes
+			parts = getParts(nodes);
+		}
 
 		// filter out all parts that are not selectable
 		Iterator<IContentPart<? extends Node>> it = parts.iterator();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,7 +17,9 @@ package org.eclipse.gef.mvc.fx.models;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.common.beans.property.ReadOnlyListWrapperEx;
 import org.eclipse.gef.common.collections.CollectionUtils;
@@ -38,6 +40,10 @@ import javafx.scene.Node;
  * It represents the selection as an ordered list of {@link IContentPart}s.
  * Thereby, it supports a multi-selection and allows to identify a primary
  * selection (the head element of the list) that may be treated specially.
+ * <p>
+ * Besides the ordered list, an identity hash index of the selected
+ * {@link IContentPart}s is maintained, so that membership tests (see
+ * {@link #isSelected(IContentPart)}) can be performed in constant time.
  *
  * @author anyssen
  * @author mwienand
@@ -57,6 +63,11 @@ public class SelectionModel
 
 	private ObservableList<IContentPart<? extends Node>> selection = CollectionUtils
 			.observableArrayList();
+	// identity index of the selection (updated before the selection list, so
+	// that it is consistent when selection listeners are notified)
+	private Set<IContentPart<? extends Node>> selectionIndex = Collections
+			.newSetFromMap(
+					new IdentityHashMap<IContentPart<? extends Node>, Boolean>());
 
 	private ObservableList<IContentPart<? extends Node>> selectionUnmodifiable = FXCollections
 			.unmodifiableObservableList(selection);
@@ -71,7 +82,8 @@ public class SelectionModel
 			if (change.wasRemoved()) {
 				IVisualPart<? extends Node> valueRemoved = change
 						.getValueRemoved();
-				if (selection.contains(valueRemoved)) {
+				if (selectionIndex.contains(valueRemoved)) {
+					selectionIndex.remove(valueRemoved);
 					selection.remove(valueRemoved);
 				}
 			}
@@ -114,19 +126,28 @@ public class SelectionModel
 	 */
 	public void appendToSelection(
 			List<? extends IContentPart<? extends Node>> toBeAppended) {
-		List<IContentPart<? extends Node>> newSelection = getSelectionCopy();
-		newSelection.removeAll(toBeAppended);
-		for (IContentPart<? extends Node> p : toBeAppended) {
-			if (newSelection.contains(p)) {
-				throw new IllegalArgumentException("The content part " + p
-						+ " is provided more than once in the given list.");
+		Set<IContentPart<? extends Node>> toBeAppendedSet = createIndex(
+				toBeAppended);
+		if (Collections.disjoint(selectionIndex, toBeAppendedSet)) {
+			// none of the parts is selected yet, so that they can simply be
+			// added to the back
+			if (!toBeAppended.isEmpty()) {
+				selectionIndex.addAll(toBeAppendedSet);
+				selection.addAll(toBeAppended);
+			}
+			return;
+		}
+		List<IContentPart<? extends Node>> newSelection = new ArrayList<>();
+		for (IContentPart<? extends Node> p : selection) {
+			if (!toBeAppendedSet.contains(p)) {
+				newSelection.add(p);
 			}
-			newSelection.add(p);
 		}
+		newSelection.addAll(toBeAppended);
 		// XXX: ObservableList.setAll() is not properly guarded against not
 		// having an effect (and will always notify attached listeners)
 		if (!selection.equals(newSelection)) {
-			selection.setAll(newSelection);
+			setAll(newSelection);
 		}
 	}
 
@@ -134,26 +155,38 @@ public class SelectionModel
 	 * Clears the current selection.
 	 */
 	public void clearSelection() {
+		selectionIndex.clear();
 		selection.clear();
 	}
 
 	/**
-	 * @since 1.1
+	 * Creates an identity index for the given {@link IContentPart}s, ensuring
+	 * that none is provided more than once.
+	 *
+	 * @param contentParts
+	 *            The {@link IContentPart}s to index.
+	 * @return An identity {@link Set} containing the given {@link IContentPart}
+	 *         s.
 	 */
-	@Override
-	public void dispose() {
-		// setAdaptable() already clears the selection
+	private Set<IContentPart<? extends Node>> createIndex(
+			List<? extends IContentPart<? extends Node>> contentParts) {
+		Set<IContentPart<? extends Node>> index = Collections.newSetFromMap(
+				new IdentityHashMap<IContentPart<? extends Node>, Boolean>());
+		for (IContentPart<? extends Node> p : contentParts) {
+			if (!index.add(p)) {
+				throw new IllegalArgumentException("The content part " + p
+						+ " is provided more than once in the given list.");
+			}
+		}
+		return index;
 	}
 
 	/**
-	 * Returns a modifiable list of the currently selected {@link IContentPart}
-	 * s.
-	 *
-	 * @return A modifiable list of the currently selected {@link IContentPart}
-	 *         s.
+	 * @since 1.1
 	 */
-	private List<IContentPart<? extends Node>> getSelectionCopy() {
-		return new ArrayList<>(selection);
+	@Override
+	public void dispose() {
+		// setAdaptable() already clears the selection
 	}
 
 	/**
@@ -177,7 +210,7 @@ public class SelectionModel
 	 *         current selection.
 	 */
 	public boolean isSelected(IContentPart<? extends Node> contentPart) {
-		return selection.contains(contentPart);
+		return selectionIndex.contains(contentPart);
 	}
 
 	/**
@@ -216,18 +249,17 @@ public class SelectionModel
 	 */
 	public void prependToSelection(
 			List<? extends IContentPart<? extends Node>> toBePrepended) {
-		List<IContentPart<? extends Node>> newSelection = getSelectionCopy();
-		newSelection.removeAll(toBePrepended);
-		int i = 0;
-		for (IContentPart<? extends Node> p : toBePrepended) {
-			if (newSelection.contains(p)) {
-				throw new IllegalArgumentException("The content part " + p
-						+ " is provided more than once in the given list.");
+		Set<IContentPart<? extends Node>> toBePrependedSet = createIndex(
+				toBePrepended);
+		List<IContentPart<? extends Node>> newSelection = new ArrayList<>(
+				toBePrepended);
+		for (IContentPart<? extends Node> p : selection) {
+			if (!toBePrependedSet.contains(p)) {
+				newSelection.add(p);
 			}
-			newSelection.add(i++, p);
 		}
 		if (!selection.equals(newSelection)) {
-			selection.setAll(newSelection);
+			setAll(newSelection);
 		}
 	}
 
@@ -242,7 +274,13 @@ public class SelectionModel
 	 */
 	public void removeFromSelection(
 			Collection<? extends IContentPart<? extends Node>> contentParts) {
-		selection.removeAll(contentParts);
+		boolean changed = false;
+		for (IContentPart<? extends Node> p : contentParts) {
+			changed |= selectionIndex.remove(p);
+		}
+		if (changed) {
+			selection.retainAll(selectionIndex);
+		}
 	}
 
 	/**
@@ -254,7 +292,9 @@ public class SelectionModel
 	 *            selection.
 	 */
 	public void removeFromSelection(IContentPart<? extends Node> contentPart) {
-		selection.remove(contentPart);
+		if (selectionIndex.remove(contentPart)) {
+			selection.remove(contentPart);
+		}
 	}
 
 	/**
@@ -268,6 +308,20 @@ public class SelectionModel
 		return selectionUnmodifiableProperty.getReadOnlyProperty();
 	}
 
+	/**
+	 * Replaces the current selection with the given list of (distinct)
+	 * {@link IContentPart}s, updating the selection index before the
+	 * selection list.
+	 *
+	 * @param newSelection
+	 *            The new selection.
+	 */
+	private void setAll(List<IContentPart<? extends Node>> newSelection) {
+		selectionIndex.clear();
+		selectionIndex.addAll(newSelection);
+		selection.setAll(newSelection);
+	}
+
 	@Override
 	public void setAdaptable(IViewer adaptable) {
 		if (getAdaptable() != null) {
@@ -305,17 +359,12 @@ public class SelectionModel
 	 */
 	public void setSelection(
 			List<? extends IContentPart<? extends Node>> selection) {
-		List<IContentPart<? extends Node>> newSelection = new ArrayList<>();
-		int i = 0;
-		for (IContentPart<? extends Node> p : selection) {
-			if (newSelection.contains(p)) {
-				throw new IllegalArgumentException("The content part " + p
-						+ " is provided more than once in the given list.");
-			}
-			newSelection.add(i++, p);
-		}
+		// ensure the given parts are distinct
+		createIndex(selection);
+		List<IContentPart<? extends Node>> newSelection = new ArrayList<>(
+				selection);
 		if (!this.selection.equals(newSelection)) {
-			this.selection.setAll(newSelection);
+			setAll(newSelection);
 		}
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -34,7 +34,7 @@ import javafx.scene.transform.Affine;
  */
 // TODO: we should speak of 'final' instead of 'new'
 public class ChangeViewportOperation extends AbstractOperation
-		implements ITransactionalOperation {
+		implements IMergeableOperation {
 
 	/**
 	 * The {@link InfiniteCanvas} that is manipulated by this operation.
@@ -211,6 +211,12 @@ public class ChangeViewportOperation extends AbstractOperation
 		this.newVerticalScrollOffset = newVerticalScrollOffset;
 	}
 
+	@Override
+	public boolean canMerge(ITransactionalOperation previous) {
+		return previous instanceof ChangeViewportOperation
+				&& ((ChangeViewportOperation) previous).canvas == canvas;
+	}
+
 	/**
 	 * Concatenates the given {@link java.awt.geom.AffineTransform} to the
 	 * contents transformation that will be applied when executing this
@@ -406,6 +412,16 @@ public class ChangeViewportOperation extends AbstractOperation
 		newVerticalScrollOffset = initialVerticalScrollOffset;
 	}
 
+	@Override
+	public void merge(ITransactionalOperation previous) {
+		ChangeViewportOperation other = (ChangeViewportOperation) previous;
+		initialWidth = other.initialWidth;
+		initialHeight = other.initialHeight;
+		initialContentTransform = other.initialContentTransform;
+		initialHorizontalScrollOffset = other.initialHorizontalScrollOffset;
+		initialVerticalScrollOffset = other.initialVerticalScrollOffset;
+	}
+
 	@Override
 	public IStatus redo(IProgressMonitor monitor, IAdaptable info)
 			throws ExecutionException {
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.operations;
+
+import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
+
+/**
+ * An {@link IMergeableOperation} is an {@link ITransactionalOperation} that can
+ * absorb a compatible operation that was executed directly before it, so that
+ * both can be undone as a single step (e.g. successive viewport changes or
+ * successive transformations of the same part). The
+ * {@link HistoricizingDomain} uses this to compact its undo history.
+ */
+public interface IMergeableOperation extends ITransactionalOperation {
+
+	/**
+	 * Returns <code>true</code> if the given {@link ITransactionalOperation},
+	 * which was executed directly before this operation, can be
+	 * {@link #merge(ITransactionalOperation) merged} into this operation.
+	 * Otherwise returns <code>false</code>.
+	 *
+	 * @param previous
+	 *            The {@link ITransactionalOperation} that was executed
+	 *            directly before this operation.
+	 * @return <code>true</code> if the given operation can be merged into
+	 *         this operation, otherwise <code>false</code>.
+	 */
+	public boolean canMerge(ITransactionalOperation previous);
+
+	/**
+	 * Merges the given {@link ITransactionalOperation}, which was executed
+	 * directly before this operation, into this operation, i.e. adopts its
+	 * initial state, so that undoing this operation reverts the effects of
+	 * both operations.
+	 *
+	 * @param previous
+	 *            The {@link ITransactionalOperation} to merge, for which
+	 *            {@link #canMerge(ITransactionalOperation)} returned
+	 *            <code>true</code>.
+	 */
+	public void merge(ITransactionalOperation previous);
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 itemis AG and others.
+ * Copyright (c) 2016, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,7 +32,7 @@ import javafx.scene.Node;
  *
  */
 public class TransformContentOperation extends AbstractOperation
-		implements ITransactionalOperation {
+		implements IMergeableOperation {
 
 	private final ITransformableContentPart<? extends Node> transformableContentPart;
 	// TODO: Use JavaFX Affine
@@ -67,6 +67,12 @@ public class TransformContentOperation extends AbstractOperation
 		}
 	}
 
+	@Override
+	public boolean canMerge(ITransactionalOperation previous) {
+		return previous instanceof TransformContentOperation
+				&& ((TransformContentOperation) previous).transformableContentPart == transformableContentPart;
+	}
+
 	@Override
 	public IStatus execute(IProgressMonitor monitor, IAdaptable info)
 			throws ExecutionException {
@@ -84,6 +90,11 @@ public class TransformContentOperation extends AbstractOperation
 		return initialTransform.equals(finalTransform);
 	}
 
+	@Override
+	public void merge(ITransactionalOperation previous) {
+		initialTransform = ((TransformContentOperation) previous).initialTransform;
+	}
+
 	@Override
 	public IStatus redo(IProgressMonitor monitor, IAdaptable info)
 			throws ExecutionException {
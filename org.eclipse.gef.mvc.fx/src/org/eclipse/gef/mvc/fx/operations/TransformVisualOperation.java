@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,7 +32,7 @@ import javafx.scene.transform.Affine;
  *
  */
 public class TransformVisualOperation extends AbstractOperation
-		implements ITransactionalOperation {
+		implements IMergeableOperation {
 
 	private ITransformableContentPart<? extends Node> transformablePart;
 	private Affine initialTransform;
@@ -88,6 +88,12 @@ public class TransformVisualOperation extends AbstractOperation
 		}
 	}
 
+	@Override
+	public boolean canMerge(ITransactionalOperation previous) {
+		return previous instanceof TransformVisualOperation
+				&& ((TransformVisualOperation) previous).transformablePart == transformablePart;
+	}
+
 	@Override
 	public IStatus execute(IProgressMonitor monitor, IAdaptable info)
 			throws ExecutionException {
@@ -127,6 +133,11 @@ public class TransformVisualOperation extends AbstractOperation
 		return NodeUtils.equals(initialTransform, finalTransform);
 	}
 
+	@Override
+	public void merge(ITransactionalOperation previous) {
+		initialTransform = ((TransformVisualOperation) previous).initialTransform;
+	}
+
 	@Override
 	public IStatus redo(IProgressMonitor monitor, IAdaptable info)
 			throws ExecutionException {
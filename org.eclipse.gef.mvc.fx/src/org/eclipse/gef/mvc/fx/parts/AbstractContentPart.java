@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -407,6 +407,12 @@ public abstract class AbstractContentPart<V extends Node>
 			// lazily initialize content children and anchorages
 			refreshContentChildren();
 			refreshContentAnchorages();
+			// refresh the visual if the content changes while this part is
+			// registered at a viewer (otherwise, the visual is refreshed when
+			// this part is added to its parent)
+			if (getViewer() != null) {
+				scheduleRefreshVisual();
+			}
 		}
 	}
 
@@ -508,6 +514,12 @@ public abstract class AbstractContentPart<V extends Node>
 	 * Set the primary content object that this EditPart represents. This method
 	 * is used by an {@link IContentPartFactory} when creating an
 	 * {@link IContentPart}.
+	 * <p>
+	 * In case the content changes while this part is registered at a viewer,
+	 * its visual is refreshed via {@link #scheduleRefreshVisual()}, i.e.
+	 * within the next JavaFX pulse in case a
+	 * {@link org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler} is bound to
+	 * the viewer.
 	 *
 	 * @see IContentPart#setContent(Object)
 	 */
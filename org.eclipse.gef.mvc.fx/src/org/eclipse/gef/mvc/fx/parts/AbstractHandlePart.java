@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -43,7 +43,7 @@ abstract public class AbstractHandlePart<V extends Node>
 	private ListChangeListener<Point> geometryListener = new ListChangeListener<Point>() {
 		@Override
 		public void onChanged(ListChangeListener.Change<? extends Point> c) {
-			refreshVisual();
+			scheduleRefreshVisual();
 		}
 	};
 
@@ -82,7 +82,7 @@ abstract public class AbstractHandlePart<V extends Node>
 						Bounds newBounds) {
 					if (doIt[0]) {
 						doIt[0] = false;
-						refreshVisual();
+						scheduleRefreshVisual();
 						doIt[0] = true;
 					}
 				}
@@ -92,7 +92,7 @@ abstract public class AbstractHandlePart<V extends Node>
 						Transform oldTransform, Transform newTransform) {
 					if (doIt[0]) {
 						doIt[0] = false;
-						refreshVisual();
+						scheduleRefreshVisual();
 						doIt[0] = true;
 					}
 				}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,8 +16,11 @@ package org.eclipse.gef.mvc.fx.parts;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.eclipse.gef.common.activate.ActivatableSupport;
@@ -158,7 +161,7 @@ public abstract class AbstractVisualPart<V extends Node>
 
 	@Override
 	public void addChild(IVisualPart<? extends Node> child, int index) {
-		if (children.contains(child)) {
+		if (child.getParent() == this) {
 			throw new IllegalArgumentException("Cannot add " + child
 					+ " as child of " + this + " because its already a child.");
 		}
@@ -187,17 +190,44 @@ public abstract class AbstractVisualPart<V extends Node>
 	@Override
 	public void addChildren(
 			List<? extends IVisualPart<? extends Node>> children, int index) {
-		if (!Collections.disjoint(this.children, children)) {
-			List<? extends IVisualPart<? extends Node>> alreadyContainedChildren = new ArrayList<>(
-					children);
-			children.retainAll(this.children);
+		// check the children via their parent (rather than by searching the
+		// children list), so that the check is linear in the number of
+		// children being added
+		Set<IVisualPart<? extends Node>> added = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		List<IVisualPart<? extends Node>> alreadyContainedChildren = new ArrayList<>();
+		for (IVisualPart<? extends Node> child : children) {
+			if (child.getParent() == this || !added.add(child)) {
+				alreadyContainedChildren.add(child);
+			}
+		}
+		if (!alreadyContainedChildren.isEmpty()) {
 			throw new IllegalArgumentException(
 					"Cannot add " + children + " as children of " + this
 							+ " because the following are already children: "
 							+ alreadyContainedChildren + ".");
 		}
-		for (int i = 0; i < children.size(); i++) {
-			addChild(children.get(i), index + i);
+		if (children.isEmpty()) {
+			return;
+		}
+
+		// add all children at once, so that a single change notification is
+		// fired
+		this.children.addAll(index, children);
+		for (IVisualPart<? extends Node> child : children) {
+			child.setParent(this);
+		}
+
+		refreshVisual();
+		doAddChildVisuals(children, index);
+		for (IVisualPart<? extends Node> child : children) {
+			child.refreshVisual();
+		}
+
+		if (isActive()) {
+			for (IVisualPart<? extends Node> child : children) {
+				child.activate();
+			}
 		}
 	}
 
@@ -273,10 +303,12 @@ public abstract class AbstractVisualPart<V extends Node>
 		anchorages.put(anchorage, role);
 		anchorage.attachAnchored(this);
 
-		// attach visuals
-		anchorage.refreshVisual();
+		// attach visuals (the visuals of anchorage and anchored are refreshed
+		// within the next pulse, so that attaching many anchoreds to the same
+		// anchorage only results in a single refresh of the anchorage)
+		anchorage.scheduleRefreshVisual();
 		doAttachToAnchorageVisual(anchorage, role);
-		refreshVisual();
+		scheduleRefreshVisual();
 	}
 
 	@Override
@@ -432,6 +464,26 @@ public abstract class AbstractVisualPart<V extends Node>
 						+ this.getClass());
 	}
 
+	/**
+	 * Performs the addition of the visuals of the given children to this
+	 * {@link IVisualPart}'s visual. The children are already contained in the
+	 * children list, starting at the given index. The default implementation
+	 * delegates to {@link #doAddChildVisual(IVisualPart, int)} for each child.
+	 * Subclasses may override this method to add all visuals at once.
+	 *
+	 * @param children
+	 *            The {@link IVisualPart}s being added.
+	 * @param index
+	 *            The position of the first child.
+	 * @see #addChildren(List, int)
+	 */
+	protected void doAddChildVisuals(
+			List<? extends IVisualPart<? extends Node>> children, int index) {
+		for (int i = 0; i < children.size(); i++) {
+			doAddChildVisual(children.get(i), index + i);
+		}
+	}
+
 	/**
 	 * Attaches this part's visual to the visual of the given anchorage.
 	 *
@@ -501,6 +553,30 @@ public abstract class AbstractVisualPart<V extends Node>
 						+ this.getClass());
 	}
 
+	/**
+	 * Removes the visuals of the given children from this
+	 * {@link IVisualPart}'s visual. The children are still contained in the
+	 * children list (at the given indices, which are in ascending order). The
+	 * default implementation delegates to
+	 * {@link #doRemoveChildVisual(IVisualPart, int)} for each child, in
+	 * descending index order, so that the indices remain valid. Subclasses
+	 * may override this method to remove all visuals at once.
+	 *
+	 * @param children
+	 *            The {@link IVisualPart}s whose visuals are to be removed,
+	 *            ordered by their index.
+	 * @param indices
+	 *            The indices of the children within the children list.
+	 * @see #removeChildren(List)
+	 */
+	protected void doRemoveChildVisuals(
+			List<? extends IVisualPart<? extends Node>> children,
+			int[] indices) {
+		for (int i = children.size() - 1; i >= 0; i--) {
+			doRemoveChildVisual(children.get(i), indices[i]);
+		}
+	}
+
 	@Override
 	public IViewer getAdaptable() {
 		return viewerProperty.get();
@@ -687,7 +763,8 @@ public abstract class AbstractVisualPart<V extends Node>
 
 	@Override
 	public void removeChild(IVisualPart<? extends Node> child) {
-		if (!children.contains(child)) {
+		int index = child.getParent() == this ? children.indexOf(child) : -1;
+		if (index < 0) {
 			throw new IllegalArgumentException("Cannot remove " + child
 					+ " as child of " + this + " because it is no child.");
 		}
@@ -698,41 +775,127 @@ public abstract class AbstractVisualPart<V extends Node>
 			child.deactivate();
 		}
 
-		doRemoveChildVisual(child, children.indexOf(child));
+		doRemoveChildVisual(child, index);
 
 		child.setParent(null);
-		children.remove(child);
+		children.remove(index);
 	}
 
 	@Override
 	public void removeChildren(
 			List<? extends IVisualPart<? extends Node>> children) {
-		if (!this.children.containsAll(children)) {
-			List<? extends IVisualPart<? extends Node>> notContainedChildren = new ArrayList<>(
-					children);
-			notContainedChildren.removeAll(this.children);
+		Set<IVisualPart<? extends Node>> toRemove = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		List<IVisualPart<? extends Node>> notContainedChildren = new ArrayList<>();
+		for (IVisualPart<? extends Node> child : children) {
+			if (child.getParent() == this) {
+				toRemove.add(child);
+			} else {
+				notContainedChildren.add(child);
+			}
+		}
+		if (!notContainedChildren.isEmpty()) {
 			throw new IllegalArgumentException(
 					"Cannot remove " + children + " as children of " + this
 							+ " because the following are no children: "
 							+ notContainedChildren + ".");
 		}
-		// TODO: use children.removeAll and perform the de-registration here
-		for (IVisualPart<? extends Node> child : children) {
-			removeChild(child);
+		if (toRemove.isEmpty()) {
+			return;
+		}
+
+		if (isActive()) {
+			for (IVisualPart<? extends Node> child : toRemove) {
+				child.deactivate();
+			}
+		}
+
+		// determine the indices of all children within a single pass
+		List<IVisualPart<? extends Node>> removed = new ArrayList<>(
+				toRemove.size());
+		int[] indices = new int[toRemove.size()];
+		for (int i = 0; i < this.children.size(); i++) {
+			IVisualPart<? extends Node> child = this.children.get(i);
+			if (toRemove.contains(child)) {
+				indices[removed.size()] = i;
+				removed.add(child);
+			}
+		}
+		doRemoveChildVisuals(removed, indices);
+
+		for (IVisualPart<? extends Node> child : removed) {
+			child.setParent(null);
 		}
+		// remove all children at once, so that a single change notification is
+		// fired
+		this.children.removeAll(toRemove);
 	}
 
 	@Override
 	public void reorderChild(IVisualPart<? extends Node> child, int index) {
-		int oldIndex = getChildrenUnmodifiable().indexOf(child);
+		int oldIndex = child.getParent() == this ? children.indexOf(child)
+				: -1;
 		if (oldIndex < 0) {
 			throw new IllegalArgumentException("Cannot reorder child " + child
 					+ " because it is no child.");
 		}
-		// TODO: this could be made more performant (reordering the children and
-		// visuals)
-		removeChild(child);
-		addChild(child, index);
+		// move the child and its visual (the child is neither deactivated nor
+		// detached from this part)
+		doRemoveChildVisual(child, oldIndex);
+		children.remove(oldIndex);
+		children.add(index, child);
+		doAddChildVisual(child, index);
+	}
+
+	@Override
+	public void reorderChildren(
+			List<? extends IVisualPart<? extends Node>> children) {
+		final Map<IVisualPart<? extends Node>, Integer> newIndices = new IdentityHashMap<>();
+		for (int i = 0; i < children.size(); i++) {
+			IVisualPart<? extends Node> child = children.get(i);
+			if (child.getParent() != this || newIndices.put(child, i) != null) {
+				throw new IllegalArgumentException("Cannot reorder children of "
+						+ this + " to " + children
+						+ " because it is no permutation of the children.");
+			}
+		}
+		if (newIndices.size() != this.children.size()) {
+			throw new IllegalArgumentException("Cannot reorder children of "
+					+ this + " to " + children
+					+ " because it is no permutation of the children.");
+		}
+
+		// determine the range of children that change their position
+		int from = 0;
+		int to = children.size();
+		while (from < to && this.children.get(from) == children.get(from)) {
+			from++;
+		}
+		if (from == to) {
+			return;
+		}
+		while (this.children.get(to - 1) == children.get(to - 1)) {
+			to--;
+		}
+
+		// move the visuals within the range (the children are neither
+		// deactivated nor detached from this part)
+		List<IVisualPart<? extends Node>> moved = new ArrayList<>(
+				this.children.subList(from, to));
+		int[] indices = new int[moved.size()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = from + i;
+		}
+		doRemoveChildVisuals(moved, indices);
+		// sort the children list, so that a single permutation change is fired
+		this.children.sort(new Comparator<IVisualPart<? extends Node>>() {
+			@Override
+			public int compare(IVisualPart<? extends Node> c1,
+					IVisualPart<? extends Node> c2) {
+				return Integer.compare(newIndices.get(c1), newIndices.get(c2));
+			}
+		});
+		doAddChildVisuals(new ArrayList<>(children.subList(from, to)), from);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -30,6 +30,7 @@ import org.eclipse.gef.mvc.fx.gestures.IGesture;
 import org.eclipse.gef.mvc.fx.handlers.IHandler;
 import org.eclipse.gef.mvc.fx.policies.IPolicy;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
 
 import com.google.common.reflect.TypeToken;
 import com.google.inject.Provider;
@@ -228,6 +229,12 @@ public interface IVisualPart<V extends Node> extends IAdaptable,
 	/**
 	 * Attaches the given {@link IVisualPart} to the given anchorage under the
 	 * given role.
+	 * <p>
+	 * The visuals of this part and of the anchorage are refreshed via
+	 * {@link #scheduleRefreshVisual()}, i.e. within the next JavaFX pulse in
+	 * case a {@link VisualRefreshScheduler} is bound to the viewer. Clients
+	 * that depend on the refreshed visuals immediately have to call
+	 * {@link #refreshVisual()} or {@link VisualRefreshScheduler#flush()}.
 	 *
 	 * @param anchorage
 	 *            The anchorage {@link IVisualPart} to attach this part to.
@@ -452,6 +459,53 @@ public interface IVisualPart<V extends Node> extends IAdaptable,
 	 */
 	public void reorderChild(IVisualPart<? extends Node> child, int index);
 
+	/**
+	 * Reorders the children of this part, so that they match the order of the
+	 * given list, which has to be a permutation of this part's children. The
+	 * children are neither detached nor deactivated, and the children list is
+	 * updated with a single (permutation) change.
+	 * <p>
+	 * The default implementation delegates to
+	 * {@link #reorderChild(IVisualPart, int)} for each of the given children,
+	 * and thus fires a change per moved child. Implementors are encouraged to
+	 * override this method, as done by {@link AbstractVisualPart}.
+	 *
+	 * @param children
+	 *            The children of this part in their new order.
+	 */
+	public default void reorderChildren(
+			List<? extends IVisualPart<? extends Node>> children) {
+		if (children.size() != getChildrenUnmodifiable().size()) {
+			throw new IllegalArgumentException("Cannot reorder children of "
+					+ this + " to " + children
+					+ " because it is no permutation of the children.");
+		}
+		for (int i = 0; i < children.size(); i++) {
+			if (getChildrenUnmodifiable().get(i) != children.get(i)) {
+				reorderChild(children.get(i), i);
+			}
+		}
+	}
+
+	/**
+	 * Schedules a refresh of this part's visualization, which is performed
+	 * once within the next JavaFX pulse by the {@link VisualRefreshScheduler}
+	 * of the {@link #getViewer() viewer}, so that multiple changes within the
+	 * same pulse only result in a single {@link #refreshVisual()}. If no
+	 * {@link VisualRefreshScheduler} is available, the visualization is
+	 * refreshed immediately.
+	 */
+	public default void scheduleRefreshVisual() {
+		IViewer viewer = getViewer();
+		VisualRefreshScheduler scheduler = viewer == null ? null
+				: viewer.getAdapter(VisualRefreshScheduler.class);
+		if (scheduler != null) {
+			scheduler.schedule(this);
+		} else {
+			refreshVisual();
+		}
+	}
+
 	/**
 	 * Used by a parent {@link IVisualPart} to establish/unestablish a
 	 * parent-child relationship with this child {@link IVisualPart}.
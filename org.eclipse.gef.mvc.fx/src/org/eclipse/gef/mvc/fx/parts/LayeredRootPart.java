@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,10 @@
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.parts;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
@@ -67,6 +70,16 @@ public class LayeredRootPart extends AbstractVisualPart<Group>
 		}
 	}
 
+	private boolean areContentParts(
+			List<? extends IVisualPart<? extends Node>> children) {
+		for (IVisualPart<? extends Node> child : children) {
+			if (!(child instanceof IContentPart)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Creates the content layer visual.
 	 *
@@ -177,6 +190,28 @@ public class LayeredRootPart extends AbstractVisualPart<Group>
 		}
 	}
 
+	@Override
+	protected void doAddChildVisuals(
+			List<? extends IVisualPart<? extends Node>> children, int index) {
+		if (!areContentParts(children)) {
+			super.doAddChildVisuals(children, index);
+			return;
+		}
+		// add the visuals of consecutive content part children to the
+		// content layer at once
+		int contentLayerIndex = 0;
+		for (int i = 0; i < index; i++) {
+			if (getChildrenUnmodifiable().get(i) instanceof IContentPart) {
+				contentLayerIndex++;
+			}
+		}
+		List<Node> visuals = new ArrayList<>(children.size());
+		for (IVisualPart<? extends Node> child : children) {
+			visuals.add(child.getVisual());
+		}
+		getContentLayer().getChildren().addAll(contentLayerIndex, visuals);
+	}
+
 	@Override
 	protected void doAttachToAnchorageVisual(
 			IVisualPart<? extends Node> anchorage, String role) {
@@ -249,6 +284,23 @@ public class LayeredRootPart extends AbstractVisualPart<Group>
 		}
 	}
 
+	@Override
+	protected void doRemoveChildVisuals(
+			List<? extends IVisualPart<? extends Node>> children,
+			int[] indices) {
+		if (!areContentParts(children)) {
+			super.doRemoveChildVisuals(children, indices);
+			return;
+		}
+		// remove the visuals of content part children from the content layer
+		// at once
+		Set<Node> visuals = new HashSet<>();
+		for (IVisualPart<? extends Node> child : children) {
+			visuals.add(child.getVisual());
+		}
+		getContentLayer().getChildren().removeAll(visuals);
+	}
+
 	/**
 	 * Returns the content layer visual. The content layer visual is created in
 	 * case it was not created before.
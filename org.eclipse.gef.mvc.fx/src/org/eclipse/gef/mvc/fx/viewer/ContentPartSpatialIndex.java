@@ -0,0 +1,590 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.viewer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.common.adapt.IAdaptable;
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.MapChangeListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+
+/**
+ * The {@link ContentPartSpatialIndex} is an {@link IViewer} adapter that
+ * maintains an R-tree of the bounds of all {@link IContentPart}s of its viewer
+ * in content coordinates (see {@link #getContentGroup()}). It can be used to
+ * efficiently determine the {@link IContentPart}s within a region (e.g. for
+ * marquee selection) or at a position (e.g. as candidates for hit-testing), so
+ * that the scene graph does not need to be traversed.
+ * <p>
+ * The index is updated incrementally: Changes of the bounds of a part's visual
+ * (within its parent) only mark that part as dirty, and the bounds of dirty
+ * parts are re-indexed before the next query is answered. As the descendant
+ * {@link IContentPart}s of a part move along with it, they are re-indexed as
+ * well if the indexed bounds of the part changed.
+ * <p>
+ * Changes of the bounds are tracked lazily, i.e. a part is only marked dirty
+ * upon the first change after its bounds were last indexed, so that the bounds
+ * of parts are not computed as long as no queries are performed.
+ * <p>
+ * The index is bound to the content viewer by default, where it is used for
+ * marquee selection (see
+ * <code>MvcFxModule#bindContentPartSpatialIndexAsContentViewerAdapter()</code>).
+ * Hover and hit-testing are not affected by it, i.e. they still rely on the
+ * picking of the JavaFX scene graph.
+ */
+public class ContentPartSpatialIndex extends IAdaptable.Bound.Impl<IViewer>
+		implements IDisposable {
+
+	/**
+	 * An entry of an {@link RTreeNode}, which either refers to a child node (in
+	 * case of an inner node), or to an indexed part (in case of a leaf).
+	 */
+	private static final class Entry {
+		private double minX, minY, maxX, maxY;
+		private RTreeNode child;
+		private IContentPart<? extends Node> part;
+		// the node that contains this entry
+		private RTreeNode node;
+
+		private double area() {
+			return (maxX - minX) * (maxY - minY);
+		}
+
+		private boolean contains(double x0, double y0, double x1, double y1) {
+			return minX >= x0 && maxX <= x1 && minY >= y0 && maxY <= y1;
+		}
+
+		private double enlargement(Entry e) {
+			return (Math.max(maxX, e.maxX) - Math.min(minX, e.minX))
+					* (Math.max(maxY, e.maxY) - Math.min(minY, e.minY))
+					- area();
+		}
+
+		private boolean intersects(double x0, double y0, double x1,
+				double y1) {
+			return minX <= x1 && maxX >= x0 && minY <= y1 && maxY >= y0;
+		}
+
+		private void union(Entry e) {
+			minX = Math.min(minX, e.minX);
+			minY = Math.min(minY, e.minY);
+			maxX = Math.max(maxX, e.maxX);
+			maxY = Math.max(maxY, e.maxY);
+		}
+	}
+
+	/**
+	 * A node of the R-tree.
+	 */
+	private static final class RTreeNode {
+		private final boolean isLeaf;
+		private final List<Entry> entries = new ArrayList<>();
+		// the entry within the parent node that refers to this node
+		private Entry entry;
+
+		private RTreeNode(boolean isLeaf) {
+			this.isLeaf = isLeaf;
+		}
+
+		private void add(Entry e) {
+			entries.add(e);
+			e.node = this;
+			if (e.child != null) {
+				e.child.entry = e;
+			}
+		}
+
+		// recompute the bounds of the entry that refers to this node
+		private void updateBounds() {
+			if (entry == null) {
+				return;
+			}
+			entry.minX = entry.minY = Double.POSITIVE_INFINITY;
+			entry.maxX = entry.maxY = Double.NEGATIVE_INFINITY;
+			for (Entry e : entries) {
+				entry.union(e);
+			}
+		}
+	}
+
+	/**
+	 * The maximum number of entries per R-tree node.
+	 */
+	protected static final int MAX_ENTRIES = 16;
+
+	/**
+	 * The minimum number of entries per (non-root) R-tree node.
+	 */
+	protected static final int MIN_ENTRIES = 6;
+
+	private RTreeNode root = new RTreeNode(true);
+	private Map<IContentPart<? extends Node>, Entry> entries = new HashMap<>();
+	private Map<IContentPart<? extends Node>, InvalidationListener> boundsObservers = new HashMap<>();
+	private Set<IContentPart<? extends Node>> dirtyParts = new LinkedHashSet<>();
+
+	private MapChangeListener<Object, IContentPart<? extends Node>> contentPartMapObserver = new MapChangeListener<Object, IContentPart<? extends Node>>() {
+		@Override
+		public void onChanged(
+				MapChangeListener.Change<? extends Object, ? extends IContentPart<? extends Node>> change) {
+			if (change.wasRemoved()) {
+				IContentPart<? extends Node> part = change.getValueRemoved();
+				// a part may be re-registered under another content element
+				if (getAdaptable().getContentPartMap()
+						.get(part.getContent()) != part) {
+					untrack(part);
+				}
+			}
+			if (change.wasAdded()) {
+				track(change.getValueAdded());
+			}
+		}
+	};
+
+	/**
+	 * Computes the bounds of the visual of the given {@link IContentPart}
+	 * within the {@link #getContentGroup() content group}. Returns
+	 * <code>null</code> if the visual is not displayed within the canvas.
+	 *
+	 * @param part
+	 *            The {@link IContentPart} for which to compute the bounds.
+	 * @return The bounds of the part's visual in content coordinates, or
+	 *         <code>null</code>.
+	 */
+	protected Bounds computeBounds(IContentPart<? extends Node> part) {
+		Node visual = part.getVisual();
+		Node contentGroup = getContentGroup();
+		if (visual == null || !isDescendant(contentGroup, visual)) {
+			return null;
+		}
+		return contentGroup
+				.sceneToLocal(visual.localToScene(visual.getBoundsInLocal()));
+	}
+
+	// collect the parts of all leaf entries below the given node
+	private void collectParts(RTreeNode node,
+			List<IContentPart<? extends Node>> parts) {
+		for (Entry e : node.entries) {
+			if (node.isLeaf) {
+				parts.add(e.part);
+			} else {
+				collectParts(e.child, parts);
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		setAdaptable(null);
+	}
+
+	/**
+	 * Re-indexes the bounds of all parts that were marked dirty since the last
+	 * query, as well as the bounds of the descendant {@link IContentPart}s of
+	 * those parts whose indexed bounds changed.
+	 */
+	protected void flush() {
+		if (dirtyParts.isEmpty()) {
+			return;
+		}
+		Set<IContentPart<? extends Node>> queued = dirtyParts;
+		dirtyParts = new LinkedHashSet<>();
+		List<IContentPart<? extends Node>> parts = new ArrayList<>(queued);
+		for (int i = 0; i < parts.size(); i++) {
+			IContentPart<? extends Node> part = parts.get(i);
+			if (!boundsObservers.containsKey(part)) {
+				continue;
+			}
+			// validate the observed properties, so that subsequent changes are
+			// reported again
+			part.getVisual().getBoundsInParent();
+			part.getVisual().getParent();
+			Bounds bounds = computeBounds(part);
+			Entry e = entries.get(part);
+			if (e != null && bounds != null && e.minX == bounds.getMinX()
+					&& e.minY == bounds.getMinY() && e.maxX == bounds.getMaxX()
+					&& e.maxY == bounds.getMaxY()) {
+				continue;
+			}
+			if (e != null) {
+				remove(part);
+			}
+			if (bounds != null) {
+				insert(part, bounds);
+			}
+			// the descendants moved along with the part
+			queueDescendants(part, queued, parts);
+		}
+	}
+
+	/**
+	 * Returns the bounds of the given {@link IContentPart} in the coordinate
+	 * system of the content group of the viewer's canvas, as currently
+	 * indexed. Returns <code>null</code> if the part is not indexed.
+	 *
+	 * @param part
+	 *            The {@link IContentPart} whose bounds to return.
+	 * @return The indexed bounds of the given part, or <code>null</code>.
+	 */
+	public Rectangle getBounds(IContentPart<? extends Node> part) {
+		flush();
+		Entry e = entries.get(part);
+		return e == null ? null
+				: new Rectangle(e.minX, e.minY, e.maxX - e.minX,
+						e.maxY - e.minY);
+	}
+
+	/**
+	 * Returns the {@link Node} that provides the coordinate system in which
+	 * the bounds of the {@link IContentPart}s are indexed. For an
+	 * {@link InfiniteCanvasViewer} this is the content group of its
+	 * {@link InfiniteCanvas}, otherwise it is the viewer's
+	 * {@link IViewer#getCanvas() canvas}.
+	 *
+	 * @return The {@link Node} that provides the coordinate system of the
+	 *         index.
+	 */
+	public Node getContentGroup() {
+		IViewer viewer = getAdaptable();
+		if (viewer instanceof InfiniteCanvasViewer) {
+			return ((InfiniteCanvasViewer) viewer).getCanvas()
+					.getContentGroup();
+		}
+		return viewer.getCanvas();
+	}
+
+	/**
+	 * Returns all {@link IContentPart}s whose bounds contain the given
+	 * position (in the coordinate system of the content group of the viewer's
+	 * canvas). The returned parts are candidates for hit-testing, i.e. it is
+	 * not checked whether the visual of a part actually contains the
+	 * position.
+	 *
+	 * @param position
+	 *            The position in content coordinates.
+	 * @return The {@link IContentPart}s whose bounds contain the given
+	 *         position.
+	 */
+	public List<IContentPart<? extends Node>> getContentPartsAt(
+			Point position) {
+		return getContentPartsIntersecting(
+				new Rectangle(position.x, position.y, 0, 0));
+	}
+
+	/**
+	 * Returns all {@link IContentPart}s whose bounds are fully contained
+	 * within the given region (in the coordinate system of the content group
+	 * of the viewer's canvas).
+	 *
+	 * @param region
+	 *            The region in content coordinates.
+	 * @return The {@link IContentPart}s whose bounds are fully contained
+	 *         within the given region.
+	 */
+	public List<IContentPart<? extends Node>> getContentPartsIn(
+			Rectangle region) {
+		flush();
+		List<IContentPart<? extends Node>> parts = new ArrayList<>();
+		search(root, region, true, parts);
+		return parts;
+	}
+
+	/**
+	 * Returns all {@link IContentPart}s whose bounds intersect the given
+	 * region (in the coordinate system of the content group of the viewer's
+	 * canvas).
+	 *
+	 * @param region
+	 *            The region in content coordinates.
+	 * @return The {@link IContentPart}s whose bounds intersect the given
+	 *         region.
+	 */
+	public List<IContentPart<? extends Node>> getContentPartsIntersecting(
+			Rectangle region) {
+		flush();
+		List<IContentPart<? extends Node>> parts = new ArrayList<>();
+		search(root, region, false, parts);
+		return parts;
+	}
+
+	private void insert(IContentPart<? extends Node> part, Bounds bounds) {
+		Entry e = new Entry();
+		e.part = part;
+		e.minX = bounds.getMinX();
+		e.minY = bounds.getMinY();
+		e.maxX = bounds.getMaxX();
+		e.maxY = bounds.getMaxY();
+		entries.put(part, e);
+
+		// choose the leaf that needs the least enlargement
+		RTreeNode node = root;
+		while (!node.isLeaf) {
+			Entry best = null;
+			double bestEnlargement = Double.POSITIVE_INFINITY;
+			for (Entry candidate : node.entries) {
+				double enlargement = candidate.enlargement(e);
+				if (best == null || enlargement < bestEnlargement
+						|| (enlargement == bestEnlargement
+								&& candidate.area() < best.area())) {
+					best = candidate;
+					bestEnlargement = enlargement;
+				}
+			}
+			node = best.child;
+		}
+		node.add(e);
+
+		// split overflowing nodes and adjust bounds up to the root
+		while (node != null) {
+			if (node.entries.size() > MAX_ENTRIES) {
+				RTreeNode sibling = split(node);
+				if (node == root) {
+					root = new RTreeNode(false);
+					root.add(newEntry(node));
+				}
+				node.entry.node.add(newEntry(sibling));
+			}
+			node.updateBounds();
+			node = node.entry == null ? null : node.entry.node;
+		}
+	}
+
+	// determines whether the given node is a descendant of the given ancestor
+	private boolean isDescendant(Node ancestor, Node node) {
+		for (Node n = node; n != null; n = n.getParent()) {
+			if (n == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Entry newEntry(RTreeNode child) {
+		Entry e = new Entry();
+		e.child = child;
+		child.entry = e;
+		child.updateBounds();
+		return e;
+	}
+
+	// appends the descendant content parts of the given part that are not
+	// queued yet to the given list of parts to re-index
+	private void queueDescendants(IVisualPart<? extends Node> part,
+			Set<IContentPart<? extends Node>> queued,
+			List<IContentPart<? extends Node>> parts) {
+		for (IVisualPart<? extends Node> child : part
+				.getChildrenUnmodifiable()) {
+			if (child instanceof IContentPart
+					&& queued.add((IContentPart<? extends Node>) child)) {
+				parts.add((IContentPart<? extends Node>) child);
+			}
+			queueDescendants(child, queued, parts);
+		}
+	}
+
+	private void remove(IContentPart<? extends Node> part) {
+		Entry e = entries.remove(part);
+		if (e == null) {
+			return;
+		}
+		RTreeNode node = e.node;
+		node.entries.remove(e);
+
+		// condense the tree, collecting the parts of underfull nodes, which
+		// are re-inserted afterwards
+		List<IContentPart<? extends Node>> orphans = new ArrayList<>();
+		while (node != root) {
+			RTreeNode parent = node.entry.node;
+			if (node.entries.size() < MIN_ENTRIES) {
+				parent.entries.remove(node.entry);
+				collectParts(node, orphans);
+			} else {
+				node.updateBounds();
+			}
+			node = parent;
+		}
+		if (!root.isLeaf && root.entries.size() == 1) {
+			root = root.entries.get(0).child;
+			root.entry = null;
+		} else if (!root.isLeaf && root.entries.isEmpty()) {
+			root = new RTreeNode(true);
+		}
+		for (IContentPart<? extends Node> orphan : orphans) {
+			Entry o = entries.remove(orphan);
+			Bounds bounds = new BoundingBox(o.minX, o.minY,
+					o.maxX - o.minX, o.maxY - o.minY);
+			insert(orphan, bounds);
+		}
+	}
+
+	private void search(RTreeNode node, Rectangle region, boolean contained,
+			List<IContentPart<? extends Node>> parts) {
+		double x0 = region.getX();
+		double y0 = region.getY();
+		double x1 = x0 + region.getWidth();
+		double y1 = y0 + region.getHeight();
+		for (Entry e : node.entries) {
+			if (!e.intersects(x0, y0, x1, y1)) {
+				continue;
+			}
+			if (!node.isLeaf) {
+				search(e.child, region, contained, parts);
+			} else if (!contained || e.contains(x0, y0, x1, y1)) {
+				parts.add(e.part);
+			}
+		}
+	}
+
+	@Override
+	public void setAdaptable(IViewer adaptable) {
+		if (getAdaptable() != null) {
+			getAdaptable().contentPartMapProperty()
+					.removeListener(contentPartMapObserver);
+			for (IContentPart<? extends Node> part : new ArrayList<>(
+					boundsObservers.keySet())) {
+				untrack(part);
+			}
+		}
+		super.setAdaptable(adaptable);
+		if (adaptable != null) {
+			adaptable.contentPartMapProperty()
+					.addListener(contentPartMapObserver);
+			for (IContentPart<? extends Node> part : adaptable
+					.getContentPartMap().values()) {
+				track(part);
+			}
+		}
+	}
+
+	// quadratic split (Guttman), moving about half of the entries of the given
+	// node to a new sibling node, which is returned
+	private RTreeNode split(RTreeNode node) {
+		List<Entry> remaining = new ArrayList<>(node.entries);
+		node.entries.clear();
+		RTreeNode sibling = new RTreeNode(node.isLeaf);
+
+		// pick the two entries that would waste the most area as seeds
+		int seed1 = 0, seed2 = 1;
+		double maxWaste = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < remaining.size(); i++) {
+			for (int j = i + 1; j < remaining.size(); j++) {
+				Entry ei = remaining.get(i);
+				Entry ej = remaining.get(j);
+				double waste = ei.enlargement(ej) - ej.area();
+				if (waste > maxWaste) {
+					maxWaste = waste;
+					seed1 = i;
+					seed2 = j;
+				}
+			}
+		}
+		Entry g1 = new Entry();
+		Entry g2 = new Entry();
+		Entry s1 = remaining.get(seed1);
+		Entry s2 = remaining.get(seed2);
+		remaining.remove(seed2);
+		remaining.remove(seed1);
+		node.add(s1);
+		sibling.add(s2);
+		g1.minX = s1.minX;
+		g1.minY = s1.minY;
+		g1.maxX = s1.maxX;
+		g1.maxY = s1.maxY;
+		g2.minX = s2.minX;
+		g2.minY = s2.minY;
+		g2.maxX = s2.maxX;
+		g2.maxY = s2.maxY;
+
+		// distribute the remaining entries
+		while (!remaining.isEmpty()) {
+			if (node.entries.size() + remaining.size() == MIN_ENTRIES) {
+				for (Entry e : remaining) {
+					node.add(e);
+				}
+				break;
+			}
+			if (sibling.entries.size() + remaining.size() == MIN_ENTRIES) {
+				for (Entry e : remaining) {
+					sibling.add(e);
+				}
+				break;
+			}
+			// pick the entry with the greatest preference for one group
+			int next = 0;
+			double maxDiff = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < remaining.size(); i++) {
+				double diff = Math.abs(g1.enlargement(remaining.get(i))
+						- g2.enlargement(remaining.get(i)));
+				if (diff > maxDiff) {
+					maxDiff = diff;
+					next = i;
+				}
+			}
+			Entry e = remaining.remove(next);
+			double d1 = g1.enlargement(e);
+			double d2 = g2.enlargement(e);
+			if (d1 < d2 || (d1 == d2 && (g1.area() < g2.area()
+					|| (g1.area() == g2.area() && node.entries
+							.size() <= sibling.entries.size())))) {
+				node.add(e);
+				g1.union(e);
+			} else {
+				sibling.add(e);
+				g2.union(e);
+			}
+		}
+		return sibling;
+	}
+
+	private void track(final IContentPart<? extends Node> part) {
+		if (boundsObservers.containsKey(part)) {
+			return;
+		}
+		// an invalidation listener is used, so that the (lazily computed)
+		// bounds are not validated upon each change, but only when the part is
+		// re-indexed (see flush())
+		InvalidationListener boundsObserver = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				dirtyParts.add(part);
+			}
+		};
+		boundsObservers.put(part, boundsObserver);
+		part.getVisual().boundsInParentProperty().addListener(boundsObserver);
+		part.getVisual().parentProperty().addListener(boundsObserver);
+		dirtyParts.add(part);
+	}
+
+	private void untrack(IContentPart<? extends Node> part) {
+		InvalidationListener boundsObserver = boundsObservers.remove(part);
+		if (boundsObserver != null) {
+			part.getVisual().parentProperty().removeListener(boundsObserver);
+			part.getVisual().boundsInParentProperty()
+					.removeListener(boundsObserver);
+		}
+		dirtyParts.remove(part);
+		remove(part);
+	}
+
+}
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.viewer;
 
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.gef.common.activate.IActivatable;
@@ -153,6 +154,23 @@ public interface IViewer extends IAdaptable, IActivatable, IDisposable,
 	 */
 	public void reveal(IVisualPart<? extends Node> visualPart);
 
+	/**
+	 * Ensure that the visuals of the given {@link IVisualPart}s are visible in
+	 * this viewer. Per default, the parts are revealed one after the other in
+	 * reverse order, so that the first part is revealed last. Viewers that can
+	 * reveal several visuals at once should override this method, so that the
+	 * viewport is changed (at most) once.
+	 *
+	 * @param visualParts
+	 *            The {@link IVisualPart}s that are to be revealed.
+	 */
+	public default void reveal(
+			List<? extends IVisualPart<? extends Node>> visualParts) {
+		for (int i = visualParts.size() - 1; i >= 0; i--) {
+			reveal(visualParts.get(i));
+		}
+	}
+
 	/**
 	 * Returns a {@link ReadOnlyBooleanProperty} that represents the "focused"
 	 * state of this {@link IViewer}. An {@link IViewer} is focused when its
@@ -11,8 +11,10 @@
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.viewer;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -504,6 +506,22 @@ public class InfiniteCanvasViewer implements IViewer {
 		}
 	}
 
+	/**
+	 * Reveals the union of the visuals' bounds, so that the viewport is
+	 * changed (at most) once (see {@link InfiniteCanvas#reveal(List)}).
+	 */
+	@Override
+	public void reveal(List<? extends IVisualPart<? extends Node>> visualParts) {
+		if (visualParts.isEmpty()) {
+			return;
+		}
+		List<Node> visuals = new ArrayList<>(visualParts.size());
+		for (IVisualPart<? extends Node> visualPart : visualParts) {
+			visuals.add(visualPart.getVisual());
+		}
+		getCanvas().reveal(visuals);
+	}
+
 	@Override
 	public void setAdaptable(IDomain domain) {
 		domainProperty.set(domain);
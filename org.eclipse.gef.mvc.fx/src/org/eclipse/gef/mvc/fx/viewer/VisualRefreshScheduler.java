@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.viewer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.common.adapt.IAdaptable;
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+
+/**
+ * The {@link VisualRefreshScheduler} is an {@link IViewer} adapter that
+ * coalesces visual refreshes of the {@link IVisualPart}s within its viewer.
+ * Parts that are {@link #schedule(IVisualPart) scheduled} are marked dirty and
+ * refreshed exactly once at the beginning of the next JavaFX pulse (i.e. before
+ * layout and rendering take place), parents before their children. Multiple
+ * changes that affect the visual of a part within the same pulse (e.g. when
+ * transforming many parts at once) thereby only result in a single
+ * {@link IVisualPart#refreshVisual()}.
+ * <p>
+ * The {@link VisualRefreshScheduler} is also the pulse scheduler for all other
+ * work that is deferred and coalesced until the next pulse (e.g. layout
+ * passes or the update of clickable areas): {@link #schedule(Runnable)
+ * Scheduled tasks} are run (once) within the same flush, before the visuals
+ * of the scheduled parts are refreshed, so that parts that are scheduled by
+ * the tasks are refreshed within the same pulse.
+ * <p>
+ * Explicit (synchronous) refreshes via {@link IVisualPart#refreshVisual()}
+ * are not affected by the scheduler, and pending tasks and refreshes can be
+ * performed immediately by calling {@link #flush()}.
+ */
+public class VisualRefreshScheduler extends IAdaptable.Bound.Impl<IViewer>
+		implements IDisposable {
+
+	private Set<IVisualPart<? extends Node>> dirtyParts = new LinkedHashSet<>();
+	// the part that is currently refreshed during a flush (changes that result
+	// from refreshing it do not cause it to be scheduled again)
+	private IVisualPart<? extends Node> refreshingPart;
+	// the tasks that are run within the next pulse (in scheduling order)
+	private Set<Runnable> tasks = new LinkedHashSet<>();
+	private AnimationTimer timer;
+
+	@Override
+	public void dispose() {
+		if (timer != null) {
+			timer.stop();
+			timer = null;
+		}
+		dirtyParts.clear();
+		tasks.clear();
+	}
+
+	/**
+	 * Runs all {@link #isScheduled(Runnable) scheduled} tasks, and afterwards
+	 * refreshes the visuals of all {@link #isScheduled(IVisualPart)
+	 * scheduled} parts that are still active, parents before their children.
+	 * Tasks that are scheduled while the flush is in progress, as well as
+	 * parts that are scheduled while the visuals are refreshed, are processed
+	 * within the next pulse.
+	 */
+	public void flush() {
+		if (timer != null) {
+			timer.stop();
+		}
+		if (!tasks.isEmpty()) {
+			Set<Runnable> pendingTasks = tasks;
+			tasks = new LinkedHashSet<>();
+			for (Runnable task : pendingTasks) {
+				task.run();
+			}
+		}
+		if (dirtyParts.isEmpty()) {
+			return;
+		}
+		List<IVisualPart<? extends Node>> parts = new ArrayList<>(dirtyParts);
+		dirtyParts.clear();
+
+		// sort parts by depth, so that parents are refreshed before children
+		final Map<IVisualPart<? extends Node>, Integer> depths = new IdentityHashMap<>();
+		for (IVisualPart<? extends Node> part : parts) {
+			int depth = 0;
+			for (IVisualPart<? extends Node> p = part.getParent(); p != null; p = p
+					.getParent()) {
+				depth++;
+			}
+			depths.put(part, depth);
+		}
+		Collections.sort(parts, new Comparator<IVisualPart<? extends Node>>() {
+			@Override
+			public int compare(IVisualPart<? extends Node> p1,
+					IVisualPart<? extends Node> p2) {
+				return Integer.compare(depths.get(p1), depths.get(p2));
+			}
+		});
+
+		for (IVisualPart<? extends Node> part : parts) {
+			if (part.isActive() && part.getViewer() == getAdaptable()) {
+				refreshingPart = part;
+				try {
+					part.refreshVisual();
+				} finally {
+					refreshingPart = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if a visual refresh is pending for the given
+	 * {@link IVisualPart}. Otherwise returns <code>false</code>.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} to test.
+	 * @return <code>true</code> if a visual refresh is pending for the given
+	 *         {@link IVisualPart}, otherwise <code>false</code>.
+	 */
+	public boolean isScheduled(IVisualPart<? extends Node> part) {
+		return dirtyParts.contains(part);
+	}
+
+	/**
+	 * Returns <code>true</code> if the given task is scheduled to be run
+	 * within the next pulse. Otherwise returns <code>false</code>.
+	 *
+	 * @param task
+	 *            The {@link Runnable} to test.
+	 * @return <code>true</code> if the given task is scheduled, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isScheduled(Runnable task) {
+		return tasks.contains(task);
+	}
+
+	/**
+	 * Ensures that {@link #flush()} is called within the next JavaFX pulse.
+	 * The default implementation uses an {@link AnimationTimer}, so that the
+	 * flush is performed before layout and rendering take place.
+	 */
+	protected void requestPulse() {
+		if (timer == null) {
+			// the timer is created lazily, as it requires the JavaFX toolkit
+			timer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					flush();
+				}
+			};
+		}
+		timer.start();
+	}
+
+	/**
+	 * Marks the given {@link IVisualPart} dirty, so that its visual is
+	 * refreshed (once) within the next JavaFX pulse.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} whose visual is to be refreshed.
+	 */
+	public void schedule(IVisualPart<? extends Node> part) {
+		if (part == null) {
+			throw new IllegalArgumentException("part may not be null.");
+		}
+		if (part == refreshingPart || !dirtyParts.add(part)) {
+			return;
+		}
+		requestPulse();
+	}
+
+	/**
+	 * Schedules the given task to be run (once) within the next JavaFX pulse,
+	 * before the visuals of the scheduled parts are refreshed. Scheduling a
+	 * task that is already scheduled has no effect, so that all requests for
+	 * the same task within the same pulse are coalesced.
+	 *
+	 * @param task
+	 *            The {@link Runnable} to run within the next pulse.
+	 */
+	public void schedule(Runnable task) {
+		if (task == null) {
+			throw new IllegalArgumentException("task may not be null.");
+		}
+		tasks.add(task);
+		requestPulse();
+	}
+
+	/**
+	 * Discards a pending visual refresh for the given {@link IVisualPart}.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} for which to discard a pending visual
+	 *            refresh.
+	 */
+	public void unschedule(IVisualPart<? extends Node> part) {
+		dirtyParts.remove(part);
+	}
+
+	/**
+	 * Discards the given task if it is scheduled.
+	 *
+	 * @param task
+	 *            The {@link Runnable} to discard.
+	 */
+	public void unschedule(Runnable task) {
+		tasks.remove(task);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 itemis AG and others.
+ * Copyright (c) 2016, 2026 itemis AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,8 @@ package org.eclipse.gef.mvc.tests.fx;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -109,6 +111,35 @@ public class AbstractVisualPartTests {
 		Assert.assertEquals(2, parent.getChildrenUnmodifiable().size());
 	}
 
+	@Test
+	public void testAddChildren() {
+		AbstractVisualPartStub parent = new AbstractVisualPartStub();
+		AbstractVisualPartStub child1 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child2 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child3 = new AbstractVisualPartStub();
+		parent.addChild(child1);
+
+		// check that the children are added using a single change
+		ListChangeExpector<IVisualPart<? extends Object>> listChangeListener = new ListChangeExpector<>(
+				parent.getChildrenUnmodifiable());
+		parent.getChildrenUnmodifiable().addListener(listChangeListener);
+		listChangeListener.addExpectation(Collections.<IVisualPart<? extends Object>>emptyList(),
+				Arrays.<IVisualPart<? extends Object>>asList(child2, child3));
+		parent.addChildren(Arrays.asList(child2, child3), 0);
+		listChangeListener.check();
+		Assert.assertEquals(Arrays.asList(child2, child3, child1), parent.getChildrenUnmodifiable());
+		Assert.assertEquals(parent, child2.getParent());
+		Assert.assertEquals(parent, child3.getParent());
+
+		// check that children cannot be added twice
+		try {
+			parent.addChildren(Arrays.asList(child3));
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
 	@Test
 	public void testRemoveChild() {
 		AbstractVisualPartStub parent = new AbstractVisualPartStub();
@@ -138,6 +169,35 @@ public class AbstractVisualPartTests {
 		Assert.assertEquals(0, parent.getChildrenUnmodifiable().size());
 	}
 
+	@Test
+	public void testRemoveChildren() {
+		AbstractVisualPartStub parent = new AbstractVisualPartStub();
+		AbstractVisualPartStub child1 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child2 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child3 = new AbstractVisualPartStub();
+		parent.addChildren(Arrays.asList(child1, child2, child3));
+
+		// check that the children are removed using a single change
+		ListChangeExpector<IVisualPart<? extends Object>> listChangeListener = new ListChangeExpector<>(
+				parent.getChildrenUnmodifiable());
+		parent.getChildrenUnmodifiable().addListener(listChangeListener);
+		listChangeListener.addExpectation(Arrays.<IVisualPart<? extends Object>>asList(child2, child3),
+				Collections.<IVisualPart<? extends Object>>emptyList());
+		parent.removeChildren(Arrays.asList(child3, child2));
+		listChangeListener.check();
+		Assert.assertEquals(Collections.singletonList(child1), parent.getChildrenUnmodifiable());
+		Assert.assertNull(child2.getParent());
+		Assert.assertNull(child3.getParent());
+
+		// check that non-children cannot be removed
+		try {
+			parent.removeChildren(Arrays.asList(child1, child2));
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
 	@Test
 	public void testReorderChild() {
 		AbstractVisualPartStub parent = new AbstractVisualPartStub();
@@ -162,4 +222,65 @@ public class AbstractVisualPartTests {
 		listChangeListener.check();
 		Assert.assertEquals(3, parent.getChildrenUnmodifiable().size());
 	}
+
+	@Test
+	public void testReorderChildren() {
+		// record the order of the child visuals
+		final List<IVisualPart<? extends Node>> childVisuals = new ArrayList<>();
+		final int[] removedChildVisuals = new int[1];
+		AbstractVisualPartStub parent = new AbstractVisualPartStub() {
+			@Override
+			protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
+				childVisuals.add(index, child);
+			}
+
+			@Override
+			protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+				assertEquals(child, childVisuals.remove(index));
+				removedChildVisuals[0]++;
+			}
+		};
+		List<IVisualPart<? extends Node>> children = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			children.add(new AbstractVisualPartStub());
+		}
+		parent.addChildren(children);
+
+		// reverse the children, which results in a single permutation change
+		final List<ListChangeListener.Change<? extends IVisualPart<? extends Node>>> changes = new ArrayList<>();
+		parent.getChildrenUnmodifiable().addListener(new ListChangeListener<IVisualPart<? extends Node>>() {
+			@Override
+			public void onChanged(ListChangeListener.Change<? extends IVisualPart<? extends Node>> c) {
+				changes.add(c);
+				Assert.assertTrue(c.next());
+				Assert.assertTrue(c.wasPermutated());
+				Assert.assertFalse(c.next());
+			}
+		});
+		List<IVisualPart<? extends Node>> reversed = new ArrayList<>(children);
+		Collections.reverse(reversed);
+		parent.reorderChildren(reversed);
+		assertEquals(1, changes.size());
+		assertEquals(reversed, parent.getChildrenUnmodifiable());
+		assertEquals(reversed, childVisuals);
+
+		// only the visuals of the children that change their position are
+		// moved
+		removedChildVisuals[0] = 0;
+		List<IVisualPart<? extends Node>> swapped = new ArrayList<>(reversed);
+		Collections.swap(swapped, 1, 2);
+		parent.reorderChildren(swapped);
+		assertEquals(2, removedChildVisuals[0]);
+		assertEquals(swapped, parent.getChildrenUnmodifiable());
+		assertEquals(swapped, childVisuals);
+
+		// the children may not be changed
+		try {
+			parent.reorderChildren(swapped.subList(0, 4));
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		assertEquals(swapped, parent.getChildrenUnmodifiable());
+	}
 }
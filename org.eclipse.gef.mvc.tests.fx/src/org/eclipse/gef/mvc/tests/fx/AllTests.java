@@ -17,10 +17,12 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ AbstractVisualPartTests.class, BendableTests.class, ContentSynchronizationTests.class,
-		FocusTraversalPolicyTests.class, SelectionModelTests.class, AbstractHandlePartTests.class,
-		BendConnectionPolicyTests.class, ClickDragGestureTests.class, TypeGestureTests.class, TransformPolicyTests.class,
-		FocusTraversalPolicyTests.class, ResizePolicyTests.class })
+@SuiteClasses({ AbstractVisualPartTests.class, BendableTests.class, ClickableAreaSchedulerTests.class,
+		ContentPartPoolTests.class, ContentPartSpatialIndexTests.class, ContentSynchronizationTests.class,
+		DefaultHandlerResolverTests.class, FocusTraversalPolicyTests.class, HistoricizingDomainTests.class,
+		InfiniteCanvasViewerTests.class, SelectionModelTests.class, VisualRefreshSchedulerTests.class,
+		AbstractHandlePartTests.class, BendConnectionPolicyTests.class, ClickDragGestureTests.class,
+		TypeGestureTests.class, TransformPolicyTests.class, FocusTraversalPolicyTests.class, ResizePolicyTests.class })
 public class AllTests {
 
 }
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.behaviors.ClickableAreaScheduler;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.VisualRefreshSchedulerTests.ExplicitVisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.stubs.Cell;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPart;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPartFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+
+/**
+ * Tests for the {@link ClickableAreaScheduler}, which are independent of
+ * JavaFX pulses (flushing the {@link VisualRefreshScheduler} explicitly).
+ */
+public class ClickableAreaSchedulerTests {
+
+	// a part whose visual is a curve
+	private static class CurvePart extends CellContentPart {
+		@Override
+		protected Node doCreateVisual() {
+			return new GeometryNode<>(new Line(0, 0, 10, 10));
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public GeometryNode<Line> getVisual() {
+			return (GeometryNode<Line>) super.getVisual();
+		}
+	}
+
+	/**
+	 * A {@link ClickableAreaScheduler} whose zoom level and viewport are set
+	 * explicitly, so that it does not depend on an
+	 * {@link org.eclipse.gef.fx.nodes.InfiniteCanvas}.
+	 */
+	public static class ExplicitViewportClickableAreaScheduler extends ClickableAreaScheduler {
+		private double zoom = 1;
+		private Bounds viewport = new BoundingBox(0, 0, 100, 100);
+		private int flushes = 0;
+
+		@Override
+		protected double computeClickableAreaWidth() {
+			return Math.min(8 / zoom, 8);
+		}
+
+		@Override
+		public void flush() {
+			flushes++;
+			super.flush();
+		}
+
+		@Override
+		protected Bounds getViewportBounds() {
+			return viewport;
+		}
+
+		@Override
+		protected void registerObservers() {
+		}
+
+		public void setViewport(Bounds viewport) {
+			// viewport changes are not observed
+			this.viewport = viewport;
+		}
+
+		public void setZoom(double zoom) {
+			this.zoom = zoom;
+			zoomChanged();
+		}
+
+		@Override
+		protected void unregisterObservers() {
+		}
+	}
+
+	private ExplicitViewportClickableAreaScheduler clickableAreaScheduler;
+	private VisualRefreshScheduler refreshScheduler;
+	private IViewer viewer;
+
+	private CurvePart createPart(double x, double y) {
+		CurvePart part = new CurvePart();
+		part.setContent(new Cell("C"));
+		part.getVisual().relocate(x, y);
+		viewer.getRootPart().addChild(part);
+		clickableAreaScheduler.register(part, part.getVisual());
+		return part;
+	}
+
+	@Test
+	public void moveIntoView() {
+		CurvePart visible = createPart(10, 10);
+		CurvePart invisible = createPart(200, 200);
+		clickableAreaScheduler.setZoom(2);
+		refreshScheduler.flush();
+		assertEquals(4, visible.getVisual().getClickableAreaWidth(), 0);
+		assertEquals(8, invisible.getVisual().getClickableAreaWidth(), 0);
+
+		// moving a curve into view (e.g. by a layout or a drag) does not
+		// trigger an update
+		clickableAreaScheduler.flushes = 0;
+		invisible.getVisual().relocate(50, 50);
+		refreshScheduler.flush();
+		assertEquals(0, clickableAreaScheduler.flushes);
+		assertEquals(8, invisible.getVisual().getClickableAreaWidth(), 0);
+
+		// the curve is updated lazily when the mouse is moved near it
+		clickableAreaScheduler.updateAt(0, 500);
+		assertEquals(8, invisible.getVisual().getClickableAreaWidth(), 0);
+		clickableAreaScheduler.updateAt(55, 55);
+		assertEquals(4, invisible.getVisual().getClickableAreaWidth(), 0);
+
+		// unregistered curves are no longer updated
+		clickableAreaScheduler.unregister(invisible);
+		clickableAreaScheduler.setZoom(4);
+		refreshScheduler.flush();
+		assertEquals(2, visible.getVisual().getClickableAreaWidth(), 0);
+		assertEquals(4, invisible.getVisual().getClickableAreaWidth(), 0);
+	}
+
+	@Test
+	public void scrollIntoView() {
+		CurvePart visible = createPart(10, 10);
+		CurvePart invisible = createPart(200, 200);
+
+		// zoom changes are applied once within the next pulse
+		clickableAreaScheduler.setZoom(2);
+		clickableAreaScheduler.setZoom(4);
+		assertEquals(8, visible.getVisual().getClickableAreaWidth(), 0);
+		refreshScheduler.flush();
+		assertEquals(1, clickableAreaScheduler.flushes);
+		assertEquals(2, visible.getVisual().getClickableAreaWidth(), 0);
+		assertEquals(8, invisible.getVisual().getClickableAreaWidth(), 0);
+
+		// scrolling a curve into view does not trigger an update, but it is
+		// updated lazily when the mouse is moved near it
+		clickableAreaScheduler.setViewport(new BoundingBox(150, 150, 100, 100));
+		refreshScheduler.flush();
+		assertEquals(1, clickableAreaScheduler.flushes);
+		assertEquals(8, invisible.getVisual().getClickableAreaWidth(), 0);
+		clickableAreaScheduler.updateAt(205, 205);
+		assertEquals(2, invisible.getVisual().getClickableAreaWidth(), 0);
+
+		// zoom changes are applied to the curves within the current viewport
+		clickableAreaScheduler.setZoom(8);
+		refreshScheduler.flush();
+		assertEquals(1, invisible.getVisual().getClickableAreaWidth(), 0);
+		assertEquals(2, visible.getVisual().getClickableAreaWidth(), 0);
+
+		// a curve can be updated explicitly, regardless of the viewport
+		clickableAreaScheduler.update(visible);
+		assertEquals(1, visible.getVisual().getClickableAreaWidth(), 0);
+	}
+
+	@Before
+	public void setUp() {
+		IDomain domain = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindClickableAreaSchedulerAsContentViewerAdapter(
+					MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(ExplicitViewportClickableAreaScheduler.class);
+			}
+
+			@Override
+			protected void bindContentPartSpatialIndexAsContentViewerAdapter(
+					MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				// the index requires an InfiniteCanvas
+			}
+
+			@Override
+			protected void bindVisualRefreshSchedulerAsContentViewerAdapter(
+					MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(ExplicitVisualRefreshScheduler.class);
+			}
+
+			@Override
+			protected void configure() {
+				binder().bind(IContentPartFactory.class).to(CellContentPartFactory.class);
+				super.configure();
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		clickableAreaScheduler = (ExplicitViewportClickableAreaScheduler) viewer
+				.getAdapter(ClickableAreaScheduler.class);
+		refreshScheduler = viewer.getAdapter(VisualRefreshScheduler.class);
+	}
+}
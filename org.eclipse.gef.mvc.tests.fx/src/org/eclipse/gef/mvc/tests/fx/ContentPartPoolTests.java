@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Executor;
+
+import org.eclipse.gef.mvc.fx.behaviors.ContentPartPool;
+import org.eclipse.gef.mvc.tests.fx.stubs.Cell;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPart;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+/**
+ * Tests for the {@link ContentPartPool}.
+ */
+public class ContentPartPoolTests {
+
+	private CellContentPart createPart(Cell content) {
+		CellContentPart part = new CellContentPart();
+		part.setContent(content);
+		return part;
+	}
+
+	@Test
+	public void capacityZero() {
+		ContentPartPool pool = new ContentPartPool();
+		CellContentPart part = createPart(new Cell("0"));
+		pool.add(part);
+		// parts are not pooled if the capacity is zero
+		pool.setCapacity(CellContentPart.class, 0);
+		assertEquals(0, pool.getPooled().size());
+		assertFalse(pool.add(createPart(new Cell("1"))));
+		assertEquals(0, pool.getPooled().size());
+	}
+
+	@Test
+	public void evictLeastRecentlyPooled() {
+		ContentPartPool pool = new ContentPartPool();
+		pool.setCapacity(CellContentPart.class, 2);
+		Cell first = new Cell("0");
+		Cell second = new Cell("1");
+		Cell third = new Cell("2");
+		CellContentPart secondPart = createPart(second);
+		CellContentPart thirdPart = createPart(third);
+		pool.add(createPart(first));
+		pool.add(secondPart);
+		pool.add(thirdPart);
+		// the first part is evicted
+		assertEquals(2, pool.getPooled().size());
+		assertNull(pool.remove(first));
+		assertSame(secondPart, pool.remove(second));
+		assertSame(thirdPart, pool.remove(third));
+		assertEquals(0, pool.getPooled().size());
+	}
+
+	@Test
+	public void evictOnDefaultCapacityChange() {
+		ContentPartPool pool = new ContentPartPool();
+		Cell first = new Cell("0");
+		Cell second = new Cell("1");
+		CellContentPart secondPart = createPart(second);
+		pool.add(createPart(first));
+		pool.add(secondPart);
+		assertEquals(2, pool.getPooled().size());
+		// surplus parts are evicted when the default capacity is reduced
+		pool.setDefaultCapacity(1);
+		assertEquals(1, pool.getPooled().size());
+		assertNull(pool.remove(first));
+		assertSame(secondPart, pool.remove(second));
+	}
+
+	@Test
+	public void lowMemory() {
+		final boolean[] isMemoryLow = new boolean[1];
+		ContentPartPool pool = new ContentPartPool() {
+			@Override
+			protected boolean isMemoryLow() {
+				return isMemoryLow[0];
+			}
+		};
+		Cell first = new Cell("0");
+		CellContentPart firstPart = createPart(first);
+		assertTrue(pool.add(firstPart));
+		// no parts are pooled if memory is low, but pooled parts are retained
+		isMemoryLow[0] = true;
+		assertFalse(pool.add(createPart(new Cell("1"))));
+		assertEquals(1, pool.getPooled().size());
+		assertSame(firstPart, pool.remove(first));
+	}
+
+	@Test
+	public void prewarm() throws Exception {
+		ContentPartPool pool = new ContentPartPool() {
+			@Override
+			protected Executor getAdapterInjectionExecutor() {
+				return Runnable::run;
+			}
+
+			@Override
+			protected Executor getPrewarmExecutor() {
+				return Runnable::run;
+			}
+		};
+		Guice.createInjector().injectMembers(pool);
+		pool.setCapacity(CellContentPart.class, 2);
+		pool.prewarm(CellContentPart.class, 3).get();
+		// the number of parts is limited by the capacity
+		assertEquals(2, pool.getPooled().size());
+		CellContentPart part = pool.removeAny(CellContentPart.class);
+		assertNull(part.getContent());
+		assertEquals(1, pool.getPooled().size());
+		pool.prewarm(CellContentPart.class, 3).get();
+		assertEquals(2, pool.getPooled().size());
+	}
+
+	@Test
+	public void removeAnyOfType() {
+		ContentPartPool pool = new ContentPartPool();
+		Cell first = new Cell("0");
+		Cell second = new Cell("1");
+		CellContentPart firstPart = createPart(first);
+		CellContentPart secondPart = createPart(second);
+		// the content is unset after pooling (like by ContentBehavior)
+		pool.add(firstPart);
+		firstPart.setContent(null);
+		pool.add(secondPart);
+		secondPart.setContent(null);
+		// the least recently pooled part is re-bound first
+		assertSame(firstPart, pool.removeAny(CellContentPart.class));
+		assertNull(pool.remove(first));
+		assertSame(secondPart, pool.removeAny(CellContentPart.class));
+		assertNull(pool.removeAny(CellContentPart.class));
+		assertNull(pool.remove(second));
+	}
+
+	@Test
+	public void removeAnyUnbound() {
+		ContentPartPool pool = new ContentPartPool();
+		Cell first = new Cell("0");
+		Cell second = new Cell("1");
+		CellContentPart firstPart = createPart(first);
+		CellContentPart secondPart = createPart(second);
+		pool.add(firstPart);
+		pool.add(secondPart);
+		// only parts without content are handed out
+		assertNull(pool.removeAny(CellContentPart.class));
+		secondPart.setContent(null);
+		assertSame(secondPart, pool.removeAny(CellContentPart.class));
+		assertSame(firstPart, pool.remove(first));
+	}
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.ContentPartSpatialIndex;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.stubs.Cell;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPart;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPartFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+/**
+ * Tests for the {@link ContentPartSpatialIndex}.
+ */
+public class ContentPartSpatialIndexTests {
+
+	// a part whose visual contains the visuals of its children
+	private static class ContainerPart extends CellContentPart {
+		@Override
+		protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
+			((Group) getVisual()).getChildren().add(index, child.getVisual());
+		}
+
+		@Override
+		protected Node doCreateVisual() {
+			return new Group();
+		}
+
+		@Override
+		protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+			((Group) getVisual()).getChildren().remove(child.getVisual());
+		}
+	}
+
+	/**
+	 * A {@link ContentPartSpatialIndex} that uses the visual of the root part
+	 * as the content group, so that it does not depend on an
+	 * {@link org.eclipse.gef.fx.nodes.InfiniteCanvas}.
+	 */
+	public static class RootVisualSpatialIndex extends ContentPartSpatialIndex {
+		@Override
+		public Node getContentGroup() {
+			return getAdaptable().getRootPart().getVisual();
+		}
+	}
+
+	private ContentPartSpatialIndex index;
+	private IViewer viewer;
+
+	// checks the query results against the bounds of the given parts
+	private void assertQueries(List<CellContentPart> parts, Rectangle region) {
+		Set<IContentPart<? extends Node>> contained = new HashSet<>();
+		Set<IContentPart<? extends Node>> intersecting = new HashSet<>();
+		for (CellContentPart part : parts) {
+			Rectangle bounds = index.getBounds(part);
+			if (region.contains(bounds)) {
+				contained.add(part);
+			}
+			if (region.touches(bounds)) {
+				intersecting.add(part);
+			}
+		}
+		assertEquals(contained, new HashSet<>(index.getContentPartsIn(region)));
+		assertEquals(intersecting, new HashSet<>(index.getContentPartsIntersecting(region)));
+	}
+
+	private CellContentPart createPart(double x, double y, double width, double height) {
+		CellContentPart part = new CellContentPart();
+		part.setContent(new Cell("C"));
+		javafx.scene.shape.Rectangle visual = (javafx.scene.shape.Rectangle) part.getVisual();
+		visual.setX(x);
+		visual.setY(y);
+		visual.setWidth(width);
+		visual.setHeight(height);
+		return part;
+	}
+
+	@Test
+	public void insert() {
+		CellContentPart part = createPart(10, 20, 30, 40);
+		viewer.getRootPart().addChild(part);
+		assertEquals(new Rectangle(10, 20, 30, 40), index.getBounds(part));
+		assertEquals(Collections.singletonList(part), index.getContentPartsAt(new Point(15, 25)));
+		assertTrue(index.getContentPartsAt(new Point(5, 25)).isEmpty());
+		assertEquals(Collections.singletonList(part), index.getContentPartsIn(new Rectangle(0, 0, 50, 70)));
+		assertTrue(index.getContentPartsIn(new Rectangle(0, 0, 30, 30)).isEmpty());
+		assertEquals(Collections.singletonList(part), index.getContentPartsIntersecting(new Rectangle(0, 0, 30, 30)));
+	}
+
+	@Test
+	public void moveContainer() {
+		ContainerPart container = new ContainerPart();
+		container.setContent(new Cell("C"));
+		CellContentPart child = createPart(0, 0, 10, 10);
+		viewer.getRootPart().addChild(container);
+		container.addChild(child);
+		assertEquals(new Rectangle(0, 0, 10, 10), index.getBounds(child));
+
+		// the child is re-indexed along with its container, even though its
+		// bounds within the container did not change
+		container.getVisual().setLayoutX(100);
+		container.getVisual().setLayoutY(50);
+		assertEquals(new HashSet<>(Arrays.asList(container, child)),
+				new HashSet<>(index.getContentPartsAt(new Point(105, 55))));
+		assertTrue(index.getContentPartsAt(new Point(5, 5)).isEmpty());
+		assertEquals(new Rectangle(100, 50, 10, 10), index.getBounds(child));
+	}
+
+	@Test
+	public void move() {
+		CellContentPart part = createPart(0, 0, 10, 10);
+		viewer.getRootPart().addChild(part);
+		assertEquals(Collections.singletonList(part), index.getContentPartsAt(new Point(5, 5)));
+
+		// the bounds are re-indexed upon each change (i.e. also after a change
+		// that was not queried)
+		part.getVisual().setTranslateX(100);
+		part.getVisual().setTranslateX(200);
+		assertEquals(Collections.singletonList(part), index.getContentPartsAt(new Point(205, 5)));
+		part.getVisual().setTranslateX(300);
+		assertTrue(index.getContentPartsAt(new Point(205, 5)).isEmpty());
+		assertEquals(Collections.singletonList(part), index.getContentPartsAt(new Point(305, 5)));
+	}
+
+	@Test
+	public void removeAndCondense() {
+		List<CellContentPart> parts = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			parts.add(createPart((i % 20) * 20, (i / 20) * 20, 10, 10));
+		}
+		viewer.getRootPart().addChildren(parts);
+
+		// remove all but a few parts, so that underfull nodes are condensed
+		List<CellContentPart> removed = new ArrayList<>();
+		for (int i = 0; i < parts.size(); i++) {
+			if (i % 50 != 0) {
+				removed.add(parts.get(i));
+			}
+		}
+		viewer.getRootPart().removeChildren(removed);
+		parts.removeAll(removed);
+		assertEquals(8, parts.size());
+		for (CellContentPart part : removed) {
+			assertNull(index.getBounds(part));
+		}
+		assertEquals(new HashSet<>(parts),
+				new HashSet<>(index.getContentPartsIntersecting(new Rectangle(0, 0, 400, 400))));
+		assertQueries(parts, new Rectangle(0, 0, 200, 200));
+		assertQueries(parts, new Rectangle(195, 95, 100, 300));
+	}
+
+	@Before
+	public void setUp() {
+		IDomain domain = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindContentPartSpatialIndexAsContentViewerAdapter(
+					MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(RootVisualSpatialIndex.class);
+			}
+
+			@Override
+			protected void configure() {
+				binder().bind(IContentPartFactory.class).to(CellContentPartFactory.class);
+				super.configure();
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		index = viewer.getAdapter(ContentPartSpatialIndex.class);
+	}
+
+	@Test
+	public void split() {
+		// insert enough parts to split the leaves and inner nodes
+		List<CellContentPart> parts = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			CellContentPart part = createPart((i * 37) % 400, (i * 53) % 400, 5 + i % 20, 5 + i % 10);
+			parts.add(part);
+			viewer.getRootPart().addChild(part);
+		}
+		for (CellContentPart part : parts) {
+			javafx.scene.shape.Rectangle visual = (javafx.scene.shape.Rectangle) part.getVisual();
+			assertEquals(new Rectangle(visual.getX(), visual.getY(), visual.getWidth(), visual.getHeight()),
+					index.getBounds(part));
+		}
+		assertQueries(parts, new Rectangle(0, 0, 400, 400));
+		assertQueries(parts, new Rectangle(50, 50, 100, 100));
+		assertQueries(parts, new Rectangle(200, 0, 10, 400));
+		assertEquals(Arrays.asList(parts.get(0)), index.getContentPartsAt(new Point(1, 1)));
+	}
+}
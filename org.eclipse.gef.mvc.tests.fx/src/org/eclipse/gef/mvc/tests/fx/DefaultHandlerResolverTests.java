@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.gestures.DefaultHandlerResolver;
+import org.eclipse.gef.mvc.fx.gestures.IHandlerResolver;
+import org.eclipse.gef.mvc.fx.handlers.AbstractHandler;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPart;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPartFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+/**
+ * Tests for the caching of resolved handlers by the
+ * {@link DefaultHandlerResolver}.
+ */
+public class DefaultHandlerResolverTests {
+
+	private static class HandlerStub extends AbstractHandler {
+	}
+
+	private DefaultHandlerResolver resolver;
+	private IViewer viewer;
+
+	private Map<?, ?> getResolutions() throws Exception {
+		Field field = DefaultHandlerResolver.class.getDeclaredField("resolutions");
+		field.setAccessible(true);
+		return (Map<?, ?>) field.get(resolver);
+	}
+
+	private List<? extends HandlerStub> resolve(CellContentPart part) {
+		return resolver.resolve(null, part.getVisual(), viewer, HandlerStub.class);
+	}
+
+	@Test
+	public void cachedResolution() throws Exception {
+		// the parts are activated below the (inactive) root part, so that the
+		// test does not depend on the visual of the root part
+		CellContentPart grandParent = new CellContentPart();
+		CellContentPart parent = new CellContentPart();
+		CellContentPart child = new CellContentPart();
+		HandlerStub grandParentHandler = new HandlerStub();
+		HandlerStub parentHandler = new HandlerStub();
+		grandParent.setAdapter(grandParentHandler);
+		parent.setAdapter(parentHandler);
+		viewer.getRootPart().addChild(grandParent);
+		grandParent.addChild(parent);
+		parent.addChild(child);
+		grandParent.activate();
+
+		// the resolution is cached
+		List<? extends HandlerStub> handlers = resolve(child);
+		assertEquals(Arrays.asList(grandParentHandler, parentHandler), handlers);
+		assertSame(handlers, resolve(child));
+
+		// the cached resolution is invalidated when the handlers change
+		HandlerStub childHandler = new HandlerStub();
+		child.setAdapter(childHandler);
+		handlers = resolve(child);
+		assertEquals(Arrays.asList(grandParentHandler, parentHandler, childHandler), handlers);
+		assertSame(handlers, resolve(child));
+
+		// the cached resolution is discarded when the target part is
+		// deactivated, e.g. because it is removed from the viewer
+		assertTrue(getResolutions().containsKey(child));
+		parent.removeChild(child);
+		assertFalse(getResolutions().containsKey(child));
+
+		// nothing is resolved (or cached) for a part that was removed
+		assertTrue(resolve(child).isEmpty());
+		assertFalse(getResolutions().containsKey(child));
+
+		// the cached resolution is invalidated when the hierarchy changes
+		grandParent.addChild(child);
+		handlers = resolve(child);
+		assertEquals(Arrays.asList(grandParentHandler, childHandler), handlers);
+		assertSame(handlers, resolve(child));
+
+		// all cached resolutions are discarded upon deactivation
+		assertEquals(Arrays.asList(grandParentHandler, parentHandler), resolve(parent));
+		assertEquals(2, getResolutions().size());
+		grandParent.deactivate();
+		assertTrue(getResolutions().isEmpty());
+	}
+
+	@Before
+	public void setUp() {
+		IDomain domain = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void configure() {
+				binder().bind(IContentPartFactory.class).to(CellContentPartFactory.class);
+				super.configure();
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		resolver = (DefaultHandlerResolver) domain.getAdapter(IHandlerResolver.class);
+	}
+}
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.operations.AbstractOperation;
+import org.eclipse.core.commands.operations.IUndoableOperation;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.gestures.IGesture;
+import org.eclipse.gef.mvc.fx.gestures.TypeGesture;
+import org.eclipse.gef.mvc.fx.operations.AbstractCompositeOperation;
+import org.eclipse.gef.mvc.fx.operations.ForwardUndoCompositeOperation;
+import org.eclipse.gef.mvc.fx.operations.IMergeableOperation;
+import org.eclipse.gef.mvc.fx.operations.ITransactionalOperation;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPartFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+/**
+ * Tests for the merging of operations and the memory bound of the undo history
+ * of the {@link HistoricizingDomain}.
+ */
+public class HistoricizingDomainTests {
+
+	/**
+	 * An operation that sets the value of a {@link Counter}, which can merge
+	 * preceding operations for the same {@link Counter}.
+	 */
+	private static class SetValueOperation extends AbstractOperation implements IMergeableOperation {
+		private final Counter counter;
+		private int initialValue;
+		private final int finalValue;
+
+		public SetValueOperation(Counter counter, int finalValue) {
+			super("Set Value");
+			this.counter = counter;
+			this.initialValue = counter.value;
+			this.finalValue = finalValue;
+		}
+
+		@Override
+		public boolean canMerge(ITransactionalOperation previous) {
+			return previous instanceof SetValueOperation && ((SetValueOperation) previous).counter == counter;
+		}
+
+		@Override
+		public IStatus execute(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+			counter.value = finalValue;
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean isContentRelevant() {
+			return true;
+		}
+
+		@Override
+		public boolean isNoOp() {
+			return initialValue == finalValue;
+		}
+
+		@Override
+		public void merge(ITransactionalOperation previous) {
+			initialValue = ((SetValueOperation) previous).initialValue;
+		}
+
+		@Override
+		public IStatus redo(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+			return execute(monitor, info);
+		}
+
+		@Override
+		public IStatus undo(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+			counter.value = initialValue;
+			return Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * A {@link SetValueOperation} that additionally captures a list of
+	 * {@link Point}s.
+	 */
+	private static class SetPointsOperation extends SetValueOperation {
+		private final List<Point> points = new ArrayList<>();
+
+		public SetPointsOperation(Counter counter, int finalValue, int pointCount) {
+			super(counter, finalValue);
+			for (int i = 0; i < pointCount; i++) {
+				points.add(new Point(i, i));
+			}
+		}
+	}
+
+	private static class Counter {
+		private int value;
+	}
+
+	/**
+	 * A {@link HistoricizingDomain} that exposes its memory usage estimates.
+	 */
+	private static class EstimatingDomain extends HistoricizingDomain {
+		public long estimate(IUndoableOperation operation) {
+			return estimateMemoryUsage(operation);
+		}
+	}
+
+	private EstimatingDomain domain;
+
+	private IUndoableOperation[] getUndoHistory() {
+		return domain.getOperationHistory().getUndoHistory(domain.getUndoContext());
+	}
+
+	@Test
+	public void evictCompositeOperations() throws ExecutionException {
+		Counter counter = new Counter();
+		domain.setMergeInterval(0);
+		ForwardUndoCompositeOperation composite = new ForwardUndoCompositeOperation("Composite");
+		composite.add(new SetValueOperation(counter, 1));
+		composite.add(new SetValueOperation(counter, 2));
+		// a composite retains the memory of the operations it combines
+		domain.setUndoMemoryLimit(domain.estimate(composite));
+		domain.execute(composite, null);
+		assertEquals(1, getUndoHistory().length);
+		SetValueOperation operation = new SetValueOperation(counter, 3);
+		domain.execute(operation, null);
+		assertEquals(1, getUndoHistory().length);
+		assertSame(operation, getUndoHistory()[0]);
+	}
+
+	@Test
+	public void evictOldestOperations() throws ExecutionException {
+		Counter counter = new Counter();
+		domain.setMergeInterval(0);
+		SetValueOperation[] operations = new SetValueOperation[5];
+		for (int i = 0; i < operations.length; i++) {
+			operations[i] = new SetValueOperation(counter, i + 1);
+			domain.execute(operations[i], null);
+		}
+		assertEquals(5, getUndoHistory().length);
+
+		// the oldest operations are discarded when the limit is exceeded
+		domain.setUndoMemoryLimit(3 * domain.estimate(operations[0]));
+		SetValueOperation operation = new SetValueOperation(counter, 6);
+		domain.execute(operation, null);
+		IUndoableOperation[] undoHistory = getUndoHistory();
+		assertEquals(3, undoHistory.length);
+		assertSame(operations[3], undoHistory[0]);
+		assertSame(operation, undoHistory[2]);
+
+		// the most recent operation is always kept
+		domain.setUndoMemoryLimit(1);
+		operation = new SetValueOperation(counter, 7);
+		domain.execute(operation, null);
+		undoHistory = getUndoHistory();
+		assertEquals(1, undoHistory.length);
+		assertSame(operation, undoHistory[0]);
+	}
+
+	@Test
+	public void estimatePayload() {
+		Counter counter = new Counter();
+		long emptyUsage = domain.estimate(new SetPointsOperation(counter, 1, 0));
+		long usage = domain.estimate(new SetPointsOperation(counter, 1, 100));
+		// each captured point is accounted by reference and value
+		assertTrue(usage - emptyUsage >= 100 * 32);
+
+		// a composite accounts for the operations it combines
+		ForwardUndoCompositeOperation composite = new ForwardUndoCompositeOperation("Composite");
+		composite.add(new SetPointsOperation(counter, 1, 100));
+		composite.add(new SetPointsOperation(counter, 2, 100));
+		assertTrue(domain.estimate(composite) > 2 * usage);
+	}
+
+	@Test
+	public void mergeOperations() throws ExecutionException {
+		Counter counter = new Counter();
+		domain.setMergeInterval(60000);
+		domain.execute(new SetValueOperation(counter, 1), null);
+		domain.execute(new SetValueOperation(counter, 2), null);
+		domain.execute(new SetValueOperation(counter, 3), null);
+		assertEquals(3, counter.value);
+		assertEquals(1, getUndoHistory().length);
+
+		// the merged operation reverts the effects of all merged operations
+		domain.getOperationHistory().undo(domain.getUndoContext(), null, null);
+		assertEquals(0, counter.value);
+		domain.getOperationHistory().redo(domain.getUndoContext(), null, null);
+		assertEquals(3, counter.value);
+	}
+
+	@Test
+	public void mergeOperationsIntoNoOp() throws ExecutionException {
+		Counter counter = new Counter();
+		domain.setMergeInterval(60000);
+		domain.execute(new SetValueOperation(counter, 1), null);
+		domain.execute(new SetValueOperation(counter, 0), null);
+		assertEquals(0, getUndoHistory().length);
+	}
+
+	@Test
+	public void mergeSingleOperationTransactions() throws ExecutionException {
+		Counter counter = new Counter();
+		domain.setMergeInterval(60000);
+		IGesture gesture = new TypeGesture();
+		SetValueOperation[] operations = new SetValueOperation[2];
+		for (int i = 0; i < operations.length; i++) {
+			domain.openExecutionTransaction(gesture);
+			operations[i] = new SetValueOperation(counter, i + 1);
+			domain.execute(operations[i], null);
+			domain.closeExecutionTransaction(gesture);
+		}
+		// the transactions are unwrapped, so that their operations are merged
+		IUndoableOperation[] undoHistory = getUndoHistory();
+		assertEquals(1, undoHistory.length);
+		assertSame(operations[1], undoHistory[0]);
+		domain.getOperationHistory().undo(domain.getUndoContext(), null, null);
+		assertEquals(0, counter.value);
+
+		// a transaction with multiple operations is not unwrapped
+		domain.openExecutionTransaction(gesture);
+		domain.execute(new SetValueOperation(counter, 1), null);
+		domain.execute(new SetValueOperation(counter, 2), null);
+		domain.closeExecutionTransaction(gesture);
+		undoHistory = getUndoHistory();
+		assertEquals(1, undoHistory.length);
+		assertTrue(undoHistory[0] instanceof AbstractCompositeOperation);
+	}
+
+	@Test
+	public void mergeOperationsOnlyWithinInterval() throws ExecutionException {
+		Counter counter = new Counter();
+		Counter otherCounter = new Counter();
+		domain.setMergeInterval(60000);
+		domain.execute(new SetValueOperation(counter, 1), null);
+		// incompatible operations are not merged
+		domain.execute(new SetValueOperation(otherCounter, 1), null);
+		assertEquals(2, getUndoHistory().length);
+
+		// operations are not merged if merging is disabled
+		domain.setMergeInterval(0);
+		domain.execute(new SetValueOperation(otherCounter, 2), null);
+		assertEquals(3, getUndoHistory().length);
+	}
+
+	@Before
+	public void setUp() {
+		domain = (EstimatingDomain) Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindIDomain() {
+				binder().bind(IDomain.class).to(EstimatingDomain.class);
+			}
+
+			@Override
+			protected void configure() {
+				binder().bind(IContentPartFactory.class).to(CellContentPartFactory.class);
+				super.configure();
+			}
+		}).getInstance(IDomain.class);
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.mvc.tests.fx.stubs.Cell;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPartFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+public class InfiniteCanvasViewerTests {
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IDomain domain;
+	private InfiniteCanvasViewer viewer;
+	private List<IVisualPart<? extends Node>> parts = new ArrayList<>();
+	// the number of changes per scroll offset
+	private int[] offsetChanges = new int[2];
+
+	@Before
+	public void activate() throws Throwable {
+		domain = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindIDomainAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				bindContentIViewerAsIDomainAdapter(adapterMapBinder);
+			}
+
+			@Override
+			protected void configure() {
+				super.configure();
+				binder().bind(IContentPartFactory.class).to(CellContentPartFactory.class);
+			}
+		}).getInstance(IDomain.class);
+		viewer = (InfiniteCanvasViewer) domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(viewer.getCanvas(), 100, 100);
+		ctx.runAndWait(() -> {
+			domain.activate();
+		});
+	}
+
+	// checks that the given part is fully visible within the viewport
+	private void assertRevealed(IVisualPart<? extends Node> part) {
+		InfiniteCanvas canvas = viewer.getCanvas();
+		Node visual = part.getVisual();
+		Bounds bounds = canvas.sceneToLocal(visual.localToScene(visual.getBoundsInLocal()));
+		assertTrue(bounds.toString(), bounds.getMinX() >= 0 && bounds.getMaxX() <= canvas.getWidth());
+		assertTrue(bounds.toString(), bounds.getMinY() >= 0 && bounds.getMaxY() <= canvas.getHeight());
+	}
+
+	// creates a part for each of the given rectangles (x, y, width, height)
+	private void createParts(final double[]... rectangles) throws Throwable {
+		final List<Cell> cells = new ArrayList<>();
+		for (int i = 0; i < rectangles.length; i++) {
+			cells.add(new Cell("C" + i));
+		}
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(cells);
+			for (int i = 0; i < rectangles.length; i++) {
+				IVisualPart<? extends Node> part = viewer.getContentPartMap().get(cells.get(i));
+				Rectangle visual = (Rectangle) part.getVisual();
+				visual.setX(rectangles[i][0]);
+				visual.setY(rectangles[i][1]);
+				visual.setWidth(rectangles[i][2]);
+				visual.setHeight(rectangles[i][3]);
+				parts.add(part);
+			}
+			viewer.getCanvas().layout();
+			viewer.getCanvas().horizontalScrollOffsetProperty().addListener((o, oldValue, newValue) -> {
+				offsetChanges[0]++;
+			});
+			viewer.getCanvas().verticalScrollOffsetProperty().addListener((o, oldValue, newValue) -> {
+				offsetChanges[1]++;
+			});
+		});
+	}
+
+	@After
+	public void deactivate() throws Throwable {
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	@Test
+	public void revealFirstIfUnionDoesNotFit() throws Throwable {
+		createParts(new double[] { 150, 150, 20, 20 }, new double[] { 300, 300, 20, 20 });
+		ctx.runAndWait(() -> {
+			viewer.reveal(parts);
+			assertEquals(1, offsetChanges[0]);
+			assertEquals(1, offsetChanges[1]);
+			assertRevealed(parts.get(0));
+		});
+	}
+
+	@Test
+	public void revealMultiplePartsInSingleViewportChange() throws Throwable {
+		createParts(new double[] { 150, 150, 20, 20 }, new double[] { 180, 210, 20, 20 },
+				new double[] { 120, 190, 20, 20 });
+		ctx.runAndWait(() -> {
+			viewer.reveal(parts);
+			// each scroll offset is changed only once
+			assertEquals(1, offsetChanges[0]);
+			assertEquals(1, offsetChanges[1]);
+			for (IVisualPart<? extends Node> part : parts) {
+				assertRevealed(part);
+			}
+			// revealing already visible parts does not change the viewport
+			viewer.reveal(Arrays.asList(parts.get(1), parts.get(0)));
+			assertEquals(1, offsetChanges[0]);
+			assertEquals(1, offsetChanges[1]);
+		});
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -223,6 +223,30 @@ public class SelectionModelTests {
 		Assert.assertEquals(Collections.emptyList(), selectionModel.getSelectionUnmodifiable());
 	}
 
+	@Test
+	public void testIsSelected() {
+		SelectionModel selectionModel = new SelectionModel();
+		IContentPart<Node> c1 = new ContentPartStub();
+		IContentPart<Node> c2 = new ContentPartStub();
+		IContentPart<Node> c3 = new ContentPartStub();
+		selectionModel.setSelection(Arrays.asList(c1, c2));
+		Assert.assertTrue(selectionModel.isSelected(c1));
+		Assert.assertTrue(selectionModel.isSelected(c2));
+		Assert.assertFalse(selectionModel.isSelected(c3));
+		selectionModel.appendToSelection(c3);
+		Assert.assertTrue(selectionModel.isSelected(c3));
+		selectionModel.removeFromSelection(Arrays.asList(c1, c3));
+		Assert.assertFalse(selectionModel.isSelected(c1));
+		Assert.assertTrue(selectionModel.isSelected(c2));
+		Assert.assertFalse(selectionModel.isSelected(c3));
+		Assert.assertEquals(Arrays.asList(c2), selectionModel.getSelectionUnmodifiable());
+		selectionModel.prependToSelection(Arrays.asList(c3, c1));
+		Assert.assertEquals(Arrays.asList(c3, c1, c2), selectionModel.getSelectionUnmodifiable());
+		Assert.assertTrue(selectionModel.isSelected(c1));
+		selectionModel.clearSelection();
+		Assert.assertFalse(selectionModel.isSelected(c2));
+	}
+
 	@Test
 	public void testPrepend() {
 		SelectionModel selectionModel = new SelectionModel();
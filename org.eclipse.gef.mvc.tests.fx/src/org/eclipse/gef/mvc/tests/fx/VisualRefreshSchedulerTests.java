@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPart;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPartFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.scene.Node;
+
+/**
+ * Tests for the {@link VisualRefreshScheduler}, which are independent of
+ * JavaFX pulses (flushing the scheduler explicitly).
+ */
+public class VisualRefreshSchedulerTests {
+
+	/**
+	 * A {@link VisualRefreshScheduler} that does not request pulses, so that
+	 * it is only flushed explicitly.
+	 */
+	public static class ExplicitVisualRefreshScheduler extends VisualRefreshScheduler {
+		private int requestedPulses = 0;
+
+		@Override
+		protected void requestPulse() {
+			requestedPulses++;
+		}
+	}
+
+	// records its visual refreshes
+	private class RecordingPart extends CellContentPart {
+		@Override
+		protected void doRefreshVisual(Node visual) {
+			refreshes.add(this);
+		}
+	}
+
+	private List<Object> refreshes = new ArrayList<>();
+	private ExplicitVisualRefreshScheduler scheduler;
+	private IViewer viewer;
+
+	@Before
+	public void setUp() {
+		IDomain domain = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindVisualRefreshSchedulerAsContentViewerAdapter(
+					MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(ExplicitVisualRefreshScheduler.class);
+			}
+
+			@Override
+			protected void configure() {
+				binder().bind(IContentPartFactory.class).to(CellContentPartFactory.class);
+				super.configure();
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		scheduler = (ExplicitVisualRefreshScheduler) viewer.getAdapter(VisualRefreshScheduler.class);
+	}
+
+	@Test
+	public void scheduleParts() {
+		// the parts are activated below the (inactive) root part, so that the
+		// test does not depend on the visual of the root part
+		RecordingPart parent = new RecordingPart();
+		RecordingPart child = new RecordingPart();
+		viewer.getRootPart().addChild(parent);
+		parent.addChild(child);
+		parent.activate();
+		refreshes.clear();
+
+		// a part is refreshed once, and parents are refreshed before children
+		child.scheduleRefreshVisual();
+		parent.scheduleRefreshVisual();
+		child.scheduleRefreshVisual();
+		assertTrue(scheduler.isScheduled(child));
+		assertTrue(scheduler.requestedPulses > 0);
+		assertTrue(refreshes.isEmpty());
+		scheduler.flush();
+		assertEquals(Arrays.asList(parent, child), refreshes);
+		assertFalse(scheduler.isScheduled(child));
+
+		// unscheduled and inactive parts are not refreshed
+		refreshes.clear();
+		child.scheduleRefreshVisual();
+		parent.scheduleRefreshVisual();
+		scheduler.unschedule(child);
+		parent.deactivate();
+		scheduler.flush();
+		assertTrue(refreshes.isEmpty());
+	}
+
+	@Test
+	public void scheduleTasks() {
+		final RecordingPart part = new RecordingPart();
+		viewer.getRootPart().addChild(part);
+		part.activate();
+		refreshes.clear();
+
+		final Runnable secondTask = new Runnable() {
+			@Override
+			public void run() {
+				refreshes.add(this);
+			}
+		};
+		Runnable firstTask = new Runnable() {
+			@Override
+			public void run() {
+				refreshes.add(this);
+				// parts scheduled by a task are refreshed within the same
+				// flush, tasks within the next one
+				part.scheduleRefreshVisual();
+				scheduler.schedule(secondTask);
+			}
+		};
+
+		// a task is run once, before the parts are refreshed
+		part.scheduleRefreshVisual();
+		scheduler.schedule(firstTask);
+		scheduler.schedule(firstTask);
+		assertTrue(scheduler.isScheduled(firstTask));
+		scheduler.flush();
+		assertEquals(Arrays.asList(firstTask, part), refreshes);
+		assertFalse(scheduler.isScheduled(firstTask));
+		assertTrue(scheduler.isScheduled(secondTask));
+
+		refreshes.clear();
+		scheduler.flush();
+		assertEquals(Arrays.asList(secondTask), refreshes);
+
+		// unscheduled tasks are not run
+		refreshes.clear();
+		scheduler.schedule(secondTask);
+		scheduler.unschedule(secondTask);
+		scheduler.flush();
+		assertTrue(refreshes.isEmpty());
+	}
+}
@@ -76,4 +76,18 @@ public interface IGraphContentProvider extends IContentProvider {
 	 */
 	public boolean hasNestedGraph(Object node);
 
+	/**
+	 * Determines whether {@link #getAdjacentNodes(Object)} may be called
+	 * concurrently for different content elements. If so, the
+	 * {@link ZestContentViewer} queries the adjacent nodes of independent
+	 * content elements in parallel when building a graph. Per default,
+	 * <code>false</code> is returned.
+	 *
+	 * @return <code>true</code> when {@link #getAdjacentNodes(Object)} is
+	 *         thread-safe, otherwise <code>false</code>.
+	 */
+	public default boolean isThreadSafe() {
+		return false;
+	}
+
 }
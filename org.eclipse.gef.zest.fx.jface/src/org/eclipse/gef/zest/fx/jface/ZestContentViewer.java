@@ -16,10 +16,18 @@
 package org.eclipse.gef.zest.fx.jface;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.fx.swt.canvas.IFXCanvasFactory;
@@ -62,6 +70,13 @@ import javafx.scene.Scene;
 /**
  * The {@link ZestContentViewer} is a {@link ContentViewer} that is capable of
  * displaying {@link Graph}s.
+ * <p>
+ * Besides the complete {@link #refresh()}, which re-creates the whole
+ * {@link Graph}, individual content elements can be {@link #add(Object)
+ * added}, {@link #remove(Object) removed}, {@link #refresh(Object) refreshed},
+ * and {@link #update(Object, String[]) updated}. These operations only patch
+ * the affected {@link Node}s and {@link Edge}s of the displayed {@link Graph},
+ * so that the other parts are neither re-created nor invalidated.
  *
  * @author mwienand
  * @author anyssen
@@ -82,6 +97,16 @@ public class ZestContentViewer extends ContentViewer {
 	private IViewer viewer;
 	private ILayoutAlgorithm layoutAlgorithm;
 	private Map<Object, Node> contentNodeMap = new IdentityHashMap<>();
+	private Map<Node, Object> nodeContentMap = new IdentityHashMap<>();
+	private Map<Object, List<Edge>> contentEdgeMap = new IdentityHashMap<>();
+	// incoming edges per target node
+	private Map<Node, List<Edge>> incomingEdgeMap = new IdentityHashMap<>();
+	// content source nodes per (not yet displayed) content target node
+	private Map<Object, Set<Object>> pendingEdgeSources = new IdentityHashMap<>();
+	// attribute keys per node that were provided by the label provider
+	private Map<Node, Set<String>> nodeAttributeKeys = new IdentityHashMap<>();
+	// attribute keys per edge that were provided by the label provider
+	private Map<Edge, Set<String>> edgeAttributeKeys = new IdentityHashMap<>();
 
 	/**
 	 * Constructs a new {@link ZestContentViewer}. The given {@link Module} is
@@ -98,6 +123,48 @@ public class ZestContentViewer extends ContentViewer {
 		// injector.injectMembers(this);
 	}
 
+	/**
+	 * Adds a {@link Node} for the given content element to the root
+	 * {@link Graph}, together with the {@link Edge}s to its adjacent nodes (as
+	 * provided by the {@link IGraphContentProvider}). {@link Edge}s from other
+	 * (already displayed) content elements, whose adjacent nodes included the
+	 * new element before it was displayed, are added as well. Adjacent nodes
+	 * that are not displayed yet are connected as soon as they are added. Does
+	 * nothing if the given element is already displayed.
+	 *
+	 * @param element
+	 *            The content element to add.
+	 */
+	public void add(Object element) {
+		Graph rootGraph = getRootGraph();
+		if (rootGraph == null) {
+			throw new IllegalStateException("No input set.");
+		}
+		if (contentNodeMap.containsKey(element)) {
+			return;
+		}
+		IGraphContentProvider graphContentProvider = (IGraphContentProvider) getContentProvider();
+		ILabelProvider labelProvider = getLabelProvider();
+		Node node = createNode(element, graphContentProvider, labelProvider);
+		rootGraph.getNodes().add(node);
+		refreshEdges(element, node, graphContentProvider, labelProvider);
+		resolvePendingEdges(element, graphContentProvider, labelProvider);
+	}
+
+	/**
+	 * Defers the creation of an {@link Edge} from the given source content
+	 * element to the given target content element, which is not displayed
+	 * yet, until the target is added.
+	 */
+	private void addPendingEdge(Object contentSourceNode, Object contentTargetNode) {
+		Set<Object> sources = pendingEdgeSources.get(contentTargetNode);
+		if (sources == null) {
+			sources = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+			pendingEdgeSources.put(contentTargetNode, sources);
+		}
+		sources.add(contentSourceNode);
+	}
+
 	/**
 	 * Creates an {@link FXCanvas} inside of the given <i>parent</i>
 	 * {@link Composite}. The {@link FXCanvas} serves acs the container for the
@@ -168,8 +235,9 @@ public class ZestContentViewer extends ContentViewer {
 			IGraphAttributesProvider graphNodeLabelProvider = (IGraphAttributesProvider) labelProvider;
 			Map<String, Object> edgeAttributes = graphNodeLabelProvider.getEdgeAttributes(contentSourceNode,
 					contentTargetNode);
-			if (edgeAttributes != null) {
+			if (edgeAttributes != null && !edgeAttributes.isEmpty()) {
 				edge.attributesProperty().putAll(edgeAttributes);
+				edgeAttributeKeys.put(edge, new HashSet<>(edgeAttributes.keySet()));
 			}
 		}
 		return edge;
@@ -244,88 +312,9 @@ public class ZestContentViewer extends ContentViewer {
 
 		Node node = new Node();
 		contentNodeMap.put(contentNode, node);
+		nodeContentMap.put(node, contentNode);
 
-		// label
-		ZestProperties.setLabel(node, new Provider<String>() {
-			@Override
-			public String get() {
-				return labelProvider.getText(contentNode);
-			}
-		});
-
-		// icon
-		// TODO: use provider
-		Image icon = labelProvider.getImage(contentNode);
-		if (icon != null) {
-			ZestProperties.setIcon(node, SWTFXUtils.toFXImage(icon.getImageData(), null));
-		}
-
-		// tooltip
-		if (labelProvider instanceof IToolTipProvider) {
-			final IToolTipProvider toolTipProvider = (IToolTipProvider) labelProvider;
-			ZestProperties.setTooltip(node, new Provider<String>() {
-
-				@Override
-				public String get() {
-					return toolTipProvider.getToolTipText(contentNode);
-				}
-			});
-		}
-
-		String textCssStyle = "";
-
-		// colors
-		if (labelProvider instanceof IColorProvider) {
-			IColorProvider colorProvider = (IColorProvider) labelProvider;
-			Color foreground = colorProvider.getForeground(contentNode);
-			Color background = colorProvider.getBackground(contentNode);
-			String rectCssStyle = "";
-			if (background != null) {
-				rectCssStyle = rectCssStyle + "-fx-fill: " + toCssRgb(background) + ";";
-			}
-			if (foreground != null) {
-				rectCssStyle = rectCssStyle + "-fx-stroke: " + toCssRgb(foreground) + ";";
-				textCssStyle = "-fx-fill: " + toCssRgb(foreground) + ";";
-			}
-			if (!rectCssStyle.isEmpty()) {
-				ZestProperties.setShapeCssStyle(node, rectCssStyle);
-			}
-		}
-
-		// font
-		if (labelProvider instanceof IFontProvider) {
-			IFontProvider fontProvider = (IFontProvider) labelProvider;
-			Font font = fontProvider.getFont(contentNode);
-			FontData[] fontData = font == null ? null : font.getFontData();
-			if (fontData != null && fontData.length > 0 && fontData[0] != null) {
-				String name = fontData[0].getName();
-				int size = fontData[0].getHeight();
-				int style = fontData[0].getStyle();
-
-				// TODO: support all SWT font styles
-				boolean isBold = (style & SWT.BOLD) != 0;
-				boolean isItalic = (style & SWT.ITALIC) != 0;
-
-				textCssStyle = textCssStyle + "-fx-font-family: \"" + name + "\";" + "-fx-font-size: " + size + "pt;";
-				if (isItalic) {
-					textCssStyle = textCssStyle + "-fx-font-style: italic;";
-				}
-				if (isBold) {
-					textCssStyle = textCssStyle + "-fx-font-weight: bold;";
-				}
-			}
-		}
-
-		ZestProperties.setLabelCssStyle(node, textCssStyle);
-
-		// custom attributes
-		if (labelProvider instanceof IGraphAttributesProvider) {
-			IGraphAttributesProvider graphNodeLabelProvider = (IGraphAttributesProvider) labelProvider;
-			Map<String, Object> nodeAttributes = graphNodeLabelProvider.getNodeAttributes(contentNode);
-			if (nodeAttributes != null) {
-				node.attributesProperty().putAll(nodeAttributes);
-			}
-		}
+		refreshNodeAttributes(contentNode, node, labelProvider);
 
 		// create nested graph (optional)
 		if (graphContentProvider.hasNestedGraph(contentNode)) {
@@ -352,23 +341,48 @@ public class ZestContentViewer extends ContentViewer {
 	 */
 	protected void createNodesAndEdges(IGraphContentProvider graphContentProvider, ILabelProvider labelProvider,
 			Graph graph, Object[] contentNodes) {
-		// create nodes
+		// create nodes (including nested graphs) and add them at once, so that
+		// the observable node list is only changed (and copied) once
+		List<Node> nodes = new ArrayList<>(contentNodes.length);
 		for (Object node : contentNodes) {
-			Node graphNode = createNode(node, graphContentProvider, labelProvider);
-			graph.getNodes().add(graphNode);
+			nodes.add(createNode(node, graphContentProvider, labelProvider));
 		}
-		// create edges
-		for (Object contentSourceNode : contentNodes) {
+		graph.getNodes().addAll(nodes);
+		// query adjacent nodes (concurrently, if supported by the provider)
+		Object[][] adjacentNodes = getAdjacentNodes(graphContentProvider, contentNodes);
+		// create edges and add them at once
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < contentNodes.length; i++) {
+			Object contentSourceNode = contentNodes[i];
 			Node sourceNode = contentNodeMap.get(contentSourceNode);
-			Object[] connectedTo = graphContentProvider.getAdjacentNodes(contentSourceNode);
+			Object[] connectedTo = adjacentNodes[i];
 			if (connectedTo != null) {
+				List<Edge> sourceEdges = new ArrayList<>(connectedTo.length);
 				for (Object contentTargetNode : connectedTo) {
 					Node targetNode = contentNodeMap.get(contentTargetNode);
-					Edge edge = createEdge(labelProvider, contentSourceNode, sourceNode, contentTargetNode, targetNode);
-					graph.getEdges().add(edge);
+					if (targetNode == null) {
+						addPendingEdge(contentSourceNode, contentTargetNode);
+					} else {
+						Edge edge = createEdge(labelProvider, contentSourceNode, sourceNode, contentTargetNode,
+								targetNode);
+						sourceEdges.add(edge);
+						indexIncomingEdge(edge);
+					}
+				}
+				if (!sourceEdges.isEmpty()) {
+					edges.addAll(sourceEdges);
+					contentEdgeMap.put(contentSourceNode, sourceEdges);
 				}
 			}
 		}
+		graph.getEdges().addAll(edges);
+		// connect nodes that were created before and are adjacent to the new
+		// nodes (e.g. within nested graphs)
+		if (!pendingEdgeSources.isEmpty()) {
+			for (Object contentNode : contentNodes) {
+				resolvePendingEdges(contentNode, graphContentProvider, labelProvider);
+			}
+		}
 	}
 
 	/**
@@ -401,6 +415,57 @@ public class ZestContentViewer extends ContentViewer {
 		return graph;
 	}
 
+	/**
+	 * Queries the adjacent nodes of the given content nodes from the given
+	 * {@link IGraphContentProvider}. In case the provider is
+	 * {@link IGraphContentProvider#isThreadSafe() thread-safe}, the queries are
+	 * distributed over the {@link #getProviderExecutor() provider executor}.
+	 *
+	 * @param graphContentProvider
+	 *            The {@link IGraphContentProvider} to query.
+	 * @param contentNodes
+	 *            The content nodes for which to query the adjacent nodes.
+	 * @return An array containing the adjacent nodes for each content node.
+	 */
+	private Object[][] getAdjacentNodes(final IGraphContentProvider graphContentProvider,
+			final Object[] contentNodes) {
+		final Object[][] adjacentNodes = new Object[contentNodes.length][];
+		if (!graphContentProvider.isThreadSafe() || contentNodes.length < 2) {
+			for (int i = 0; i < contentNodes.length; i++) {
+				adjacentNodes[i] = graphContentProvider.getAdjacentNodes(contentNodes[i]);
+			}
+			return adjacentNodes;
+		}
+		// split into one chunk per available processor
+		int chunkCount = Math.min(contentNodes.length, Runtime.getRuntime().availableProcessors());
+		int chunkSize = (contentNodes.length + chunkCount - 1) / chunkCount;
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int start = 0; start < contentNodes.length; start += chunkSize) {
+			final int from = start;
+			final int to = Math.min(start + chunkSize, contentNodes.length);
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					for (int i = from; i < to; i++) {
+						adjacentNodes[i] = graphContentProvider.getAdjacentNodes(contentNodes[i]);
+					}
+					return null;
+				}
+			});
+		}
+		try {
+			for (Future<Void> future : getProviderExecutor().invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Querying adjacent nodes was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Querying adjacent nodes failed.", e.getCause());
+		}
+		return adjacentNodes;
+	}
+
 	/**
 	 * Returns an unmodifiable view of the content-node-map.
 	 *
@@ -440,6 +505,32 @@ public class ZestContentViewer extends ContentViewer {
 		return layoutAlgorithm;
 	}
 
+	/**
+	 * Returns the {@link ExecutorService} that is used to query a
+	 * {@link IGraphContentProvider#isThreadSafe() thread-safe}
+	 * {@link IGraphContentProvider} concurrently. Per default, the common
+	 * {@link ForkJoinPool} is used.
+	 *
+	 * @return The {@link ExecutorService} that is used to query the content
+	 *         provider.
+	 */
+	protected ExecutorService getProviderExecutor() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Returns the root {@link Graph} that is currently displayed, or
+	 * <code>null</code> if no {@link Graph} is displayed.
+	 *
+	 * @return The currently displayed root {@link Graph}.
+	 */
+	private Graph getRootGraph() {
+		if (viewer == null || viewer.getContents().isEmpty()) {
+			return null;
+		}
+		return (Graph) viewer.getContents().get(0);
+	}
+
 	@Override
 	public ISelection getSelection() {
 		// construct a new selection by using the selection model contents
@@ -482,13 +573,406 @@ public class ZestContentViewer extends ContentViewer {
 		}
 	}
 
+	private void indexIncomingEdge(Edge edge) {
+		List<Edge> incoming = incomingEdgeMap.get(edge.getTarget());
+		if (incoming == null) {
+			incoming = new ArrayList<>(2);
+			incomingEdgeMap.put(edge.getTarget(), incoming);
+		}
+		incoming.add(edge);
+	}
+
+	private int indexOfIdentical(List<Object> elements, Object element) {
+		for (int i = 0; i < elements.size(); i++) {
+			if (elements.get(i) == element) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	@Override
 	public void refresh() {
 		contentNodeMap.clear();
+		nodeContentMap.clear();
+		contentEdgeMap.clear();
+		incomingEdgeMap.clear();
+		pendingEdgeSources.clear();
+		nodeAttributeKeys.clear();
+		edgeAttributeKeys.clear();
 		viewer.getContents()
 				.setAll(Collections.singletonList(createRootGraph(getContentProvider(), getLabelProvider())));
 	}
 
+	/**
+	 * Refreshes the {@link Node} that represents the given content element:
+	 * its attributes are re-computed using the {@link ILabelProvider}, and its
+	 * outgoing {@link Edge}s as well as its nested {@link Graph} are
+	 * synchronized with the {@link IGraphContentProvider}. All other
+	 * {@link Node}s and {@link Edge}s remain untouched. Does nothing if the
+	 * given element is not displayed.
+	 *
+	 * @param element
+	 *            The content element to refresh.
+	 */
+	public void refresh(Object element) {
+		Node node = contentNodeMap.get(element);
+		if (node == null) {
+			return;
+		}
+		IGraphContentProvider graphContentProvider = (IGraphContentProvider) getContentProvider();
+		ILabelProvider labelProvider = getLabelProvider();
+		refreshNodeAttributes(element, node, labelProvider);
+		refreshNestedGraph(element, node, graphContentProvider, labelProvider);
+		refreshEdges(element, node, graphContentProvider, labelProvider);
+	}
+
+	/**
+	 * Synchronizes the outgoing {@link Edge}s of the given {@link Node} with
+	 * the adjacent nodes that are provided for its content element. Existing
+	 * {@link Edge}s are kept (and their attributes are refreshed), obsolete
+	 * ones are removed, and missing ones are created.
+	 */
+	private void refreshEdges(Object contentSourceNode, Node sourceNode, IGraphContentProvider graphContentProvider,
+			ILabelProvider labelProvider) {
+		Object[] connectedTo = graphContentProvider.getAdjacentNodes(contentSourceNode);
+		List<Object> contentTargetNodes = connectedTo == null ? new ArrayList<>()
+				: new ArrayList<>(Arrays.asList(connectedTo));
+		List<Edge> edges = contentEdgeMap.get(contentSourceNode);
+		if (edges == null) {
+			edges = new ArrayList<>();
+		}
+
+		// keep existing edges whose target is still adjacent
+		List<Edge> toRemove = new ArrayList<>();
+		for (Edge edge : edges) {
+			Object contentTargetNode = nodeContentMap.get(edge.getTarget());
+			int index = indexOfIdentical(contentTargetNodes, contentTargetNode);
+			if (index < 0) {
+				toRemove.add(edge);
+			} else {
+				contentTargetNodes.remove(index);
+				refreshEdgeAttributes(edge, contentSourceNode, contentTargetNode, labelProvider);
+			}
+		}
+
+		// create edges for the remaining adjacent nodes
+		List<Edge> toAdd = new ArrayList<>();
+		for (Object contentTargetNode : contentTargetNodes) {
+			Node targetNode = contentNodeMap.get(contentTargetNode);
+			if (targetNode == null) {
+				// defer the edge until the target node is added
+				addPendingEdge(contentSourceNode, contentTargetNode);
+			} else {
+				Edge edge = createEdge(labelProvider, contentSourceNode, sourceNode, contentTargetNode, targetNode);
+				toAdd.add(edge);
+				indexIncomingEdge(edge);
+			}
+		}
+		for (Edge edge : toRemove) {
+			unindexEdge(edge);
+		}
+
+		edges.removeAll(toRemove);
+		edges.addAll(toAdd);
+		if (edges.isEmpty()) {
+			contentEdgeMap.remove(contentSourceNode);
+		} else {
+			contentEdgeMap.put(contentSourceNode, edges);
+		}
+		Graph graph = sourceNode.getGraph();
+		if (!toRemove.isEmpty()) {
+			graph.getEdges().removeAll(toRemove);
+		}
+		if (!toAdd.isEmpty()) {
+			graph.getEdges().addAll(toAdd);
+		}
+	}
+
+	private void refreshEdgeAttributes(Edge edge, Object contentSourceNode, Object contentTargetNode,
+			ILabelProvider labelProvider) {
+		Map<String, Object> edgeAttributes = null;
+		if (labelProvider instanceof IGraphAttributesProvider) {
+			edgeAttributes = ((IGraphAttributesProvider) labelProvider).getEdgeAttributes(contentSourceNode,
+					contentTargetNode);
+		}
+		// remove the attributes that are no longer provided
+		Set<String> oldKeys = edgeAttributeKeys.remove(edge);
+		if (oldKeys != null) {
+			for (String key : oldKeys) {
+				if (edgeAttributes == null || !edgeAttributes.containsKey(key)) {
+					edge.attributesProperty().remove(key);
+				}
+			}
+		}
+		if (edgeAttributes != null && !edgeAttributes.isEmpty()) {
+			edge.attributesProperty().putAll(edgeAttributes);
+			edgeAttributeKeys.put(edge, new HashSet<>(edgeAttributes.keySet()));
+		}
+	}
+
+	/**
+	 * Synchronizes the nested {@link Graph} of the given {@link Node} with the
+	 * nested nodes that are provided for its content element.
+	 */
+	private void refreshNestedGraph(Object contentNestingNode, Node nestingNode,
+			IGraphContentProvider graphContentProvider, ILabelProvider labelProvider) {
+		Graph nestedGraph = nestingNode.getNestedGraph();
+		boolean hasNestedGraph = graphContentProvider.hasNestedGraph(contentNestingNode);
+		if (!hasNestedGraph && nestedGraph == null) {
+			return;
+		} else if (!hasNestedGraph) {
+			for (Node node : new ArrayList<>(nestedGraph.getNodes())) {
+				remove(nodeContentMap.get(node));
+			}
+			nestingNode.setNestedGraph(null);
+		} else if (nestedGraph == null) {
+			createNestedGraph(contentNestingNode, graphContentProvider, labelProvider).setNestingNode(nestingNode);
+		} else {
+			Object[] nestedContentNodes = graphContentProvider.getNestedGraphNodes(contentNestingNode);
+			Set<Object> newContentNodes = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+			if (nestedContentNodes != null) {
+				newContentNodes.addAll(Arrays.asList(nestedContentNodes));
+			}
+			// remove obsolete nodes
+			for (Node node : new ArrayList<>(nestedGraph.getNodes())) {
+				Object contentNode = nodeContentMap.get(node);
+				if (!newContentNodes.remove(contentNode)) {
+					remove(contentNode);
+				}
+			}
+			// add missing nodes (and their edges)
+			if (!newContentNodes.isEmpty()) {
+				List<Node> addedNodes = new ArrayList<>();
+				for (Object contentNode : newContentNodes) {
+					addedNodes.add(createNode(contentNode, graphContentProvider, labelProvider));
+				}
+				nestedGraph.getNodes().addAll(addedNodes);
+				for (Node node : addedNodes) {
+					refreshEdges(nodeContentMap.get(node), node, graphContentProvider, labelProvider);
+				}
+				for (Node node : addedNodes) {
+					resolvePendingEdges(nodeContentMap.get(node), graphContentProvider, labelProvider);
+				}
+			}
+			return;
+		}
+		// the nested graph was exchanged, which is not reflected by attribute
+		// changes, so that the part needs to be refreshed explicitly
+		IContentPart<? extends javafx.scene.Node> nestingNodePart = viewer.getContentPartMap().get(nestingNode);
+		if (nestingNodePart != null) {
+			nestingNodePart.refreshContentChildren();
+			nestingNodePart.refreshVisual();
+		}
+	}
+
+	/**
+	 * Computes the attributes of the given {@link Node} from the given
+	 * <i>labelProvider</i> for the given content element. Called when a
+	 * {@link Node} is created, as well as when it is {@link #update(Object,
+	 * String[]) updated} or {@link #refresh(Object) refreshed}.
+	 *
+	 * @param contentNode
+	 *            The content {@link Object} that represents the node.
+	 * @param node
+	 *            The {@link Node} of which the attributes are computed.
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 */
+	protected void refreshNodeAttributes(final Object contentNode, Node node, final ILabelProvider labelProvider) {
+		// remove the custom attributes that are no longer provided (before the
+		// default attributes are computed, which may use the same keys)
+		Map<String, Object> nodeAttributes = null;
+		if (labelProvider instanceof IGraphAttributesProvider) {
+			nodeAttributes = ((IGraphAttributesProvider) labelProvider).getNodeAttributes(contentNode);
+		}
+		Set<String> oldKeys = nodeAttributeKeys.remove(node);
+		if (oldKeys != null) {
+			for (String key : oldKeys) {
+				if (nodeAttributes == null || !nodeAttributes.containsKey(key)) {
+					node.attributesProperty().remove(key);
+				}
+			}
+		}
+
+		// label
+		ZestProperties.setLabel(node, new Provider<String>() {
+			@Override
+			public String get() {
+				return labelProvider.getText(contentNode);
+			}
+		});
+
+		// icon
+		// TODO: use provider
+		Image icon = labelProvider.getImage(contentNode);
+		if (icon != null) {
+			ZestProperties.setIcon(node, SWTFXUtils.toFXImage(icon.getImageData(), null));
+		} else {
+			node.attributesProperty().remove(ZestProperties.ICON__N);
+		}
+
+		// tooltip
+		if (labelProvider instanceof IToolTipProvider) {
+			final IToolTipProvider toolTipProvider = (IToolTipProvider) labelProvider;
+			ZestProperties.setTooltip(node, new Provider<String>() {
+
+				@Override
+				public String get() {
+					return toolTipProvider.getToolTipText(contentNode);
+				}
+			});
+		}
+
+		String textCssStyle = "";
+
+		// colors
+		if (labelProvider instanceof IColorProvider) {
+			IColorProvider colorProvider = (IColorProvider) labelProvider;
+			Color foreground = colorProvider.getForeground(contentNode);
+			Color background = colorProvider.getBackground(contentNode);
+			String rectCssStyle = "";
+			if (background != null) {
+				rectCssStyle = rectCssStyle + "-fx-fill: " + toCssRgb(background) + ";";
+			}
+			if (foreground != null) {
+				rectCssStyle = rectCssStyle + "-fx-stroke: " + toCssRgb(foreground) + ";";
+				textCssStyle = "-fx-fill: " + toCssRgb(foreground) + ";";
+			}
+			if (!rectCssStyle.isEmpty()) {
+				ZestProperties.setShapeCssStyle(node, rectCssStyle);
+			} else {
+				node.attributesProperty().remove(ZestProperties.SHAPE_CSS_STYLE__N);
+			}
+		}
+
+		// font
+		if (labelProvider instanceof IFontProvider) {
+			IFontProvider fontProvider = (IFontProvider) labelProvider;
+			Font font = fontProvider.getFont(contentNode);
+			FontData[] fontData = font == null ? null : font.getFontData();
+			if (fontData != null && fontData.length > 0 && fontData[0] != null) {
+				String name = fontData[0].getName();
+				int size = fontData[0].getHeight();
+				int style = fontData[0].getStyle();
+
+				// TODO: support all SWT font styles
+				boolean isBold = (style & SWT.BOLD) != 0;
+				boolean isItalic = (style & SWT.ITALIC) != 0;
+
+				textCssStyle = textCssStyle + "-fx-font-family: \"" + name + "\";" + "-fx-font-size: " + size + "pt;";
+				if (isItalic) {
+					textCssStyle = textCssStyle + "-fx-font-style: italic;";
+				}
+				if (isBold) {
+					textCssStyle = textCssStyle + "-fx-font-weight: bold;";
+				}
+			}
+		}
+
+		ZestProperties.setLabelCssStyle(node, textCssStyle);
+
+		// custom attributes
+		if (nodeAttributes != null && !nodeAttributes.isEmpty()) {
+			node.attributesProperty().putAll(nodeAttributes);
+			nodeAttributeKeys.put(node, new HashSet<>(nodeAttributes.keySet()));
+		}
+	}
+
+	/**
+	 * Removes the {@link Node} that represents the given content element (and
+	 * all nodes that are nested inside of it) from the displayed {@link Graph},
+	 * together with all {@link Edge}s that are connected to it. Does nothing if
+	 * the given element is not displayed.
+	 *
+	 * @param element
+	 *            The content element to remove.
+	 */
+	public void remove(Object element) {
+		Node node = contentNodeMap.get(element);
+		if (node == null) {
+			return;
+		}
+
+		// remove nested nodes first
+		Graph nestedGraph = node.getNestedGraph();
+		if (nestedGraph != null) {
+			for (Node nestedNode : new ArrayList<>(nestedGraph.getNodes())) {
+				remove(nodeContentMap.get(nestedNode));
+			}
+		}
+
+		// remove incoming edges (grouped by graph)
+		List<Edge> incoming = incomingEdgeMap.remove(node);
+		if (incoming != null) {
+			Map<Graph, List<Edge>> incomingPerGraph = new IdentityHashMap<>();
+			for (Edge edge : incoming) {
+				if (edge.getSource() == node) {
+					// loops are removed together with the outgoing edges
+					continue;
+				}
+				Object contentSourceNode = nodeContentMap.get(edge.getSource());
+				List<Edge> sourceEdges = contentEdgeMap.get(contentSourceNode);
+				sourceEdges.remove(edge);
+				if (sourceEdges.isEmpty()) {
+					contentEdgeMap.remove(contentSourceNode);
+				}
+				edgeAttributeKeys.remove(edge);
+				// restore the edge if the element is added again
+				addPendingEdge(contentSourceNode, element);
+				Graph graph = edge.getGraph();
+				if (graph != null) {
+					List<Edge> edges = incomingPerGraph.get(graph);
+					if (edges == null) {
+						edges = new ArrayList<>();
+						incomingPerGraph.put(graph, edges);
+					}
+					edges.add(edge);
+				}
+			}
+			for (Map.Entry<Graph, List<Edge>> entry : incomingPerGraph.entrySet()) {
+				entry.getKey().getEdges().removeAll(entry.getValue());
+			}
+		}
+
+		// remove outgoing edges
+		List<Edge> outgoing = contentEdgeMap.remove(element);
+		if (outgoing != null) {
+			for (Edge edge : outgoing) {
+				unindexEdge(edge);
+			}
+		}
+		Graph graph = node.getGraph();
+		if (graph != null) {
+			if (outgoing != null) {
+				graph.getEdges().removeAll(outgoing);
+			}
+			graph.getNodes().remove(node);
+		}
+		contentNodeMap.remove(element);
+		nodeContentMap.remove(node);
+		nodeAttributeKeys.remove(node);
+	}
+
+	/**
+	 * Creates the {@link Edge}s that were deferred until the given content
+	 * element is displayed, by refreshing the edges of the respective source
+	 * content elements.
+	 */
+	private void resolvePendingEdges(Object contentTargetNode, IGraphContentProvider graphContentProvider,
+			ILabelProvider labelProvider) {
+		Set<Object> sources = pendingEdgeSources.remove(contentTargetNode);
+		if (sources == null) {
+			return;
+		}
+		for (Object contentSourceNode : sources) {
+			Node sourceNode = contentNodeMap.get(contentSourceNode);
+			if (sourceNode != null && sourceNode.getGraph() != null) {
+				refreshEdges(contentSourceNode, sourceNode, graphContentProvider, labelProvider);
+			}
+		}
+	}
+
 	/**
 	 * Changes the {@link ILayoutAlgorithm} that is used for laying out the
 	 * contents to the given value.
@@ -513,15 +997,15 @@ public class ZestContentViewer extends ContentViewer {
 							.get(toBeSelectedContent);
 					if (toBeSelectedPart != null) {
 						toBeSelectedParts.add(toBeSelectedPart);
-						if (reveal) {
-							// TODO: we need to reveal all in a single step
-							viewer.reveal(toBeSelectedPart);
-						}
 					} else {
 						throw new IllegalArgumentException(
 								toBeSelectedContent + " is not visualized by a content part of this viewer.");
 					}
 				}
+				if (reveal) {
+					// reveal all parts in a single step
+					viewer.reveal(toBeSelectedParts);
+				}
 				getSelectionModel().prependToSelection(toBeSelectedParts);
 			}
 		} else {
@@ -542,4 +1026,59 @@ public class ZestContentViewer extends ContentViewer {
 		return "rgb(" + color.getRed() + "," + color.getGreen() + "," + color.getBlue() + ")";
 	}
 
+	private void unindexEdge(Edge edge) {
+		edgeAttributeKeys.remove(edge);
+		List<Edge> incoming = incomingEdgeMap.get(edge.getTarget());
+		if (incoming != null) {
+			incoming.remove(edge);
+			if (incoming.isEmpty()) {
+				incomingEdgeMap.remove(edge.getTarget());
+			}
+		}
+	}
+
+	/**
+	 * Updates the attributes of the {@link Node} that represents the given
+	 * content element, as well as the attributes of its outgoing {@link Edge}s,
+	 * using the {@link ILabelProvider}. In contrast to {@link #refresh(Object)},
+	 * the structure (edges and nested graph) is not synchronized. Does nothing
+	 * if the given element is not displayed, or if none of the given
+	 * <i>properties</i> affects the label, as determined by
+	 * {@link ILabelProvider#isLabelProperty(Object, String)}. Otherwise, all
+	 * label provider based attributes are re-computed, as the label provider
+	 * does not indicate which attributes depend on which properties.
+	 *
+	 * @param element
+	 *            The content element to update.
+	 * @param properties
+	 *            The changed properties, or <code>null</code> to indicate that
+	 *            the properties are unknown.
+	 */
+	public void update(Object element, String[] properties) {
+		Node node = contentNodeMap.get(element);
+		if (node == null) {
+			return;
+		}
+		ILabelProvider labelProvider = getLabelProvider();
+		if (properties != null) {
+			boolean isLabelProperty = false;
+			for (String property : properties) {
+				if (labelProvider.isLabelProperty(element, property)) {
+					isLabelProperty = true;
+					break;
+				}
+			}
+			if (!isLabelProperty) {
+				return;
+			}
+		}
+		refreshNodeAttributes(element, node, labelProvider);
+		List<Edge> edges = contentEdgeMap.get(element);
+		if (edges != null) {
+			for (Edge edge : edges) {
+				refreshEdgeAttributes(edge, element, nodeContentMap.get(edge.getTarget()), labelProvider);
+			}
+		}
+	}
+
 }
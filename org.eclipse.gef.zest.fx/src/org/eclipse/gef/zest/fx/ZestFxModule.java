@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -48,6 +48,8 @@ import org.eclipse.gef.zest.fx.behaviors.EdgeHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.EdgeLabelHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.EdgeLayoutBehavior;
 import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.behaviors.NestedGraphBehavior;
 import org.eclipse.gef.zest.fx.behaviors.NodeHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.NodeLayoutBehavior;
 import org.eclipse.gef.zest.fx.handlers.BendFirstAnchorageAndRelocateLabelsOnDragHandler;
@@ -250,6 +252,8 @@ public class ZestFxModule extends MvcFxModule {
 	protected void bindGraphPartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LayoutContext.class);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(GraphLayoutBehavior.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LevelOfDetailBehavior.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(NestedGraphBehavior.class);
 	}
 
 	/**
@@ -12,6 +12,9 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.Collections;
+import java.util.Set;
+
 import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.zest.fx.models.HidingModel;
@@ -28,6 +31,12 @@ import javafx.collections.SetChangeListener.Change;
  * will be called, respectively. By default, the {@link #getHost() host}'s
  * visual's visibility and mouse-transparency are changed depending on the
  * hidden status.
+ * <p>
+ * In case {@link #getObservedNodes()} returns a {@link Set} of nodes, the
+ * listeners are registered for these nodes only (see
+ * {@link HidingModel#addListener(org.eclipse.gef.graph.Node, SetChangeListener)}
+ * ), so that the {@link #getHost() host} is only notified when one of these
+ * nodes or one of their neighbors is hidden or shown.
  *
  * @author mwienand
  *
@@ -42,6 +51,7 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 	};
 
 	private boolean isHidden;
+	private Set<org.eclipse.gef.graph.Node> observedNodes;
 
 	/**
 	 * Returns <code>true</code> if the {@link #getHost() host} is currently
@@ -55,14 +65,12 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 	@Override
 	protected void doActivate() {
 		// register for change notifications regarding hidden nodes
-		HidingModel hidingModel = getHidingModel();
-		hidingModel.hiddenProperty().addListener(hidingModelObserver);
+		registerHidingModelObserver();
 	}
 
 	@Override
 	protected void doDeactivate() {
-		HidingModel hidingModel = getHidingModel();
-		hidingModel.hiddenProperty().removeListener(hidingModelObserver);
+		unregisterHidingModelObserver();
 	}
 
 	/**
@@ -87,6 +95,21 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 		getHost().getVisual().setMouseTransparent(true);
 	}
 
+	/**
+	 * Returns the {@link Set} of {@link org.eclipse.gef.graph.Node}s that
+	 * determine the hidden status of the {@link #getHost() host}, i.e. the
+	 * {@link #getHost() host} is notified when one of these nodes or one of
+	 * their neighbors is hidden or shown. Returns <code>null</code> by default,
+	 * so that the {@link #getHost() host} is notified about all changes of the
+	 * {@link HidingModel}.
+	 *
+	 * @return The {@link Set} of observed {@link org.eclipse.gef.graph.Node}s,
+	 *         or <code>null</code> to observe all changes.
+	 */
+	protected Set<org.eclipse.gef.graph.Node> getObservedNodes() {
+		return null;
+	}
+
 	/**
 	 * Returns <code>true</code> if the {@link #getHost() host} is currently
 	 * considered to be hidden. Otherwise, returns <code>false</code>.
@@ -120,6 +143,30 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 		}
 	}
 
+	/**
+	 * Re-registers the listeners on the {@link HidingModel} for the current
+	 * {@link #getObservedNodes() observed nodes}. Needs to be called by
+	 * sub-classes when the {@link #getObservedNodes() observed nodes} change.
+	 */
+	protected void refreshObservedNodes() {
+		if (isActive()) {
+			unregisterHidingModelObserver();
+			registerHidingModelObserver();
+		}
+	}
+
+	private void registerHidingModelObserver() {
+		HidingModel hidingModel = getHidingModel();
+		observedNodes = getObservedNodes();
+		if (observedNodes == null) {
+			hidingModel.hiddenProperty().addListener(hidingModelObserver);
+		} else {
+			for (org.eclipse.gef.graph.Node node : observedNodes) {
+				hidingModel.addListener(node, hidingModelObserver);
+			}
+		}
+	}
+
 	/**
 	 * Shows the {@link #getHost() host}. By default, the {@link #getHost()
 	 * host}'s visual's visibility will be set to <code>true</code> and its
@@ -131,4 +178,16 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 		getHost().getVisual().setMouseTransparent(false);
 	}
 
+	private void unregisterHidingModelObserver() {
+		HidingModel hidingModel = getHidingModel();
+		if (observedNodes == null) {
+			hidingModel.hiddenProperty().removeListener(hidingModelObserver);
+		} else {
+			for (org.eclipse.gef.graph.Node node : observedNodes) {
+				hidingModel.removeListener(node, hidingModelObserver);
+			}
+		}
+		observedNodes = Collections.emptySet();
+	}
+
 }
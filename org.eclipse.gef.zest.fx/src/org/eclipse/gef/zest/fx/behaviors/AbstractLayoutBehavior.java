@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -17,6 +17,7 @@ import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.zest.fx.parts.AbstractLabelPart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
 
 import javafx.scene.Node;
 
@@ -38,7 +39,7 @@ public abstract class AbstractLayoutBehavior extends AbstractBehavior {
 		@Override
 		public void onChanged(
 				org.eclipse.gef.common.collections.MultisetChangeListener.Change<? extends IVisualPart<? extends Node>> change) {
-			layoutLabels();
+			scheduleLayoutLabels();
 		}
 	};
 
@@ -98,4 +99,23 @@ public abstract class AbstractLayoutBehavior extends AbstractBehavior {
 		}
 	}
 
+	/**
+	 * Requests the labels that are anchored on the {@link #getHost() host} to
+	 * be placed, e.g. because the anchoreds of the host changed. If the host
+	 * is a child of a {@link GraphPart}, the request is forwarded to its
+	 * {@link GraphLayoutBehavior}, which places all labels of the graph in a
+	 * single pass that avoids overlaps. Otherwise, the labels are placed
+	 * immediately.
+	 */
+	protected void scheduleLayoutLabels() {
+		IVisualPart<? extends Node> parent = getHost().getParent();
+		GraphLayoutBehavior graphLayoutBehavior = parent instanceof GraphPart
+				? parent.getAdapter(GraphLayoutBehavior.class) : null;
+		if (graphLayoutBehavior != null) {
+			graphLayoutBehavior.scheduleLayoutLabels();
+		} else {
+			layoutLabels();
+		}
+	}
+
 }
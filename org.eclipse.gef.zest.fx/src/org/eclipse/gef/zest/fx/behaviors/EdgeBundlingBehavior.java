@@ -0,0 +1,848 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+
+import javafx.application.Platform;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+
+/**
+ * The {@link EdgeBundlingBehavior} is a {@link GraphPart}-specific behavior
+ * that bundles the edges of its {@link #getHost() host} using force-directed
+ * edge bundling (FDEB). After each layout pass, the edges are subdivided and
+ * the subdivision points of compatible edges (i.e. edges of similar
+ * direction, length, and position) are attracted to each other, so that
+ * compatible edges are drawn as bundles. The resulting subdivision points are
+ * stored as the {@link ZestProperties#CONTROL_POINTS__E control points} of the
+ * edges.
+ * <p>
+ * The bundling is computed by a {@link BundlingJob} on a detached copy of the
+ * edge geometry using the {@link #getBundlingExecutor() bundling executor},
+ * i.e. off the JavaFX application thread. Compatible edges are determined
+ * using a uniform grid of the edge midpoints, so that only nearby edges need
+ * to be compared, and only the {@link #MAX_COMPATIBLE_EDGES most compatible}
+ * edges are retained per edge. The control points of the edges are restored
+ * when the behavior is deactivated.
+ * <p>
+ * Per default, the bundled edges are still rendered by their own
+ * {@link EdgePart}s, which are needed for selection and interaction. If
+ * {@link #setMergedPathRendering(boolean) merged path rendering} is enabled,
+ * all bundled edges are instead rendered as a single {@link Path}, and they
+ * are excluded from the content children of the {@link GraphPart} (see
+ * {@link GraphPart#setMergedEdges(java.util.Collection)}), so that no
+ * {@link EdgePart}s (including decorations and labels) are created for them.
+ * This reduces the number of scene graph nodes and the rendering effort, but
+ * the bundled edges can then no longer be selected or interacted with
+ * individually. Edges that are not bundled are always rendered by their own
+ * {@link EdgePart}s.
+ * <p>
+ * The {@link EdgeBundlingBehavior} is not bound by default. In order to use
+ * it, it has to be bound as an adapter of the {@link GraphPart}.
+ *
+ */
+// only applicable to GraphPart (see #getHost())
+public class EdgeBundlingBehavior extends AbstractBehavior {
+
+	/**
+	 * A {@link BundlingJob} performs force-directed edge bundling on a
+	 * detached copy of the edge geometry, so that it can be executed on an
+	 * arbitrary thread. Within each iteration, the edges are processed
+	 * concurrently by subtasks that are forked within the {@link ForkJoinPool}
+	 * that executes the job.
+	 * <p>
+	 * For each edge, only the most compatible edges (up to the given maximum)
+	 * are retained, so that the memory consumption and the effort per
+	 * iteration is linear in the number of edges.
+	 */
+	public static class BundlingJob extends RecursiveTask<List<List<Point>>> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The number of cycles, i.e. the number of subdivision points of
+		 * bundled edges is <code>2^CYCLES - 1</code>.
+		 */
+		public static final int CYCLES = 5;
+		private static final int INITIAL_ITERATIONS = 50;
+		private static final double INITIAL_STEP_SIZE = 0.04;
+		private static final double SPRING_CONSTANT = 0.1;
+		private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+		private final List<Edge> edges = new ArrayList<>();
+		private final List<double[]> endPoints = new ArrayList<>();
+		private final double compatibilityThreshold;
+		private final int maxCompatibleEdges;
+		private int[][] compatibleEdges;
+		private double[][] compatibilities;
+
+		/**
+		 * Creates a new {@link BundlingJob} with the given compatibility
+		 * threshold and the given maximum number of compatible edges per edge.
+		 *
+		 * @param compatibilityThreshold
+		 *            The minimum compatibility of two edges for them to be
+		 *            bundled.
+		 * @param maxCompatibleEdges
+		 *            The maximum number of (most) compatible edges that is
+		 *            retained per edge.
+		 */
+		public BundlingJob(double compatibilityThreshold, int maxCompatibleEdges) {
+			if (maxCompatibleEdges < 1) {
+				throw new IllegalArgumentException("maxCompatibleEdges has to be positive.");
+			}
+			this.compatibilityThreshold = compatibilityThreshold;
+			this.maxCompatibleEdges = maxCompatibleEdges;
+		}
+
+		/**
+		 * Adds the given {@link Edge} with the given end points to this job.
+		 *
+		 * @param edge
+		 *            The {@link Edge} to add.
+		 * @param source
+		 *            The source {@link Point} of the edge.
+		 * @param target
+		 *            The target {@link Point} of the edge.
+		 */
+		public void add(Edge edge, Point source, Point target) {
+			edges.add(edge);
+			endPoints.add(new double[] { source.x, source.y, target.x, target.y });
+		}
+
+		// retains the given compatible edge, replacing the least compatible
+		// edge if the maximum number of compatible edges is reached
+		private void addCompatibleEdge(int i, int j, double compatibility, int[] sizes) {
+			int size = sizes[i];
+			if (size < maxCompatibleEdges) {
+				if (compatibleEdges[i] == null || compatibleEdges[i].length == size) {
+					int capacity = compatibleEdges[i] == null ? Math.min(4, maxCompatibleEdges)
+							: Math.min(2 * size, maxCompatibleEdges);
+					compatibleEdges[i] = compatibleEdges[i] == null ? new int[capacity]
+							: Arrays.copyOf(compatibleEdges[i], capacity);
+					compatibilities[i] = compatibilities[i] == null ? new double[capacity]
+							: Arrays.copyOf(compatibilities[i], capacity);
+				}
+				compatibleEdges[i][size] = j;
+				compatibilities[i][size] = compatibility;
+				sizes[i]++;
+			} else {
+				int min = 0;
+				for (int k = 1; k < size; k++) {
+					if (compatibilities[i][k] < compatibilities[i][min]) {
+						min = k;
+					}
+				}
+				if (compatibilities[i][min] < compatibility) {
+					compatibleEdges[i][min] = j;
+					compatibilities[i][min] = compatibility;
+				}
+			}
+		}
+
+		/**
+		 * Computes the control points of all edges. Returns <code>null</code>
+		 * for edges that are not compatible with any other edge.
+		 */
+		@Override
+		protected List<List<Point>> compute() {
+			int count = edges.size();
+			final double[] lengths = new double[count];
+			double totalLength = 0;
+			double maxLength = 0;
+			for (int i = 0; i < count; i++) {
+				double[] p = endPoints.get(i);
+				lengths[i] = Math.hypot(p[2] - p[0], p[3] - p[1]);
+				totalLength += lengths[i];
+				maxLength = Math.max(maxLength, lengths[i]);
+			}
+			double averageLength = count == 0 ? 0 : totalLength / count;
+
+			computeCompatibleEdges(lengths, Math.max(1, averageLength), maxLength);
+
+			// start with a single subdivision point (the midpoint)
+			double[][] xs = new double[count][];
+			double[][] ys = new double[count][];
+			for (int i = 0; i < count; i++) {
+				double[] p = endPoints.get(i);
+				xs[i] = new double[] { (p[0] + p[2]) / 2 };
+				ys[i] = new double[] { (p[1] + p[3]) / 2 };
+			}
+
+			int chunkSize = Math.max(1, (count + PARALLELISM - 1) / PARALLELISM);
+			double step = INITIAL_STEP_SIZE * averageLength;
+			int iterations = INITIAL_ITERATIONS;
+			for (int cycle = 0; cycle < CYCLES; cycle++) {
+				for (int iteration = 0; iteration < iterations; iteration++) {
+					// the new points only depend on the old points, so that
+					// the edges can be processed concurrently
+					final double[][] oldXs = xs;
+					final double[][] oldYs = ys;
+					final double[][] newXs = new double[count][];
+					final double[][] newYs = new double[count][];
+					final double currentStep = step;
+					List<RecursiveAction> tasks = new ArrayList<>();
+					for (int start = 0; start < count; start += chunkSize) {
+						final int from = start;
+						final int to = Math.min(count, start + chunkSize);
+						tasks.add(new RecursiveAction() {
+							private static final long serialVersionUID = 1L;
+
+							@Override
+							protected void compute() {
+								for (int i = from; i < to; i++) {
+									newXs[i] = oldXs[i].clone();
+									newYs[i] = oldYs[i].clone();
+									if (compatibleEdges[i].length > 0) {
+										moveSubdivisionPoints(i, lengths[i], currentStep, oldXs, oldYs, newXs[i],
+												newYs[i]);
+									}
+								}
+							}
+						});
+					}
+					// forked subtasks are processed within the pool (the
+					// current worker helps instead of blocking)
+					invokeAll(tasks);
+					xs = newXs;
+					ys = newYs;
+				}
+				if (cycle < CYCLES - 1) {
+					// double the number of subdivision points
+					for (int i = 0; i < count; i++) {
+						double[] p = endPoints.get(i);
+						double[][] subdivided = subdivide(p, xs[i], ys[i]);
+						xs[i] = subdivided[0];
+						ys[i] = subdivided[1];
+					}
+					step /= 2;
+					iterations = iterations * 2 / 3;
+				}
+			}
+
+			List<List<Point>> controlPoints = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				if (compatibleEdges[i].length == 0) {
+					controlPoints.add(null);
+					continue;
+				}
+				List<Point> points = new ArrayList<>(xs[i].length);
+				for (int k = 0; k < xs[i].length; k++) {
+					points.add(new Point(xs[i][k], ys[i][k]));
+				}
+				controlPoints.add(points);
+			}
+			return controlPoints;
+		}
+
+		/**
+		 * Computes the compatibility of the edges with the given indices
+		 * (product of angle, scale, position, and visibility compatibility).
+		 *
+		 * @param i
+		 *            The index of the first edge.
+		 * @param j
+		 *            The index of the second edge.
+		 * @return The compatibility of the edges, within <code>[0, 1]</code>.
+		 */
+		public double computeCompatibility(int i, int j) {
+			double[] p = endPoints.get(i);
+			double[] q = endPoints.get(j);
+			double pdx = p[2] - p[0];
+			double pdy = p[3] - p[1];
+			double qdx = q[2] - q[0];
+			double qdy = q[3] - q[1];
+			double pl = Math.hypot(pdx, pdy);
+			double ql = Math.hypot(qdx, qdy);
+			if (pl == 0 || ql == 0) {
+				return 0;
+			}
+			// angle
+			double angle = Math.abs((pdx * qdx + pdy * qdy) / (pl * ql));
+			// scale
+			double avg = (pl + ql) / 2;
+			double scale = 2 / (avg / Math.min(pl, ql) + Math.max(pl, ql) / avg);
+			// position
+			double midDistance = Math.hypot((p[0] + p[2]) / 2 - (q[0] + q[2]) / 2,
+					(p[1] + p[3]) / 2 - (q[1] + q[3]) / 2);
+			double position = avg / (avg + midDistance);
+			// visibility
+			double visibility = Math.min(computeVisibility(p, q), computeVisibility(q, p));
+			return angle * scale * position * visibility;
+		}
+
+		/**
+		 * Determines the (most) compatible edges (and the respective
+		 * compatibilities) for all edges, using a uniform grid of the edge
+		 * midpoints to find candidates.
+		 */
+		private void computeCompatibleEdges(double[] lengths, double cellSize, double maxLength) {
+			int count = lengths.length;
+			compatibleEdges = new int[count][];
+			compatibilities = new double[count][];
+			// index edge midpoints
+			Map<Long, List<Integer>> grid = new HashMap<>();
+			for (int i = 0; i < count; i++) {
+				if (lengths[i] == 0) {
+					continue;
+				}
+				double[] p = endPoints.get(i);
+				Long key = getKey((int) Math.floor((p[0] + p[2]) / 2 / cellSize),
+						(int) Math.floor((p[1] + p[3]) / 2 / cellSize));
+				List<Integer> cell = grid.get(key);
+				if (cell == null) {
+					cell = new ArrayList<>();
+					grid.put(key, cell);
+				}
+				cell.add(i);
+			}
+
+			int[] sizes = new int[count];
+			for (int i = 0; i < count; i++) {
+				if (lengths[i] == 0) {
+					continue;
+				}
+				// the position compatibility (which bounds the overall
+				// compatibility) falls below the threshold beyond this radius
+				double radius = (lengths[i] + maxLength) / 2 * (1 / compatibilityThreshold - 1);
+				double[] p = endPoints.get(i);
+				double mx = (p[0] + p[2]) / 2;
+				double my = (p[1] + p[3]) / 2;
+				int minColumn = (int) Math.floor((mx - radius) / cellSize);
+				int maxColumn = (int) Math.floor((mx + radius) / cellSize);
+				int minRow = (int) Math.floor((my - radius) / cellSize);
+				int maxRow = (int) Math.floor((my + radius) / cellSize);
+				if ((long) (maxColumn - minColumn + 1) * (maxRow - minRow + 1) > grid.size()) {
+					// fewer occupied cells than covered cells
+					for (List<Integer> cell : grid.values()) {
+						testCompatibility(i, cell, sizes);
+					}
+				} else {
+					for (int column = minColumn; column <= maxColumn; column++) {
+						for (int row = minRow; row <= maxRow; row++) {
+							List<Integer> cell = grid.get(getKey(column, row));
+							if (cell != null) {
+								testCompatibility(i, cell, sizes);
+							}
+						}
+					}
+				}
+			}
+			for (int i = 0; i < count; i++) {
+				compatibleEdges[i] = compatibleEdges[i] == null ? new int[0]
+						: Arrays.copyOf(compatibleEdges[i], sizes[i]);
+				compatibilities[i] = compatibilities[i] == null ? new double[0]
+						: Arrays.copyOf(compatibilities[i], sizes[i]);
+			}
+		}
+
+		/**
+		 * Computes the visibility compatibility of q with respect to p, i.e.
+		 * how well the projection of q onto p covers p's midpoint.
+		 */
+		private double computeVisibility(double[] p, double[] q) {
+			double dx = p[2] - p[0];
+			double dy = p[3] - p[1];
+			double lengthSquared = dx * dx + dy * dy;
+			double t0 = ((q[0] - p[0]) * dx + (q[1] - p[1]) * dy) / lengthSquared;
+			double t1 = ((q[2] - p[0]) * dx + (q[3] - p[1]) * dy) / lengthSquared;
+			double i0x = p[0] + t0 * dx;
+			double i0y = p[1] + t0 * dy;
+			double i1x = p[0] + t1 * dx;
+			double i1y = p[1] + t1 * dy;
+			double projectionLength = Math.hypot(i1x - i0x, i1y - i0y);
+			if (projectionLength == 0) {
+				return 0;
+			}
+			double distance = Math.hypot((p[0] + p[2]) / 2 - (i0x + i1x) / 2, (p[1] + p[3]) / 2 - (i0y + i1y) / 2);
+			return Math.max(1 - 2 * distance / projectionLength, 0);
+		}
+
+		/**
+		 * Returns the indices of the edges that are bundled with the edge at
+		 * the given index. Only available after the job is completed.
+		 *
+		 * @param i
+		 *            The index of the edge.
+		 * @return The indices of the compatible edges.
+		 */
+		public int[] getCompatibleEdges(int i) {
+			if (compatibleEdges == null) {
+				throw new IllegalStateException("The compatible edges are not yet computed.");
+			}
+			return compatibleEdges[i].clone();
+		}
+
+		/**
+		 * Returns the {@link Edge}s of this job, in the order in which they
+		 * were added.
+		 *
+		 * @return The {@link Edge}s of this job.
+		 */
+		public List<Edge> getEdges() {
+			return edges;
+		}
+
+		private Long getKey(int column, int row) {
+			return ((long) column << 32) | (row & 0xffffffffL);
+		}
+
+		/**
+		 * Computes the new subdivision points of the edge with the given
+		 * index, applying spring forces (towards the neighboring points on
+		 * the same edge) and electrostatic forces (towards the corresponding
+		 * points on compatible edges). The electrostatic force falls off with
+		 * the inverse distance, and equals the compatibility at a distance of
+		 * the edge's length.
+		 */
+		private void moveSubdivisionPoints(int i, double length, double step, double[][] xs, double[][] ys,
+				double[] newX, double[] newY) {
+			double[] p = endPoints.get(i);
+			int[] neighbors = compatibleEdges[i];
+			double[] weights = compatibilities[i];
+			int n = xs[i].length;
+			double springConstant = SPRING_CONSTANT / (length * (n + 1));
+			for (int k = 0; k < n; k++) {
+				double x = xs[i][k];
+				double y = ys[i][k];
+				double prevX = k == 0 ? p[0] : xs[i][k - 1];
+				double prevY = k == 0 ? p[1] : ys[i][k - 1];
+				double nextX = k == n - 1 ? p[2] : xs[i][k + 1];
+				double nextY = k == n - 1 ? p[3] : ys[i][k + 1];
+				double fx = springConstant * (prevX - x + nextX - x);
+				double fy = springConstant * (prevY - y + nextY - y);
+				for (int c = 0; c < neighbors.length; c++) {
+					int j = neighbors[c];
+					double[] q = endPoints.get(j);
+					// use the corresponding point of reversed edges
+					boolean reversed = (p[2] - p[0]) * (q[2] - q[0]) + (p[3] - p[1]) * (q[3] - q[1]) < 0;
+					int index = reversed ? n - 1 - k : k;
+					double dx = xs[j][index] - x;
+					double dy = ys[j][index] - y;
+					double distance = Math.hypot(dx, dy);
+					if (distance > 1e-6) {
+						// a single force may not move the point beyond the
+						// corresponding point
+						double force = Math.min(weights[c] * length / distance, distance / step);
+						fx += force * dx / distance;
+						fy += force * dy / distance;
+					}
+				}
+				newX[k] = x + step * fx;
+				newY[k] = y + step * fy;
+			}
+		}
+
+		/**
+		 * Doubles the number of subdivision points of the edge with the given
+		 * end points, inserting a new point in the middle of each segment.
+		 */
+		private double[][] subdivide(double[] p, double[] xs, double[] ys) {
+			int n = xs.length;
+			double[] newX = new double[2 * n + 1];
+			double[] newY = new double[2 * n + 1];
+			for (int k = 0; k <= n; k++) {
+				double x0 = k == 0 ? p[0] : xs[k - 1];
+				double y0 = k == 0 ? p[1] : ys[k - 1];
+				double x1 = k == n ? p[2] : xs[k];
+				double y1 = k == n ? p[3] : ys[k];
+				newX[2 * k] = (x0 + x1) / 2;
+				newY[2 * k] = (y0 + y1) / 2;
+				if (k < n) {
+					newX[2 * k + 1] = x1;
+					newY[2 * k + 1] = y1;
+				}
+			}
+			return new double[][] { newX, newY };
+		}
+
+		private void testCompatibility(int i, List<Integer> candidates, int[] sizes) {
+			for (int j : candidates) {
+				// test each pair only once
+				if (j <= i) {
+					continue;
+				}
+				double compatibility = computeCompatibility(i, j);
+				if (compatibility >= compatibilityThreshold) {
+					addCompatibleEdge(i, j, compatibility, sizes);
+					addCompatibleEdge(j, i, compatibility, sizes);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The default compatibility threshold, i.e. the minimum compatibility of
+	 * two edges for them to be bundled.
+	 */
+	public static final double DEFAULT_COMPATIBILITY_THRESHOLD = 0.6;
+
+	/**
+	 * The maximum number of (most) compatible edges that is retained per edge.
+	 */
+	public static final int MAX_COMPATIBLE_EDGES = 32;
+
+	/**
+	 * The CSS class that is assigned to the {@link #getMergedPath() merged
+	 * path}.
+	 */
+	public static final String CSS_CLASS_MERGED_PATH = "merged-edges";
+
+	private Runnable postLayout = new Runnable() {
+		@Override
+		public void run() {
+			scheduleBundling();
+		}
+	};
+
+	private Runnable bundlingTask = new Runnable() {
+		@Override
+		public void run() {
+			if (isActive()) {
+				bundleEdges();
+			}
+		}
+	};
+
+	private double compatibilityThreshold = DEFAULT_COMPATIBILITY_THRESHOLD;
+	private BundlingJob currentJob;
+	private Map<Edge, List<Point>> originalControlPoints = new IdentityHashMap<>();
+	private boolean mergedPathRendering = false;
+	private Path mergedPath;
+
+	/**
+	 * Transfers the results of the given {@link BundlingJob} to the edges, in
+	 * case the job was not superseded in the meantime. Has to be called on
+	 * the JavaFX application thread.
+	 */
+	private void applyBundling(BundlingJob job, List<List<Point>> controlPoints) {
+		if (job != currentJob || !isActive()) {
+			// outdated
+			return;
+		}
+		currentJob = null;
+		List<Edge> edges = job.getEdges();
+		for (int i = 0; i < edges.size(); i++) {
+			Edge edge = edges.get(i);
+			if (edge.getGraph() != getHost().getContent()) {
+				continue;
+			}
+			List<Point> points = controlPoints.get(i);
+			if (points == null) {
+				// not bundled, restore original control points
+				if (originalControlPoints.containsKey(edge)) {
+					ZestProperties.setControlPoints(edge, originalControlPoints.remove(edge));
+				}
+			} else {
+				if (!originalControlPoints.containsKey(edge)) {
+					originalControlPoints.put(edge, edge.getAttributes().containsKey(ZestProperties.CONTROL_POINTS__E)
+							? ZestProperties.getControlPoints(edge) : null);
+				}
+				ZestProperties.setControlPoints(edge, points);
+			}
+		}
+		if (mergedPathRendering) {
+			updateMergedPath(edges, controlPoints);
+		}
+	}
+
+	/**
+	 * Starts a new bundling pass for the edges of the {@link #getHost() host}.
+	 * The geometry of the edges is determined from the positions and sizes of
+	 * their source and target nodes. The bundling is computed using the
+	 * {@link #getBundlingExecutor() bundling executor}, and the results are
+	 * transferred to the edges on the JavaFX application thread.
+	 */
+	public void bundleEdges() {
+		final BundlingJob job = new BundlingJob(compatibilityThreshold, MAX_COMPATIBLE_EDGES);
+		for (Edge edge : getHost().getContent().getEdges()) {
+			Point source = getCenter(edge.getSource());
+			Point target = getCenter(edge.getTarget());
+			if (source != null && target != null && edge.getSource() != edge.getTarget()) {
+				job.add(edge, source, target);
+			}
+		}
+		currentJob = job;
+		getBundlingExecutor().execute(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				// executed within the current worker
+				final List<List<Point>> controlPoints = job.invoke();
+				Platform.runLater(new Runnable() {
+					@Override
+					public void run() {
+						applyBundling(job, controlPoints);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Removes the {@link #getMergedPath() merged path} from the visual of the
+	 * {@link #getHost() host}, so that the formerly merged edges are rendered
+	 * by their own {@link EdgePart}s again.
+	 */
+	private void clearMergedPath() {
+		if (mergedPath != null) {
+			getHost().getVisual().getChildren().remove(mergedPath);
+			mergedPath = null;
+		}
+		getHost().setMergedEdges(Collections.<Edge> emptySet());
+	}
+
+	@Override
+	protected void doActivate() {
+		getLayoutContext().schedulePostLayoutPass(postLayout);
+		scheduleBundling();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		getLayoutContext().unschedulePostLayoutPass(postLayout);
+		VisualRefreshScheduler scheduler = getVisualRefreshScheduler();
+		if (scheduler != null) {
+			scheduler.unschedule(bundlingTask);
+		}
+		clearMergedPath();
+		currentJob = null;
+		// restore original control points
+		for (Edge edge : originalControlPoints.keySet()) {
+			ZestProperties.setControlPoints(edge, originalControlPoints.get(edge));
+		}
+		originalControlPoints.clear();
+	}
+
+	/**
+	 * Returns the {@link ForkJoinPool} that is used to compute the bundling off
+	 * the JavaFX application thread. Per default, the common
+	 * {@link ForkJoinPool} is used.
+	 *
+	 * @return The {@link ForkJoinPool} that is used to compute the bundling.
+	 */
+	protected ForkJoinPool getBundlingExecutor() {
+		return ForkJoinPool.commonPool();
+	}
+
+	private Point getCenter(org.eclipse.gef.graph.Node node) {
+		Point position = ZestProperties.getPosition(node);
+		if (position == null) {
+			return null;
+		}
+		Dimension size = ZestProperties.getSize(node);
+		return size == null ? position : position.getTranslated(size.getScaled(0.5));
+	}
+
+	/**
+	 * Returns the compatibility threshold, i.e. the minimum compatibility of
+	 * two edges for them to be bundled.
+	 *
+	 * @return The compatibility threshold.
+	 */
+	public double getCompatibilityThreshold() {
+		return compatibilityThreshold;
+	}
+
+	/**
+	 * Returns the end point of a merged edge at the given node, i.e. the
+	 * point where the segment from the node's center to the given adjacent
+	 * control point leaves the node's bounds.
+	 */
+	private Point getEndPoint(org.eclipse.gef.graph.Node node, Point controlPoint) {
+		Point center = getCenter(node);
+		Dimension size = ZestProperties.getSize(node);
+		if (size == null) {
+			return center;
+		}
+		Line segment = new Line(center, controlPoint);
+		for (Line side : new Rectangle(ZestProperties.getPosition(node), size).getOutlineSegments()) {
+			Point intersection = segment.getIntersection(side);
+			if (intersection != null) {
+				return intersection;
+			}
+		}
+		return center;
+	}
+
+	@Override
+	public GraphPart getHost() {
+		return (GraphPart) super.getHost();
+	}
+
+	/**
+	 * Returns the {@link LayoutContext} after whose layout passes the edges
+	 * are bundled.
+	 *
+	 * @return The {@link LayoutContext} of the {@link #getHost() host}.
+	 */
+	protected LayoutContext getLayoutContext() {
+		return getHost().getAdapter(LayoutContext.class);
+	}
+
+	/**
+	 * Returns the {@link Path} that renders all bundled edges if
+	 * {@link #isMergedPathRendering() merged path rendering} is enabled and a
+	 * bundling pass was completed, otherwise <code>null</code>.
+	 *
+	 * @return The {@link Path} that renders all bundled edges, or
+	 *         <code>null</code>.
+	 */
+	public Path getMergedPath() {
+		return mergedPath;
+	}
+
+	/**
+	 * Returns the {@link VisualRefreshScheduler} of the viewer where the
+	 * {@link #getHost() host} is displayed, which is used to defer bundling
+	 * passes to the next JavaFX pulse, or <code>null</code> if none is
+	 * available.
+	 *
+	 * @return The {@link VisualRefreshScheduler} of the viewer, or
+	 *         <code>null</code>.
+	 */
+	protected VisualRefreshScheduler getVisualRefreshScheduler() {
+		IViewer viewer = getHost().getViewer();
+		return viewer == null ? null : viewer.getAdapter(VisualRefreshScheduler.class);
+	}
+
+	/**
+	 * Returns whether the bundled edges are rendered as a single merged
+	 * {@link Path} instead of by their own {@link EdgePart}s.
+	 *
+	 * @return <code>true</code> if merged path rendering is enabled, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isMergedPathRendering() {
+		return mergedPathRendering;
+	}
+
+	/**
+	 * Schedules a bundling pass to be started within the next JavaFX pulse,
+	 * so that multiple requests (e.g. from nested layout passes) are
+	 * coalesced, and so that all layout results have been transferred to the
+	 * model before. If no {@link #getVisualRefreshScheduler() scheduler} is
+	 * available, the bundling pass is started immediately.
+	 */
+	protected void scheduleBundling() {
+		VisualRefreshScheduler scheduler = getVisualRefreshScheduler();
+		if (scheduler != null) {
+			scheduler.schedule(bundlingTask);
+		} else {
+			bundlingTask.run();
+		}
+	}
+
+	/**
+	 * Sets the compatibility threshold, i.e. the minimum compatibility of two
+	 * edges for them to be bundled.
+	 *
+	 * @param compatibilityThreshold
+	 *            The new compatibility threshold, within <code>(0, 1]</code>.
+	 */
+	public void setCompatibilityThreshold(double compatibilityThreshold) {
+		if (compatibilityThreshold <= 0 || compatibilityThreshold > 1) {
+			throw new IllegalArgumentException("The compatibility threshold has to be within (0, 1].");
+		}
+		this.compatibilityThreshold = compatibilityThreshold;
+		if (isActive()) {
+			scheduleBundling();
+		}
+	}
+
+	/**
+	 * Specifies whether the bundled edges are rendered as a single merged
+	 * {@link Path} instead of by their own {@link EdgePart}s. Enabling merged
+	 * path rendering takes effect with the next bundling pass, which is
+	 * scheduled if this behavior is active.
+	 *
+	 * @param mergedPathRendering
+	 *            <code>true</code> to render the bundled edges as a merged
+	 *            path, otherwise <code>false</code>.
+	 */
+	public void setMergedPathRendering(boolean mergedPathRendering) {
+		if (this.mergedPathRendering == mergedPathRendering) {
+			return;
+		}
+		this.mergedPathRendering = mergedPathRendering;
+		if (!isActive()) {
+			return;
+		}
+		if (mergedPathRendering) {
+			scheduleBundling();
+		} else {
+			clearMergedPath();
+		}
+	}
+
+	/**
+	 * Renders the bundled edges of the given (completed) bundling pass as a
+	 * single merged {@link Path}, and excludes them from the content children
+	 * of the {@link #getHost() host}.
+	 */
+	private void updateMergedPath(List<Edge> edges, List<List<Point>> controlPoints) {
+		List<PathElement> elements = new ArrayList<>();
+		Set<Edge> mergedEdges = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (int i = 0; i < edges.size(); i++) {
+			Edge edge = edges.get(i);
+			List<Point> points = controlPoints.get(i);
+			if (points == null || points.isEmpty() || edge.getGraph() != getHost().getContent()
+					|| Boolean.TRUE.equals(ZestProperties.getInvisible(edge))) {
+				continue;
+			}
+			mergedEdges.add(edge);
+			Point start = getEndPoint(edge.getSource(), points.get(0));
+			elements.add(new MoveTo(start.x, start.y));
+			for (Point point : points) {
+				elements.add(new LineTo(point.x, point.y));
+			}
+			Point end = getEndPoint(edge.getTarget(), points.get(points.size() - 1));
+			elements.add(new LineTo(end.x, end.y));
+		}
+		if (mergedPath == null) {
+			mergedPath = new Path();
+			mergedPath.getStyleClass().add(CSS_CLASS_MERGED_PATH);
+			mergedPath.setMouseTransparent(true);
+			// the merged path is the last child of the host visual, so that
+			// the (index-based) child visuals of the host are not affected
+			getHost().getVisual().getChildren().add(mergedPath);
+		}
+		mergedPath.getElements().setAll(elements);
+		getHost().setMergedEdges(mergedEdges);
+	}
+
+}
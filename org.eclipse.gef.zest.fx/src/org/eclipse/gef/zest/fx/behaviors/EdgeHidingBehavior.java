@@ -12,11 +12,19 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.eclipse.gef.common.collections.SetMultimapChangeListener;
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.zest.fx.parts.EdgePart;
 
 /**
  * The {@link EdgeHidingBehavior} is an {@link EdgePart}-specific
- * {@link AbstractHidingBehavior} implementation.
+ * {@link AbstractHidingBehavior} implementation. It observes the source and
+ * target nodes of the {@link Edge} and re-registers when the content
+ * anchorages of its {@link #getHost() host} change.
  *
  * @author mwienand
  *
@@ -24,15 +32,61 @@ import org.eclipse.gef.zest.fx.parts.EdgePart;
 // only applicable for EdgePart (see #getHost())
 public class EdgeHidingBehavior extends AbstractHidingBehavior {
 
+	private SetMultimapChangeListener<Object, String> contentAnchoragesObserver = new SetMultimapChangeListener<Object, String>() {
+		@Override
+		public void onChanged(SetMultimapChangeListener.Change<? extends Object, ? extends String> change) {
+			refreshObservedNodes();
+		}
+	};
+
+	/**
+	 * Returns a {@link Set} containing the (non-<code>null</code>) source and
+	 * target {@link org.eclipse.gef.graph.Node}s of the given {@link Edge}.
+	 *
+	 * @param edge
+	 *            The {@link Edge} of which the source and target are
+	 *            returned.
+	 * @return A {@link Set} containing the source and target of the given
+	 *         {@link Edge}.
+	 */
+	static Set<org.eclipse.gef.graph.Node> getSourceAndTarget(Edge edge) {
+		Set<org.eclipse.gef.graph.Node> nodes = Collections
+				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
+		if (edge.getSource() != null) {
+			nodes.add(edge.getSource());
+		}
+		if (edge.getTarget() != null) {
+			nodes.add(edge.getTarget());
+		}
+		return nodes;
+	}
+
 	@Override
 	protected boolean determineHiddenStatus() {
 		return getHidingModel().isHidden(getHost().getContent().getSource())
 				|| getHidingModel().isHidden(getHost().getContent().getTarget());
 	}
 
+	@Override
+	protected void doActivate() {
+		super.doActivate();
+		getHost().getContentAnchoragesUnmodifiable().addListener(contentAnchoragesObserver);
+	}
+
+	@Override
+	protected void doDeactivate() {
+		getHost().getContentAnchoragesUnmodifiable().removeListener(contentAnchoragesObserver);
+		super.doDeactivate();
+	}
+
 	@Override
 	public EdgePart getHost() {
 		return (EdgePart) super.getHost();
 	}
 
+	@Override
+	protected Set<org.eclipse.gef.graph.Node> getObservedNodes() {
+		return getSourceAndTarget(getHost().getContent());
+	}
+
 }
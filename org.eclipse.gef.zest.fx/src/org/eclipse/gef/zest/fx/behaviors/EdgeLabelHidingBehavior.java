@@ -12,12 +12,18 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.Set;
+
+import org.eclipse.gef.common.collections.SetMultimapChangeListener;
 import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.zest.fx.parts.EdgeLabelPart;
 
 /**
  * The {@link EdgeLabelHidingBehavior} is an {@link EdgeLabelPart}-specific
- * {@link AbstractHidingBehavior} implementation.
+ * {@link AbstractHidingBehavior} implementation. It observes the source and
+ * target nodes of the labeled {@link Edge} and re-registers when the content
+ * anchorages of the corresponding edge part change.
  *
  * @author mwienand
  *
@@ -25,15 +31,47 @@ import org.eclipse.gef.zest.fx.parts.EdgeLabelPart;
 // only applicable for EdgeLabelPart (see #getHost())
 public class EdgeLabelHidingBehavior extends AbstractHidingBehavior {
 
+	private SetMultimapChangeListener<Object, String> edgeContentAnchoragesObserver = new SetMultimapChangeListener<Object, String>() {
+		@Override
+		public void onChanged(SetMultimapChangeListener.Change<? extends Object, ? extends String> change) {
+			refreshObservedNodes();
+		}
+	};
+
+	private IContentPart<? extends javafx.scene.Node> edgePart;
+
 	@Override
 	protected boolean determineHiddenStatus() {
 		Edge edge = getHost().getContent().getKey();
 		return getHidingModel().isHidden(edge.getSource()) || getHidingModel().isHidden(edge.getTarget());
 	}
 
+	@Override
+	protected void doActivate() {
+		super.doActivate();
+		edgePart = getHost().getRoot().getViewer().getContentPartMap().get(getHost().getContent().getKey());
+		if (edgePart != null) {
+			edgePart.getContentAnchoragesUnmodifiable().addListener(edgeContentAnchoragesObserver);
+		}
+	}
+
+	@Override
+	protected void doDeactivate() {
+		if (edgePart != null) {
+			edgePart.getContentAnchoragesUnmodifiable().removeListener(edgeContentAnchoragesObserver);
+			edgePart = null;
+		}
+		super.doDeactivate();
+	}
+
 	@Override
 	public EdgeLabelPart getHost() {
 		return (EdgeLabelPart) super.getHost();
 	}
 
+	@Override
+	protected Set<org.eclipse.gef.graph.Node> getObservedNodes() {
+		return EdgeHidingBehavior.getSourceAndTarget(getHost().getContent().getKey());
+	}
+
 }
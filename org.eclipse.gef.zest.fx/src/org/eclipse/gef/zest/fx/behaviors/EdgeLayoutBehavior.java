@@ -42,11 +42,9 @@ public class EdgeLayoutBehavior extends AbstractLayoutBehavior {
 
 	@Override
 	protected void postLayout() {
-		// refresh visual
+		// refresh visual (label positions are updated by the
+		// GraphLayoutBehavior for all labels at once)
 		getHost().refreshVisual();
-
-		// update label positions, which are not computed by layout itself
-		layoutLabels();
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -12,10 +12,25 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
@@ -28,24 +43,50 @@ import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.parts.PartUtils;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
 import org.eclipse.gef.zest.fx.ZestProperties;
 import org.eclipse.gef.zest.fx.models.HidingModel;
 import org.eclipse.gef.zest.fx.models.NavigationModel;
 import org.eclipse.gef.zest.fx.models.NavigationModel.ViewportState;
+import org.eclipse.gef.zest.fx.parts.AbstractLabelPart;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
+import javafx.animation.PauseTransition;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
 import javafx.collections.SetChangeListener;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.Parent;
+import javafx.util.Duration;
 
 /**
  * The {@link GraphLayoutBehavior} is responsible for initiating layout passes.
  * It is only applicable to {@link GraphPart}.
+ * <p>
+ * Layout passes of nested graphs are not applied immediately, but are
+ * collected by the {@link GraphLayoutBehavior} of the top-most
+ * {@link GraphPart} and applied in a single {@link #applyNestedLayouts()
+ * nested layout pass}. That pass processes the nesting hierarchy bottom-up and
+ * computes the layouts of sibling graphs (i.e. graphs at the same nesting
+ * level) concurrently, using the {@link #getNestedLayoutExecutor() nested
+ * layout executor}, before committing the results of each level in one batch.
+ * <p>
+ * Layout passes that are triggered by changes (of the children, the hidden
+ * nodes, or the layout bounds) are {@link #scheduleLayout(boolean) scheduled}
+ * rather than applied immediately, so that all requests within the same JavaFX
+ * pulse (or within the {@link #setLayoutQuietPeriod(Duration) quiet period})
+ * are coalesced into a single layout pass. The pending layout passes are
+ * applied by a task that is scheduled at the {@link VisualRefreshScheduler} of
+ * the viewer (once the quiet period has elapsed).
+ * <p>
+ * After a layout pass, the labels of all nodes and edges are
+ * {@link #layoutLabels() placed} in a single pass that avoids overlaps with
+ * nodes and other labels where possible.
  *
  * @author mwienand
  *
@@ -53,6 +94,170 @@ import javafx.scene.Parent;
 // only applicable for GraphPart (see #getHost())
 public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
+	/**
+	 * A {@link LabelIndex} is a uniform grid that indexes the bounds of the
+	 * obstacles that labels should not overlap (i.e. nodes and already placed
+	 * labels), so that collision queries only need to consider the obstacles
+	 * within the grid cells that are covered by the queried bounds.
+	 */
+	private static class LabelIndex {
+
+		private final double cellWidth;
+		private final double cellHeight;
+		private final Map<Long, List<Rectangle>> cells = new HashMap<>();
+
+		public LabelIndex(double cellWidth, double cellHeight) {
+			this.cellWidth = cellWidth;
+			this.cellHeight = cellHeight;
+		}
+
+		/**
+		 * Adds the given bounds to all grid cells that they cover.
+		 */
+		public void add(Rectangle bounds) {
+			int minX = getColumn(bounds.getX());
+			int maxX = getColumn(bounds.getX() + bounds.getWidth());
+			int minY = getRow(bounds.getY());
+			int maxY = getRow(bounds.getY() + bounds.getHeight());
+			for (int x = minX; x <= maxX; x++) {
+				for (int y = minY; y <= maxY; y++) {
+					Long key = getKey(x, y);
+					List<Rectangle> cell = cells.get(key);
+					if (cell == null) {
+						cell = new ArrayList<>();
+						cells.put(key, cell);
+					}
+					cell.add(bounds);
+				}
+			}
+		}
+
+		private int getColumn(double x) {
+			return (int) Math.floor(x / cellWidth);
+		}
+
+		private Long getKey(int column, int row) {
+			return ((long) column << 32) | (row & 0xffffffffL);
+		}
+
+		private int getRow(double y) {
+			return (int) Math.floor(y / cellHeight);
+		}
+
+		/**
+		 * Returns <code>true</code> if the given bounds overlap (i.e. not
+		 * only touch) any of the indexed bounds.
+		 */
+		public boolean overlaps(Rectangle bounds) {
+			int minX = getColumn(bounds.getX());
+			int maxX = getColumn(bounds.getX() + bounds.getWidth());
+			int minY = getRow(bounds.getY());
+			int maxY = getRow(bounds.getY() + bounds.getHeight());
+			for (int x = minX; x <= maxX; x++) {
+				for (int y = minY; y <= maxY; y++) {
+					List<Rectangle> cell = cells.get(getKey(x, y));
+					if (cell == null) {
+						continue;
+					}
+					for (Rectangle indexed : cell) {
+						if (bounds.getX() < indexed.getX() + indexed.getWidth()
+								&& indexed.getX() < bounds.getX() + bounds.getWidth()
+								&& bounds.getY() < indexed.getY() + indexed.getHeight()
+								&& indexed.getY() < bounds.getY() + bounds.getHeight()) {
+							return true;
+						}
+					}
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * A {@link NestedLayoutJob} performs a single layout pass for a nested
+	 * graph in three steps. The pre-layout and the commit are performed on the
+	 * JavaFX application thread, while the computation of the layout works on
+	 * a detached copy of the layout-relevant part of the graph, so that it can
+	 * be executed on an arbitrary thread.
+	 */
+	private static class NestedLayoutJob {
+
+		private final LayoutContext layoutContext;
+		private final ILayoutAlgorithm layoutAlgorithm;
+		private final boolean clean;
+		private final Map<org.eclipse.gef.graph.Node, org.eclipse.gef.graph.Node> nodeCopies = new IdentityHashMap<>();
+		private Graph graphCopy;
+
+		public NestedLayoutJob(LayoutContext layoutContext, boolean clean) {
+			this.layoutContext = layoutContext;
+			this.layoutAlgorithm = layoutContext.getLayoutAlgorithm();
+			this.clean = clean;
+		}
+
+		/**
+		 * Transfers the computed layout information from the detached copy to
+		 * the original graph and executes the post-layout pass. Has to be
+		 * called on the JavaFX application thread.
+		 */
+		public void commit() {
+			for (org.eclipse.gef.graph.Node node : nodeCopies.keySet()) {
+				org.eclipse.gef.graph.Node copy = nodeCopies.get(node);
+				Point location = LayoutProperties.getLocation(copy);
+				if (location != null && !location.equals(LayoutProperties.getLocation(node))) {
+					LayoutProperties.setLocation(node, location);
+				}
+				Dimension size = LayoutProperties.getSize(copy);
+				if (size != null && !size.equals(LayoutProperties.getSize(node))) {
+					LayoutProperties.setSize(node, size);
+				}
+			}
+			layoutContext.postLayout();
+		}
+
+		/**
+		 * Applies the layout algorithm to the detached copy of the graph. May
+		 * be called on an arbitrary thread.
+		 */
+		public void compute() {
+			LayoutContext detachedContext = new LayoutContext();
+			detachedContext.setGraph(graphCopy);
+			layoutAlgorithm.applyLayout(detachedContext, clean);
+		}
+
+		public ILayoutAlgorithm getLayoutAlgorithm() {
+			return layoutAlgorithm;
+		}
+
+		/**
+		 * Executes the pre-layout pass and creates a detached copy of all
+		 * layout-relevant nodes and edges. Has to be called on the JavaFX
+		 * application thread.
+		 */
+		public void prepare() {
+			layoutContext.preLayout();
+			// copy layout relevant nodes and edges (ILayoutFilter evaluation
+			// needs to take place on the application thread)
+			// (the order of the nodes is preserved, as it affects the result
+			// of some layout algorithms)
+			List<org.eclipse.gef.graph.Node> orderedNodeCopies = new ArrayList<>();
+			for (org.eclipse.gef.graph.Node node : layoutContext.getNodes()) {
+				org.eclipse.gef.graph.Node copy = new org.eclipse.gef.graph.Node(node.getAttributes());
+				nodeCopies.put(node, copy);
+				orderedNodeCopies.add(copy);
+			}
+			List<Edge> edgeCopies = new ArrayList<>();
+			for (Edge edge : layoutContext.getEdges()) {
+				org.eclipse.gef.graph.Node sourceCopy = nodeCopies.get(edge.getSource());
+				org.eclipse.gef.graph.Node targetCopy = nodeCopies.get(edge.getTarget());
+				if (sourceCopy != null && targetCopy != null) {
+					edgeCopies.add(new Edge(edge.getAttributes(), sourceCopy, targetCopy));
+				}
+			}
+			graphCopy = new Graph(new HashMap<>(layoutContext.getGraph().getAttributes()), orderedNodeCopies,
+					edgeCopies);
+		}
+	}
+
 	private Runnable postLayout = new Runnable() {
 		@Override
 		public void run() {
@@ -88,22 +293,64 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	private ListChangeListener<IVisualPart<? extends Node>> childrenObserver = new ListChangeListener<IVisualPart<? extends Node>>() {
 		@Override
 		public void onChanged(ListChangeListener.Change<? extends IVisualPart<? extends Node>> c) {
-			applyLayout(true, null);
+			// parts that are only materialized or disposed due to a viewport
+			// change do not require a layout pass, unless a materialized node
+			// was laid out using the estimated node size only
+			if (!getHost().isRefreshingVirtualization()) {
+				scheduleLayout(true);
+				return;
+			}
+			while (c.next()) {
+				for (IVisualPart<? extends Node> added : c.getAddedSubList()) {
+					if (added instanceof NodePart && ZestProperties.getSize(((NodePart) added).getContent()) == null) {
+						scheduleLayout(false);
+						return;
+					}
+				}
+			}
 		}
 	};
 
 	private SetChangeListener<org.eclipse.gef.graph.Node> hidingModelObserver = new SetChangeListener<org.eclipse.gef.graph.Node>() {
 		@Override
 		public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
-			applyLayout(true, null);
+			scheduleLayout(true);
 		}
 	};
 
 	private boolean skipNextLayout;
 
+	// places all labels within the next pulse
+	private Runnable layoutLabelsTask = new Runnable() {
+		@Override
+		public void run() {
+			layoutLabels();
+		}
+	};
+
+	// scheduled layout requests (null if no layout pass is pending)
+	private Boolean pendingLayout = null;
+	// nested layout requests (only maintained by the top-most behavior)
+	private final Map<GraphLayoutBehavior, Boolean> pendingNestedLayouts = new LinkedHashMap<>();
+	private Duration layoutQuietPeriod = Duration.ZERO;
+	// schedules the flush task once the quiet period has elapsed
+	private PauseTransition quietPeriodTransition;
+
+	// applies the pending layout passes within the next pulse
+	private Runnable flushTask = new Runnable() {
+		@Override
+		public void run() {
+			flushLayouts();
+		}
+	};
+
 	/**
 	 * Performs one layout pass using the static layout algorithm that is
-	 * configured for the layout context.
+	 * configured for the layout context. The layout pass is applied
+	 * synchronously, i.e. the layout is up-to-date when this method returns.
+	 * Layout passes that are triggered by changes (see
+	 * {@link #scheduleLayout(boolean)}) are deferred instead, so that the
+	 * layouts of sibling nested graphs can be computed concurrently.
 	 *
 	 * @param clean
 	 *            Whether to fully re-compute the layout or not.
@@ -111,48 +358,115 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	 *            An extra {@link Object} that is passed-on to the
 	 *            {@link ILayoutAlgorithm}.
 	 */
-	@SuppressWarnings("unchecked")
 	public void applyLayout(boolean clean, Object extra) {
-		// check child parts exist for all content children
-		if (getHost().getChildrenUnmodifiable().size() != getHost().getContentChildrenUnmodifiable().size()) {
+		// a pending nested layout pass is superseded by this one
+		GraphLayoutBehavior rootLayoutBehavior = getRootLayoutBehavior();
+		if (rootLayoutBehavior != this && rootLayoutBehavior != null) {
+			rootLayoutBehavior.pendingNestedLayouts.remove(this);
+		}
+
+		if (!updateLayoutContext()) {
 			return;
-		} else {
-			List<IContentPart<? extends Node>> childContentParts = PartUtils
-					.filterParts(getHost().getChildrenUnmodifiable(), IContentPart.class);
-			for (IContentPart<? extends Node> cp : childContentParts) {
-				if (!getHost().getContentChildrenUnmodifiable().contains(cp.getContent())) {
-					return;
-				}
-			}
 		}
 
-		if (skipNextLayout) {
-			skipNextLayout = false;
+		// apply layout (if no algorithm is set, will be a no-op)
+		getLayoutContext().applyLayout(clean);
+	}
+
+	/**
+	 * Applies all pending layout passes of nested graphs. The nesting
+	 * hierarchy is processed bottom-up, i.e. the most deeply nested graphs are
+	 * layouted first. The layouts of all graphs on the same nesting level are
+	 * computed concurrently (using the {@link #getNestedLayoutExecutor()}),
+	 * while the results of each level are committed in one batch on the
+	 * JavaFX application thread.
+	 * <p>
+	 * Layout algorithm instances are not expected to be thread-safe.
+	 * Therefore, graphs that share the same {@link ILayoutAlgorithm} instance
+	 * are layouted sequentially.
+	 */
+	public void applyNestedLayouts() {
+		if (pendingNestedLayouts.isEmpty()) {
 			return;
 		}
+		Map<GraphLayoutBehavior, Boolean> pending = new LinkedHashMap<>(pendingNestedLayouts);
+		pendingNestedLayouts.clear();
 
-		Graph graph = getHost().getContent();
+		// group by nesting level (deepest level first)
+		TreeMap<Integer, List<GraphLayoutBehavior>> levels = new TreeMap<>(Collections.reverseOrder());
+		for (GraphLayoutBehavior behavior : pending.keySet()) {
+			int level = behavior.getNestingLevel();
+			if (!levels.containsKey(level)) {
+				levels.put(level, new ArrayList<GraphLayoutBehavior>());
+			}
+			levels.get(level).add(behavior);
+		}
 
-		// update layout algorithm (apply layout will depend on it)
-		LayoutContext layoutContext = getLayoutContext();
-		ILayoutAlgorithm layoutAlgorithm = ZestProperties.getLayoutAlgorithm(graph);
-		if (layoutAlgorithm != null) {
-			if (layoutContext.getLayoutAlgorithm() != layoutAlgorithm) {
-				layoutContext.setLayoutAlgorithm(layoutAlgorithm);
+		for (List<GraphLayoutBehavior> level : levels.values()) {
+			// prepare (on application thread)
+			List<NestedLayoutJob> jobs = new ArrayList<>();
+			for (GraphLayoutBehavior behavior : level) {
+				if (!behavior.isActive() || behavior.getHost().getViewer() == null
+						|| !behavior.updateLayoutContext()) {
+					continue;
+				}
+				LayoutContext layoutContext = behavior.getLayoutContext();
+				if (layoutContext.getLayoutAlgorithm() == null) {
+					continue;
+				}
+				NestedLayoutJob job = new NestedLayoutJob(layoutContext, pending.get(behavior));
+				job.prepare();
+				jobs.add(job);
 			}
-		} else {
-			if (layoutContext.getLayoutAlgorithm() != null) {
-				layoutContext.setLayoutAlgorithm(null);
+			// compute (concurrently)
+			computeNestedLayouts(jobs);
+			// commit (on application thread)
+			for (NestedLayoutJob job : jobs) {
+				job.commit();
 			}
 		}
+	}
 
-		// update the graph
-		if (layoutContext.getGraph() != graph) {
-			layoutContext.setGraph(graph);
+	private void computeNestedLayouts(List<NestedLayoutJob> jobs) {
+		// jobs sharing an algorithm instance have to be executed sequentially
+		Map<ILayoutAlgorithm, List<NestedLayoutJob>> jobsPerAlgorithm = new IdentityHashMap<>();
+		for (NestedLayoutJob job : jobs) {
+			if (!jobsPerAlgorithm.containsKey(job.getLayoutAlgorithm())) {
+				jobsPerAlgorithm.put(job.getLayoutAlgorithm(), new ArrayList<NestedLayoutJob>());
+			}
+			jobsPerAlgorithm.get(job.getLayoutAlgorithm()).add(job);
+		}
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (final List<NestedLayoutJob> sequence : jobsPerAlgorithm.values()) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					for (NestedLayoutJob job : sequence) {
+						job.compute();
+					}
+					return null;
+				}
+			});
+		}
+		if (tasks.size() == 1) {
+			// no need to hand over to another thread
+			try {
+				tasks.get(0).call();
+			} catch (Exception e) {
+				throw new IllegalStateException("Nested layout pass failed.", e);
+			}
+			return;
+		}
+		try {
+			for (Future<Void> future : getNestedLayoutExecutor().invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Nested layout pass was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Nested layout pass failed.", e.getCause());
 		}
-
-		// apply layout (if no algorithm is set, will be a no-op)
-		layoutContext.applyLayout(true);
 	}
 
 	/**
@@ -213,11 +527,14 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
 				@Override
 				public boolean isLayoutIrrelevant(Edge edge) {
-					if (!contentPartMap.containsKey(edge)) {
-						return true;
-					}
-					if (!contentPartMap.get(edge).isActive()) {
-						return true;
+					// virtualized edges do not have a part
+					if (!getHost().getVirtualEdges().contains(edge)) {
+						if (!contentPartMap.containsKey(edge)) {
+							return true;
+						}
+						if (!contentPartMap.get(edge).isActive()) {
+							return true;
+						}
 					}
 					return Boolean.TRUE.equals(ZestProperties.getLayoutIrrelevant(edge))
 							|| isLayoutIrrelevant(edge.getSource()) || hidingModel.isHidden(edge.getSource())
@@ -226,11 +543,14 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
 				@Override
 				public boolean isLayoutIrrelevant(org.eclipse.gef.graph.Node node) {
-					if (!contentPartMap.containsKey(node)) {
-						return true;
-					}
-					if (!contentPartMap.get(node).isActive()) {
-						return true;
+					// virtualized nodes do not have a part
+					if (!getHost().getVirtualNodes().contains(node)) {
+						if (!contentPartMap.containsKey(node)) {
+							return true;
+						}
+						if (!contentPartMap.get(node).isActive()) {
+							return true;
+						}
 					}
 					return Boolean.TRUE.equals(ZestProperties.getLayoutIrrelevant(node)) || hidingModel.isHidden(node);
 				}
@@ -253,7 +573,13 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		skipNextLayout = savedViewport != null;
 		if (savedViewport == null || isNested || isViewportChanged) {
 			LayoutProperties.setBounds(getHost().getContent(), computeLayoutBounds());
-			applyLayout(true, null);
+			if (isNested) {
+				// nested graphs that are activated together are layouted
+				// within the same nested layout pass
+				scheduleLayout(true);
+			} else {
+				applyLayout(true, null);
+			}
 		}
 	}
 
@@ -261,6 +587,21 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	protected void doDeactivate() {
 		getHost().getChildrenUnmodifiable().removeListener(childrenObserver);
 
+		// discard pending layout passes
+		pendingLayout = null;
+		pendingNestedLayouts.clear();
+		if (quietPeriodTransition != null) {
+			quietPeriodTransition.stop();
+		}
+		VisualRefreshScheduler scheduler = getVisualRefreshScheduler();
+		if (scheduler != null) {
+			scheduler.unschedule(flushTask);
+		}
+		GraphLayoutBehavior rootLayoutBehavior = getRootLayoutBehavior();
+		if (rootLayoutBehavior != null) {
+			rootLayoutBehavior.pendingNestedLayouts.remove(this);
+		}
+
 		final HidingModel hidingModel = getHost().getRoot().getViewer().getAdapter(HidingModel.class);
 		if (hidingModel != null) {
 			hidingModel.hiddenProperty().removeListener(hidingModelObserver);
@@ -279,6 +620,27 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		nestingVisual = null;
 	}
 
+	/**
+	 * Applies all layout passes that are pending for the graph of the
+	 * {@link #getHost() host} as well as all pending nested layout passes.
+	 * This is called automatically once per JavaFX pulse (or after the
+	 * {@link #getLayoutQuietPeriod() quiet period}), but can also be called
+	 * by clients that need the layout to be up-to-date immediately.
+	 */
+	public void flushLayouts() {
+		if (!isActive()) {
+			pendingLayout = null;
+			pendingNestedLayouts.clear();
+			return;
+		}
+		if (pendingLayout != null) {
+			boolean clean = pendingLayout;
+			pendingLayout = null;
+			applyLayout(clean, null);
+		}
+		applyNestedLayouts();
+	}
+
 	@Override
 	public GraphPart getHost() {
 		return (GraphPart) super.getHost();
@@ -295,11 +657,80 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return ((InfiniteCanvasViewer) getHost().getRoot().getViewer()).getCanvas();
 	}
 
+	/**
+	 * Returns the quiet period after which scheduled layout passes are
+	 * applied.
+	 *
+	 * @return The quiet period after which scheduled layout passes are
+	 *         applied.
+	 * @see #setLayoutQuietPeriod(Duration)
+	 */
+	public Duration getLayoutQuietPeriod() {
+		return layoutQuietPeriod;
+	}
+
+	/**
+	 * Returns the offsets (relative to the preferred label position) that are
+	 * tried in order when placing a label of the given size, starting with
+	 * the preferred position itself.
+	 *
+	 * @param labelSize
+	 *            The size of the label that is to be placed.
+	 * @return The candidate offsets for the label.
+	 */
+	protected List<Point> getLabelOffsets(Dimension labelSize) {
+		double dx = labelSize.width / 2;
+		double dy = labelSize.height;
+		List<Point> offsets = new ArrayList<>();
+		offsets.add(new Point());
+		for (int i = 1; i <= 2; i++) {
+			offsets.add(new Point(0, i * dy));
+			offsets.add(new Point(0, -i * dy));
+			offsets.add(new Point(i * dx, 0));
+			offsets.add(new Point(-i * dx, 0));
+			offsets.add(new Point(i * dx, i * dy));
+			offsets.add(new Point(-i * dx, i * dy));
+			offsets.add(new Point(i * dx, -i * dy));
+			offsets.add(new Point(-i * dx, -i * dy));
+		}
+		return offsets;
+	}
+
 	@Override
 	protected LayoutContext getLayoutContext() {
 		return getHost().getAdapter(LayoutContext.class);
 	}
 
+	/**
+	 * Returns the {@link ExecutorService} that is used to compute the layouts
+	 * of sibling nested graphs concurrently. Per default, the common
+	 * {@link ForkJoinPool} is used.
+	 *
+	 * @return The {@link ExecutorService} that is used to compute nested
+	 *         layouts.
+	 */
+	protected ExecutorService getNestedLayoutExecutor() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Returns the nesting level of the {@link #getHost() host}, i.e. the
+	 * number of {@link GraphPart}s that are ancestors of the host.
+	 *
+	 * @return The nesting level of the {@link #getHost() host}.
+	 */
+	protected int getNestingLevel() {
+		int level = 0;
+		IVisualPart<? extends Node> part = getHost().getParent();
+		while (part != null) {
+			if (part instanceof GraphPart) {
+				level++;
+			}
+			part = part.getParent();
+		}
+		return level;
+	}
+
 	/**
 	 * Returns the {@link NodePart} that contains the nested graph to which the
 	 * behavior corresponds, if this behavior is related to a nested graph.
@@ -314,6 +745,112 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return null;
 	}
 
+	/**
+	 * Returns the {@link VisualRefreshScheduler} of the viewer where the
+	 * {@link #getHost() host} is displayed, which is used to defer layout
+	 * and label passes to the next JavaFX pulse, or <code>null</code> if none is
+	 * available.
+	 *
+	 * @return The {@link VisualRefreshScheduler} of the viewer, or
+	 *         <code>null</code>.
+	 */
+	protected VisualRefreshScheduler getVisualRefreshScheduler() {
+		IViewer viewer = getHost().getViewer();
+		return viewer == null ? null : viewer.getAdapter(VisualRefreshScheduler.class);
+	}
+
+	/**
+	 * Places the labels of all nodes and edges of the {@link #getHost() host}
+	 * in a single pass, so that they do not overlap nodes or each other where
+	 * possible. The labels are processed in the order of their preferred
+	 * positions (as {@link AbstractLabelPart#computeLabelPosition() computed}
+	 * by the label parts), and each label is placed at the first of its
+	 * {@link #getLabelOffsets(Dimension) candidate offsets} that is free of
+	 * collisions, falling back to its preferred position if none is free.
+	 */
+	@Override
+	protected void layoutLabels() {
+		// a scheduled label pass is superseded by this one
+		VisualRefreshScheduler scheduler = getVisualRefreshScheduler();
+		if (scheduler != null) {
+			scheduler.unschedule(layoutLabelsTask);
+		}
+
+		// collect labels and obstacles
+		List<AbstractLabelPart> labelParts = new ArrayList<>();
+		Map<AbstractLabelPart, Point> preferredPositions = new IdentityHashMap<>();
+		final Map<AbstractLabelPart, Rectangle> preferredBounds = new IdentityHashMap<>();
+		List<Rectangle> nodeBounds = new ArrayList<>();
+		double totalWidth = 0;
+		double totalHeight = 0;
+		for (IVisualPart<? extends Node> child : getHost().getChildrenUnmodifiable()) {
+			if (child.getViewer() == null) {
+				continue;
+			}
+			if (child instanceof NodePart) {
+				nodeBounds.add(FX2Geometry.toRectangle(child.getVisual().getBoundsInParent()));
+			} else if (child instanceof AbstractLabelPart && !child.getAnchoragesUnmodifiable().isEmpty()) {
+				AbstractLabelPart labelPart = (AbstractLabelPart) child;
+				// labels that were added within the current pulse may not be
+				// styled yet, so that their size would not be final
+				labelPart.getVisual().applyCss();
+				Point position = labelPart.computeLabelPosition();
+				if (position == null) {
+					continue;
+				}
+				Bounds layoutBounds = labelPart.getVisual().getLayoutBounds();
+				Rectangle bounds = new Rectangle(position.x + layoutBounds.getMinX(),
+						position.y + layoutBounds.getMinY(), layoutBounds.getWidth(), layoutBounds.getHeight());
+				labelParts.add(labelPart);
+				preferredPositions.put(labelPart, position);
+				preferredBounds.put(labelPart, bounds);
+				totalWidth += bounds.getWidth();
+				totalHeight += bounds.getHeight();
+			}
+		}
+		if (labelParts.isEmpty()) {
+			return;
+		}
+
+		// index obstacles using a grid with cells of the average label size
+		LabelIndex index = new LabelIndex(Math.max(1, totalWidth / labelParts.size()),
+				Math.max(1, totalHeight / labelParts.size()));
+		for (Rectangle bounds : nodeBounds) {
+			index.add(bounds);
+		}
+
+		// place labels top-down, left-to-right (for deterministic results)
+		Collections.sort(labelParts, new Comparator<AbstractLabelPart>() {
+			@Override
+			public int compare(AbstractLabelPart o1, AbstractLabelPart o2) {
+				Rectangle b1 = preferredBounds.get(o1);
+				Rectangle b2 = preferredBounds.get(o2);
+				int result = Double.compare(b1.getY(), b2.getY());
+				return result != 0 ? result : Double.compare(b1.getX(), b2.getX());
+			}
+		});
+		for (AbstractLabelPart labelPart : labelParts) {
+			Rectangle preferred = preferredBounds.get(labelPart);
+			Rectangle placed = null;
+			for (Point offset : getLabelOffsets(preferred.getSize())) {
+				Rectangle candidate = preferred.getTranslated(offset);
+				if (!index.overlaps(candidate)) {
+					placed = candidate;
+					break;
+				}
+			}
+			if (placed == null) {
+				placed = preferred;
+			}
+			index.add(placed);
+			Point position = preferredPositions.get(labelPart).getTranslated(placed.getX() - preferred.getX(),
+					placed.getY() - preferred.getY());
+			if (!position.equals(labelPart.getLabelPosition())) {
+				labelPart.setLabelPosition(position);
+			}
+		}
+	}
+
 	@Override
 	protected void postLayout() {
 		// execute post-layout of all nodes and edges
@@ -328,11 +865,28 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 				childLayoutBehavior.postLayout();
 			}
 		}
+		// transfer layout information of virtualized nodes (which do not have
+		// a part) directly
+		for (org.eclipse.gef.graph.Node node : getHost().getVirtualNodes()) {
+			Point location = LayoutProperties.getLocation(node);
+			Dimension size = LayoutProperties.getSize(node);
+			if (location != null && size != null) {
+				// location is center, position is top-left
+				ZestProperties.setPosition(node, location.getTranslated(size.getScaled(0.5).getNegated()));
+			}
+		}
+		// nodes may have been moved into or out of the virtualization bounds
+		getHost().refreshVirtualization();
+		// place all labels at once, so that collisions can be avoided
+		layoutLabels();
 	}
 
 	@Override
 	protected void preLayout() {
 		// execute pre-layout of all nodes and edges
+		double totalWidth = 0;
+		double totalHeight = 0;
+		int measuredNodes = 0;
 		for (IVisualPart<? extends Node> child : getHost().getChildrenUnmodifiable()) {
 			// FIXME: Layout should only be triggered when content-part-map
 			// is changed, not when the children are changed.
@@ -343,7 +897,203 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 			if (childLayoutBehavior != null) {
 				childLayoutBehavior.preLayout();
 			}
+			if (child instanceof NodePart) {
+				Dimension size = LayoutProperties.getSize(((NodePart) child).getContent());
+				if (size != null) {
+					totalWidth += size.width;
+					totalHeight += size.height;
+					measuredNodes++;
+				}
+			}
+		}
+		// estimate the size of virtualized nodes that were never measured
+		// from the sizes of the materialized nodes
+		if (measuredNodes > 0 && !getHost().getVirtualNodes().isEmpty()) {
+			getHost().setEstimatedNodeSize(new Dimension(totalWidth / measuredNodes, totalHeight / measuredNodes));
+		}
+		// initialize layout information of virtualized nodes (which do not
+		// have a part) from the model
+		for (org.eclipse.gef.graph.Node node : getHost().getVirtualNodes()) {
+			Dimension size = ZestProperties.getSize(node);
+			size = size == null ? getHost().getEstimatedNodeSize() : size.getCopy();
+			LayoutProperties.setSize(node, size);
+			Point position = ZestProperties.getPosition(node);
+			LayoutProperties.setLocation(node,
+					(position == null ? new Point() : position).getTranslated(size.getScaled(0.5)));
+		}
+	}
+
+	/**
+	 * Returns the {@link GraphLayoutBehavior} of the top-most {@link GraphPart}
+	 * in the part hierarchy of the {@link #getHost() host}, which is
+	 * responsible for applying nested layout passes.
+	 *
+	 * @return The {@link GraphLayoutBehavior} of the top-most
+	 *         {@link GraphPart}.
+	 */
+	protected GraphLayoutBehavior getRootLayoutBehavior() {
+		GraphPart rootGraphPart = getHost();
+		IVisualPart<? extends Node> part = getHost().getParent();
+		while (part != null) {
+			if (part instanceof GraphPart) {
+				rootGraphPart = (GraphPart) part;
+			}
+			part = part.getParent();
+		}
+		return rootGraphPart.getAdapter(GraphLayoutBehavior.class);
+	}
+
+	private void requestFlush() {
+		if (layoutQuietPeriod.greaterThan(Duration.ZERO)) {
+			// (re-)start the quiet period, which schedules the flush once it
+			// has elapsed
+			if (quietPeriodTransition == null) {
+				quietPeriodTransition = new PauseTransition();
+				quietPeriodTransition.setOnFinished(new EventHandler<ActionEvent>() {
+					@Override
+					public void handle(ActionEvent event) {
+						scheduleFlush();
+					}
+				});
+			}
+			quietPeriodTransition.setDuration(layoutQuietPeriod);
+			quietPeriodTransition.playFromStart();
+		} else {
+			scheduleFlush();
+		}
+	}
+
+	// flush within the next pulse (or immediately if no scheduler is
+	// available)
+	private void scheduleFlush() {
+		VisualRefreshScheduler scheduler = getVisualRefreshScheduler();
+		if (scheduler != null) {
+			scheduler.schedule(flushTask);
+		} else {
+			flushLayouts();
+		}
+	}
+
+	/**
+	 * Schedules a layout pass for the graph of the {@link #getHost() host}.
+	 * All layout passes that are scheduled within the same JavaFX pulse, or
+	 * within the {@link #getLayoutQuietPeriod() quiet period}, are merged into
+	 * a single layout pass, which is clean if any of the merged requests was
+	 * clean.
+	 *
+	 * @param clean
+	 *            Whether to fully re-compute the layout or not.
+	 */
+	public void scheduleLayout(boolean clean) {
+		GraphLayoutBehavior rootLayoutBehavior = getRootLayoutBehavior();
+		if (rootLayoutBehavior != this && rootLayoutBehavior != null) {
+			rootLayoutBehavior.scheduleNestedLayout(this, clean);
+			return;
+		}
+		pendingLayout = clean || Boolean.TRUE.equals(pendingLayout);
+		requestFlush();
+	}
+
+	/**
+	 * Schedules a {@link #layoutLabels() label pass} for the next JavaFX pulse,
+	 * so that all labels that are added (or whose anchorages change) within
+	 * the same pulse are placed at once. In case no
+	 * {@link #getVisualRefreshScheduler() visual refresh scheduler} is
+	 * available, the labels are placed immediately.
+	 */
+	@Override
+	protected void scheduleLayoutLabels() {
+		VisualRefreshScheduler scheduler = getVisualRefreshScheduler();
+		if (scheduler == null) {
+			layoutLabels();
+		} else {
+			scheduler.schedule(layoutLabelsTask);
+		}
+	}
+
+	/**
+	 * Schedules a layout pass for the graph of the given (nested)
+	 * {@link GraphLayoutBehavior}. All layout passes that are scheduled
+	 * within the same JavaFX pulse are applied together within a single
+	 * {@link #applyNestedLayouts() nested layout pass}.
+	 *
+	 * @param nestedLayoutBehavior
+	 *            The {@link GraphLayoutBehavior} of a nested graph.
+	 * @param clean
+	 *            Whether to fully re-compute the layout or not.
+	 */
+	protected void scheduleNestedLayout(GraphLayoutBehavior nestedLayoutBehavior, boolean clean) {
+		Boolean wasClean = pendingNestedLayouts.get(nestedLayoutBehavior);
+		pendingNestedLayouts.put(nestedLayoutBehavior, clean || Boolean.TRUE.equals(wasClean));
+		requestFlush();
+	}
+
+	/**
+	 * Sets the quiet period after which scheduled layout passes are applied.
+	 * If the quiet period is {@link Duration#ZERO} (default), scheduled layout
+	 * passes are applied once per JavaFX pulse. Otherwise, they are applied
+	 * when no further layout pass was scheduled within the quiet period, e.g.
+	 * when live-resizing the window has stopped.
+	 *
+	 * @param layoutQuietPeriod
+	 *            The new quiet period.
+	 */
+	public void setLayoutQuietPeriod(Duration layoutQuietPeriod) {
+		if (layoutQuietPeriod == null) {
+			throw new IllegalArgumentException("The quiet period may not be null.");
+		}
+		this.layoutQuietPeriod = layoutQuietPeriod;
+	}
+
+	/**
+	 * Updates the {@link LayoutContext} (layout algorithm and graph) before a
+	 * layout pass. Returns <code>false</code> if the layout pass is to be
+	 * skipped, because not all content children are backed by child parts
+	 * yet, or because the saved viewport state should be preserved.
+	 *
+	 * @return <code>true</code> if the layout pass can be applied, otherwise
+	 *         <code>false</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean updateLayoutContext() {
+		// check child parts exist for all content children
+		if (getHost().getChildrenUnmodifiable().size() != getHost().getContentChildrenUnmodifiable().size()) {
+			return false;
+		} else {
+			List<IContentPart<? extends Node>> childContentParts = PartUtils
+					.filterParts(getHost().getChildrenUnmodifiable(), IContentPart.class);
+			for (IContentPart<? extends Node> cp : childContentParts) {
+				if (!getHost().getContentChildrenUnmodifiable().contains(cp.getContent())) {
+					return false;
+				}
+			}
+		}
+
+		if (skipNextLayout) {
+			skipNextLayout = false;
+			return false;
+		}
+
+		Graph graph = getHost().getContent();
+
+		// update layout algorithm (apply layout will depend on it)
+		LayoutContext layoutContext = getLayoutContext();
+		ILayoutAlgorithm layoutAlgorithm = ZestProperties.getLayoutAlgorithm(graph);
+		if (layoutAlgorithm != null) {
+			if (layoutContext.getLayoutAlgorithm() != layoutAlgorithm) {
+				layoutContext.setLayoutAlgorithm(layoutAlgorithm);
+			}
+		} else {
+			if (layoutContext.getLayoutAlgorithm() != null) {
+				layoutContext.setLayoutAlgorithm(null);
+			}
+		}
+
+		// update the graph
+		if (layoutContext.getGraph() != graph) {
+			layoutContext.setGraph(graph);
 		}
+		return true;
 	}
 
 	/**
@@ -354,7 +1104,7 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		Rectangle oldBounds = LayoutProperties.getBounds(getHost().getContent());
 		if (oldBounds != newBounds && (oldBounds == null || !oldBounds.equals(newBounds))) {
 			LayoutProperties.setBounds(getHost().getContent(), newBounds);
-			applyLayout(true, null);
+			scheduleLayout(true);
 		}
 	}
 }
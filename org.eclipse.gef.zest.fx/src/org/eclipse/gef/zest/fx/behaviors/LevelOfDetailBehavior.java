@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import java.util.List;
+
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.zest.fx.parts.AbstractLabelPart;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.LevelOfDetail;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+
+/**
+ * The {@link LevelOfDetailBehavior} is a {@link GraphPart}-specific behavior
+ * that determines the {@link LevelOfDetail} for the {@link NodePart}s,
+ * {@link EdgePart}s, and {@link AbstractLabelPart}s of its {@link #getHost()
+ * host} depending on the zoom level of the {@link InfiniteCanvas}. The
+ * {@link LevelOfDetail} of the children is only updated when a zoom threshold
+ * is crossed, so that zooming does not affect the children otherwise.
+ */
+// only applicable to GraphPart (see #getHost())
+public class LevelOfDetailBehavior extends AbstractBehavior {
+
+	/**
+	 * The default zoom level below which {@link LevelOfDetail#REDUCED} is
+	 * used.
+	 */
+	public static final double DEFAULT_REDUCED_ZOOM_THRESHOLD = 0.5;
+
+	/**
+	 * The default zoom level below which {@link LevelOfDetail#MINIMAL} is
+	 * used.
+	 */
+	public static final double DEFAULT_MINIMAL_ZOOM_THRESHOLD = 0.25;
+
+	private ChangeListener<Number> zoomObserver = new ChangeListener<Number>() {
+		@Override
+		public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+			updateLevelOfDetail();
+		}
+	};
+
+	private ListChangeListener<IVisualPart<? extends Node>> childrenObserver = new ListChangeListener<IVisualPart<? extends Node>>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends IVisualPart<? extends Node>> c) {
+			while (c.next()) {
+				if (c.wasAdded()) {
+					applyLevelOfDetail(c.getAddedSubList());
+				}
+			}
+		}
+	};
+
+	private double reducedZoomThreshold = DEFAULT_REDUCED_ZOOM_THRESHOLD;
+	private double minimalZoomThreshold = DEFAULT_MINIMAL_ZOOM_THRESHOLD;
+	private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+
+	/**
+	 * Applies the current {@link #getLevelOfDetail() level of detail} to the
+	 * given parts.
+	 *
+	 * @param parts
+	 *            The {@link IVisualPart}s to which the current
+	 *            {@link LevelOfDetail} is applied.
+	 */
+	protected void applyLevelOfDetail(List<? extends IVisualPart<? extends Node>> parts) {
+		for (IVisualPart<? extends Node> part : parts) {
+			if (part instanceof NodePart) {
+				((NodePart) part).setLevelOfDetail(levelOfDetail);
+			} else if (part instanceof EdgePart) {
+				((EdgePart) part).setLevelOfDetail(levelOfDetail);
+			} else if (part instanceof AbstractLabelPart) {
+				((AbstractLabelPart) part).setLevelOfDetail(levelOfDetail);
+			}
+		}
+	}
+
+	/**
+	 * Determines the {@link LevelOfDetail} for the given zoom level.
+	 *
+	 * @param zoomLevel
+	 *            The zoom level for which to determine the
+	 *            {@link LevelOfDetail}.
+	 * @return The {@link LevelOfDetail} for the given zoom level.
+	 */
+	protected LevelOfDetail determineLevelOfDetail(double zoomLevel) {
+		if (zoomLevel < minimalZoomThreshold) {
+			return LevelOfDetail.MINIMAL;
+		} else if (zoomLevel < reducedZoomThreshold) {
+			return LevelOfDetail.REDUCED;
+		}
+		return LevelOfDetail.FULL;
+	}
+
+	@Override
+	protected void doActivate() {
+		getCanvas().getContentTransform().mxxProperty().addListener(zoomObserver);
+		getHost().getChildrenUnmodifiable().addListener(childrenObserver);
+		levelOfDetail = determineLevelOfDetail(getZoomLevel());
+		applyLevelOfDetail(getHost().getChildrenUnmodifiable());
+	}
+
+	@Override
+	protected void doDeactivate() {
+		getHost().getChildrenUnmodifiable().removeListener(childrenObserver);
+		getCanvas().getContentTransform().mxxProperty().removeListener(zoomObserver);
+	}
+
+	/**
+	 * Returns the {@link InfiniteCanvas} of the viewer where the
+	 * {@link #getHost() host} is displayed.
+	 *
+	 * @return The {@link InfiniteCanvas} of the viewer.
+	 */
+	protected InfiniteCanvas getCanvas() {
+		return ((InfiniteCanvasViewer) getHost().getRoot().getViewer()).getCanvas();
+	}
+
+	@Override
+	public GraphPart getHost() {
+		return (GraphPart) super.getHost();
+	}
+
+	/**
+	 * Returns the {@link LevelOfDetail} that is currently applied to the
+	 * children of the {@link #getHost() host}.
+	 *
+	 * @return The current {@link LevelOfDetail}.
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
+	/**
+	 * Returns the zoom level below which {@link LevelOfDetail#MINIMAL} is
+	 * used.
+	 *
+	 * @return The zoom level below which {@link LevelOfDetail#MINIMAL} is
+	 *         used.
+	 */
+	public double getMinimalZoomThreshold() {
+		return minimalZoomThreshold;
+	}
+
+	/**
+	 * Returns the zoom level below which {@link LevelOfDetail#REDUCED} is
+	 * used.
+	 *
+	 * @return The zoom level below which {@link LevelOfDetail#REDUCED} is
+	 *         used.
+	 */
+	public double getReducedZoomThreshold() {
+		return reducedZoomThreshold;
+	}
+
+	/**
+	 * Returns the zoom level at which the children of the {@link #getHost()
+	 * host} are displayed. This is the zoom level of the {@link InfiniteCanvas}
+	 * combined with the zoom factor that is applied to nested graphs.
+	 *
+	 * @return The effective zoom level for the children of the
+	 *         {@link #getHost() host}.
+	 */
+	protected double getZoomLevel() {
+		double zoomLevel = getCanvas().getContentTransform().getMxx();
+		IVisualPart<? extends Node> parent = getHost().getParent();
+		while (parent != null) {
+			if (parent instanceof GraphPart) {
+				zoomLevel *= NodePart.DEFAULT_NESTED_CHILDREN_ZOOM_FACTOR;
+			}
+			parent = parent.getParent();
+		}
+		return zoomLevel;
+	}
+
+	/**
+	 * Sets the zoom level below which {@link LevelOfDetail#MINIMAL} is used.
+	 *
+	 * @param minimalZoomThreshold
+	 *            The new zoom level below which {@link LevelOfDetail#MINIMAL}
+	 *            is used.
+	 */
+	public void setMinimalZoomThreshold(double minimalZoomThreshold) {
+		if (minimalZoomThreshold < 0) {
+			throw new IllegalArgumentException("The minimal zoom threshold may not be negative.");
+		}
+		this.minimalZoomThreshold = minimalZoomThreshold;
+		if (isActive()) {
+			updateLevelOfDetail();
+		}
+	}
+
+	/**
+	 * Sets the zoom level below which {@link LevelOfDetail#REDUCED} is used.
+	 *
+	 * @param reducedZoomThreshold
+	 *            The new zoom level below which {@link LevelOfDetail#REDUCED}
+	 *            is used.
+	 */
+	public void setReducedZoomThreshold(double reducedZoomThreshold) {
+		if (reducedZoomThreshold < 0) {
+			throw new IllegalArgumentException("The reduced zoom threshold may not be negative.");
+		}
+		this.reducedZoomThreshold = reducedZoomThreshold;
+		if (isActive()) {
+			updateLevelOfDetail();
+		}
+	}
+
+	/**
+	 * Determines the {@link LevelOfDetail} for the current zoom level and
+	 * applies it to the children of the {@link #getHost() host} if it changed.
+	 */
+	protected void updateLevelOfDetail() {
+		LevelOfDetail newLevelOfDetail = determineLevelOfDetail(getZoomLevel());
+		if (newLevelOfDetail != levelOfDetail) {
+			levelOfDetail = newLevelOfDetail;
+			applyLevelOfDetail(getHost().getChildrenUnmodifiable());
+		}
+	}
+
+}
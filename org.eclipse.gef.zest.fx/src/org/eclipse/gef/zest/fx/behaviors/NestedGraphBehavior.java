@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+
+/**
+ * The {@link NestedGraphBehavior} is a {@link GraphPart}-specific behavior
+ * that lazily materializes the nested graphs of the {@link NodePart}s of its
+ * {@link #getHost() host}. The content parts of a nested graph are only
+ * created when the nested graph is {@link NodePart#isNestedGraphVisible()
+ * visible}, i.e. when the nesting node is zoomed in far enough and is within
+ * the viewport, and they are removed again when the nested graph is no longer
+ * visible.
+ * <p>
+ * Changes of the viewport, of the children, and layout passes are coalesced,
+ * so that the nesting nodes are evaluated at most once per JavaFX pulse, and
+ * the content children of a nesting node are only refreshed when the
+ * visibility of its nested graph changes. Viewport changes are only observed
+ * if the viewer is an {@link InfiniteCanvasViewer}. The update of the nesting
+ * nodes is scheduled as a task at the {@link VisualRefreshScheduler} of the
+ * viewer.
+ *
+ */
+// only applicable to GraphPart (see #getHost())
+public class NestedGraphBehavior extends AbstractBehavior {
+
+	private ChangeListener<Number> viewportObserver = new ChangeListener<Number>() {
+		@Override
+		public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+			scheduleUpdate();
+		}
+	};
+
+	private ListChangeListener<IVisualPart<? extends Node>> childrenObserver = new ListChangeListener<IVisualPart<? extends Node>>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends IVisualPart<? extends Node>> c) {
+			while (c.next()) {
+				if (c.wasAdded()) {
+					scheduleUpdate();
+					return;
+				}
+			}
+		}
+	};
+
+	private Runnable postLayout = new Runnable() {
+		@Override
+		public void run() {
+			scheduleUpdate();
+		}
+	};
+
+	private Runnable updateTask = new Runnable() {
+		@Override
+		public void run() {
+			if (isActive()) {
+				updateNestedGraphs();
+			}
+		}
+	};
+
+	// the canvas whose viewport is observed
+	private InfiniteCanvas canvas;
+
+	@Override
+	protected void doActivate() {
+		canvas = getCanvas();
+		if (canvas != null) {
+			canvas.widthProperty().addListener(viewportObserver);
+			canvas.heightProperty().addListener(viewportObserver);
+			canvas.horizontalScrollOffsetProperty().addListener(viewportObserver);
+			canvas.verticalScrollOffsetProperty().addListener(viewportObserver);
+			canvas.getContentTransform().mxxProperty().addListener(viewportObserver);
+			canvas.getContentTransform().txProperty().addListener(viewportObserver);
+			canvas.getContentTransform().tyProperty().addListener(viewportObserver);
+		}
+		getHost().getChildrenUnmodifiable().addListener(childrenObserver);
+		LayoutContext layoutContext = getLayoutContext();
+		if (layoutContext != null) {
+			layoutContext.schedulePostLayoutPass(postLayout);
+		}
+		scheduleUpdate();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		LayoutContext layoutContext = getLayoutContext();
+		if (layoutContext != null) {
+			layoutContext.unschedulePostLayoutPass(postLayout);
+		}
+		getHost().getChildrenUnmodifiable().removeListener(childrenObserver);
+		VisualRefreshScheduler scheduler = getVisualRefreshScheduler();
+		if (scheduler != null) {
+			scheduler.unschedule(updateTask);
+		}
+		if (canvas != null) {
+			canvas.getContentTransform().tyProperty().removeListener(viewportObserver);
+			canvas.getContentTransform().txProperty().removeListener(viewportObserver);
+			canvas.getContentTransform().mxxProperty().removeListener(viewportObserver);
+			canvas.verticalScrollOffsetProperty().removeListener(viewportObserver);
+			canvas.horizontalScrollOffsetProperty().removeListener(viewportObserver);
+			canvas.heightProperty().removeListener(viewportObserver);
+			canvas.widthProperty().removeListener(viewportObserver);
+			canvas = null;
+		}
+	}
+
+	/**
+	 * Returns all {@link NodePart} children of the {@link #getHost() host}
+	 * that have a nested graph assigned to them.
+	 *
+	 * @return A {@link List} containing the nesting {@link NodePart}s.
+	 */
+	public List<NodePart> findNestingNodes() {
+		List<NodePart> nestingNodeParts = new ArrayList<>();
+		for (IVisualPart<? extends Node> child : getHost().getChildrenUnmodifiable()) {
+			if (child instanceof NodePart && ((NodePart) child).getContent().getNestedGraph() != null) {
+				nestingNodeParts.add((NodePart) child);
+			}
+		}
+		return nestingNodeParts;
+	}
+
+	/**
+	 * Returns the {@link InfiniteCanvas} of the viewer where the
+	 * {@link #getHost() host} is displayed, or <code>null</code> if the viewer
+	 * is not an {@link InfiniteCanvasViewer}.
+	 *
+	 * @return The {@link InfiniteCanvas} of the viewer, or <code>null</code>.
+	 */
+	protected InfiniteCanvas getCanvas() {
+		IViewer viewer = getHost().getRoot().getViewer();
+		if (viewer instanceof InfiniteCanvasViewer) {
+			return ((InfiniteCanvasViewer) viewer).getCanvas();
+		}
+		return null;
+	}
+
+	@Override
+	public GraphPart getHost() {
+		return (GraphPart) super.getHost();
+	}
+
+	/**
+	 * Returns the {@link LayoutContext} of the {@link #getHost() host}, after
+	 * whose layout passes the nesting nodes are re-evaluated.
+	 *
+	 * @return The {@link LayoutContext} of the {@link #getHost() host}.
+	 */
+	protected LayoutContext getLayoutContext() {
+		return getHost().getAdapter(LayoutContext.class);
+	}
+
+	/**
+	 * Returns the {@link VisualRefreshScheduler} of the viewer where the
+	 * {@link #getHost() host} is displayed, which is used to defer the update
+	 * of the nesting nodes to the next JavaFX pulse, or <code>null</code> if
+	 * none is available.
+	 *
+	 * @return The {@link VisualRefreshScheduler} of the viewer, or
+	 *         <code>null</code>.
+	 */
+	protected VisualRefreshScheduler getVisualRefreshScheduler() {
+		IViewer viewer = getHost().getViewer();
+		return viewer == null ? null : viewer.getAdapter(VisualRefreshScheduler.class);
+	}
+
+	/**
+	 * Schedules an {@link #updateNestedGraphs() update} of the nesting nodes
+	 * within the next JavaFX pulse, so that multiple changes are coalesced. If
+	 * no {@link #getVisualRefreshScheduler() scheduler} is available, the
+	 * nesting nodes are updated immediately.
+	 */
+	protected void scheduleUpdate() {
+		VisualRefreshScheduler scheduler = getVisualRefreshScheduler();
+		if (scheduler != null) {
+			scheduler.schedule(updateTask);
+		} else {
+			updateTask.run();
+		}
+	}
+
+	/**
+	 * Refreshes the content children of all {@link NodePart} children of the
+	 * {@link #getHost() host} for which the
+	 * {@link NodePart#isNestedGraphVisible() visibility} of the nested graph
+	 * does not match whether it is currently materialized.
+	 */
+	protected void updateNestedGraphs() {
+		for (NodePart nodePart : findNestingNodes()) {
+			if (nodePart.getViewer() == null) {
+				continue;
+			}
+			boolean isMaterialized = !nodePart.getChildrenUnmodifiable().isEmpty();
+			if (nodePart.isNestedGraphVisible() != isMaterialized) {
+				nodePart.refreshContentChildren();
+				nodePart.refreshVisual();
+			}
+		}
+	}
+
+}
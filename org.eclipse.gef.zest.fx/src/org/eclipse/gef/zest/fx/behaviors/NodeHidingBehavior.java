@@ -13,7 +13,6 @@
 package org.eclipse.gef.zest.fx.behaviors;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
@@ -41,17 +40,7 @@ import javafx.scene.Node;
 public class NodeHidingBehavior extends AbstractHidingBehavior {
 
 	private IVisualPart<? extends Node> hiddenNeighborsFeedbackPart;
-
-	private boolean containsAny(Set<org.eclipse.gef.graph.Node> hidden, Set<org.eclipse.gef.graph.Node> neighbors) {
-		boolean containsAny = false;
-		for (org.eclipse.gef.graph.Node n : neighbors) {
-			if (hidden.contains(n)) {
-				containsAny = true;
-				break;
-			}
-		}
-		return containsAny;
-	}
+	private boolean hasHiddenNeighbors;
 
 	/**
 	 * Creates the {@link HiddenNeighborsFeedbackPart} that shows the hidden
@@ -77,7 +66,8 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 		super.doActivate();
 		// create hidden neighbors part if it is already associated with our
 		// host
-		if (getHidingModel().hasHiddenNeighbors(getHost())) {
+		hasHiddenNeighbors = getHidingModel().hasHiddenNeighbors(getHost());
+		if (hasHiddenNeighbors) {
 			createHiddenNeighborsFeedbackPart();
 		}
 	}
@@ -86,8 +76,9 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 	protected void doDeactivate() {
 		// remove hidden neighbors part if it is currently associated with our
 		// host
-		if (getHidingModel().hasHiddenNeighbors(getHost())) {
+		if (hasHiddenNeighbors) {
 			removeHiddenNeighborsFeedbackPart();
+			hasHiddenNeighbors = false;
 		}
 		super.doDeactivate();
 	}
@@ -108,22 +99,22 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 		return (NodePart) super.getHost();
 	}
 
+	@Override
+	protected Set<org.eclipse.gef.graph.Node> getObservedNodes() {
+		return Collections.singleton(getHost().getContent());
+	}
+
 	@Override
 	protected void onHidingModelChange(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
 		super.onHidingModelChange(change);
 
-		Set<org.eclipse.gef.graph.Node> newHidden = new HashSet<>(change.getSet());
-		Set<org.eclipse.gef.graph.Node> oldHidden = new HashSet<>(change.getSet());
-		oldHidden.remove(change.getElementAdded());
-		oldHidden.add(change.getElementRemoved());
-
 		// check if we have to show/hide/update the pruned neighbors part
-		org.eclipse.gef.graph.Node content = getHost().getContent();
-		Set<org.eclipse.gef.graph.Node> neighbors = content.getNeighbors();
+		boolean hadHiddenNeighbors = hasHiddenNeighbors;
+		hasHiddenNeighbors = getHidingModel().hasHiddenNeighbors(getHost());
 
-		if (!containsAny(oldHidden, neighbors) && containsAny(newHidden, neighbors)) {
+		if (!hadHiddenNeighbors && hasHiddenNeighbors) {
 			createHiddenNeighborsFeedbackPart();
-		} else if (containsAny(oldHidden, neighbors) && !containsAny(newHidden, neighbors)) {
+		} else if (hadHiddenNeighbors && !hasHiddenNeighbors) {
 			removeHiddenNeighborsFeedbackPart();
 		} else {
 			// TODO: only necessary when neighbors change
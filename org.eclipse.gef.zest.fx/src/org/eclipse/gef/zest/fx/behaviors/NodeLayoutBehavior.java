@@ -67,12 +67,9 @@ public class NodeLayoutBehavior extends AbstractLayoutBehavior {
 					(postLayoutSize == null ? preLayoutSize : postLayoutSize).getScaled(0.5).getNegated()));
 		}
 
-		// refresh our visual
+		// refresh our visual (label positions are updated by the
+		// GraphLayoutBehavior for all labels at once)
 		getHost().refreshVisual();
-
-		// update label positions (from visual locations) as they are not
-		// provided by layout
-		layoutLabels();
 	}
 
 	@Override
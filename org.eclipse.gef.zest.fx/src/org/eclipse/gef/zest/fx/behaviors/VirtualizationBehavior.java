@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+
+/**
+ * The {@link VirtualizationBehavior} is a {@link GraphPart}-specific behavior
+ * that enables the virtualization of the {@link GraphPart}'s content children.
+ * It keeps the {@link GraphPart#getVirtualizationBounds() virtualization
+ * bounds} of its {@link #getHost() host} in sync with the viewport of the
+ * {@link InfiniteCanvas}, expanded by a {@link #getMargin() margin}, so that
+ * only those nodes and edges are materialized that are (nearly) visible.
+ * <p>
+ * The virtualization bounds are only updated when the viewport leaves the
+ * currently materialized area, or when it shrinks considerably (e.g. when
+ * zooming in), so that scrolling within the margin does not affect the
+ * children.
+ * <p>
+ * The {@link VirtualizationBehavior} is not bound by default. In order to use
+ * it, it has to be bound as an adapter of the {@link GraphPart}.
+ */
+// only applicable to GraphPart (see #getHost())
+public class VirtualizationBehavior extends AbstractBehavior {
+
+	/**
+	 * The default margin (relative to the viewport size) by which the
+	 * viewport is expanded on each side to determine the virtualization
+	 * bounds.
+	 */
+	public static final double DEFAULT_MARGIN = 0.5;
+
+	private ChangeListener<Number> viewportObserver = new ChangeListener<Number>() {
+		@Override
+		public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+			updateVirtualizationBounds();
+		}
+	};
+
+	private double margin = DEFAULT_MARGIN;
+
+	/**
+	 * Computes the current viewport within the coordinate system of the
+	 * {@link #getHost() host's} visual. Returns <code>null</code> if the
+	 * viewport cannot be determined (yet).
+	 *
+	 * @return The current viewport in local coordinates of the host's visual,
+	 *         or <code>null</code>.
+	 */
+	protected Rectangle computeViewport() {
+		InfiniteCanvas canvas = getCanvas();
+		if (canvas.getScene() == null || getHost().getVisual().getScene() == null) {
+			return null;
+		}
+		Bounds viewportInScene = canvas.localToScene(canvas.getLayoutBounds());
+		return FX2Geometry.toRectangle(getHost().getVisual().sceneToLocal(viewportInScene));
+	}
+
+	@Override
+	protected void doActivate() {
+		InfiniteCanvas canvas = getCanvas();
+		canvas.widthProperty().addListener(viewportObserver);
+		canvas.heightProperty().addListener(viewportObserver);
+		canvas.horizontalScrollOffsetProperty().addListener(viewportObserver);
+		canvas.verticalScrollOffsetProperty().addListener(viewportObserver);
+		canvas.getContentTransform().mxxProperty().addListener(viewportObserver);
+		canvas.getContentTransform().txProperty().addListener(viewportObserver);
+		canvas.getContentTransform().tyProperty().addListener(viewportObserver);
+		updateVirtualizationBounds();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		InfiniteCanvas canvas = getCanvas();
+		canvas.getContentTransform().tyProperty().removeListener(viewportObserver);
+		canvas.getContentTransform().txProperty().removeListener(viewportObserver);
+		canvas.getContentTransform().mxxProperty().removeListener(viewportObserver);
+		canvas.verticalScrollOffsetProperty().removeListener(viewportObserver);
+		canvas.horizontalScrollOffsetProperty().removeListener(viewportObserver);
+		canvas.heightProperty().removeListener(viewportObserver);
+		canvas.widthProperty().removeListener(viewportObserver);
+	}
+
+	/**
+	 * Returns the {@link InfiniteCanvas} of the viewer where the
+	 * {@link #getHost() host} is displayed.
+	 *
+	 * @return The {@link InfiniteCanvas} of the viewer.
+	 */
+	protected InfiniteCanvas getCanvas() {
+		return ((InfiniteCanvasViewer) getHost().getRoot().getViewer()).getCanvas();
+	}
+
+	@Override
+	public GraphPart getHost() {
+		return (GraphPart) super.getHost();
+	}
+
+	/**
+	 * Returns the margin (relative to the viewport size) by which the
+	 * viewport is expanded on each side to determine the virtualization
+	 * bounds.
+	 *
+	 * @return The margin relative to the viewport size.
+	 */
+	public double getMargin() {
+		return margin;
+	}
+
+	@Override
+	public void setAdaptable(IVisualPart<? extends Node> adaptable) {
+		super.setAdaptable(adaptable);
+		// Do not materialize any content children before the viewport is
+		// known. As content children are created before the behavior is
+		// activated, virtualization has to be enabled here.
+		if (adaptable instanceof GraphPart && ((GraphPart) adaptable).getVirtualizationBounds() == null) {
+			((GraphPart) adaptable).setVirtualizationBounds(new Rectangle());
+		}
+	}
+
+	/**
+	 * Sets the margin (relative to the viewport size) by which the viewport
+	 * is expanded on each side to determine the virtualization bounds.
+	 *
+	 * @param margin
+	 *            The new margin relative to the viewport size.
+	 */
+	public void setMargin(double margin) {
+		if (margin < 0) {
+			throw new IllegalArgumentException("The margin may not be negative.");
+		}
+		this.margin = margin;
+		if (isActive()) {
+			updateVirtualizationBounds();
+		}
+	}
+
+	/**
+	 * Updates the {@link GraphPart#getVirtualizationBounds() virtualization
+	 * bounds} of the {@link #getHost() host} in case the viewport is not
+	 * contained within the current virtualization bounds, or in case the
+	 * current virtualization bounds are considerably larger than needed.
+	 */
+	protected void updateVirtualizationBounds() {
+		Rectangle viewport = computeViewport();
+		if (viewport == null) {
+			return;
+		}
+		Rectangle newBounds = viewport.getExpanded(viewport.getWidth() * margin, viewport.getHeight() * margin);
+		Rectangle bounds = getHost().getVirtualizationBounds();
+		if (bounds != null && bounds.contains(viewport) && bounds.getArea() <= 4 * newBounds.getArea()) {
+			// viewport is still covered by the materialized area
+			return;
+		}
+		getHost().setVirtualizationBounds(newBounds);
+	}
+
+}
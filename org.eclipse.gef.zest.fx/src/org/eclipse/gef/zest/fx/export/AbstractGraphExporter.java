@@ -0,0 +1,451 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.zest.fx.ZestProperties;
+
+/**
+ * The {@link AbstractGraphExporter} is the base class for exporters that
+ * render a laid-out {@link Graph} directly from the model, i.e. without
+ * creating a viewer, content parts, or a JavaFX scene. The geometry of the
+ * nodes is determined from their {@link ZestProperties#POSITION__N position}
+ * and {@link ZestProperties#SIZE__N size}, falling back to the
+ * {@link LayoutProperties} (e.g. when a layout algorithm was applied to a
+ * {@link org.eclipse.gef.layout.LayoutContext} without transferring the
+ * results). Edges are drawn as polylines through their
+ * {@link ZestProperties#CONTROL_POINTS__E control points}, clipped at the
+ * bounds of their source and target nodes.
+ * <p>
+ * The elements are rendered in a single pass (edges first, then nodes, then
+ * edge labels), so that sub-classes can stream their output. The JavaFX CSS
+ * styles of the elements are parsed into simple key-value maps, of which the
+ * sub-classes support a basic subset (e.g. <code>-fx-stroke</code>,
+ * <code>-fx-stroke-width</code>, and <code>-fx-fill</code>). Nested graphs,
+ * icons, and custom shapes or decorations are not rendered.
+ * <p>
+ * Exporters are not thread-safe, i.e. a single exporter instance may only be
+ * used for one export at a time.
+ */
+public abstract class AbstractGraphExporter {
+
+	/**
+	 * The default padding around the exported graph.
+	 */
+	public static final double DEFAULT_PADDING = 10;
+
+	/**
+	 * The default font size that is used for labels.
+	 */
+	public static final double DEFAULT_FONT_SIZE = 12;
+
+	/**
+	 * The padding between a node's border and its label (in case the size of
+	 * the node is not specified).
+	 */
+	protected static final double NODE_PADDING = 5;
+
+	private double padding = DEFAULT_PADDING;
+	private double fontSize = DEFAULT_FONT_SIZE;
+
+	/**
+	 * Computes the bounds of all visible nodes of the given {@link Graph} and
+	 * of the given edge points, including the {@link #getPadding() padding}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} for which to compute the bounds.
+	 * @param edgePoints
+	 *            The {@link #getEdgePoints(Edge) points} of all visible edges
+	 *            of the given {@link Graph} that can be rendered.
+	 * @return The bounds of the given {@link Graph}.
+	 */
+	protected Rectangle computeBounds(Graph graph, Map<Edge, List<Point>> edgePoints) {
+		Rectangle bounds = null;
+		for (Node node : graph.getNodes()) {
+			Rectangle nodeBounds = isVisible(node) ? getNodeBounds(node) : null;
+			if (nodeBounds != null) {
+				bounds = bounds == null ? nodeBounds : bounds.union(nodeBounds);
+			}
+		}
+		for (List<Point> points : edgePoints.values()) {
+			for (Point p : points) {
+				bounds = bounds == null ? new Rectangle(p, new Dimension()) : bounds.union(p);
+			}
+		}
+		if (bounds == null) {
+			bounds = new Rectangle();
+		}
+		return bounds.expand(padding, padding);
+	}
+
+	/**
+	 * Renders the given edge.
+	 *
+	 * @param edge
+	 *            The {@link Edge} to render.
+	 * @param points
+	 *            The points of the edge's polyline.
+	 * @param style
+	 *            The parsed {@link ZestProperties#CURVE_CSS_STYLE__E curve
+	 *            style} of the edge.
+	 * @throws IOException
+	 *             In case the output cannot be written.
+	 */
+	protected abstract void drawEdge(Edge edge, List<Point> points, Map<String, String> style) throws IOException;
+
+	/**
+	 * Renders the given node (without its label).
+	 *
+	 * @param node
+	 *            The {@link Node} to render.
+	 * @param bounds
+	 *            The bounds of the node.
+	 * @param style
+	 *            The parsed {@link ZestProperties#SHAPE_CSS_STYLE__N shape
+	 *            style} of the node.
+	 * @throws IOException
+	 *             In case the output cannot be written.
+	 */
+	protected abstract void drawNode(Node node, Rectangle bounds, Map<String, String> style) throws IOException;
+
+	/**
+	 * Renders the given text.
+	 *
+	 * @param text
+	 *            The text to render.
+	 * @param position
+	 *            The top-left position of the text.
+	 * @param style
+	 *            The parsed label style.
+	 * @throws IOException
+	 *             In case the output cannot be written.
+	 */
+	protected abstract void drawText(String text, Point position, Map<String, String> style) throws IOException;
+
+	/**
+	 * Finishes the export, writing all pending output to the given
+	 * {@link OutputStream}. The {@link OutputStream} is not closed.
+	 *
+	 * @param outputStream
+	 *            The {@link OutputStream} to which the graph is exported.
+	 * @throws IOException
+	 *             In case the output cannot be written.
+	 */
+	protected abstract void endExport(OutputStream outputStream) throws IOException;
+
+	/**
+	 * Exports the given {@link Graph} to the given {@link OutputStream}. The
+	 * {@link OutputStream} is not closed.
+	 *
+	 * @param graph
+	 *            The {@link Graph} to export.
+	 * @param outputStream
+	 *            The {@link OutputStream} to which the graph is exported.
+	 * @throws IOException
+	 *             In case the output cannot be written.
+	 */
+	public void export(Graph graph, OutputStream outputStream) throws IOException {
+		if (graph == null) {
+			throw new IllegalArgumentException("The graph may not be null.");
+		}
+		if (outputStream == null) {
+			throw new IllegalArgumentException("The output stream may not be null.");
+		}
+		// the edge points are needed for the bounds, the edges, and the
+		// edge labels, so that they are determined only once
+		Map<Edge, List<Point>> edgePoints = new LinkedHashMap<>();
+		for (Edge edge : graph.getEdges()) {
+			List<Point> points = isVisible(edge) ? getEdgePoints(edge) : null;
+			if (points != null) {
+				edgePoints.put(edge, points);
+			}
+		}
+		startExport(computeBounds(graph, edgePoints), outputStream);
+
+		// edges
+		for (Map.Entry<Edge, List<Point>> entry : edgePoints.entrySet()) {
+			Edge edge = entry.getKey();
+			drawEdge(edge, entry.getValue(), parseStyle(ZestProperties.getCurveCssStyle(edge)));
+		}
+
+		// nodes (and node labels)
+		for (Node node : graph.getNodes()) {
+			Rectangle bounds = isVisible(node) ? getNodeBounds(node) : null;
+			if (bounds == null) {
+				continue;
+			}
+			drawNode(node, bounds, parseStyle(ZestProperties.getShapeCssStyle(node)));
+			Map<String, String> labelStyle = parseStyle(ZestProperties.getLabelCssStyle(node));
+			String label = ZestProperties.getLabel(node);
+			if (label != null && !label.isEmpty()) {
+				drawText(label, bounds.getCenter().getTranslated(getTextSize(label).getScaled(-0.5)), labelStyle);
+			}
+			String externalLabel = ZestProperties.getExternalLabel(node);
+			if (externalLabel != null && !externalLabel.isEmpty()) {
+				Point position = ZestProperties.getExternalLabelPosition(node);
+				if (position == null) {
+					// centered below the node
+					Dimension size = getTextSize(externalLabel);
+					position = new Point(bounds.getCenter().x - size.width / 2, bounds.getBottom().y);
+				}
+				drawText(externalLabel, position, parseStyle(ZestProperties.getExternalLabelCssStyle(node)));
+			}
+		}
+
+		// edge labels
+		for (Map.Entry<Edge, List<Point>> entry : edgePoints.entrySet()) {
+			Edge edge = entry.getKey();
+			List<Point> points = entry.getValue();
+			drawEdgeLabel(ZestProperties.getLabel(edge), ZestProperties.getLabelPosition(edge), getMidPoint(points),
+					ZestProperties.getLabelCssStyle(edge));
+			drawEdgeLabel(ZestProperties.getSourceLabel(edge), ZestProperties.getSourceLabelPosition(edge),
+					points.get(0), ZestProperties.getSourceLabelCssStyle(edge));
+			drawEdgeLabel(ZestProperties.getTargetLabel(edge), ZestProperties.getTargetLabelPosition(edge),
+					points.get(points.size() - 1), ZestProperties.getTargetLabelCssStyle(edge));
+			drawEdgeLabel(ZestProperties.getExternalLabel(edge), ZestProperties.getExternalLabelPosition(edge),
+					getMidPoint(points), ZestProperties.getExternalLabelCssStyle(edge));
+		}
+
+		endExport(outputStream);
+	}
+
+	private void drawEdgeLabel(String text, Point position, Point reference, String style) throws IOException {
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		if (position == null) {
+			// center the label at the reference point
+			position = reference.getTranslated(getTextSize(text).getScaled(-0.5));
+		}
+		drawText(text, position, parseStyle(style));
+	}
+
+	/**
+	 * Returns the point where the line from the center of the given bounds to
+	 * the given point leaves the bounds, or the center if the given point is
+	 * contained within the bounds.
+	 */
+	private Point getBorderPoint(Rectangle bounds, Point towards) {
+		Point center = bounds.getCenter();
+		double dx = towards.x - center.x;
+		double dy = towards.y - center.y;
+		double tx = dx == 0 ? Double.MAX_VALUE : bounds.getWidth() / 2 / Math.abs(dx);
+		double ty = dy == 0 ? Double.MAX_VALUE : bounds.getHeight() / 2 / Math.abs(dy);
+		double t = Math.min(tx, ty);
+		if (t >= 1) {
+			return center;
+		}
+		return new Point(center.x + t * dx, center.y + t * dy);
+	}
+
+	/**
+	 * Returns the points of the polyline for the given {@link Edge}, i.e. the
+	 * start point, the {@link ZestProperties#getControlPoints(Edge) control
+	 * points}, and the end point. The start and end points are located on the
+	 * borders of the source and target nodes, or are determined by the
+	 * {@link ZestProperties#getStartPoint(Edge) start} and
+	 * {@link ZestProperties#getEndPoint(Edge) end point} attributes for
+	 * unconnected edges. Returns <code>null</code> if the edge cannot be
+	 * rendered.
+	 *
+	 * @param edge
+	 *            The {@link Edge} for which to determine the points.
+	 * @return The points of the edge, or <code>null</code>.
+	 */
+	protected List<Point> getEdgePoints(Edge edge) {
+		Rectangle sourceBounds = edge.getSource() == null ? null : getNodeBounds(edge.getSource());
+		Rectangle targetBounds = edge.getTarget() == null ? null : getNodeBounds(edge.getTarget());
+		Point start = sourceBounds == null ? ZestProperties.getStartPoint(edge) : sourceBounds.getCenter();
+		Point end = targetBounds == null ? ZestProperties.getEndPoint(edge) : targetBounds.getCenter();
+		if (start == null || end == null) {
+			return null;
+		}
+		List<Point> controlPoints = ZestProperties.getControlPoints(edge);
+		if (controlPoints.isEmpty() && edge.getSource() != null && edge.getSource() == edge.getTarget()) {
+			// loops cannot be rendered without control points
+			return null;
+		}
+		List<Point> points = new ArrayList<>(controlPoints.size() + 2);
+		points.add(sourceBounds == null ? start
+				: getBorderPoint(sourceBounds, controlPoints.isEmpty() ? end : controlPoints.get(0)));
+		points.addAll(controlPoints);
+		points.add(targetBounds == null ? end
+				: getBorderPoint(targetBounds,
+						controlPoints.isEmpty() ? start : controlPoints.get(controlPoints.size() - 1)));
+		return points;
+	}
+
+	/**
+	 * Returns the font size that is used for labels.
+	 *
+	 * @return The font size that is used for labels.
+	 */
+	public double getFontSize() {
+		return fontSize;
+	}
+
+	private Point getMidPoint(List<Point> points) {
+		if (points.size() % 2 == 1) {
+			return points.get(points.size() / 2);
+		}
+		Point p = points.get(points.size() / 2 - 1);
+		Point q = points.get(points.size() / 2);
+		return new Point((p.x + q.x) / 2, (p.y + q.y) / 2);
+	}
+
+	/**
+	 * Returns the bounds of the given {@link Node}, or <code>null</code> if
+	 * the node has neither a {@link ZestProperties#getPosition(Node)
+	 * position} nor a {@link LayoutProperties#getLocation(Node) layout
+	 * location}. In case no size is specified, the size is determined from the
+	 * node's label.
+	 *
+	 * @param node
+	 *            The {@link Node} for which to determine the bounds.
+	 * @return The bounds of the given {@link Node}, or <code>null</code>.
+	 */
+	protected Rectangle getNodeBounds(Node node) {
+		Dimension size = ZestProperties.getSize(node);
+		if (size == null) {
+			size = LayoutProperties.getSize(node);
+		}
+		if (size == null) {
+			String label = ZestProperties.getLabel(node);
+			size = getTextSize(label == null ? "" : label).getExpanded(2 * NODE_PADDING, 2 * NODE_PADDING);
+		}
+		Point position = ZestProperties.getPosition(node);
+		if (position == null) {
+			Point location = LayoutProperties.getLocation(node);
+			if (location == null) {
+				return null;
+			}
+			// layout location is center, position is top-left
+			position = location.getTranslated(size.getScaled(-0.5));
+		}
+		return new Rectangle(position, size);
+	}
+
+	/**
+	 * Returns the padding around the exported graph.
+	 *
+	 * @return The padding around the exported graph.
+	 */
+	public double getPadding() {
+		return padding;
+	}
+
+	/**
+	 * Determines the size of the given text. The default implementation
+	 * estimates the size from the {@link #getFontSize() font size}, so that no
+	 * font rendering is required. Sub-classes may override this method to
+	 * measure the text more precisely.
+	 *
+	 * @param text
+	 *            The text to measure.
+	 * @return The size of the given text.
+	 */
+	protected Dimension getTextSize(String text) {
+		return new Dimension(text.length() * fontSize * 0.6, fontSize * 1.2);
+	}
+
+	private boolean isVisible(Edge edge) {
+		Boolean invisible = ZestProperties.getInvisible(edge);
+		if (invisible != null && invisible) {
+			return false;
+		}
+		return (edge.getSource() == null || isVisible(edge.getSource()))
+				&& (edge.getTarget() == null || isVisible(edge.getTarget()));
+	}
+
+	private boolean isVisible(Node node) {
+		Boolean invisible = ZestProperties.getInvisible(node);
+		return invisible == null || !invisible;
+	}
+
+	/**
+	 * Parses the given JavaFX CSS style declarations (e.g.
+	 * <code>-fx-stroke: red; -fx-stroke-width: 2</code>) into a {@link Map}
+	 * from property names (e.g. <code>-fx-stroke</code>) to values.
+	 *
+	 * @param style
+	 *            The style declarations to parse, may be <code>null</code>.
+	 * @return A {@link Map} containing the parsed declarations.
+	 */
+	protected Map<String, String> parseStyle(String style) {
+		if (style == null || style.trim().isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> declarations = new HashMap<>();
+		for (String declaration : style.split(";")) {
+			int colon = declaration.indexOf(':');
+			if (colon > 0) {
+				declarations.put(declaration.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+						declaration.substring(colon + 1).trim());
+			}
+		}
+		return declarations;
+	}
+
+	/**
+	 * Sets the font size that is used for labels.
+	 *
+	 * @param fontSize
+	 *            The new font size.
+	 */
+	public void setFontSize(double fontSize) {
+		if (fontSize <= 0) {
+			throw new IllegalArgumentException("The font size has to be positive.");
+		}
+		this.fontSize = fontSize;
+	}
+
+	/**
+	 * Sets the padding around the exported graph.
+	 *
+	 * @param padding
+	 *            The new padding.
+	 */
+	public void setPadding(double padding) {
+		if (padding < 0) {
+			throw new IllegalArgumentException("The padding may not be negative.");
+		}
+		this.padding = padding;
+	}
+
+	/**
+	 * Starts the export of a graph with the given bounds to the given
+	 * {@link OutputStream}.
+	 *
+	 * @param bounds
+	 *            The bounds of the exported graph (including the padding).
+	 * @param outputStream
+	 *            The {@link OutputStream} to which the graph is exported.
+	 * @throws IOException
+	 *             In case the output cannot be written.
+	 */
+	protected abstract void startExport(Rectangle bounds, OutputStream outputStream) throws IOException;
+
+}
@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.export;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.ZestProperties;
+
+/**
+ * The {@link PngGraphExporter} is an {@link AbstractGraphExporter} that
+ * exports a {@link org.eclipse.gef.graph.Graph} as a Portable Network Graphics
+ * (PNG) image. The graph is rasterized using the Java2D software renderer,
+ * which does not require a display, so that the exporter can be used on
+ * headless systems (i.e. with <code>java.awt.headless=true</code>).
+ * <p>
+ * In contrast to the {@link SvgGraphExporter}, the output is not streamed:
+ * the whole image is rasterized into an in-memory buffer (of 4 bytes per
+ * pixel) before it is encoded, so that the memory consumption grows with the
+ * exported area. The buffer is limited to {@link #MAX_PIXELS} pixels (i.e.
+ * 1 GiB); larger graphs have to be exported using a smaller
+ * {@link #setScale(double) scale}. As for all exporters, nested graphs are
+ * not rendered.
+ */
+public class PngGraphExporter extends AbstractGraphExporter {
+
+	/**
+	 * The maximum number of pixels of an exported image, which corresponds to
+	 * an image buffer of 1 GiB. Larger graphs have to be exported using a
+	 * smaller {@link #getScale() scale}.
+	 */
+	public static final long MAX_PIXELS = 1L << 28;
+
+	private static final Color DEFAULT_STROKE = Color.BLACK;
+	private static final Color DEFAULT_NODE_STROKE = new Color(100, 100, 100);
+	private static final Color DEFAULT_NODE_FILL = new Color(240, 240, 255);
+	private static final double ARROW_SIZE = 8;
+	private static final Map<String, Color> NAMED_COLORS = new HashMap<>();
+
+	static {
+		NAMED_COLORS.put("aqua", new Color(0x00ffff));
+		NAMED_COLORS.put("black", new Color(0x000000));
+		NAMED_COLORS.put("blue", new Color(0x0000ff));
+		NAMED_COLORS.put("fuchsia", new Color(0xff00ff));
+		NAMED_COLORS.put("gray", new Color(0x808080));
+		NAMED_COLORS.put("green", new Color(0x008000));
+		NAMED_COLORS.put("grey", new Color(0x808080));
+		NAMED_COLORS.put("lime", new Color(0x00ff00));
+		NAMED_COLORS.put("maroon", new Color(0x800000));
+		NAMED_COLORS.put("navy", new Color(0x000080));
+		NAMED_COLORS.put("olive", new Color(0x808000));
+		NAMED_COLORS.put("orange", new Color(0xffa500));
+		NAMED_COLORS.put("purple", new Color(0x800080));
+		NAMED_COLORS.put("red", new Color(0xff0000));
+		NAMED_COLORS.put("silver", new Color(0xc0c0c0));
+		NAMED_COLORS.put("teal", new Color(0x008080));
+		NAMED_COLORS.put("transparent", new Color(0, 0, 0, 0));
+		NAMED_COLORS.put("white", new Color(0xffffff));
+		NAMED_COLORS.put("yellow", new Color(0xffff00));
+	}
+
+	private double scale = 1;
+	private boolean isAntialiased = true;
+	private BufferedImage image;
+	private Graphics2D graphics;
+	private FontMetrics fontMetrics;
+
+	@Override
+	protected void drawEdge(Edge edge, List<Point> points, Map<String, String> style) throws IOException {
+		Path2D.Double path = new Path2D.Double();
+		path.moveTo(points.get(0).x, points.get(0).y);
+		for (int i = 1; i < points.size(); i++) {
+			path.lineTo(points.get(i).x, points.get(i).y);
+		}
+		Color stroke = toColor(style.get("-fx-stroke"), DEFAULT_STROKE);
+		graphics.setColor(stroke);
+		graphics.setStroke(new BasicStroke((float) toDouble(style.get("-fx-stroke-width"), 1)));
+		graphics.draw(path);
+		if (ZestProperties.getTargetDecoration(edge) != null) {
+			fillArrow(points.get(points.size() - 2), points.get(points.size() - 1));
+		}
+		if (ZestProperties.getSourceDecoration(edge) != null) {
+			fillArrow(points.get(1), points.get(0));
+		}
+	}
+
+	@Override
+	protected void drawNode(Node node, Rectangle bounds, Map<String, String> style) throws IOException {
+		RoundRectangle2D.Double shape = new RoundRectangle2D.Double(bounds.getX(), bounds.getY(), bounds.getWidth(),
+				bounds.getHeight(), 10, 10);
+		graphics.setColor(toColor(style.get("-fx-fill"), DEFAULT_NODE_FILL));
+		graphics.fill(shape);
+		graphics.setColor(toColor(style.get("-fx-stroke"), DEFAULT_NODE_STROKE));
+		graphics.setStroke(new BasicStroke((float) toDouble(style.get("-fx-stroke-width"), 1)));
+		graphics.draw(shape);
+	}
+
+	@Override
+	protected void drawText(String text, Point position, Map<String, String> style) throws IOException {
+		graphics.setColor(toColor(style.get("-fx-fill"), DEFAULT_STROKE));
+		graphics.drawString(text, (float) position.x, (float) position.y + getFontMetrics().getAscent());
+	}
+
+	@Override
+	protected void endExport(OutputStream outputStream) throws IOException {
+		graphics.dispose();
+		graphics = null;
+		try {
+			ImageIO.write(image, "png", outputStream);
+		} finally {
+			image = null;
+		}
+	}
+
+	private void fillArrow(Point from, Point to) {
+		double angle = Math.atan2(to.y - from.y, to.x - from.x);
+		Path2D.Double arrow = new Path2D.Double();
+		arrow.moveTo(0, 0);
+		arrow.lineTo(-ARROW_SIZE, -ARROW_SIZE / 2);
+		arrow.lineTo(-ARROW_SIZE, ARROW_SIZE / 2);
+		arrow.closePath();
+		AffineTransform transform = AffineTransform.getTranslateInstance(to.x, to.y);
+		transform.rotate(angle);
+		graphics.fill(transform.createTransformedShape(arrow));
+	}
+
+	/**
+	 * Returns the {@link FontMetrics} for the current
+	 * {@link #getFontSize() font size}, which are used for measuring and
+	 * rendering labels.
+	 */
+	private FontMetrics getFontMetrics() {
+		if (fontMetrics == null || fontMetrics.getFont().getSize() != (int) Math.round(getFontSize())) {
+			// measure using a scratch image, so that the text size is
+			// consistent before and during rendering
+			Graphics2D scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+			scratch.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			fontMetrics = scratch
+					.getFontMetrics(new Font(Font.SANS_SERIF, Font.PLAIN, (int) Math.round(getFontSize())));
+			scratch.dispose();
+		}
+		return fontMetrics;
+	}
+
+	/**
+	 * Returns the scale factor that is applied when rasterizing the graph.
+	 *
+	 * @return The scale factor.
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	@Override
+	protected Dimension getTextSize(String text) {
+		FontMetrics metrics = getFontMetrics();
+		return new Dimension(metrics.stringWidth(text), metrics.getHeight());
+	}
+
+	/**
+	 * Returns <code>true</code> if the graph is rasterized with antialiasing
+	 * (which is the default). Otherwise returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if antialiasing is used, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isAntialiased() {
+		return isAntialiased;
+	}
+
+	/**
+	 * Specifies whether the graph is rasterized with antialiasing. Disabling
+	 * antialiasing considerably speeds up the rasterization of large graphs.
+	 *
+	 * @param isAntialiased
+	 *            <code>true</code> to enable antialiasing, <code>false</code>
+	 *            to disable it.
+	 */
+	public void setAntialiased(boolean isAntialiased) {
+		this.isAntialiased = isAntialiased;
+	}
+
+	/**
+	 * Sets the scale factor that is applied when rasterizing the graph.
+	 *
+	 * @param scale
+	 *            The new scale factor.
+	 */
+	public void setScale(double scale) {
+		if (scale <= 0) {
+			throw new IllegalArgumentException("The scale has to be positive.");
+		}
+		this.scale = scale;
+	}
+
+	@Override
+	protected void startExport(Rectangle bounds, OutputStream outputStream) throws IOException {
+		int width = Math.max(1, (int) Math.ceil(bounds.getWidth() * scale));
+		int height = Math.max(1, (int) Math.ceil(bounds.getHeight() * scale));
+		if ((long) width * height > MAX_PIXELS) {
+			throw new IllegalStateException("The exported image (" + width + "x" + height
+					+ " pixels) exceeds the maximum number of pixels; reduce the scale.");
+		}
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		graphics = image.createGraphics();
+		if (isAntialiased) {
+			graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		}
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, width, height);
+		graphics.scale(scale, scale);
+		graphics.translate(-bounds.getX(), -bounds.getY());
+		graphics.setFont(getFontMetrics().getFont());
+	}
+
+	/**
+	 * Converts the given CSS color value into a {@link Color}. Supports
+	 * hexadecimal notations (<code>#rgb</code>, <code>#rrggbb</code>,
+	 * <code>#rrggbbaa</code>), the <code>rgb()</code> and <code>rgba()</code>
+	 * functions, and the basic named colors. Returns the given default color
+	 * for all other values.
+	 */
+	private Color toColor(String value, Color defaultColor) {
+		if (value == null) {
+			return defaultColor;
+		}
+		String color = value.trim().toLowerCase(Locale.ROOT);
+		try {
+			if (color.startsWith("#")) {
+				String hex = color.substring(1);
+				if (hex.length() == 3) {
+					hex = new StringBuilder().append(hex.charAt(0)).append(hex.charAt(0)).append(hex.charAt(1))
+							.append(hex.charAt(1)).append(hex.charAt(2)).append(hex.charAt(2)).toString();
+				}
+				if (hex.length() == 6) {
+					return new Color(Integer.parseInt(hex, 16));
+				} else if (hex.length() == 8) {
+					int rgb = Integer.parseInt(hex.substring(0, 6), 16);
+					int alpha = Integer.parseInt(hex.substring(6), 16);
+					return new Color(alpha << 24 | rgb, true);
+				}
+				return defaultColor;
+			}
+			if ((color.startsWith("rgb(") || color.startsWith("rgba(")) && color.endsWith(")")) {
+				String[] components = color.substring(color.indexOf('(') + 1, color.length() - 1).split(",");
+				if (components.length != (color.startsWith("rgba(") ? 4 : 3)) {
+					return defaultColor;
+				}
+				float alpha = components.length == 4 ? toColorComponent(components[3], 1) : 1;
+				return new Color(toColorComponent(components[0], 255), toColorComponent(components[1], 255),
+						toColorComponent(components[2], 255), alpha);
+			}
+		} catch (IllegalArgumentException e) {
+			// includes NumberFormatException
+			return defaultColor;
+		}
+		Color namedColor = NAMED_COLORS.get(color);
+		return namedColor == null ? defaultColor : namedColor;
+	}
+
+	// converts an absolute (0 to max) or percentage color component to a
+	// value between 0 and 1
+	private float toColorComponent(String value, float max) {
+		String component = value.trim();
+		float f = component.endsWith("%") ? Float.parseFloat(component.substring(0, component.length() - 1)) / 100
+				: Float.parseFloat(component) / max;
+		return Math.max(0, Math.min(1, f));
+	}
+
+	private double toDouble(String value, double defaultValue) {
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Double.parseDouble(value.replace("px", "").trim());
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.ZestProperties;
+
+/**
+ * The {@link SvgGraphExporter} is an {@link AbstractGraphExporter} that
+ * exports a {@link org.eclipse.gef.graph.Graph} as a Scalable Vector Graphics
+ * (SVG) document. The document is written element by element, i.e. it is
+ * never held in memory as a whole.
+ */
+public class SvgGraphExporter extends AbstractGraphExporter {
+
+	private Writer writer;
+
+	private void appendAttribute(StringBuilder sb, String name, String value) {
+		if (value != null) {
+			sb.append(' ').append(name).append("=\"").append(escape(value)).append('"');
+		}
+	}
+
+	private void appendStyleAttributes(StringBuilder sb, Map<String, String> style, String defaultStroke,
+			String defaultFill) {
+		String stroke = style.get("-fx-stroke");
+		appendAttribute(sb, "stroke", stroke == null ? defaultStroke : stroke);
+		appendAttribute(sb, "stroke-width", style.get("-fx-stroke-width"));
+		appendAttribute(sb, "stroke-dasharray", style.get("-fx-stroke-dash-array"));
+		String fill = style.get("-fx-fill");
+		appendAttribute(sb, "fill", fill == null ? defaultFill : fill);
+		appendAttribute(sb, "opacity", style.get("-fx-opacity"));
+	}
+
+	@Override
+	protected void drawEdge(Edge edge, List<Point> points, Map<String, String> style) throws IOException {
+		StringBuilder sb = new StringBuilder("<polyline points=\"");
+		for (int i = 0; i < points.size(); i++) {
+			if (i > 0) {
+				sb.append(' ');
+			}
+			sb.append(format(points.get(i).x)).append(',').append(format(points.get(i).y));
+		}
+		sb.append('"');
+		appendStyleAttributes(sb, style, "black", "none");
+		if (ZestProperties.getTargetDecoration(edge) != null) {
+			sb.append(" marker-end=\"url(#arrow)\"");
+		}
+		if (ZestProperties.getSourceDecoration(edge) != null) {
+			sb.append(" marker-start=\"url(#arrow-reversed)\"");
+		}
+		sb.append("/>\n");
+		writer.write(sb.toString());
+	}
+
+	@Override
+	protected void drawNode(Node node, Rectangle bounds, Map<String, String> style) throws IOException {
+		StringBuilder sb = new StringBuilder("<rect");
+		appendAttribute(sb, "x", format(bounds.getX()));
+		appendAttribute(sb, "y", format(bounds.getY()));
+		appendAttribute(sb, "width", format(bounds.getWidth()));
+		appendAttribute(sb, "height", format(bounds.getHeight()));
+		appendAttribute(sb, "rx", "5");
+		appendAttribute(sb, "ry", "5");
+		appendStyleAttributes(sb, style, "#646464", "#f0f0ff");
+		sb.append("/>\n");
+		writer.write(sb.toString());
+	}
+
+	@Override
+	protected void drawText(String text, Point position, Map<String, String> style) throws IOException {
+		StringBuilder sb = new StringBuilder("<text");
+		appendAttribute(sb, "x", format(position.x));
+		// SVG positions text at the baseline
+		appendAttribute(sb, "y", format(position.y + getFontSize()));
+		String fill = style.get("-fx-fill");
+		appendAttribute(sb, "fill", fill == null ? "black" : fill);
+		appendAttribute(sb, "opacity", style.get("-fx-opacity"));
+		sb.append('>').append(escape(text)).append("</text>\n");
+		writer.write(sb.toString());
+	}
+
+	@Override
+	protected void endExport(OutputStream outputStream) throws IOException {
+		writer.write("</g>\n</svg>\n");
+		// flush, but do not close the output stream
+		writer.flush();
+		writer = null;
+	}
+
+	private String escape(String text) {
+		StringBuilder sb = null;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			String replacement = null;
+			switch (c) {
+			case '<':
+				replacement = "&lt;";
+				break;
+			case '>':
+				replacement = "&gt;";
+				break;
+			case '&':
+				replacement = "&amp;";
+				break;
+			case '"':
+				replacement = "&quot;";
+				break;
+			default:
+				break;
+			}
+			if (replacement != null && sb == null) {
+				sb = new StringBuilder(text.substring(0, i));
+			}
+			if (sb != null) {
+				if (replacement != null) {
+					sb.append(replacement);
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		return sb == null ? text : sb.toString();
+	}
+
+	private String format(double value) {
+		if (value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE) {
+			return Long.toString((long) value);
+		}
+		return Double.toString(Math.rint(value * 100) / 100);
+	}
+
+	@Override
+	protected void startExport(Rectangle bounds, OutputStream outputStream) throws IOException {
+		writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		writer.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + format(bounds.getWidth()) + "\" height=\""
+				+ format(bounds.getHeight()) + "\" viewBox=\"" + format(bounds.getX()) + " " + format(bounds.getY())
+				+ " " + format(bounds.getWidth()) + " " + format(bounds.getHeight()) + "\">\n");
+		writer.write("<defs>\n");
+		writer.write("<marker id=\"arrow\" viewBox=\"0 0 10 10\" refX=\"10\" refY=\"5\" markerWidth=\"8\""
+				+ " markerHeight=\"8\" orient=\"auto\"><path d=\"M0,0 L10,5 L0,10 z\"/></marker>\n");
+		writer.write("<marker id=\"arrow-reversed\" viewBox=\"0 0 10 10\" refX=\"0\" refY=\"5\" markerWidth=\"8\""
+				+ " markerHeight=\"8\" orient=\"auto\"><path d=\"M10,0 L0,5 L10,10 z\"/></marker>\n");
+		writer.write("</defs>\n");
+		writer.write("<g font-family=\"sans-serif\" font-size=\"" + format(getFontSize()) + "\">\n");
+	}
+
+}
@@ -0,0 +1,18 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/**
+ * This package provides exporters that render a laid-out
+ * {@link org.eclipse.gef.graph.Graph} directly from the model, i.e. without a
+ * viewer or JavaFX scene (
+ * {@link org.eclipse.gef.zest.fx.export.AbstractGraphExporter},
+ * {@link org.eclipse.gef.zest.fx.export.SvgGraphExporter},
+ * {@link org.eclipse.gef.zest.fx.export.PngGraphExporter}).
+ */
+package org.eclipse.gef.zest.fx.export;
@@ -12,12 +12,17 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.models;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
@@ -25,12 +30,27 @@ import org.eclipse.gef.zest.fx.parts.NodePart;
 import javafx.beans.property.ReadOnlySetProperty;
 import javafx.beans.property.ReadOnlySetWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.SetChangeListener;
 
 /**
  * The {@link HidingModel} manages a {@link Set} of currently hidden
  * {@link org.eclipse.gef.graph.Node}s. The hidden neighbors of a
  * {@link org.eclipse.gef.graph.Node} can be identified using
  * {@link #getHiddenNeighbors(org.eclipse.gef.graph.Node)}.
+ * <p>
+ * The {@link HidingModel} indexes the incident edges of the nodes of those
+ * graphs that contain hidden nodes (either directly or within nested graphs),
+ * and maintains a count of the hidden neighbors per node, so that hiding or
+ * showing a node, as well as querying the hidden neighbors of a node, only
+ * depends on the degree of the respective node. As the index is maintained per
+ * node, edges that are contained in an ancestor graph of a nested node are
+ * considered as well. A graph is no longer indexed (nor observed) as soon as
+ * neither it nor one of its nested graphs contains hidden nodes.
+ * <p>
+ * Listeners that are only interested in a specific node can be registered via
+ * {@link #addListener(org.eclipse.gef.graph.Node, SetChangeListener)}. They
+ * are only notified when that node or one of its neighbors is hidden or shown.
  *
  * @author mwienand
  *
@@ -46,6 +66,73 @@ public class HidingModel {
 	private ReadOnlySetWrapper<org.eclipse.gef.graph.Node> hiddenProperty = new ReadOnlySetWrapper<>(this,
 			HIDDEN_PROPERTY, FXCollections.observableSet(new HashSet<org.eclipse.gef.graph.Node>()));
 
+	private SetChangeListener<org.eclipse.gef.graph.Node> hiddenObserver = new SetChangeListener<org.eclipse.gef.graph.Node>() {
+		@Override
+		public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+			onHiddenChanged(change);
+		}
+	};
+
+	private ListChangeListener<Edge> edgesObserver = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+			while (change.next()) {
+				for (Edge removed : change.getRemoved()) {
+					unindexEdge(removed);
+				}
+				for (Edge added : change.getAddedSubList()) {
+					indexEdge(added, null);
+				}
+			}
+		}
+	};
+
+	// number of hidden nodes per indexed graph (including nested graphs)
+	private final Map<Graph, Integer> indexedGraphs = new IdentityHashMap<>();
+	// indexed graphs that are retained per hidden node
+	private final Map<org.eclipse.gef.graph.Node, List<Graph>> retainedGraphs = new IdentityHashMap<>();
+	private final Map<org.eclipse.gef.graph.Node, List<Edge>> incidentEdges = new IdentityHashMap<>();
+	private final Map<org.eclipse.gef.graph.Node, Integer> hiddenNeighborCounts = new IdentityHashMap<>();
+	private final Map<org.eclipse.gef.graph.Node, List<SetChangeListener<? super org.eclipse.gef.graph.Node>>> nodeListeners = new IdentityHashMap<>();
+
+	/**
+	 * Constructs a new {@link HidingModel}.
+	 */
+	public HidingModel() {
+		hiddenProperty.addListener(hiddenObserver);
+	}
+
+	/**
+	 * Registers the given listener to be notified when the given
+	 * {@link org.eclipse.gef.graph.Node} or one of its neighbors is hidden or
+	 * shown.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} for which to register
+	 *            the listener.
+	 * @param listener
+	 *            The listener to register.
+	 */
+	public void addListener(org.eclipse.gef.graph.Node node,
+			SetChangeListener<? super org.eclipse.gef.graph.Node> listener) {
+		List<SetChangeListener<? super org.eclipse.gef.graph.Node>> listeners = nodeListeners.get(node);
+		if (listeners == null) {
+			listeners = new ArrayList<>(1);
+			nodeListeners.put(node, listeners);
+		}
+		listeners.add(listener);
+	}
+
+	private void addNeighborCount(org.eclipse.gef.graph.Node node, int delta) {
+		Integer count = hiddenNeighborCounts.get(node);
+		int newCount = (count == null ? 0 : count) + delta;
+		if (newCount <= 0) {
+			hiddenNeighborCounts.remove(node);
+		} else {
+			hiddenNeighborCounts.put(node, newCount);
+		}
+	}
+
 	/**
 	 * Returns a {@link Set} containing all {@link NodePart}s corresponding to
 	 * the hidden neighbors of the content of the given {@link NodePart}.
@@ -78,10 +165,12 @@ public class HidingModel {
 	 *         {@link org.eclipse.gef.graph.Node}.
 	 */
 	public Set<org.eclipse.gef.graph.Node> getHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		Set<org.eclipse.gef.graph.Node> neighbors = node.getNeighbors();
 		Set<org.eclipse.gef.graph.Node> hiddenNeighbors = Collections
 				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
-		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
+		if (!hiddenNeighborCounts.containsKey(node)) {
+			return hiddenNeighbors;
+		}
+		for (org.eclipse.gef.graph.Node neighbor : getNeighbors(node)) {
 			if (isHidden(neighbor)) {
 				hiddenNeighbors.add(neighbor);
 			}
@@ -89,6 +178,21 @@ public class HidingModel {
 		return hiddenNeighbors;
 	}
 
+	/**
+	 * Returns the number of hidden neighbors of the given
+	 * {@link org.eclipse.gef.graph.Node}.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} of which the number of
+	 *            hidden neighbors is returned.
+	 * @return The number of hidden neighbors of the given
+	 *         {@link org.eclipse.gef.graph.Node}.
+	 */
+	public int getHiddenNeighborCount(org.eclipse.gef.graph.Node node) {
+		Integer count = hiddenNeighborCounts.get(node);
+		return count == null ? 0 : count;
+	}
+
 	/**
 	 * Returns a copy of the {@link Set} that contains all hidden
 	 * {@link org.eclipse.gef.graph.Node}s.
@@ -128,7 +232,7 @@ public class HidingModel {
 	 *         <code>false</code>.
 	 */
 	public boolean hasHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		return getHiddenNeighbors(node).size() > 0;
+		return hiddenNeighborCounts.containsKey(node);
 	}
 
 	/**
@@ -166,6 +270,78 @@ public class HidingModel {
 		hiddenProperty.add(node);
 	}
 
+	/**
+	 * Returns the (local) neighbors of the given
+	 * {@link org.eclipse.gef.graph.Node} as determined from the index of
+	 * incident edges.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} of which the neighbors
+	 *            are returned.
+	 * @return The neighbors of the given {@link org.eclipse.gef.graph.Node}.
+	 */
+	private Set<org.eclipse.gef.graph.Node> getNeighbors(org.eclipse.gef.graph.Node node) {
+		Set<org.eclipse.gef.graph.Node> neighbors = Collections
+				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
+		List<Edge> edges = incidentEdges.get(node);
+		if (edges != null) {
+			for (Edge edge : edges) {
+				org.eclipse.gef.graph.Node neighbor = getOpposite(edge, node);
+				if (neighbor != null) {
+					neighbors.add(neighbor);
+				}
+			}
+		}
+		return neighbors;
+	}
+
+	private org.eclipse.gef.graph.Node getOpposite(Edge edge, org.eclipse.gef.graph.Node node) {
+		return edge.getSource() == node ? edge.getTarget() : edge.getSource();
+	}
+
+	private void indexEdge(Edge edge, org.eclipse.gef.graph.Node ignoredNode) {
+		org.eclipse.gef.graph.Node source = edge.getSource();
+		org.eclipse.gef.graph.Node target = edge.getTarget();
+		if (source == null || target == null) {
+			return;
+		}
+		boolean wereNeighbors = isNeighbor(source, target);
+		indexIncidentEdge(source, edge);
+		if (target != source) {
+			indexIncidentEdge(target, edge);
+		}
+		if (!wereNeighbors) {
+			updateNeighborCounts(source, target, 1, ignoredNode);
+		}
+	}
+
+	/**
+	 * Indexes the incident edges of all nodes of the given {@link Graph} and
+	 * registers a listener to keep the index up-to-date.
+	 *
+	 * @param graph
+	 *            The {@link Graph} to index.
+	 * @param ignoredNode
+	 *            A hidden {@link org.eclipse.gef.graph.Node} whose neighbor
+	 *            counts are updated separately and that is therefore not
+	 *            considered when updating the neighbor counts.
+	 */
+	private void indexGraph(Graph graph, org.eclipse.gef.graph.Node ignoredNode) {
+		for (Edge edge : graph.getEdges()) {
+			indexEdge(edge, ignoredNode);
+		}
+		graph.getEdges().addListener(edgesObserver);
+	}
+
+	private void indexIncidentEdge(org.eclipse.gef.graph.Node node, Edge edge) {
+		List<Edge> edges = incidentEdges.get(node);
+		if (edges == null) {
+			edges = new ArrayList<>(2);
+			incidentEdges.put(node, edges);
+		}
+		edges.add(edge);
+	}
+
 	/**
 	 * Returns <code>true</code> if the given {@link NodePart} is currently
 	 * contained within the {@link Set} of hidden
@@ -200,6 +376,139 @@ public class HidingModel {
 		return hiddenProperty.contains(node);
 	}
 
+	private boolean isNeighbor(org.eclipse.gef.graph.Node node, org.eclipse.gef.graph.Node candidate) {
+		List<Edge> edges = incidentEdges.get(node);
+		if (edges != null) {
+			for (Edge edge : edges) {
+				if (getOpposite(edge, node) == candidate) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Updates the hidden neighbor counts of the neighbors of the added or
+	 * removed {@link org.eclipse.gef.graph.Node}, and notifies the listeners
+	 * that are registered for the {@link org.eclipse.gef.graph.Node} and its
+	 * neighbors.
+	 *
+	 * @param change
+	 *            The change of the {@link Set} of hidden
+	 *            {@link org.eclipse.gef.graph.Node}s.
+	 */
+	private void onHiddenChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+		org.eclipse.gef.graph.Node node = change.wasAdded() ? change.getElementAdded() : change.getElementRemoved();
+		if (change.wasAdded()) {
+			retainGraphs(node);
+		}
+		Set<org.eclipse.gef.graph.Node> neighbors = getNeighbors(node);
+		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
+			addNeighborCount(neighbor, change.wasAdded() ? 1 : -1);
+		}
+		if (change.wasRemoved()) {
+			releaseGraphs(node);
+		}
+
+		// notify the listeners of all affected nodes (once per listener)
+		if (nodeListeners.isEmpty()) {
+			return;
+		}
+		Set<SetChangeListener<? super org.eclipse.gef.graph.Node>> listeners = new LinkedHashSet<>();
+		List<SetChangeListener<? super org.eclipse.gef.graph.Node>> nodeListenersOfNode = nodeListeners.get(node);
+		if (nodeListenersOfNode != null) {
+			listeners.addAll(nodeListenersOfNode);
+		}
+		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
+			List<SetChangeListener<? super org.eclipse.gef.graph.Node>> nodeListenersOfNeighbor = nodeListeners
+					.get(neighbor);
+			if (nodeListenersOfNeighbor != null) {
+				listeners.addAll(nodeListenersOfNeighbor);
+			}
+		}
+		for (SetChangeListener<? super org.eclipse.gef.graph.Node> listener : listeners) {
+			listener.onChanged(change);
+		}
+	}
+
+	/**
+	 * Releases the {@link Graph}s that were retained for the given (formerly
+	 * hidden) {@link org.eclipse.gef.graph.Node}, unindexing those that no
+	 * longer contain hidden nodes.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} that was shown.
+	 */
+	private void releaseGraphs(org.eclipse.gef.graph.Node node) {
+		List<Graph> graphs = retainedGraphs.remove(node);
+		if (graphs == null) {
+			return;
+		}
+		for (Graph graph : graphs) {
+			int count = indexedGraphs.get(graph) - 1;
+			if (count == 0) {
+				indexedGraphs.remove(graph);
+				unindexGraph(graph);
+			} else {
+				indexedGraphs.put(graph, count);
+			}
+		}
+	}
+
+	/**
+	 * Unregisters the given listener, which was previously registered for the
+	 * given {@link org.eclipse.gef.graph.Node} via
+	 * {@link #addListener(org.eclipse.gef.graph.Node, SetChangeListener)}.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} for which the listener
+	 *            was registered.
+	 * @param listener
+	 *            The listener to unregister.
+	 */
+	public void removeListener(org.eclipse.gef.graph.Node node,
+			SetChangeListener<? super org.eclipse.gef.graph.Node> listener) {
+		List<SetChangeListener<? super org.eclipse.gef.graph.Node>> listeners = nodeListeners.get(node);
+		if (listeners != null) {
+			listeners.remove(listener);
+			if (listeners.isEmpty()) {
+				nodeListeners.remove(node);
+			}
+		}
+	}
+
+	/**
+	 * Retains the {@link Graph} of the given (hidden)
+	 * {@link org.eclipse.gef.graph.Node}, as well as all its ancestor graphs,
+	 * indexing those that were not indexed before. The ancestor graphs are
+	 * included because they may contain edges that are incident to the given
+	 * {@link org.eclipse.gef.graph.Node}.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} that was hidden.
+	 */
+	private void retainGraphs(org.eclipse.gef.graph.Node node) {
+		if (retainedGraphs.containsKey(node)) {
+			return;
+		}
+		List<Graph> graphs = new ArrayList<>(1);
+		Graph graph = node.getGraph();
+		while (graph != null) {
+			graphs.add(graph);
+			Integer count = indexedGraphs.get(graph);
+			if (count == null) {
+				indexedGraphs.put(graph, 1);
+				// the neighbor counts of the given node are updated afterwards
+				indexGraph(graph, node);
+			} else {
+				indexedGraphs.put(graph, count + 1);
+			}
+			graph = graph.getNestingNode() == null ? null : graph.getNestingNode().getGraph();
+		}
+		retainedGraphs.put(node, graphs);
+	}
+
 	/**
 	 * Remove the content of the given {@link NodePart} from the {@link Set} of
 	 * hidden {@link org.eclipse.gef.graph.Node} s. Notifies all property change
@@ -227,4 +536,61 @@ public class HidingModel {
 		hiddenProperty.remove(node);
 	}
 
+	private void unindexEdge(Edge edge) {
+		org.eclipse.gef.graph.Node source = edge.getSource();
+		org.eclipse.gef.graph.Node target = edge.getTarget();
+		if (source == null || target == null) {
+			return;
+		}
+		unindexIncidentEdge(source, edge);
+		if (target != source) {
+			unindexIncidentEdge(target, edge);
+		}
+		if (!isNeighbor(source, target)) {
+			updateNeighborCounts(source, target, -1, null);
+		}
+	}
+
+	private void unindexGraph(Graph graph) {
+		graph.getEdges().removeListener(edgesObserver);
+		for (Edge edge : graph.getEdges()) {
+			unindexEdge(edge);
+		}
+	}
+
+	private void unindexIncidentEdge(org.eclipse.gef.graph.Node node, Edge edge) {
+		List<Edge> edges = incidentEdges.get(node);
+		if (edges != null) {
+			edges.remove(edge);
+			if (edges.isEmpty()) {
+				incidentEdges.remove(node);
+			}
+		}
+	}
+
+	/**
+	 * Updates the hidden neighbor counts when the given
+	 * {@link org.eclipse.gef.graph.Node}s became (or ceased to be) neighbors.
+	 *
+	 * @param source
+	 *            The first {@link org.eclipse.gef.graph.Node}.
+	 * @param target
+	 *            The second {@link org.eclipse.gef.graph.Node}.
+	 * @param delta
+	 *            <code>1</code> if the nodes became neighbors,
+	 *            <code>-1</code> if they ceased to be neighbors.
+	 * @param ignoredNode
+	 *            A {@link org.eclipse.gef.graph.Node} that is not considered
+	 *            as being hidden, may be <code>null</code>.
+	 */
+	private void updateNeighborCounts(org.eclipse.gef.graph.Node source, org.eclipse.gef.graph.Node target,
+			int delta, org.eclipse.gef.graph.Node ignoredNode) {
+		if (source != ignoredNode && isHidden(source)) {
+			addNeighborCount(target, delta);
+		}
+		if (target != source && target != ignoredNode && isHidden(target)) {
+			addNeighborCount(source, delta);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 itemis AG and others.
+ * Copyright (c) 2016, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -18,7 +18,10 @@ import java.util.List;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.gef.common.attributes.IAttributeStore;
 import org.eclipse.gef.fx.listeners.VisualChangeListener;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.mvc.fx.operations.TransformVisualOperation;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.ITransformableContentPart;
@@ -27,10 +30,13 @@ import org.eclipse.gef.zest.fx.ZestProperties;
 
 import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableMap;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
 import javafx.geometry.VPos;
 import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.text.Text;
 import javafx.scene.transform.Affine;
 import javafx.scene.transform.Transform;
@@ -74,6 +80,7 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 	};
 
 	private Text text;
+	private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
 
 	/**
 	 * Computes a position for this label.
@@ -140,6 +147,16 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 		return new Affine(new Translate(p.x, p.y));
 	}
 
+	/**
+	 * Returns the {@link LevelOfDetail} that is currently used for rendering
+	 * this label.
+	 *
+	 * @return The current {@link LevelOfDetail}.
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
 	/**
 	 * Retrieves the stored position for the label.
 	 *
@@ -187,6 +204,52 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 		return text;
 	}
 
+	/**
+	 * Transforms the given {@link Point} from the local coordinate system of
+	 * the given anchorage visual into the parent coordinate system of this
+	 * part's visual. In case both visuals share the same parent (as is the
+	 * case for the labels of a graph), only the local-to-parent transformation
+	 * of the anchorage visual is applied, so that computing the label
+	 * position does not require any scene transformations.
+	 *
+	 * @param anchorageVisual
+	 *            The anchorage visual in whose local coordinate system the
+	 *            given {@link Point} is specified.
+	 * @param point
+	 *            The {@link Point} to transform.
+	 * @return The transformed {@link Point}.
+	 */
+	protected Point localToParent(Node anchorageVisual, Point point) {
+		Parent parent = getVisual().getParent();
+		if (anchorageVisual.getParent() == parent) {
+			Point2D transformed = anchorageVisual.localToParent(point.x, point.y);
+			return new Point(transformed.getX(), transformed.getY());
+		}
+		return NodeUtils.sceneToLocal(parent, NodeUtils.localToScene(anchorageVisual, point));
+	}
+
+	/**
+	 * Transforms the given {@link Rectangle} from the local coordinate system
+	 * of the given anchorage visual into the parent coordinate system of this
+	 * part's visual, and returns the bounds of the result.
+	 *
+	 * @param anchorageVisual
+	 *            The anchorage visual in whose local coordinate system the
+	 *            given {@link Rectangle} is specified.
+	 * @param rectangle
+	 *            The {@link Rectangle} to transform.
+	 * @return The bounds of the transformed {@link Rectangle}.
+	 * @see #localToParent(Node, Point)
+	 */
+	protected Rectangle localToParent(Node anchorageVisual, Rectangle rectangle) {
+		Parent parent = getVisual().getParent();
+		if (anchorageVisual.getParent() == parent) {
+			return FX2Geometry.toRectangle(anchorageVisual.localToParent(
+					new BoundingBox(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight())));
+		}
+		return NodeUtils.sceneToLocal(parent, NodeUtils.localToScene(anchorageVisual, rectangle)).getBounds();
+	}
+
 	/**
 	 * Recomputes the label position.
 	 */
@@ -194,6 +257,23 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 		setLabelPosition(computeLabelPosition());
 	}
 
+	/**
+	 * Removes the text of this label from the scene graph if the
+	 * {@link #getLevelOfDetail() level of detail} is below
+	 * {@link LevelOfDetail#FULL}, and restores it otherwise.
+	 */
+	protected void refreshLevelOfDetail() {
+		Group visual = getVisual();
+		if (levelOfDetail == LevelOfDetail.FULL) {
+			if (text.getParent() != visual) {
+				visual.getChildren().add(text);
+				refreshVisual();
+			}
+		} else if (text.getParent() == visual) {
+			visual.getChildren().remove(text);
+		}
+	}
+
 	/**
 	 * Adjusts the label's position to fit the given {@link Point}.
 	 *
@@ -220,6 +300,24 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 		setLabelPosition(new Point(transform.getTx(), transform.getTy()));
 	}
 
+	/**
+	 * Sets the {@link LevelOfDetail} that is used for rendering this label.
+	 * The text of the label is only contained in the scene graph for
+	 * {@link LevelOfDetail#FULL}.
+	 *
+	 * @param levelOfDetail
+	 *            The new {@link LevelOfDetail}.
+	 */
+	public void setLevelOfDetail(LevelOfDetail levelOfDetail) {
+		if (levelOfDetail == null) {
+			throw new IllegalArgumentException("The level of detail may not be null.");
+		}
+		if (this.levelOfDetail != levelOfDetail) {
+			this.levelOfDetail = levelOfDetail;
+			refreshLevelOfDetail();
+		}
+	}
+
 	/**
 	 * Sets the stored label position to the given value.
 	 *
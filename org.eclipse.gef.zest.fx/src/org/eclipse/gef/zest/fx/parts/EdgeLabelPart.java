@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -15,7 +15,6 @@ package org.eclipse.gef.zest.fx.parts;
 import java.util.Map;
 
 import org.eclipse.gef.fx.nodes.Connection;
-import org.eclipse.gef.fx.utils.NodeUtils;
 import org.eclipse.gef.geometry.euclidean.Vector;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
@@ -141,8 +140,7 @@ public class EdgeLabelPart extends AbstractLabelPart {
 		if (!v.isNull()) {
 			v = v.getNormalized().getMultiplied(getText().getLayoutBounds().getHeight());
 		}
-		return NodeUtils.sceneToLocal(getVisual().getParent(),
-				NodeUtils.localToScene(connection, endPoint.getTranslated(v.x, v.y)));
+		return localToParent(connection, endPoint.getTranslated(v.x, v.y));
 	}
 
 	/**
@@ -167,7 +165,7 @@ public class EdgeLabelPart extends AbstractLabelPart {
 	protected Point getMidPoint() {
 		Connection connection = getFirstAnchorage().getVisual();
 		Point midPoint = connection.getCenter();
-		return NodeUtils.sceneToLocal(getVisual().getParent(), NodeUtils.localToScene(connection, midPoint));
+		return localToParent(connection, midPoint);
 	}
 
 	/**
@@ -183,7 +181,6 @@ public class EdgeLabelPart extends AbstractLabelPart {
 		if (!v.isNull()) {
 			v = v.getNormalized().getMultiplied(getText().getLayoutBounds().getHeight());
 		}
-		return NodeUtils.sceneToLocal(getVisual().getParent(),
-				NodeUtils.localToScene(connection, startPoint.getTranslated(v.x, v.y)));
+		return localToParent(connection, startPoint.getTranslated(v.x, v.y));
 	}
 }
\ No newline at end of file
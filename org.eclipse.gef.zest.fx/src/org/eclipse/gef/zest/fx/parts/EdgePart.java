@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -13,21 +13,27 @@
 package org.eclipse.gef.zest.fx.parts;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.gef.fx.anchors.IAnchor;
 import org.eclipse.gef.fx.nodes.Connection;
 import org.eclipse.gef.fx.nodes.IConnectionInterpolator;
 import org.eclipse.gef.fx.nodes.IConnectionRouter;
+import org.eclipse.gef.fx.nodes.PolylineInterpolator;
+import org.eclipse.gef.fx.nodes.StraightRouter;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.IBendableContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.providers.IAnchorProvider;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
 import org.eclipse.gef.zest.fx.ZestProperties;
 
 import com.google.common.collect.HashMultimap;
@@ -71,6 +77,11 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 	 */
 	public static final String CSS_CLASS_DECORATION = "decoration";
 
+	// attributes for which only parts of the visual need to be refreshed
+	private static final List<String> SELECTIVELY_REFRESHED_ATTRIBUTES = Arrays.asList(ZestProperties.CSS_CLASS__NE,
+			ZestProperties.CSS_ID__NE, ZestProperties.CURVE_CSS_STYLE__E,
+			ZestProperties.SOURCE_DECORATION_CSS_STYLE__E, ZestProperties.TARGET_DECORATION_CSS_STYLE__E);
+
 	private MapChangeListener<String, Object> edgeAttributesObserver = new MapChangeListener<String, Object>() {
 
 		@Override
@@ -84,11 +95,41 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 					doAttachToAnchorageVisual(anchoragesByRole.getKey(), anchoragesByRole.getValue());
 				}
 			}
-			refreshVisual();
+			// coalesce all attribute changes within the same pulse
+			changedAttributes.add(change.getKey());
+			VisualRefreshScheduler scheduler = getViewer() == null ? null
+					: getViewer().getAdapter(VisualRefreshScheduler.class);
+			if (scheduler != null) {
+				scheduler.schedule(refreshChangedAttributesTask);
+			} else {
+				refreshChangedAttributes();
+			}
 		}
 
 	};
 
+	// the attributes that changed since the visual was last refreshed
+	private final Set<String> changedAttributes = new HashSet<>();
+	// selectively refreshes the visual for the changed attributes (once per
+	// pulse, see VisualRefreshScheduler)
+	private final Runnable refreshChangedAttributesTask = new Runnable() {
+		@Override
+		public void run() {
+			refreshChangedAttributes();
+		}
+	};
+
+	private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+	// decorations that are removed from the visual for a reduced level of
+	// detail
+	private Node removedStartDecoration;
+	private Node removedEndDecoration;
+	// the curve the visual was created with
+	private Node defaultCurve;
+	// whether the visual has to be reset when this part is bound to a content
+	// element, because it was bound to a different one before
+	private boolean isResetVisual;
+
 	@Override
 	protected void doActivate() {
 		super.doActivate();
@@ -131,7 +172,8 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		visual.getStyleClass().add(CSS_CLASS);
 
 		// initialize style class for (default) curve
-		visual.getCurve().getStyleClass().add(CSS_CLASS_CURVE);
+		defaultCurve = visual.getCurve();
+		defaultCurve.getStyleClass().add(CSS_CLASS_CURVE);
 
 		// initialized style class for (default) decorations
 		if (visual.getStartDecoration() != null) {
@@ -150,6 +192,7 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 	@Override
 	protected void doDeactivate() {
 		getContent().attributesProperty().removeListener(edgeAttributesObserver);
+		changedAttributes.clear();
 		super.doDeactivate();
 	}
 
@@ -200,29 +243,10 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 	@Override
 	protected void doRefreshVisual(Connection visual) {
 		Edge edge = getContent();
-		Map<String, Object> attrs = edge.attributesProperty();
 
 		refreshCurve();
-
-		// css class
-		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
-			String cssClass = ZestProperties.getCssClass(edge);
-			if (!visual.getStyleClass().contains(cssClass)) {
-				visual.getStyleClass().add(cssClass);
-			}
-		}
-
-		// css id
-		if (attrs.containsKey(ZestProperties.CSS_ID__NE)) {
-			String cssId = ZestProperties.getCssId(edge);
-			visual.setId(cssId);
-		}
-
-		// css style
-		String curveCssStyle = ZestProperties.getCurveCssStyle(edge);
-		if (attrs.containsKey(ZestProperties.CURVE_CSS_STYLE__E)) {
-			visual.getCurve().setStyle(curveCssStyle);
-		}
+		refreshCssClassAndId();
+		refreshCurveCssStyle();
 
 		// custom decoration
 		Node sourceDecoration = ZestProperties.getSourceDecoration(edge);
@@ -233,12 +257,6 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 				sourceDecoration.getStyleClass().add(CSS_CLASS_DECORATION);
 			}
 		}
-		// apply source decoration CSS style (even if decoration is not set via
-		// property)
-		String sourceDecorationCssStyle = ZestProperties.getSourceDecorationCssStyle(edge);
-		if (sourceDecorationCssStyle != null && visual.getStartDecoration() != null) {
-			visual.getStartDecoration().setStyle(sourceDecorationCssStyle);
-		}
 
 		Node targetDecoration = ZestProperties.getTargetDecoration(edge);
 		if (targetDecoration != null) {
@@ -248,12 +266,9 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 				targetDecoration.getStyleClass().add(CSS_CLASS_DECORATION);
 			}
 		}
-		// apply target decoration CSS style (even if decoration is not set via
+		// apply decoration CSS styles (even if decorations are not set via
 		// property)
-		String targetDecorationCssStyle = ZestProperties.getTargetDecorationCssStyle(edge);
-		if (targetDecorationCssStyle != null && visual.getEndDecoration() != null) {
-			visual.getEndDecoration().setStyle(targetDecorationCssStyle);
-		}
+		refreshDecorationCssStyles();
 
 		// connection router
 		IConnectionRouter router = ZestProperties.getRouter(edge);
@@ -295,6 +310,8 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		if (!visual.getControlPoints().equals(controlPoints)) {
 			visual.setControlPoints(controlPoints);
 		}
+
+		refreshLevelOfDetail();
 	}
 
 	@Override
@@ -352,6 +369,36 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		return getVisual().getCurve();
 	}
 
+	/**
+	 * Returns the {@link LevelOfDetail} that is currently used for rendering
+	 * this {@link EdgePart}.
+	 *
+	 * @return The current {@link LevelOfDetail}.
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
+	private void refreshCssClassAndId() {
+		Edge edge = getContent();
+		Connection visual = getVisual();
+		Map<String, Object> attrs = edge.attributesProperty();
+
+		// css class
+		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
+			String cssClass = ZestProperties.getCssClass(edge);
+			if (!visual.getStyleClass().contains(cssClass)) {
+				visual.getStyleClass().add(cssClass);
+			}
+		}
+
+		// css id
+		if (attrs.containsKey(ZestProperties.CSS_ID__NE)) {
+			String cssId = ZestProperties.getCssId(edge);
+			visual.setId(cssId);
+		}
+	}
+
 	private void refreshCurve() {
 		Node curve = ZestProperties.getCurve(getContent());
 		if (getVisual().getCurve() != curve && curve != null) {
@@ -362,6 +409,148 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		}
 	}
 
+	private void refreshCurveCssStyle() {
+		Edge edge = getContent();
+		if (edge.attributesProperty().containsKey(ZestProperties.CURVE_CSS_STYLE__E)) {
+			getVisual().getCurve().setStyle(ZestProperties.getCurveCssStyle(edge));
+		}
+	}
+
+	private void refreshDecorationCssStyles() {
+		Edge edge = getContent();
+		Connection visual = getVisual();
+		String sourceDecorationCssStyle = ZestProperties.getSourceDecorationCssStyle(edge);
+		if (sourceDecorationCssStyle != null && visual.getStartDecoration() != null) {
+			visual.getStartDecoration().setStyle(sourceDecorationCssStyle);
+		}
+		String targetDecorationCssStyle = ZestProperties.getTargetDecorationCssStyle(edge);
+		if (targetDecorationCssStyle != null && visual.getEndDecoration() != null) {
+			visual.getEndDecoration().setStyle(targetDecorationCssStyle);
+		}
+	}
+
+	/**
+	 * Removes the decorations of this {@link EdgePart} from the scene graph if
+	 * its {@link #getLevelOfDetail() level of detail} is below
+	 * {@link LevelOfDetail#FULL}, and restores them otherwise.
+	 */
+	protected void refreshLevelOfDetail() {
+		Connection visual = getVisual();
+		if (levelOfDetail == LevelOfDetail.FULL) {
+			if (removedStartDecoration != null) {
+				if (visual.getStartDecoration() == null) {
+					visual.setStartDecoration(removedStartDecoration);
+				}
+				removedStartDecoration = null;
+			}
+			if (removedEndDecoration != null) {
+				if (visual.getEndDecoration() == null) {
+					visual.setEndDecoration(removedEndDecoration);
+				}
+				removedEndDecoration = null;
+			}
+		} else {
+			if (visual.getStartDecoration() != null) {
+				removedStartDecoration = visual.getStartDecoration();
+				visual.setStartDecoration(null);
+			}
+			if (visual.getEndDecoration() != null) {
+				removedEndDecoration = visual.getEndDecoration();
+				visual.setEndDecoration(null);
+			}
+		}
+	}
+
+	/**
+	 * Resets the visual to the state it was created with, so that no state
+	 * that was derived from a previous content element (i.e. CSS class, id,
+	 * and styles, curve, decorations, router, and interpolator) is retained
+	 * when this {@link EdgePart} is re-bound to a different content element
+	 * (see {@link #setContent(Object)}).
+	 */
+	private void resetVisual() {
+		Connection visual = getVisual();
+		visual.getStyleClass().setAll(CSS_CLASS);
+		visual.setId(null);
+		if (visual.getCurve() != defaultCurve) {
+			visual.setCurve(defaultCurve);
+		}
+		defaultCurve.setStyle("");
+		visual.setStartDecoration(null);
+		visual.setEndDecoration(null);
+		removedStartDecoration = null;
+		removedEndDecoration = null;
+		visual.setRouter(new StraightRouter());
+		visual.setInterpolator(new PolylineInterpolator());
+	}
+
+	/**
+	 * Refreshes the visual for the attributes that changed since the last
+	 * refresh, unless a complete refresh of the visual is scheduled anyway.
+	 */
+	private void refreshChangedAttributes() {
+		if (changedAttributes.isEmpty()) {
+			return;
+		}
+		Set<String> attributes = new HashSet<>(changedAttributes);
+		changedAttributes.clear();
+		VisualRefreshScheduler scheduler = getViewer() == null ? null
+				: getViewer().getAdapter(VisualRefreshScheduler.class);
+		if (isActive() && (scheduler == null || !scheduler.isScheduled(this))) {
+			refreshVisual(attributes);
+		}
+	}
+
+	/**
+	 * Refreshes those aspects of the visual that are affected by the given
+	 * changed attributes. In case an attribute changed that is not
+	 * selectively handled (e.g. the router or the control points), the
+	 * complete visual is {@link #refreshVisual() refreshed}.
+	 *
+	 * @param changedAttributes
+	 *            The names of the attributes that changed.
+	 */
+	protected void refreshVisual(Set<String> changedAttributes) {
+		if (!SELECTIVELY_REFRESHED_ATTRIBUTES.containsAll(changedAttributes)) {
+			refreshVisual();
+			return;
+		}
+		if (!isRefreshVisual()) {
+			return;
+		}
+		if (changedAttributes.contains(ZestProperties.CSS_CLASS__NE)
+				|| changedAttributes.contains(ZestProperties.CSS_ID__NE)) {
+			refreshCssClassAndId();
+		}
+		if (changedAttributes.contains(ZestProperties.CURVE_CSS_STYLE__E)) {
+			refreshCurveCssStyle();
+		}
+		if (changedAttributes.contains(ZestProperties.SOURCE_DECORATION_CSS_STYLE__E)
+				|| changedAttributes.contains(ZestProperties.TARGET_DECORATION_CSS_STYLE__E)) {
+			refreshDecorationCssStyles();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * In case this {@link EdgePart} is re-bound to a content element after it
+	 * was unbound from a different one (e.g. when it was retrieved from the
+	 * {@link org.eclipse.gef.mvc.fx.behaviors.ContentPartPool}), its visual
+	 * is reset before, because {@link #refreshVisual()} only applies the
+	 * attributes that are set for the new content element.
+	 */
+	@Override
+	public void setContent(Object content) {
+		if (content == null && getContent() != null) {
+			isResetVisual = true;
+		} else if (content != null && isResetVisual) {
+			isResetVisual = false;
+			resetVisual();
+		}
+		super.setContent(content);
+	}
+
 	@Override
 	public void setContentBendPoints(List<org.eclipse.gef.mvc.fx.parts.IBendableContentPart.BendPoint> bendPoints) {
 		// disable refreshing of visuals
@@ -442,4 +631,21 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		refreshVisual();
 	}
 
+	/**
+	 * Sets the {@link LevelOfDetail} that is used for rendering this
+	 * {@link EdgePart}.
+	 *
+	 * @param levelOfDetail
+	 *            The new {@link LevelOfDetail}.
+	 */
+	public void setLevelOfDetail(LevelOfDetail levelOfDetail) {
+		if (levelOfDetail == null) {
+			throw new IllegalArgumentException("The level of detail may not be null.");
+		}
+		if (this.levelOfDetail != levelOfDetail) {
+			this.levelOfDetail = levelOfDetail;
+			refreshLevelOfDetail();
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -13,8 +13,20 @@
 package org.eclipse.gef.zest.fx.parts;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
@@ -24,8 +36,10 @@ import org.eclipse.gef.zest.fx.ZestProperties;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
-import javafx.collections.ObservableList;
+import javafx.collections.MapChangeListener;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.util.Pair;
@@ -34,6 +48,34 @@ import javafx.util.Pair;
  * The {@link GraphPart} is the controller for a {@link Graph} content object.
  * It starts a layout pass after activation and when its content children
  * change.
+ * <p>
+ * The content children (visible nodes, visible edges, and the labels of both)
+ * are indexed incrementally, based on the changes of the {@link Graph}'s
+ * node and edge lists, as well as on the changes of those attributes that
+ * affect visibility or labels, so that the content children do not need to be
+ * recomputed from scratch whenever the graph changes. The content children
+ * are ordered in sections (visible nodes, external node labels, visible
+ * edges, edge labels); within each section, the elements are ordered as
+ * within the {@link Graph}. The ordered list is only rebuilt (in a single
+ * linear pass over the index) when the content children are requested after
+ * a change.
+ * <p>
+ * Optionally, the content children can be virtualized by specifying
+ * {@link #setVirtualizationBounds(Rectangle) virtualization bounds}. In that
+ * case, only those nodes and edges whose laid-out bounds intersect the
+ * virtualization bounds are materialized as content children. All other
+ * (visible) nodes and edges are only {@link #getVirtualNodes() maintained} as
+ * layout data. The laid-out bounds of all nodes and edges are maintained in a
+ * spatial index while virtualization is enabled, so that
+ * {@link #refreshVirtualization()} only needs to re-evaluate the currently
+ * materialized elements and those within the virtualization bounds. Nodes
+ * that do not provide a {@link ZestProperties#SIZE__N size} (because they
+ * were never measured) are assumed to be of the
+ * {@link #getEstimatedNodeSize() estimated node size}.
+ * <p>
+ * Edges that are rendered by other means, e.g. as part of a merged path of
+ * bundled edges, can be excluded from the content children by specifying
+ * them as {@link #setMergedEdges(Collection) merged edges}.
  *
  * @author mwienand
  *
@@ -41,16 +83,286 @@ import javafx.util.Pair;
 // TODO: most of the listeners should probably be moved to GraphLayoutBehavior
 public class GraphPart extends AbstractContentPart<Group> {
 
+	/**
+	 * Observes the attributes of a single node or edge and updates the content
+	 * children in case an attribute that affects visibility or labels
+	 * changed.
+	 */
+	private class ElementAttributesObserver implements MapChangeListener<String, Object> {
+
+		private final Object element;
+
+		public ElementAttributesObserver(Object element) {
+			this.element = element;
+		}
+
+		@Override
+		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+			boolean changed = false;
+			if (element instanceof org.eclipse.gef.graph.Node) {
+				if (NODE_CONTENT_CHILDREN_ATTRIBUTES.contains(change.getKey())) {
+					changed = updateNode((org.eclipse.gef.graph.Node) element);
+				} else if (virtualizationBounds != null && NODE_BOUNDS_ATTRIBUTES.contains(change.getKey())) {
+					// materialization is only re-evaluated upon
+					// refreshVirtualization(), but the spatial index has to
+					// be kept up-to-date
+					updateSpatialIndex((org.eclipse.gef.graph.Node) element);
+				}
+			} else if (EDGE_CONTENT_CHILDREN_ATTRIBUTES.contains(change.getKey())) {
+				changed = updateEdge((Edge) element);
+			}
+			if (changed) {
+				contentChildrenChanged();
+			}
+		}
+	}
+
+	/**
+	 * A uniform grid that indexes elements by their bounds, so that the
+	 * elements within a given region can be determined without testing all
+	 * elements. Elements that span a large number of cells are not
+	 * distributed over the cells, but are returned by every query.
+	 *
+	 * @param <T>
+	 *            The type of the indexed elements.
+	 */
+	private static class SpatialGrid<T> {
+
+		private static final double CELL_SIZE = 256;
+		private static final int MAX_CELLS = 64;
+
+		private final Map<Long, Set<T>> cells = new HashMap<>();
+		private final Map<T, Rectangle> bounds = new IdentityHashMap<>();
+		private final Set<T> large = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+
+		private static int cell(double coordinate) {
+			return (int) Math.floor(coordinate / CELL_SIZE);
+		}
+
+		private static long key(int column, int row) {
+			return ((long) column << 32) | (row & 0xffffffffL);
+		}
+
+		// returns the number of cells covered by the given region, or -1 if
+		// it exceeds the representable cell range
+		private static long size(Rectangle region) {
+			int minColumn = cell(region.getX());
+			int maxColumn = cell(region.getRight().x);
+			int minRow = cell(region.getY());
+			int maxRow = cell(region.getBottom().y);
+			if (minColumn == Integer.MIN_VALUE || maxColumn == Integer.MAX_VALUE || minRow == Integer.MIN_VALUE
+					|| maxRow == Integer.MAX_VALUE) {
+				return -1;
+			}
+			return ((long) maxColumn - minColumn + 1) * ((long) maxRow - minRow + 1);
+		}
+
+		public void clear() {
+			cells.clear();
+			bounds.clear();
+			large.clear();
+		}
+
+		/**
+		 * Indexes the given element with the given bounds, replacing its
+		 * previous bounds. Passing <code>null</code> bounds removes the element
+		 * from the index.
+		 */
+		public void put(T element, Rectangle elementBounds) {
+			remove(element);
+			if (elementBounds == null) {
+				return;
+			}
+			bounds.put(element, elementBounds);
+			long size = size(elementBounds);
+			if (size < 0 || size > MAX_CELLS) {
+				large.add(element);
+				return;
+			}
+			for (int column = cell(elementBounds.getX()); column <= cell(elementBounds.getRight().x); column++) {
+				for (int row = cell(elementBounds.getY()); row <= cell(elementBounds.getBottom().y); row++) {
+					Set<T> members = cells.get(key(column, row));
+					if (members == null) {
+						members = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+						cells.put(key(column, row), members);
+					}
+					members.add(element);
+				}
+			}
+		}
+
+		/**
+		 * Returns the elements whose cells intersect the given region, i.e. a
+		 * superset of the elements whose bounds touch the region.
+		 */
+		public Set<T> query(Rectangle region) {
+			long size = size(region);
+			if (size < 0 || size > bounds.size()) {
+				// testing all elements is cheaper
+				Set<T> result = new HashSet<>(large);
+				for (Map.Entry<T, Rectangle> entry : bounds.entrySet()) {
+					if (entry.getValue().touches(region)) {
+						result.add(entry.getKey());
+					}
+				}
+				return result;
+			}
+			Set<T> result = new HashSet<>(large);
+			for (int column = cell(region.getX()); column <= cell(region.getRight().x); column++) {
+				for (int row = cell(region.getY()); row <= cell(region.getBottom().y); row++) {
+					Set<T> members = cells.get(key(column, row));
+					if (members != null) {
+						result.addAll(members);
+					}
+				}
+			}
+			return result;
+		}
+
+		public void remove(T element) {
+			Rectangle elementBounds = bounds.remove(element);
+			if (elementBounds == null || large.remove(element)) {
+				return;
+			}
+			for (int column = cell(elementBounds.getX()); column <= cell(elementBounds.getRight().x); column++) {
+				for (int row = cell(elementBounds.getY()); row <= cell(elementBounds.getBottom().y); row++) {
+					Set<T> members = cells.get(key(column, row));
+					if (members != null) {
+						members.remove(element);
+						if (members.isEmpty()) {
+							cells.remove(key(column, row));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The width that is assumed for nodes that do not provide a
+	 * {@link ZestProperties#SIZE__N size}, unless another
+	 * {@link #setEstimatedNodeSize(Dimension) estimated node size} is
+	 * specified.
+	 */
+	public static final double DEFAULT_NODE_WIDTH = 64;
+
+	/**
+	 * The height that is assumed for nodes that do not provide a
+	 * {@link ZestProperties#SIZE__N size}, unless another
+	 * {@link #setEstimatedNodeSize(Dimension) estimated node size} is
+	 * specified.
+	 */
+	public static final double DEFAULT_NODE_HEIGHT = 32;
+
+	private static final List<String> NODE_BOUNDS_ATTRIBUTES = Arrays.asList(ZestProperties.POSITION__N,
+			ZestProperties.SIZE__N);
+
+	private static final List<String> NODE_CONTENT_CHILDREN_ATTRIBUTES = Arrays.asList(ZestProperties.INVISIBLE__NE,
+			ZestProperties.EXTERNAL_LABEL__NE);
+
+	private static final List<String> EDGE_CONTENT_CHILDREN_ATTRIBUTES = Arrays.asList(ZestProperties.INVISIBLE__NE,
+			ZestProperties.LABEL__NE, ZestProperties.EXTERNAL_LABEL__NE, ZestProperties.SOURCE_LABEL__E,
+			ZestProperties.TARGET_LABEL__E);
+
+	private static final List<String> EDGE_LABEL_ROLES = Arrays.asList(ZestProperties.LABEL__NE,
+			ZestProperties.EXTERNAL_LABEL__NE, ZestProperties.SOURCE_LABEL__E, ZestProperties.TARGET_LABEL__E);
+
 	private ListChangeListener<Object> graphChildrenObserver = new ListChangeListener<Object>() {
 
 		@Override
 		public void onChanged(ListChangeListener.Change<? extends Object> c) {
-			// synchronize children (triggered through content children)
-			refreshContentChildren();
+			// content children are synchronized by the index observers
 			refreshVisual();
 		}
 	};
 
+	private ListChangeListener<org.eclipse.gef.graph.Node> nodesIndexObserver = new ListChangeListener<org.eclipse.gef.graph.Node>() {
+
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends org.eclipse.gef.graph.Node> c) {
+			boolean changed = false;
+			while (c.next()) {
+				for (org.eclipse.gef.graph.Node removed : c.getRemoved()) {
+					changed |= unindexNode(removed);
+				}
+				for (org.eclipse.gef.graph.Node added : c.getAddedSubList()) {
+					changed |= indexNode(added);
+				}
+			}
+			if (changed) {
+				contentChildrenChanged();
+			}
+		}
+	};
+
+	private ListChangeListener<Edge> edgesIndexObserver = new ListChangeListener<Edge>() {
+
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> c) {
+			boolean changed = false;
+			while (c.next()) {
+				for (Edge removed : c.getRemoved()) {
+					changed |= unindexEdge(removed);
+				}
+				for (Edge added : c.getAddedSubList()) {
+					changed |= indexEdge(added);
+				}
+			}
+			if (changed) {
+				contentChildrenChanged();
+			}
+		}
+	};
+
+	// index of the content children
+	private Graph indexedGraph;
+	private final Set<org.eclipse.gef.graph.Node> visibleNodes = new HashSet<>();
+	private final Set<Edge> visibleEdges = new HashSet<>();
+	private final Map<Object, Map<String, Pair<Object, String>>> labels = new IdentityHashMap<>();
+	private final Map<org.eclipse.gef.graph.Node, Set<Edge>> incidentEdges = new IdentityHashMap<>();
+	private final Map<Object, ElementAttributesObserver> attributesObservers = new IdentityHashMap<>();
+	// the ordered content children are (lazily) rebuilt from the index when
+	// requested after a change, so that changes do not need to shift them
+	private final List<Object> orderedContentChildren = new ArrayList<>();
+	private final List<Object> orderedContentChildrenUnmodifiable = Collections
+			.unmodifiableList(orderedContentChildren);
+	private boolean isOrderedContentChildrenValid = true;
+
+	// virtualization
+	private Rectangle virtualizationBounds;
+	private final Set<org.eclipse.gef.graph.Node> virtualNodes = new HashSet<>();
+	private final Set<Edge> virtualEdges = new HashSet<>();
+	private final Set<Edge> mergedEdges = new HashSet<>();
+	private boolean isRefreshingVirtualization = false;
+	private Dimension estimatedNodeSize = new Dimension(DEFAULT_NODE_WIDTH, DEFAULT_NODE_HEIGHT);
+	// spatial index (only maintained while virtualization is enabled)
+	private final SpatialGrid<org.eclipse.gef.graph.Node> nodeGrid = new SpatialGrid<>();
+	private final SpatialGrid<Edge> edgeGrid = new SpatialGrid<>();
+
+	/**
+	 * Creates a new {@link GraphPart}.
+	 */
+	public GraphPart() {
+		contentProperty().addListener(new ChangeListener<Object>() {
+			@Override
+			public void changed(ObservableValue<? extends Object> observable, Object oldValue, Object newValue) {
+				// (lazily) re-index if content changed
+				if (newValue != indexedGraph) {
+					index(newValue instanceof Graph ? (Graph) newValue : null);
+				}
+			}
+		});
+	}
+
+	private void contentChildrenChanged() {
+		// the content children are also synchronized while this part is
+		// attached to a viewer, but not yet active (e.g. when virtualization
+		// is enabled upon adapter injection)
+		if (isActive() || getViewer() != null) {
+			refreshContentChildren();
+		}
+	}
+
 	@Override
 	protected void doActivate() {
 		super.doActivate();
@@ -63,6 +375,16 @@ public class GraphPart extends AbstractContentPart<Group> {
 		getVisual().getChildren().add(index, child.getVisual());
 	}
 
+	@Override
+	protected void doAddChildVisuals(List<? extends IVisualPart<? extends Node>> children, int index) {
+		// add all visuals at once
+		List<Node> visuals = new ArrayList<>(children.size());
+		for (IVisualPart<? extends Node> child : children) {
+			visuals.add(child.getVisual());
+		}
+		getVisual().getChildren().addAll(index, visuals);
+	}
+
 	@Override
 	protected Group doCreateVisual() {
 		Group visual = new Group();
@@ -85,51 +407,13 @@ public class GraphPart extends AbstractContentPart<Group> {
 
 	@Override
 	protected List<? extends Object> doGetContentChildren() {
-		List<Object> children = new ArrayList<>();
-		// collect visible nodes
-		ObservableList<org.eclipse.gef.graph.Node> nodes = getContent().getNodes();
-		ArrayList<org.eclipse.gef.graph.Node> visibleNodes = new ArrayList<>();
-		for (org.eclipse.gef.graph.Node n : nodes) {
-			if (!Boolean.TRUE.equals(ZestProperties.getInvisible(n))) {
-				visibleNodes.add(n);
-			}
+		if (indexedGraph != getContent()) {
+			index(getContent());
 		}
-		// add visible nodes
-		children.addAll(visibleNodes);
-		// add labels for visible nodes
-		for (org.eclipse.gef.graph.Node n : visibleNodes) {
-			if (ZestProperties.getExternalLabel(n) != null) {
-				children.add(new Pair<>(n, ZestProperties.EXTERNAL_LABEL__NE));
-			}
+		if (!isOrderedContentChildrenValid) {
+			updateOrderedContentChildren();
 		}
-		// collect visible edges
-		ObservableList<Edge> edges = getContent().getEdges();
-		ArrayList<Edge> visibleEdges = new ArrayList<>();
-		for (Edge e : edges) {
-			if (!Boolean.TRUE.equals(ZestProperties.getInvisible(e)) && e.getSource() != null
-					&& !Boolean.TRUE.equals(ZestProperties.getInvisible(e.getSource())) && e.getTarget() != null
-					&& !Boolean.TRUE.equals(ZestProperties.getInvisible(e.getTarget()))) {
-				visibleEdges.add(e);
-			}
-		}
-		// add visible edges
-		children.addAll(visibleEdges);
-		// add labels for visible edges
-		for (Edge e : visibleEdges) {
-			if (ZestProperties.getLabel(e) != null) {
-				children.add(new Pair<>(e, ZestProperties.LABEL__NE));
-			}
-			if (ZestProperties.getExternalLabel(e) != null) {
-				children.add(new Pair<>(e, ZestProperties.EXTERNAL_LABEL__NE));
-			}
-			if (ZestProperties.getSourceLabel(e) != null) {
-				children.add(new Pair<>(e, ZestProperties.SOURCE_LABEL__E));
-			}
-			if (ZestProperties.getTargetLabel(e) != null) {
-				children.add(new Pair<>(e, ZestProperties.TARGET_LABEL__E));
-			}
-		}
-		return children;
+		return orderedContentChildrenUnmodifiable;
 	}
 
 	@Override
@@ -141,13 +425,622 @@ public class GraphPart extends AbstractContentPart<Group> {
 		getVisual().getChildren().remove(child.getVisual());
 	}
 
+	@Override
+	protected void doRemoveChildVisuals(List<? extends IVisualPart<? extends Node>> children, int[] indices) {
+		// remove all visuals at once
+		Set<Node> visuals = new HashSet<>();
+		for (IVisualPart<? extends Node> child : children) {
+			visuals.add(child.getVisual());
+		}
+		getVisual().getChildren().removeAll(visuals);
+	}
+
 	@Override
 	public Graph getContent() {
 		return (Graph) super.getContent();
 	}
 
+	private Rectangle getEdgeBounds(Edge edge) {
+		Rectangle sourceBounds = getNodeBounds(edge.getSource());
+		Rectangle targetBounds = getNodeBounds(edge.getTarget());
+		return sourceBounds == null || targetBounds == null ? null : sourceBounds.getUnioned(targetBounds);
+	}
+
+	/**
+	 * Returns the size that is assumed for nodes that do not provide a
+	 * {@link ZestProperties#SIZE__N size}, i.e. nodes that were not measured
+	 * yet, when determining which nodes are materialized.
+	 *
+	 * @return The estimated node size.
+	 */
+	public Dimension getEstimatedNodeSize() {
+		return estimatedNodeSize.getCopy();
+	}
+
+	/**
+	 * Returns the bounds of the given {@link org.eclipse.gef.graph.Node} as
+	 * provided by its {@link ZestProperties#POSITION__N position} and
+	 * {@link ZestProperties#SIZE__N size} (or the
+	 * {@link #getEstimatedNodeSize() estimated node size}), or
+	 * <code>null</code> if the node was not positioned yet.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} whose bounds to
+	 *            determine.
+	 * @return The bounds of the given node or <code>null</code>.
+	 */
+	private Rectangle getNodeBounds(org.eclipse.gef.graph.Node node) {
+		Point position = ZestProperties.getPosition(node);
+		if (position == null) {
+			return null;
+		}
+		Dimension size = ZestProperties.getSize(node);
+		return new Rectangle(position, size == null ? estimatedNodeSize : size);
+	}
+
+	/**
+	 * Returns the bounds (within the coordinate system of this part's visual)
+	 * that determine which nodes and edges are materialized as content
+	 * children, or <code>null</code> if virtualization is disabled.
+	 *
+	 * @return The virtualization bounds or <code>null</code>.
+	 */
+	public Rectangle getVirtualizationBounds() {
+		return virtualizationBounds == null ? null : virtualizationBounds.getCopy();
+	}
+
+	/**
+	 * Returns an unmodifiable view of the {@link Edge}s that are not
+	 * materialized as content children because they are rendered as part of a
+	 * merged path.
+	 *
+	 * @return The merged {@link Edge}s.
+	 * @see #setMergedEdges(Collection)
+	 */
+	public Set<Edge> getMergedEdges() {
+		return Collections.unmodifiableSet(mergedEdges);
+	}
+
+	/**
+	 * Returns an unmodifiable view of the visible {@link Edge}s that are
+	 * currently not materialized as content children because they lie
+	 * outside of the {@link #getVirtualizationBounds() virtualization bounds}.
+	 *
+	 * @return The virtualized {@link Edge}s.
+	 */
+	public Set<Edge> getVirtualEdges() {
+		return Collections.unmodifiableSet(virtualEdges);
+	}
+
+	/**
+	 * Returns an unmodifiable view of the visible
+	 * {@link org.eclipse.gef.graph.Node}s that are currently not materialized
+	 * as content children because they lie outside of the
+	 * {@link #getVirtualizationBounds() virtualization bounds}.
+	 *
+	 * @return The virtualized {@link org.eclipse.gef.graph.Node}s.
+	 */
+	public Set<org.eclipse.gef.graph.Node> getVirtualNodes() {
+		return Collections.unmodifiableSet(virtualNodes);
+	}
+
+	private boolean intersectsVirtualizationBounds(Edge edge) {
+		Rectangle bounds = getEdgeBounds(edge);
+		return bounds != null && virtualizationBounds.touches(bounds);
+	}
+
+	/**
+	 * Determines whether the given {@link org.eclipse.gef.graph.Node} is
+	 * materialized, i.e. if virtualization is disabled, or if its bounds or
+	 * the bounds of one of its visible incident {@link Edge}s intersect the
+	 * {@link #getVirtualizationBounds() virtualization bounds}. Including the
+	 * incident edges ensures that the source and target nodes of all
+	 * materialized edges are materialized, too.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} to test.
+	 * @return <code>true</code> if the node is materialized, otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean isMaterialized(org.eclipse.gef.graph.Node node) {
+		if (virtualizationBounds == null) {
+			return true;
+		}
+		Rectangle bounds = getNodeBounds(node);
+		if (bounds != null && virtualizationBounds.touches(bounds)) {
+			return true;
+		}
+		Set<Edge> edges = incidentEdges.get(node);
+		if (edges != null) {
+			for (Edge edge : edges) {
+				if (isVisible(edge) && intersectsVirtualizationBounds(edge)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns <code>true</code> while the content children are refreshed in
+	 * response to a {@link #refreshVirtualization()}, i.e. while parts are
+	 * only materialized or disposed because of a changed viewport. Otherwise
+	 * returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the virtualization is currently refreshed,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isRefreshingVirtualization() {
+		return isRefreshingVirtualization;
+	}
+
 	@Override
 	public boolean isSelectable() {
 		return false;
 	}
+
+	/**
+	 * Rebuilds the index of content children for the given {@link Graph},
+	 * (un-)registering the observers that keep it up-to-date.
+	 *
+	 * @param graph
+	 *            The {@link Graph} to index, may be <code>null</code>.
+	 */
+	private void index(Graph graph) {
+		if (indexedGraph != null) {
+			indexedGraph.getNodes().removeListener(nodesIndexObserver);
+			indexedGraph.getEdges().removeListener(edgesIndexObserver);
+			for (Object element : attributesObservers.keySet()) {
+				if (element instanceof org.eclipse.gef.graph.Node) {
+					((org.eclipse.gef.graph.Node) element).attributesProperty()
+							.removeListener(attributesObservers.get(element));
+				} else {
+					((Edge) element).attributesProperty().removeListener(attributesObservers.get(element));
+				}
+			}
+			attributesObservers.clear();
+			visibleNodes.clear();
+			visibleEdges.clear();
+			labels.clear();
+			orderedContentChildren.clear();
+			isOrderedContentChildrenValid = true;
+			incidentEdges.clear();
+			virtualNodes.clear();
+			virtualEdges.clear();
+			nodeGrid.clear();
+			edgeGrid.clear();
+		}
+		indexedGraph = graph;
+		if (graph != null) {
+			for (org.eclipse.gef.graph.Node node : graph.getNodes()) {
+				indexNode(node);
+			}
+			for (Edge edge : graph.getEdges()) {
+				indexEdge(edge);
+			}
+			graph.getNodes().addListener(nodesIndexObserver);
+			graph.getEdges().addListener(edgesIndexObserver);
+		}
+	}
+
+	private boolean indexEdge(Edge edge) {
+		ElementAttributesObserver observer = new ElementAttributesObserver(edge);
+		attributesObservers.put(edge, observer);
+		edge.attributesProperty().addListener(observer);
+		addIncidentEdge(edge.getSource(), edge);
+		addIncidentEdge(edge.getTarget(), edge);
+		boolean changed = updateEdge(edge);
+		if (virtualizationBounds != null) {
+			edgeGrid.put(edge, getEdgeBounds(edge));
+			// the materialization of the source and target nodes may depend
+			// on the added edge
+			changed |= updateNodeState(edge.getSource());
+			changed |= updateNodeState(edge.getTarget());
+		}
+		return changed;
+	}
+
+	private void addIncidentEdge(org.eclipse.gef.graph.Node node, Edge edge) {
+		if (node == null) {
+			return;
+		}
+		Set<Edge> edges = incidentEdges.get(node);
+		if (edges == null) {
+			edges = new LinkedHashSet<>();
+			incidentEdges.put(node, edges);
+		}
+		edges.add(edge);
+	}
+
+	private boolean indexNode(org.eclipse.gef.graph.Node node) {
+		ElementAttributesObserver observer = new ElementAttributesObserver(node);
+		attributesObservers.put(node, observer);
+		node.attributesProperty().addListener(observer);
+		if (virtualizationBounds != null) {
+			nodeGrid.put(node, getNodeBounds(node));
+		}
+		return updateNode(node);
+	}
+
+	private boolean isVisible(Edge edge) {
+		// merged edges are not rendered by their own parts
+		return !Boolean.TRUE.equals(ZestProperties.getInvisible(edge)) && !mergedEdges.contains(edge)
+				&& isVisible(edge.getSource()) && isVisible(edge.getTarget());
+	}
+
+	private boolean isVisible(org.eclipse.gef.graph.Node node) {
+		return node != null && !Boolean.TRUE.equals(ZestProperties.getInvisible(node));
+	}
+
+	/**
+	 * Re-evaluates which nodes and edges are materialized as content children
+	 * with respect to the current {@link #getVirtualizationBounds()
+	 * virtualization bounds}. Node movements only update the spatial index,
+	 * but do not change the materialization, so this has to be called when
+	 * nodes were moved, e.g. after a layout pass. Only the currently
+	 * materialized elements and the elements within the virtualization bounds
+	 * are re-evaluated. Does nothing in case virtualization is disabled.
+	 */
+	public void refreshVirtualization() {
+		if (virtualizationBounds == null || indexedGraph == null) {
+			return;
+		}
+		Set<Edge> edges = edgeGrid.query(virtualizationBounds);
+		edges.addAll(visibleEdges);
+		Set<org.eclipse.gef.graph.Node> nodes = nodeGrid.query(virtualizationBounds);
+		nodes.addAll(visibleNodes);
+		// the source and target nodes of materialized edges are materialized
+		for (Edge edge : edges) {
+			nodes.add(edge.getSource());
+			nodes.add(edge.getTarget());
+		}
+		refreshVirtualization(nodes, edges);
+	}
+
+	private void refreshVirtualization(Collection<? extends org.eclipse.gef.graph.Node> nodes,
+			Collection<? extends Edge> edges) {
+		boolean changed = false;
+		for (org.eclipse.gef.graph.Node node : nodes) {
+			changed |= updateNodeState(node);
+		}
+		for (Edge edge : edges) {
+			changed |= updateEdge(edge);
+		}
+		if (changed) {
+			isRefreshingVirtualization = true;
+			try {
+				contentChildrenChanged();
+			} finally {
+				isRefreshingVirtualization = false;
+			}
+		}
+	}
+
+	private void removeIncidentEdge(org.eclipse.gef.graph.Node node, Edge edge) {
+		if (node == null) {
+			return;
+		}
+		Set<Edge> edges = incidentEdges.get(node);
+		if (edges != null) {
+			edges.remove(edge);
+			if (edges.isEmpty()) {
+				incidentEdges.remove(node);
+			}
+		}
+	}
+
+	private boolean unindexEdge(Edge edge) {
+		ElementAttributesObserver observer = attributesObservers.remove(edge);
+		if (observer != null) {
+			edge.attributesProperty().removeListener(observer);
+		}
+		removeIncidentEdge(edge.getSource(), edge);
+		removeIncidentEdge(edge.getTarget(), edge);
+		virtualEdges.remove(edge);
+		edgeGrid.remove(edge);
+		boolean changed = updateContentChild(visibleEdges, edge, false);
+		for (String role : EDGE_LABEL_ROLES) {
+			changed |= updateLabel(edge, role, false);
+		}
+		if (virtualizationBounds != null) {
+			// the materialization of the source and target nodes may depend
+			// on the removed edge
+			changed |= updateNodeState(edge.getSource());
+			changed |= updateNodeState(edge.getTarget());
+		}
+		return changed;
+	}
+
+	private boolean unindexNode(org.eclipse.gef.graph.Node node) {
+		ElementAttributesObserver observer = attributesObservers.remove(node);
+		if (observer != null) {
+			node.attributesProperty().removeListener(observer);
+		}
+		virtualNodes.remove(node);
+		nodeGrid.remove(node);
+		boolean changed = updateContentChild(visibleNodes, node, false);
+		changed |= updateLabel(node, ZestProperties.EXTERNAL_LABEL__NE, false);
+		return changed;
+	}
+
+	/**
+	 * Sets the size that is assumed for nodes that do not provide a
+	 * {@link ZestProperties#SIZE__N size}, i.e. nodes that were not measured
+	 * yet, when determining which nodes are materialized. The
+	 * materialization is re-evaluated upon the next
+	 * {@link #refreshVirtualization()}.
+	 *
+	 * @param estimatedNodeSize
+	 *            The new estimated node size.
+	 */
+	public void setEstimatedNodeSize(Dimension estimatedNodeSize) {
+		if (this.estimatedNodeSize.equals(estimatedNodeSize)) {
+			return;
+		}
+		this.estimatedNodeSize = estimatedNodeSize.getCopy();
+		if (virtualizationBounds != null && indexedGraph != null) {
+			for (org.eclipse.gef.graph.Node node : indexedGraph.getNodes()) {
+				if (ZestProperties.getSize(node) == null) {
+					updateSpatialIndex(node);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the {@link Edge}s that are rendered as part of a merged path (e.g.
+	 * by the {@link org.eclipse.gef.zest.fx.behaviors.EdgeBundlingBehavior}),
+	 * so that neither they nor their labels are materialized as content
+	 * children. The content children are refreshed once for all changed
+	 * edges.
+	 *
+	 * @param mergedEdges
+	 *            The {@link Edge}s that are rendered as part of a merged path.
+	 */
+	public void setMergedEdges(Collection<? extends Edge> mergedEdges) {
+		Set<Edge> changedEdges = new HashSet<>(this.mergedEdges);
+		this.mergedEdges.clear();
+		this.mergedEdges.addAll(mergedEdges);
+		changedEdges.addAll(this.mergedEdges);
+		boolean changed = false;
+		for (Edge edge : changedEdges) {
+			if (edge.getGraph() == indexedGraph && indexedGraph != null) {
+				changed |= updateEdge(edge);
+				if (virtualizationBounds != null) {
+					// the materialization of the source and target nodes may
+					// depend on the edge
+					changed |= updateNodeState(edge.getSource());
+					changed |= updateNodeState(edge.getTarget());
+				}
+			}
+		}
+		if (changed) {
+			contentChildrenChanged();
+		}
+	}
+
+	/**
+	 * Sets the bounds (within the coordinate system of this part's visual)
+	 * that determine which nodes and edges are materialized as content
+	 * children. Passing <code>null</code> disables virtualization, so that all
+	 * visible nodes and edges are materialized.
+	 *
+	 * @param virtualizationBounds
+	 *            The new virtualization bounds or <code>null</code>.
+	 */
+	public void setVirtualizationBounds(Rectangle virtualizationBounds) {
+		if (virtualizationBounds == null) {
+			if (this.virtualizationBounds != null) {
+				this.virtualizationBounds = null;
+				// materialize all visible nodes and edges
+				index(indexedGraph);
+				contentChildrenChanged();
+			}
+			return;
+		}
+		boolean wasEnabled = this.virtualizationBounds != null;
+		this.virtualizationBounds = virtualizationBounds.getCopy();
+		if (!wasEnabled && indexedGraph != null) {
+			// build the spatial index and evaluate all elements once
+			for (org.eclipse.gef.graph.Node node : indexedGraph.getNodes()) {
+				nodeGrid.put(node, getNodeBounds(node));
+			}
+			for (Edge edge : indexedGraph.getEdges()) {
+				edgeGrid.put(edge, getEdgeBounds(edge));
+			}
+			refreshVirtualization(indexedGraph.getNodes(), indexedGraph.getEdges());
+		} else {
+			refreshVirtualization();
+		}
+	}
+
+	/**
+	 * Updates the content children that are related to the given {@link Edge},
+	 * i.e. the edge itself and its labels.
+	 *
+	 * @param edge
+	 *            The {@link Edge} to update.
+	 * @return <code>true</code> if the content children changed, otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean updateEdge(Edge edge) {
+		boolean visible = isVisible(edge);
+		if (visible && virtualizationBounds != null && !intersectsVirtualizationBounds(edge)) {
+			virtualEdges.add(edge);
+			visible = false;
+		} else {
+			virtualEdges.remove(edge);
+		}
+		boolean changed = updateContentChild(visibleEdges, edge, visible);
+		changed |= updateLabel(edge, ZestProperties.LABEL__NE,
+				visible && ZestProperties.getLabel(edge) != null);
+		changed |= updateLabel(edge, ZestProperties.EXTERNAL_LABEL__NE,
+				visible && ZestProperties.getExternalLabel(edge) != null);
+		changed |= updateLabel(edge, ZestProperties.SOURCE_LABEL__E,
+				visible && ZestProperties.getSourceLabel(edge) != null);
+		changed |= updateLabel(edge, ZestProperties.TARGET_LABEL__E,
+				visible && ZestProperties.getTargetLabel(edge) != null);
+		return changed;
+	}
+
+	/**
+	 * Adds or removes the label content child for the given element and role.
+	 * The label {@link Pair}s are only allocated when a label becomes a
+	 * content child, and are reused afterwards.
+	 *
+	 * @param element
+	 *            The {@link org.eclipse.gef.graph.Node} or {@link Edge} to
+	 *            which the label belongs.
+	 * @param role
+	 *            The label role.
+	 * @param present
+	 *            <code>true</code> if the label should be a content child,
+	 *            otherwise <code>false</code>.
+	 * @return <code>true</code> if the content children changed, otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean updateLabel(Object element, String role, boolean present) {
+		Map<String, Pair<Object, String>> elementLabels = labels.get(element);
+		Pair<Object, String> label = elementLabels == null ? null : elementLabels.get(role);
+		if (present == (label != null)) {
+			return false;
+		}
+		if (present) {
+			if (elementLabels == null) {
+				elementLabels = new HashMap<>(EDGE_LABEL_ROLES.size());
+				labels.put(element, elementLabels);
+			}
+			label = new Pair<>(element, role);
+			elementLabels.put(role, label);
+		} else {
+			elementLabels.remove(role);
+			if (elementLabels.isEmpty()) {
+				labels.remove(element);
+			}
+		}
+		isOrderedContentChildrenValid = false;
+		return true;
+	}
+
+	/**
+	 * Updates the content children that are related to the given
+	 * {@link org.eclipse.gef.graph.Node}, i.e. the node itself, its external
+	 * label, and its incident edges.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} to update.
+	 * @return <code>true</code> if the content children changed, otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean updateNode(org.eclipse.gef.graph.Node node) {
+		boolean changed = updateNodeState(node);
+		// visibility of incident edges depends on node visibility
+		Set<Edge> edges = incidentEdges.get(node);
+		if (edges != null) {
+			for (Edge edge : edges) {
+				changed |= updateEdge(edge);
+				if (virtualizationBounds != null) {
+					// materialization of the opposite node depends on the
+					// visibility of the edge
+					changed |= updateNodeState(
+							edge.getSource() == node ? edge.getTarget() : edge.getSource());
+				}
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Updates the content children that are related to the given
+	 * {@link org.eclipse.gef.graph.Node} only, i.e. the node itself and its
+	 * external label, but not its incident edges.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} to update.
+	 * @return <code>true</code> if the content children changed, otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean updateNodeState(org.eclipse.gef.graph.Node node) {
+		if (node == null || node.getGraph() != indexedGraph) {
+			// not a node of the indexed graph
+			return false;
+		}
+		boolean visible = isVisible(node);
+		if (visible && !isMaterialized(node)) {
+			virtualNodes.add(node);
+			visible = false;
+		} else {
+			virtualNodes.remove(node);
+		}
+		boolean changed = updateContentChild(visibleNodes, node, visible);
+		changed |= updateLabel(node, ZestProperties.EXTERNAL_LABEL__NE,
+				visible && ZestProperties.getExternalLabel(node) != null);
+		return changed;
+	}
+
+	private <T> boolean updateContentChild(Set<T> members, T child, boolean present) {
+		if (present ? members.add(child) : members.remove(child)) {
+			isOrderedContentChildrenValid = false;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Updates the bounds of the given {@link org.eclipse.gef.graph.Node} and of
+	 * its incident {@link Edge}s within the spatial index.
+	 *
+	 * @param node
+	 *            The moved or resized {@link org.eclipse.gef.graph.Node}.
+	 */
+	private void updateSpatialIndex(org.eclipse.gef.graph.Node node) {
+		nodeGrid.put(node, getNodeBounds(node));
+		Set<Edge> edges = incidentEdges.get(node);
+		if (edges != null) {
+			for (Edge edge : edges) {
+				edgeGrid.put(edge, getEdgeBounds(edge));
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the ordered content children from the index: the visible nodes,
+	 * followed by their external labels, the visible edges, and their labels,
+	 * each in the order of the {@link Graph}. Re-shown elements thereby regain
+	 * their original position (and z-order).
+	 */
+	private void updateOrderedContentChildren() {
+		orderedContentChildren.clear();
+		isOrderedContentChildrenValid = true;
+		if (indexedGraph == null) {
+			return;
+		}
+		for (org.eclipse.gef.graph.Node node : indexedGraph.getNodes()) {
+			if (visibleNodes.contains(node)) {
+				orderedContentChildren.add(node);
+			}
+		}
+		for (org.eclipse.gef.graph.Node node : indexedGraph.getNodes()) {
+			Map<String, Pair<Object, String>> nodeLabels = labels.get(node);
+			if (nodeLabels != null) {
+				orderedContentChildren.add(nodeLabels.get(ZestProperties.EXTERNAL_LABEL__NE));
+			}
+		}
+		for (Edge edge : indexedGraph.getEdges()) {
+			if (visibleEdges.contains(edge)) {
+				orderedContentChildren.add(edge);
+			}
+		}
+		for (Edge edge : indexedGraph.getEdges()) {
+			Map<String, Pair<Object, String>> edgeLabels = labels.get(edge);
+			if (edgeLabels != null) {
+				for (String role : EDGE_LABEL_ROLES) {
+					Pair<Object, String> label = edgeLabels.get(role);
+					if (label != null) {
+						orderedContentChildren.add(label);
+					}
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.parts;
+
+/**
+ * The {@link LevelOfDetail} determines how much of the visualization of a
+ * {@link NodePart}, {@link EdgePart}, or {@link AbstractLabelPart} is
+ * rendered. It is set by the
+ * {@link org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior} depending
+ * on the current zoom level.
+ */
+public enum LevelOfDetail {
+
+	/**
+	 * Everything is rendered.
+	 */
+	FULL,
+
+	/**
+	 * Label parts (external node labels and all edge labels) and edge
+	 * decorations are not rendered.
+	 */
+	REDUCED,
+
+	/**
+	 * In addition to {@link #REDUCED}, nodes are rendered as plain rectangles
+	 * (without CSS styling), without their label, icon, nested content, and
+	 * tooltip.
+	 */
+	MINIMAL;
+
+}
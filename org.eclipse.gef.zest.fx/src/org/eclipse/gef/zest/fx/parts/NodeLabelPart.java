@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -14,7 +14,6 @@ package org.eclipse.gef.zest.fx.parts;
 
 import java.util.Map;
 
-import org.eclipse.gef.fx.utils.NodeUtils;
 import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
@@ -44,10 +43,8 @@ public class NodeLabelPart extends AbstractLabelPart {
 	public Point computeLabelPosition() {
 		IVisualPart<? extends javafx.scene.Node> firstAnchorage = getFirstAnchorage();
 		// determine bounds of anchorage visual
-		Rectangle anchorageBounds = NodeUtils
-				.sceneToLocal(getVisual().getParent(), NodeUtils.localToScene(firstAnchorage.getVisual(),
-						FX2Geometry.toRectangle(firstAnchorage.getVisual().getLayoutBounds())))
-				.getBounds();
+		Rectangle anchorageBounds = localToParent(firstAnchorage.getVisual(),
+				FX2Geometry.toRectangle(firstAnchorage.getVisual().getLayoutBounds()));
 		// determine text bounds
 		Bounds textBounds = getVisual().getLayoutBounds();
 		// TODO: compute better label position
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -15,10 +15,13 @@ package org.eclipse.gef.zest.fx.parts;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
 import org.eclipse.gef.fx.utils.NodeUtils;
 import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
 import org.eclipse.gef.geometry.planar.Dimension;
@@ -28,12 +31,15 @@ import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.IResizableContentPart;
 import org.eclipse.gef.mvc.fx.parts.ITransformableContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
 import org.eclipse.gef.zest.fx.ZestProperties;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
 
 import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableList;
 import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -108,7 +114,8 @@ public class NodePart extends AbstractContentPart<Group>
 
 	/**
 	 * The zoom level that needs to be reached for the
-	 * {@link #doGetContentChildren()} method to return a nested {@link Graph}.
+	 * {@link #doGetContentChildren()} method to return a nested {@link Graph}
+	 * (see {@link #isNestedGraphVisible()}).
 	 */
 	protected static final double ZOOMLEVEL_SHOW_NESTED_GRAPH = 2;
 
@@ -168,23 +175,56 @@ public class NodePart extends AbstractContentPart<Group>
 
 	private static final String NODE_LABEL_EMPTY = "";
 
+	// attributes for which only parts of the visual need to be refreshed
+	private static final List<String> SELECTIVELY_REFRESHED_ATTRIBUTES = Arrays.asList(ZestProperties.CSS_CLASS__NE,
+			ZestProperties.CSS_ID__NE, ZestProperties.LABEL__NE, ZestProperties.LABEL_CSS_STYLE__NE,
+			ZestProperties.SHAPE_CSS_STYLE__N, ZestProperties.ICON__N, ZestProperties.TOOLTIP__N,
+			ZestProperties.POSITION__N, ZestProperties.SIZE__N);
+
 	private MapChangeListener<String, Object> nodeAttributesObserver = new MapChangeListener<String, Object>() {
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
-			refreshVisual();
+			// coalesce all attribute changes within the same pulse
+			changedAttributes.add(change.getKey());
+			VisualRefreshScheduler scheduler = getViewer() == null ? null
+					: getViewer().getAdapter(VisualRefreshScheduler.class);
+			if (scheduler != null) {
+				scheduler.schedule(refreshChangedAttributesTask);
+			} else {
+				refreshChangedAttributes();
+			}
+		}
+	};
+
+	// the attributes that changed since the visual was last refreshed
+	private final Set<String> changedAttributes = new HashSet<>();
+	// selectively refreshes the visual for the changed attributes (once per
+	// pulse, see VisualRefreshScheduler)
+	private final Runnable refreshChangedAttributesTask = new Runnable() {
+		@Override
+		public void run() {
+			refreshChangedAttributes();
 		}
 	};
 
 	private Text labelText;
 	private ImageView iconImageView;
 	private Tooltip tooltipNode;
+	// the tooltip that is currently installed (not for the minimal level of
+	// detail)
+	private Tooltip installedTooltip;
 	private VBox vbox;
 	private Node shape;
 
 	private Node nestedGraphIcon;
+	private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+	private Rectangle minimalShape;
 	private StackPane nestedContentStackPane;
 	private Pane nestedContentPane;
 	private AnchorPane nestedContentAnchorPane;
+	// whether the visual has to be reset when this part is bound to a content
+	// element, because it was bound to a different one before
+	private boolean isResetVisual;
 
 	/**
 	 * Creates the shape used to display the node's border and background.
@@ -227,6 +267,16 @@ public class NodePart extends AbstractContentPart<Group>
 		getNestedContentPane().getChildren().add(index, child.getVisual());
 	}
 
+	@Override
+	protected void doAddChildVisuals(List<? extends IVisualPart<? extends Node>> children, int index) {
+		// add all visuals at once
+		List<Node> visuals = new ArrayList<>(children.size());
+		for (IVisualPart<? extends Node> child : children) {
+			visuals.add(child.getVisual());
+		}
+		getNestedContentPane().getChildren().addAll(index, visuals);
+	}
+
 	@Override
 	protected Group doCreateVisual() {
 		// container set-up
@@ -276,6 +326,10 @@ public class NodePart extends AbstractContentPart<Group>
 			public void resize(double w, double h) {
 				// for shape we use the exact size
 				shape.resize(w, h);
+				if (minimalShape != null) {
+					minimalShape.setWidth(w);
+					minimalShape.setHeight(h);
+				}
 				// for vbox we use the preferred size
 				vbox.setPrefSize(w, h);
 				vbox.autosize();
@@ -331,6 +385,7 @@ public class NodePart extends AbstractContentPart<Group>
 	@Override
 	protected void doDeactivate() {
 		getContent().attributesProperty().removeListener(nodeAttributesObserver);
+		changedAttributes.clear();
 		super.doDeactivate();
 	}
 
@@ -341,63 +396,22 @@ public class NodePart extends AbstractContentPart<Group>
 
 	@Override
 	protected List<? extends Object> doGetContentChildren() {
-		Graph nestedGraph = getContent().getNestedGraph();
-		if (nestedGraph == null) {
-			return Collections.emptyList();
-		}
-		// only show children when zoomed in
-		Transform tx = getVisual().getLocalToSceneTransform();
-		double scale = FX2Geometry.toAffineTransform(tx).getScaleX();
-		if (scale > ZOOMLEVEL_SHOW_NESTED_GRAPH) {
-			return Collections.singletonList(nestedGraph);
+		if (isNestedGraphVisible()) {
+			return Collections.singletonList(getContent().getNestedGraph());
 		}
 		return Collections.emptyList();
 	}
 
 	@Override
 	protected void doRefreshVisual(Group visual) {
-		org.eclipse.gef.graph.Node node = getContent();
-		if (node == null) {
+		if (getContent() == null) {
 			throw new IllegalStateException();
 		}
 
-		// set CSS class
-		Map<String, Object> attrs = node.attributesProperty();
-		List<String> cssClasses = new ArrayList<>();
-		cssClasses.add(CSS_CLASS);
-		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
-			cssClasses.add(ZestProperties.getCssClass(node));
-		}
-		if (!visual.getStyleClass().equals(cssClasses)) {
-			visual.getStyleClass().setAll(cssClasses);
-		}
-
-		// set CSS id
-		String id = null;
-		if (attrs.containsKey(ZestProperties.CSS_ID__NE)) {
-			id = ZestProperties.getCssId(node);
-		}
-		if (visual.getId() != id || id != null && !id.equals(visual.getId())) {
-			visual.setId(id);
-		}
-
+		refreshCssClassAndId();
 		refreshShape();
-
-		// set CSS style
-		if (attrs.containsKey(ZestProperties.SHAPE_CSS_STYLE__N)) {
-			if (getShape() != null) {
-				if (!getShape().getStyle().equals(ZestProperties.getShapeCssStyle(node))) {
-					getShape().setStyle(ZestProperties.getShapeCssStyle(node));
-				}
-			}
-		}
-		if (attrs.containsKey(ZestProperties.LABEL_CSS_STYLE__NE)) {
-			if (getLabelText() != null) {
-				if (!getLabelText().getStyle().equals(ZestProperties.getLabelCssStyle(node))) {
-					getLabelText().setStyle(ZestProperties.getLabelCssStyle(node));
-				}
-			}
-		}
+		refreshShapeCssStyle();
+		refreshLabelCssStyle();
 
 		if (vbox != null) {
 			if (getShape() != null && DEFAULT_SHAPE_ROLE.equals(getShape().getUserData()) || isNesting()) {
@@ -435,24 +449,8 @@ public class NodePart extends AbstractContentPart<Group>
 		refreshLabel();
 		refreshIcon();
 		refreshTooltip();
-
-		Point position = ZestProperties.getPosition(node);
-		if (position != null) {
-			Affine newTransform = new Affine(new Translate(position.x, position.y));
-			if (!NodeUtils.equals(getVisualTransform(), newTransform)) {
-				setVisualTransform(newTransform);
-			}
-		}
-
-		Dimension size = ZestProperties.getSize(node);
-		if (size != null) {
-			// XXX: Resize is needed even though the visual size is already
-			// up-to-date, because otherwise a nesting node might be resized to
-			// 0, 0 (unknown reason, need debug).
-			getVisual().resize(size.width, size.height);
-		} else {
-			getVisual().autosize();
-		}
+		refreshLevelOfDetail();
+		refreshPositionAndSize();
 	}
 
 	@Override
@@ -460,6 +458,16 @@ public class NodePart extends AbstractContentPart<Group>
 		getNestedContentPane().getChildren().remove(index);
 	}
 
+	@Override
+	protected void doRemoveChildVisuals(List<? extends IVisualPart<? extends Node>> children, int[] indices) {
+		// remove all visuals at once
+		Set<Node> visuals = new HashSet<>();
+		for (IVisualPart<? extends Node> child : children) {
+			visuals.add(child.getVisual());
+		}
+		getNestedContentPane().getChildren().removeAll(visuals);
+	}
+
 	@Override
 	public org.eclipse.gef.graph.Node getContent() {
 		return (org.eclipse.gef.graph.Node) super.getContent();
@@ -501,6 +509,16 @@ public class NodePart extends AbstractContentPart<Group>
 		return labelText;
 	}
 
+	/**
+	 * Returns the {@link LevelOfDetail} that is currently used for rendering
+	 * this {@link NodePart}.
+	 *
+	 * @return The current {@link LevelOfDetail}.
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
 	/**
 	 * Returns the {@link Pane} to which nested children are added.
 	 *
@@ -541,6 +559,37 @@ public class NodePart extends AbstractContentPart<Group>
 		}
 	}
 
+	/**
+	 * Returns <code>true</code> if the nested {@link Graph} of this
+	 * {@link NodePart} is to be displayed, i.e. if a nested {@link Graph}
+	 * exists, the {@link #ZOOMLEVEL_SHOW_NESTED_GRAPH zoom threshold} is
+	 * reached, and this {@link NodePart}'s visual is (at least partially)
+	 * within the viewport. Otherwise returns <code>false</code>, so that no
+	 * content parts are created for the nested graph.
+	 *
+	 * @return <code>true</code> if the nested {@link Graph} is to be
+	 *         displayed, otherwise <code>false</code>.
+	 */
+	public boolean isNestedGraphVisible() {
+		Group visual = getVisual();
+		if (!isNesting() || visual.getScene() == null) {
+			return false;
+		}
+		// only show children when zoomed in
+		Transform tx = visual.getLocalToSceneTransform();
+		double scale = FX2Geometry.toAffineTransform(tx).getScaleX();
+		if (scale <= ZOOMLEVEL_SHOW_NESTED_GRAPH) {
+			return false;
+		}
+		// only show children when (partially) within the viewport
+		if (getViewer() instanceof InfiniteCanvasViewer) {
+			InfiniteCanvas canvas = ((InfiniteCanvasViewer) getViewer()).getCanvas();
+			return canvas.localToScene(canvas.getLayoutBounds())
+					.intersects(visual.localToScene(visual.getLayoutBounds()));
+		}
+		return true;
+	}
+
 	/**
 	 * Returns <code>true</code> if this {@link NodePart} contains a nested
 	 * {@link Graph}. Otherwise, <code>false</code> is returned.
@@ -552,6 +601,31 @@ public class NodePart extends AbstractContentPart<Group>
 		return getContent().getNestedGraph() != null;
 	}
 
+	private void refreshCssClassAndId() {
+		org.eclipse.gef.graph.Node node = getContent();
+		Group visual = getVisual();
+		Map<String, Object> attrs = node.attributesProperty();
+
+		// set CSS class
+		List<String> cssClasses = new ArrayList<>();
+		cssClasses.add(CSS_CLASS);
+		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
+			cssClasses.add(ZestProperties.getCssClass(node));
+		}
+		if (!visual.getStyleClass().equals(cssClasses)) {
+			visual.getStyleClass().setAll(cssClasses);
+		}
+
+		// set CSS id
+		String id = null;
+		if (attrs.containsKey(ZestProperties.CSS_ID__NE)) {
+			id = ZestProperties.getCssId(node);
+		}
+		if (visual.getId() != id || id != null && !id.equals(visual.getId())) {
+			visual.setId(id);
+		}
+	}
+
 	/**
 	 * If the given <i>icon</i> is an {@link Image}, that {@link Image} will be
 	 * used as the icon of this {@link NodePart}.
@@ -576,11 +650,80 @@ public class NodePart extends AbstractContentPart<Group>
 		}
 	}
 
+	private void refreshLabelCssStyle() {
+		org.eclipse.gef.graph.Node node = getContent();
+		if (node.attributesProperty().containsKey(ZestProperties.LABEL_CSS_STYLE__NE)) {
+			if (getLabelText() != null) {
+				if (!getLabelText().getStyle().equals(ZestProperties.getLabelCssStyle(node))) {
+					getLabelText().setStyle(ZestProperties.getLabelCssStyle(node));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replaces the (CSS styled) shape of this {@link NodePart} with a plain
+	 * {@link Rectangle} within the scene graph for
+	 * {@link LevelOfDetail#MINIMAL}, and removes the label, icon, and nested
+	 * content (i.e. the container that holds them) as well as the tooltip.
+	 * Restores all of them for all other levels of detail.
+	 */
+	protected void refreshLevelOfDetail() {
+		if (vbox == null) {
+			return;
+		}
+		ObservableList<Node> children = getVisual().getChildren();
+		if (levelOfDetail == LevelOfDetail.MINIMAL) {
+			if (minimalShape == null) {
+				Bounds shapeBounds = shape == null ? getVisual().getLayoutBounds() : shape.getLayoutBounds();
+				minimalShape = new Rectangle(shapeBounds.getWidth(), shapeBounds.getHeight(), Color.WHITE);
+				minimalShape.setStroke(Color.BLACK);
+				minimalShape.setStrokeType(StrokeType.INSIDE);
+				children.add(0, minimalShape);
+			}
+			if (shape != null && shape.getParent() == getVisual()) {
+				children.remove(shape);
+			}
+			if (vbox.getParent() == getVisual()) {
+				children.remove(vbox);
+			}
+		} else if (minimalShape != null) {
+			children.remove(minimalShape);
+			minimalShape = null;
+			if (shape != null && shape.getParent() != getVisual()) {
+				children.add(0, shape);
+			}
+			if (vbox.getParent() != getVisual()) {
+				children.add(vbox);
+			}
+		}
+		refreshTooltipInstallation();
+	}
+
+	private void refreshPositionAndSize() {
+		org.eclipse.gef.graph.Node node = getContent();
+		Point position = ZestProperties.getPosition(node);
+		if (position != null) {
+			Affine newTransform = new Affine(new Translate(position.x, position.y));
+			if (!NodeUtils.equals(getVisualTransform(), newTransform)) {
+				setVisualTransform(newTransform);
+			}
+		}
+
+		Dimension size = ZestProperties.getSize(node);
+		if (size != null) {
+			// XXX: Resize is needed even though the visual size is already
+			// up-to-date, because otherwise a nesting node might be resized to
+			// 0, 0 (unknown reason, need debug).
+			getVisual().resize(size.width, size.height);
+		} else {
+			getVisual().autosize();
+		}
+	}
+
 	private void refreshShape() {
 		Node shape = ZestProperties.getShape(getContent());
 		if (this.shape != shape && shape != null) {
-			getVisual().getChildren().remove(shape);
-			this.shape = shape;
 			if (shape instanceof GeometryNode) {
 				((GeometryNode<?>) shape).setStrokeType(StrokeType.INSIDE);
 			} else if (shape instanceof Shape) {
@@ -589,7 +732,35 @@ public class NodePart extends AbstractContentPart<Group>
 			if (!shape.getStyleClass().contains(CSS_CLASS_SHAPE)) {
 				shape.getStyleClass().add(CSS_CLASS_SHAPE);
 			}
-			getVisual().getChildren().add(0, shape);
+			setShape(shape);
+		}
+	}
+
+	private void refreshShapeCssStyle() {
+		org.eclipse.gef.graph.Node node = getContent();
+		if (node.attributesProperty().containsKey(ZestProperties.SHAPE_CSS_STYLE__N)) {
+			if (getShape() != null) {
+				if (!getShape().getStyle().equals(ZestProperties.getShapeCssStyle(node))) {
+					getShape().setStyle(ZestProperties.getShapeCssStyle(node));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resets the visual to the state it was created with, so that no state
+	 * that was derived from a previous content element (i.e. shape and CSS
+	 * styles) is retained when this {@link NodePart} is re-bound to a
+	 * different content element (see {@link #setContent(Object)}).
+	 */
+	private void resetVisual() {
+		if (shape == null || !DEFAULT_SHAPE_ROLE.equals(shape.getUserData())) {
+			setShape(createDefaultShape());
+		} else {
+			shape.setStyle("");
+		}
+		if (labelText != null) {
+			labelText.setStyle("");
 		}
 	}
 
@@ -602,17 +773,105 @@ public class NodePart extends AbstractContentPart<Group>
 		if (tooltip != null && !tooltip.isEmpty()) {
 			if (tooltipNode == null) {
 				tooltipNode = new Tooltip(tooltip);
-				Tooltip.install(getVisual(), tooltipNode);
 			} else {
 				tooltipNode.setText(tooltip);
 			}
 		} else {
-			if (tooltipNode != null) {
-				Tooltip.uninstall(getVisual(), tooltipNode);
+			tooltipNode = null;
+		}
+		refreshTooltipInstallation();
+	}
+
+	private void refreshTooltipInstallation() {
+		Tooltip tooltip = levelOfDetail == LevelOfDetail.MINIMAL ? null : tooltipNode;
+		if (installedTooltip != tooltip) {
+			if (installedTooltip != null) {
+				Tooltip.uninstall(getVisual(), installedTooltip);
 			}
+			if (tooltip != null) {
+				Tooltip.install(getVisual(), tooltip);
+			}
+			installedTooltip = tooltip;
+		}
+	}
+
+	/**
+	 * Refreshes the visual for the attributes that changed since the last
+	 * refresh, unless a complete refresh of the visual is scheduled anyway.
+	 */
+	private void refreshChangedAttributes() {
+		if (changedAttributes.isEmpty()) {
+			return;
+		}
+		Set<String> attributes = new HashSet<>(changedAttributes);
+		changedAttributes.clear();
+		VisualRefreshScheduler scheduler = getViewer() == null ? null
+				: getViewer().getAdapter(VisualRefreshScheduler.class);
+		if (isActive() && (scheduler == null || !scheduler.isScheduled(this))) {
+			refreshVisual(attributes);
 		}
 	}
 
+	/**
+	 * Refreshes those aspects of the visual that are affected by the given
+	 * changed attributes. In case an attribute changed that is not
+	 * selectively handled (e.g. the shape), the complete visual is
+	 * {@link #refreshVisual() refreshed}.
+	 *
+	 * @param changedAttributes
+	 *            The names of the attributes that changed.
+	 */
+	protected void refreshVisual(Set<String> changedAttributes) {
+		if (!SELECTIVELY_REFRESHED_ATTRIBUTES.containsAll(changedAttributes)) {
+			refreshVisual();
+			return;
+		}
+		if (!isRefreshVisual()) {
+			return;
+		}
+		if (changedAttributes.contains(ZestProperties.CSS_CLASS__NE)
+				|| changedAttributes.contains(ZestProperties.CSS_ID__NE)) {
+			refreshCssClassAndId();
+		}
+		if (changedAttributes.contains(ZestProperties.SHAPE_CSS_STYLE__N)) {
+			refreshShapeCssStyle();
+		}
+		if (changedAttributes.contains(ZestProperties.LABEL_CSS_STYLE__NE)) {
+			refreshLabelCssStyle();
+		}
+		if (changedAttributes.contains(ZestProperties.LABEL__NE)) {
+			refreshLabel();
+		}
+		if (changedAttributes.contains(ZestProperties.ICON__N)) {
+			refreshIcon();
+		}
+		if (changedAttributes.contains(ZestProperties.TOOLTIP__N)) {
+			refreshTooltip();
+		}
+		// label, icon, and CSS changes may affect the size
+		refreshPositionAndSize();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * In case this {@link NodePart} is re-bound to a content element after it
+	 * was unbound from a different one (e.g. when it was retrieved from the
+	 * {@link org.eclipse.gef.mvc.fx.behaviors.ContentPartPool}), its visual
+	 * is reset before, because {@link #refreshVisual()} only applies the
+	 * attributes that are set for the new content element.
+	 */
+	@Override
+	public void setContent(Object content) {
+		if (content == null && getContent() != null) {
+			isResetVisual = true;
+		} else if (content != null && isResetVisual) {
+			isResetVisual = false;
+			resetVisual();
+		}
+		super.setContent(content);
+	}
+
 	@Override
 	public void setContentSize(Dimension size) {
 		ZestProperties.setSize(getContent(), size);
@@ -623,6 +882,35 @@ public class NodePart extends AbstractContentPart<Group>
 		ZestProperties.setPosition(getContent(), new Point(totalTransform.getTx(), totalTransform.getTy()));
 	}
 
+	/**
+	 * Sets the {@link LevelOfDetail} that is used for rendering this
+	 * {@link NodePart}.
+	 *
+	 * @param levelOfDetail
+	 *            The new {@link LevelOfDetail}.
+	 */
+	public void setLevelOfDetail(LevelOfDetail levelOfDetail) {
+		if (levelOfDetail == null) {
+			throw new IllegalArgumentException("The level of detail may not be null.");
+		}
+		if (this.levelOfDetail != levelOfDetail) {
+			this.levelOfDetail = levelOfDetail;
+			refreshLevelOfDetail();
+		}
+	}
+
+	// replaces the shape within the visual (unless the minimal level of detail
+	// is used, for which the shape is not contained in the scene graph)
+	private void setShape(Node shape) {
+		ObservableList<Node> children = getVisual().getChildren();
+		children.remove(this.shape);
+		children.remove(shape);
+		this.shape = shape;
+		if (minimalShape == null) {
+			children.add(0, shape);
+		}
+	}
+
 	/**
 	 * Creates the nested graph icon and adds it to the
 	 * {@link #getNestedContentStackPane()}.
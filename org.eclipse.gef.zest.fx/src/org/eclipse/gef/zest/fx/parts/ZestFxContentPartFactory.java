@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -14,10 +14,13 @@ package org.eclipse.gef.zest.fx.parts;
 
 import java.util.Map;
 
+import org.eclipse.gef.common.adapt.IAdaptable;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.mvc.fx.behaviors.ContentPartPool;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.zest.fx.ZestProperties;
 
 import com.google.inject.Inject;
@@ -31,11 +34,15 @@ import javafx.util.Pair;
  * {@link IContentPartFactory}. It creates {@link GraphPart}s,
  * {@link NodePart}s, and {@link EdgePart}s for the corresponding
  * {@link Graph}s, {@link Node}s, and {@link Edge}s.
+ * <p>
+ * Instead of creating new {@link NodePart}s, {@link EdgePart}s, and label
+ * parts, pooled parts of the same type are re-bound, if available in the
+ * {@link ContentPartPool} of the {@link #getAdaptable() viewer}.
  *
  * @author mwienand
  *
  */
-public class ZestFxContentPartFactory implements IContentPartFactory {
+public class ZestFxContentPartFactory extends IAdaptable.Bound.Impl<IViewer> implements IContentPartFactory {
 
 	@Inject
 	private Injector injector;
@@ -45,23 +52,40 @@ public class ZestFxContentPartFactory implements IContentPartFactory {
 	public IContentPart<? extends Node> createContentPart(Object content, Map<Object, Object> contextMap) {
 		IContentPart<? extends Node> part = null;
 		if (content instanceof Graph) {
-			part = new GraphPart();
+			part = injector.getInstance(GraphPart.class);
 		} else if (content instanceof org.eclipse.gef.graph.Node) {
-			part = new NodePart();
+			part = getPooledPart(NodePart.class);
 		} else if (content instanceof Edge) {
-			part = new EdgePart();
+			part = getPooledPart(EdgePart.class);
 		} else if (content instanceof Pair && ((Pair) content).getKey() instanceof Edge
 				&& (ZestProperties.LABEL__NE.equals(((Pair) content).getValue())
 						|| ZestProperties.EXTERNAL_LABEL__NE.equals(((Pair) content).getValue())
 						|| ZestProperties.SOURCE_LABEL__E.equals(((Pair) content).getValue())
 						|| ZestProperties.TARGET_LABEL__E.equals(((Pair) content).getValue()))) {
-			part = new EdgeLabelPart();
+			part = getPooledPart(EdgeLabelPart.class);
 		} else if (content instanceof Pair && ((Pair) content).getKey() instanceof org.eclipse.gef.graph.Node
 				&& ZestProperties.EXTERNAL_LABEL__NE.equals(((Pair) content).getValue())) {
-			part = new NodeLabelPart();
+			part = getPooledPart(NodeLabelPart.class);
 		}
-		if (part != null) {
-			injector.injectMembers(part);
+		return part;
+	}
+
+	/**
+	 * Returns a pooled part of the given type (see
+	 * {@link ContentPartPool#removeAny(Class)}), or creates a new part of the
+	 * given type if none is available.
+	 *
+	 * @param <T>
+	 *            The type of part.
+	 * @param partType
+	 *            The exact type of the part to return.
+	 * @return A pooled or newly created part of the given type.
+	 */
+	protected <T extends IContentPart<? extends Node>> T getPooledPart(Class<T> partType) {
+		ContentPartPool pool = getAdaptable() == null ? null : getAdaptable().getAdapter(ContentPartPool.class);
+		T part = pool == null ? null : pool.removeAny(partType);
+		if (part == null) {
+			part = injector.getInstance(partType);
 		}
 		return part;
 	}
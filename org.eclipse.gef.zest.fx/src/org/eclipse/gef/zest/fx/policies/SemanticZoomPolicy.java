@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 itemis AG and others.
+ * Copyright (c) 2015, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -27,6 +27,7 @@ import org.eclipse.gef.mvc.fx.parts.PartUtils;
 import org.eclipse.gef.mvc.fx.policies.ViewportPolicy;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.zest.fx.behaviors.NestedGraphBehavior;
 import org.eclipse.gef.zest.fx.models.NavigationModel;
 import org.eclipse.gef.zest.fx.operations.NavigateOperation;
 import org.eclipse.gef.zest.fx.parts.NodePart;
@@ -73,6 +74,14 @@ public class SemanticZoomPolicy extends ViewportPolicy {
 		// find the first level visual parts (not considering nested graphs)
 		List<IVisualPart<? extends Node>> rootChildren = getHost().getRoot().getChildrenUnmodifiable();
 
+		// reuse the NestedGraphBehavior of the GraphPart (if bound)
+		if (rootChildren.size() > 0) {
+			NestedGraphBehavior nestedGraphBehavior = rootChildren.get(0).getAdapter(NestedGraphBehavior.class);
+			if (nestedGraphBehavior != null) {
+				return nestedGraphBehavior.findNestingNodes();
+			}
+		}
+
 		// rootChildren.get(0) should be the GraphPart containing the
 		// NodeContentParts
 		List<IVisualPart<? extends Node>> graphChildren = rootChildren.size() > 0
@@ -181,15 +190,8 @@ public class SemanticZoomPolicy extends ViewportPolicy {
 			super.zoom(true, true, relativeZoom, sceneX, sceneY);
 		}
 
-		// synchronize content children of nesting node parts
-		// TODO: we need to extract the synchronization into a navigation
-		// behavior, so it also works when undoing a navigate operation, or when
-		// navigating graphs via OpenNestedGraphOnDoubleClickPolicy and
-		// OpenParentGraphOnDoubleClickPolicy.
-		for (NodePart nestingNodePart : findNestingNodes()) {
-			nestingNodePart.refreshContentChildren();
-			nestingNodePart.refreshVisual();
-		}
+		// the content children of nesting node parts are synchronized by the
+		// NestedGraphBehavior when the viewport changes
 		// System.out.println("zoom - " + (System.nanoTime() - startTimeNanos) /
 		// 1000 / 1000 + "ms");
 	}
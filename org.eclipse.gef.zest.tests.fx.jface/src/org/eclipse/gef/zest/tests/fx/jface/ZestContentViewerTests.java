@@ -21,8 +21,11 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
@@ -88,6 +91,76 @@ public class ZestContentViewerTests {
 		}
 	}
 
+	static class MutableContentProvider implements IGraphContentProvider {
+		private List<Object> nodes = new ArrayList<>();
+		private Map<Object, Object[]> adjacentNodes = new HashMap<>();
+		private boolean threadSafe = false;
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public Object[] getAdjacentNodes(Object node) {
+			return adjacentNodes.get(node);
+		}
+
+		@Override
+		public Object[] getNestedGraphNodes(Object node) {
+			return null;
+		}
+
+		@Override
+		public Object[] getNodes() {
+			return nodes.toArray();
+		}
+
+		@Override
+		public boolean hasNestedGraph(Object node) {
+			return false;
+		}
+
+		@Override
+		public void inputChanged(org.eclipse.jface.viewers.Viewer viewer, Object oldInput, Object newInput) {
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return threadSafe;
+		}
+	}
+
+	static class MutableLabelProvider extends LabelProvider implements IGraphAttributesProvider {
+		private Map<String, Object> nodeAttributes = new HashMap<>();
+		private Map<String, Object> edgeAttributes = new HashMap<>();
+		private Set<String> labelProperties = new HashSet<>();
+
+		@Override
+		public Map<String, Object> getEdgeAttributes(Object sourceNode, Object targetNode) {
+			return new HashMap<>(edgeAttributes);
+		}
+
+		@Override
+		public Map<String, Object> getGraphAttributes() {
+			return null;
+		}
+
+		@Override
+		public Map<String, Object> getNestedGraphAttributes(Object nestingNode) {
+			return null;
+		}
+
+		@Override
+		public Map<String, Object> getNodeAttributes(Object node) {
+			return new HashMap<>(nodeAttributes);
+		}
+
+		@Override
+		public boolean isLabelProperty(Object element, String property) {
+			return labelProperties.contains(property);
+		}
+	}
+
 	static class MyContentProvider implements IGraphContentProvider {
 		public static String alpha() {
 			return "alpha";
@@ -336,6 +409,125 @@ public class ZestContentViewerTests {
 		viewer.setLabelProvider(new MyLabelProvider());
 	}
 
+	@Test
+	public void test_addElementWithPendingEdges() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.add("A");
+		contentProvider.adjacentNodes.put("A", new Object[] { "B" });
+		viewer.setContentProvider(contentProvider);
+		viewer.setInput(new Object());
+		Graph rootGraph = viewer.getContentNodeMap().get("A").getGraph();
+		// the edge to the missing node B is deferred
+		assertEquals(0, rootGraph.getEdges().size());
+
+		// adding B creates the edge A->B
+		contentProvider.nodes.add("B");
+		viewer.add("B");
+		assertEquals(2, rootGraph.getNodes().size());
+		assertEquals(1, rootGraph.getEdges().size());
+		assertEquals(viewer.getContentNodeMap().get("B"), rootGraph.getEdges().get(0).getTarget());
+
+		// adding B again does not change anything
+		viewer.add("B");
+		assertEquals(2, rootGraph.getNodes().size());
+		assertEquals(1, rootGraph.getEdges().size());
+
+		// removing and re-adding B restores the edge A->B
+		viewer.remove("B");
+		assertEquals(0, rootGraph.getEdges().size());
+		viewer.add("B");
+		assertEquals(1, rootGraph.getEdges().size());
+		assertEquals(viewer.getContentNodeMap().get("A"), rootGraph.getEdges().get(0).getSource());
+	}
+
+	@Test
+	public void test_addRemoveElement() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.addAll(Arrays.asList("A", "B"));
+		contentProvider.adjacentNodes.put("A", new Object[] { "B" });
+		viewer.setContentProvider(contentProvider);
+		viewer.setInput(new Object());
+		Graph rootGraph = viewer.getContentNodeMap().get("A").getGraph();
+
+		contentProvider.nodes.add("C");
+		contentProvider.adjacentNodes.put("C", new Object[] { "A" });
+		viewer.add("C");
+		assertEquals(3, rootGraph.getNodes().size());
+		assertEquals(2, rootGraph.getEdges().size());
+
+		// removing B also removes the incoming edge A->B
+		viewer.remove("B");
+		assertNull(viewer.getContentNodeMap().get("B"));
+		assertEquals(2, rootGraph.getNodes().size());
+		assertEquals(1, rootGraph.getEdges().size());
+		assertEquals(viewer.getContentNodeMap().get("C"), rootGraph.getEdges().get(0).getSource());
+	}
+
+	private void assertMembership(Graph graph) {
+		for (org.eclipse.gef.graph.Node node : graph.getNodes()) {
+			assertEquals(graph, node.getGraph());
+			if (node.getNestedGraph() != null) {
+				assertEquals(node, node.getNestedGraph().getNestingNode());
+				assertMembership(node.getNestedGraph());
+			}
+		}
+		for (Edge edge : graph.getEdges()) {
+			assertEquals(graph, edge.getGraph());
+			assertEquals(graph, edge.getSource().getGraph());
+			assertEquals(graph, edge.getTarget().getGraph());
+		}
+	}
+
+	@Test
+	public void test_buildGraph() {
+		viewer.setInput(new Object());
+		Graph rootGraph = (Graph) viewer.getContentViewer().getContents().get(0);
+		Map<Object, org.eclipse.gef.graph.Node> contentNodeMap = viewer.getContentNodeMap();
+		// root graph: First -> Second -> Third -> First
+		assertEquals(Arrays.asList(contentNodeMap.get(MyContentProvider.first()),
+				contentNodeMap.get(MyContentProvider.second()), contentNodeMap.get(MyContentProvider.third())),
+				rootGraph.getNodes());
+		assertEquals(3, rootGraph.getEdges().size());
+		// nested graph: alpha -> beta -> gamma -> alpha
+		Graph nestedGraph = contentNodeMap.get(MyContentProvider.first()).getNestedGraph();
+		assertEquals(Arrays.asList(contentNodeMap.get(MyContentProvider.alpha()),
+				contentNodeMap.get(MyContentProvider.beta()), contentNodeMap.get(MyContentProvider.gamma())),
+				nestedGraph.getNodes());
+		assertEquals(3, nestedGraph.getEdges().size());
+		assertEquals(contentNodeMap.get(MyContentProvider.alpha()), nestedGraph.getEdges().get(0).getSource());
+		assertEquals(contentNodeMap.get(MyContentProvider.beta()), nestedGraph.getEdges().get(0).getTarget());
+		assertMembership(rootGraph);
+	}
+
+	@Test
+	public void test_buildGraphThreadSafeProvider() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.threadSafe = true;
+		// content elements are identified by identity
+		for (int i = 0; i < 100; i++) {
+			contentProvider.nodes.add("N" + i);
+			if (i > 0) {
+				contentProvider.adjacentNodes.put(contentProvider.nodes.get(i - 1),
+						new Object[] { contentProvider.nodes.get(i) });
+			}
+		}
+		viewer.setContentProvider(contentProvider);
+		viewer.setInput(new Object());
+		Graph rootGraph = (Graph) viewer.getContentViewer().getContents().get(0);
+		assertEquals(100, rootGraph.getNodes().size());
+		assertEquals(99, rootGraph.getEdges().size());
+		// nodes and edges are added in the order of the content elements
+		for (int i = 0; i < 100; i++) {
+			assertEquals(viewer.getContentNodeMap().get(contentProvider.nodes.get(i)), rootGraph.getNodes().get(i));
+		}
+		for (int i = 0; i < 99; i++) {
+			Edge edge = rootGraph.getEdges().get(i);
+			assertEquals(rootGraph.getNodes().get(i), edge.getSource());
+			assertEquals(rootGraph.getNodes().get(i + 1), edge.getTarget());
+		}
+		assertMembership(rootGraph);
+	}
+
 	@Test
 	public void test_colorProvider() {
 		viewer.setInput(new Object());
@@ -453,6 +645,87 @@ public class ZestContentViewerTests {
 		viewer.setInput(new Object());
 	}
 
+	@Test
+	public void test_refreshElement() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.addAll(Arrays.asList("A", "B", "C"));
+		contentProvider.adjacentNodes.put("A", new Object[] { "B" });
+		viewer.setContentProvider(contentProvider);
+		viewer.setInput(new Object());
+		org.eclipse.gef.graph.Node nodeA = viewer.getContentNodeMap().get("A");
+		org.eclipse.gef.graph.Node nodeB = viewer.getContentNodeMap().get("B");
+		Graph rootGraph = nodeA.getGraph();
+		Edge edgeAB = rootGraph.getEdges().get(0);
+
+		// redirect edge A->B to A->C, keeping the nodes
+		contentProvider.adjacentNodes.put("A", new Object[] { "B", "C" });
+		viewer.refresh("A");
+		assertEquals(2, rootGraph.getEdges().size());
+		assertTrue(rootGraph.getEdges().contains(edgeAB));
+		contentProvider.adjacentNodes.put("A", new Object[] { "C" });
+		viewer.refresh("A");
+		assertEquals(1, rootGraph.getEdges().size());
+		assertEquals(viewer.getContentNodeMap().get("C"), rootGraph.getEdges().get(0).getTarget());
+		assertEquals(nodeA, viewer.getContentNodeMap().get("A"));
+		assertEquals(nodeB, viewer.getContentNodeMap().get("B"));
+	}
+
+	@Test
+	public void test_refreshElementEdgeAttributes() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.addAll(Arrays.asList("A", "B"));
+		contentProvider.adjacentNodes.put("A", new Object[] { "B" });
+		MutableLabelProvider labelProvider = new MutableLabelProvider();
+		labelProvider.edgeAttributes.put("first", true);
+		labelProvider.edgeAttributes.put("second", true);
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(labelProvider);
+		viewer.setInput(new Object());
+		Edge edge = viewer.getContentNodeMap().get("A").getGraph().getEdges().get(0);
+		assertEquals(true, edge.getAttributes().get("first"));
+		assertEquals(true, edge.getAttributes().get("second"));
+
+		// attributes that are no longer provided are removed
+		labelProvider.edgeAttributes.remove("first");
+		viewer.update("A", null);
+		assertFalse(edge.getAttributes().containsKey("first"));
+		assertEquals(true, edge.getAttributes().get("second"));
+		labelProvider.edgeAttributes.clear();
+		viewer.refresh("A");
+		assertFalse(edge.getAttributes().containsKey("second"));
+	}
+
+	@Test
+	public void test_refreshElementNodeAttributes() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.add("A");
+		MutableLabelProvider labelProvider = new MutableLabelProvider();
+		labelProvider.nodeAttributes.put("first", true);
+		labelProvider.nodeAttributes.put("second", true);
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(labelProvider);
+		viewer.setInput(new Object());
+		org.eclipse.gef.graph.Node node = viewer.getContentNodeMap().get("A");
+		assertEquals(true, node.getAttributes().get("first"));
+		assertEquals(true, node.getAttributes().get("second"));
+
+		// attributes that are no longer provided are removed
+		labelProvider.nodeAttributes.remove("first");
+		viewer.update("A", null);
+		assertFalse(node.getAttributes().containsKey("first"));
+		assertEquals(true, node.getAttributes().get("second"));
+		// default attributes are kept if a custom attribute with the same key
+		// is no longer provided
+		labelProvider.nodeAttributes.clear();
+		labelProvider.nodeAttributes.put(ZestProperties.LABEL_CSS_STYLE__NE, "-fx-fill: red;");
+		viewer.refresh("A");
+		assertFalse(node.getAttributes().containsKey("second"));
+		assertEquals("-fx-fill: red;", ZestProperties.getLabelCssStyle(node));
+		labelProvider.nodeAttributes.clear();
+		viewer.refresh("A");
+		assertEquals("", ZestProperties.getLabelCssStyle(node));
+	}
+
 	@Test
 	public void test_selectionModel() {
 		final List<Object> expectation = new ArrayList<>();
@@ -500,6 +773,30 @@ public class ZestContentViewerTests {
 		assertEquals(firstNode, selectedPart.getContent());
 	}
 
+	@Test
+	public void test_updateLabelProperties() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.add("A");
+		MutableLabelProvider labelProvider = new MutableLabelProvider();
+		labelProvider.nodeAttributes.put("attribute", 1);
+		labelProvider.labelProperties.add("label");
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(labelProvider);
+		viewer.setInput(new Object());
+		org.eclipse.gef.graph.Node node = viewer.getContentNodeMap().get("A");
+
+		// properties that do not affect the label are ignored
+		labelProvider.nodeAttributes.put("attribute", 2);
+		viewer.update("A", new String[] { "other" });
+		assertEquals(1, node.getAttributes().get("attribute"));
+		viewer.update("A", new String[] { "other", "label" });
+		assertEquals(2, node.getAttributes().get("attribute"));
+		// unknown properties
+		labelProvider.nodeAttributes.put("attribute", 3);
+		viewer.update("A", null);
+		assertEquals(3, node.getAttributes().get("attribute"));
+	}
+
 	@Test
 	public void test_toolTipProvider() {
 		viewer.setInput(new Object());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2026 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -17,6 +17,9 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ NodeLayoutBehaviorTests.class })
+@SuiteClasses({ EdgeBundlingBehaviorTests.class, EdgePartTests.class, GraphExporterTests.class,
+		GraphLayoutBehaviorTests.class, GraphPartTests.class, HidingModelTests.class, LevelOfDetailBehaviorTests.class,
+		NestedGraphBehaviorTests.class, NodeLayoutBehaviorTests.class, NodePartTests.class,
+		VirtualizationBehaviorTests.class, ZestFxContentPartFactoryTests.class })
 public class AllTests {
 }
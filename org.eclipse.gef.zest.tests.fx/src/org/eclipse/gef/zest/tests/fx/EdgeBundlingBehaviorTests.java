@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.EdgeBundlingBehavior;
+import org.eclipse.gef.zest.fx.behaviors.EdgeBundlingBehavior.BundlingJob;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.scene.shape.Path;
+
+public class EdgeBundlingBehaviorTests {
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private static void add(BundlingJob job, double x0, double y0, double x1, double y1) {
+		job.add(new Edge(new Node(), new Node()), new Point(x0, y0), new Point(x1, y1));
+	}
+
+	private static BundlingJob createJob() {
+		return new BundlingJob(EdgeBundlingBehavior.DEFAULT_COMPATIBILITY_THRESHOLD,
+				EdgeBundlingBehavior.MAX_COMPATIBLE_EDGES);
+	}
+
+	private static Node createNode(double x, double y) {
+		Node node = new Node();
+		ZestProperties.setPosition(node, new Point(x, y));
+		ZestProperties.setSize(node, new Dimension(10, 10));
+		return node;
+	}
+
+	@Test
+	public void compatibility() {
+		BundlingJob job = createJob();
+		add(job, 0, 0, 100, 0);
+		// parallel, close
+		add(job, 0, 10, 100, 10);
+		// parallel, reversed
+		add(job, 100, 10, 0, 10);
+		// perpendicular
+		add(job, 50, -50, 50, 50);
+		// parallel, far away
+		add(job, 0, 1000, 100, 1000);
+		// parallel, different length
+		add(job, 0, 10, 20, 10);
+
+		// angle, scale, and visibility are 1, position is 100 / (100 + 10)
+		assertEquals(100d / 110, job.computeCompatibility(0, 1), 1e-9);
+		assertEquals(job.computeCompatibility(1, 0), job.computeCompatibility(0, 1), 1e-9);
+		assertEquals(job.computeCompatibility(0, 1), job.computeCompatibility(0, 2), 1e-9);
+		assertEquals(0, job.computeCompatibility(0, 3), 1e-9);
+		assertTrue(job.computeCompatibility(0, 4) < EdgeBundlingBehavior.DEFAULT_COMPATIBILITY_THRESHOLD);
+		assertTrue(job.computeCompatibility(0, 5) < EdgeBundlingBehavior.DEFAULT_COMPATIBILITY_THRESHOLD);
+	}
+
+	@Test
+	public void maxCompatibleEdges() {
+		BundlingJob job = new BundlingJob(EdgeBundlingBehavior.DEFAULT_COMPATIBILITY_THRESHOLD, 4);
+		for (int i = 0; i < 20; i++) {
+			add(job, 0, i, 100, i);
+		}
+		ForkJoinPool.commonPool().invoke(job);
+
+		for (int i = 0; i < 20; i++) {
+			int[] compatibleEdges = job.getCompatibleEdges(i);
+			assertEquals(4, compatibleEdges.length);
+		}
+		// the most compatible (i.e. closest) edges are retained
+		Set<Integer> compatibleEdges = new HashSet<>();
+		for (int j : job.getCompatibleEdges(0)) {
+			compatibleEdges.add(j);
+		}
+		assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4)), compatibleEdges);
+	}
+
+	@Test
+	public void mergedPathRendering() throws Throwable {
+		IDomain domain = Guice.createInjector(new ZestFxModule() {
+			@Override
+			protected void bindGraphPartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindGraphPartAdapters(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(EdgeBundlingBehavior.class);
+			}
+		}).getInstance(IDomain.class);
+		final IViewer viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(((InfiniteCanvasViewer) viewer).getCanvas(), 400, 400);
+
+		// parallel (compatible) edges and a single (incompatible) edge
+		List<Node> nodes = new ArrayList<>();
+		final List<Edge> bundledEdges = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Node source = createNode(0, i * 10);
+			Node target = createNode(300, i * 10);
+			nodes.add(source);
+			nodes.add(target);
+			bundledEdges.add(new Edge(source, target));
+		}
+		Node source = createNode(1000, 1000);
+		Node target = createNode(1000, 1300);
+		nodes.add(source);
+		nodes.add(target);
+		final Edge edge = new Edge(source, target);
+		List<Edge> edges = new ArrayList<>(bundledEdges);
+		edges.add(edge);
+		final Graph graph = new Graph.Builder().nodes(nodes.toArray(new Node[] {})).edges(edges.toArray(new Edge[] {}))
+				.build();
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+		final GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		final EdgeBundlingBehavior behavior = graphPart.getAdapter(EdgeBundlingBehavior.class);
+		ctx.runAndWait(() -> {
+			behavior.setMergedPathRendering(true);
+		});
+
+		// wait until the bundling is completed
+		for (int i = 0; i < 50 && graphPart.getMergedEdges().isEmpty(); i++) {
+			Thread.sleep(100);
+			ctx.runAndWait(() -> {
+				viewer.getAdapter(VisualRefreshScheduler.class).flush();
+			});
+		}
+
+		// the bundled edges are rendered by a single path instead of parts
+		assertEquals(new HashSet<>(bundledEdges), graphPart.getMergedEdges());
+		ctx.runAndWait(() -> {
+			for (Edge bundledEdge : bundledEdges) {
+				assertNull(viewer.getContentPartMap().get(bundledEdge));
+			}
+			assertNotNull(viewer.getContentPartMap().get(edge));
+			Path mergedPath = behavior.getMergedPath();
+			assertNotNull(mergedPath);
+			List<javafx.scene.Node> children = graphPart.getVisual().getChildren();
+			assertEquals(mergedPath, children.get(children.size() - 1));
+			// move to the source, line through the control points and to the
+			// target, for each bundled edge
+			assertEquals(bundledEdges.size() * ((1 << BundlingJob.CYCLES) + 1), mergedPath.getElements().size());
+		});
+
+		// the edges are rendered by their own parts again
+		ctx.runAndWait(() -> {
+			behavior.setMergedPathRendering(false);
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+			for (Edge bundledEdge : bundledEdges) {
+				assertNotNull(viewer.getContentPartMap().get(bundledEdge));
+			}
+			assertTrue(graphPart.getMergedEdges().isEmpty());
+			assertNull(behavior.getMergedPath());
+			assertFalse(graphPart.getVisual().getChildren().stream().anyMatch(child -> child instanceof Path));
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	@Test
+	public void subdivisionAndAttraction() {
+		BundlingJob job = createJob();
+		add(job, 0, 0, 100, 0);
+		add(job, 0, 10, 100, 10);
+		// not compatible with any other edge
+		add(job, 500, 450, 500, 550);
+		List<List<Point>> controlPoints = ForkJoinPool.commonPool().invoke(job);
+
+		assertEquals(3, controlPoints.size());
+		assertNull(controlPoints.get(2));
+		int expectedPoints = (1 << BundlingJob.CYCLES) - 1;
+		for (int i = 0; i < 2; i++) {
+			List<Point> points = controlPoints.get(i);
+			assertNotNull(points);
+			assertEquals(expectedPoints, points.size());
+			// subdivision points are ordered from source to target
+			for (int k = 1; k < points.size(); k++) {
+				assertTrue(points.get(k - 1).x < points.get(k).x);
+			}
+		}
+		// the edges are attracted towards each other (symmetrically)
+		Point middle0 = controlPoints.get(0).get(expectedPoints / 2);
+		Point middle1 = controlPoints.get(1).get(expectedPoints / 2);
+		assertEquals(50, middle0.x, 1e-6);
+		assertTrue(middle0.y > 0);
+		assertTrue(middle1.y < 10);
+		assertTrue(middle0.y <= middle1.y);
+		assertEquals(10, middle0.y + middle1.y, 1e-6);
+	}
+
+}
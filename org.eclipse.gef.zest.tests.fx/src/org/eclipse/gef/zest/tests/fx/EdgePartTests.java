@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.OrthogonalRouter;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+import javafx.scene.shape.Polygon;
+
+public class EdgePartTests {
+
+	/**
+	 * An {@link EdgePart} that records its complete and selective refreshes.
+	 */
+	private static class RecordingEdgePart extends EdgePart {
+		private int completeRefreshes = 0;
+		private final List<Set<String>> selectiveRefreshes = new ArrayList<>();
+
+		@Override
+		protected void doRefreshVisual(Connection visual) {
+			completeRefreshes++;
+			super.doRefreshVisual(visual);
+		}
+
+		@Override
+		protected void refreshVisual(Set<String> changedAttributes) {
+			selectiveRefreshes.add(new HashSet<>(changedAttributes));
+			super.refreshVisual(changedAttributes);
+		}
+	}
+
+	private IDomain domain;
+	private IViewer viewer;
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Before
+	public void activate() throws Throwable {
+		domain = Guice.createInjector(new ZestFxModule() {
+			@Override
+			protected void configure() {
+				super.configure();
+				binder().bind(EdgePart.class).to(RecordingEdgePart.class);
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(((InfiniteCanvasViewer) viewer).getCanvas(), 400, 400);
+		ctx.runAndWait(() -> {
+			domain.activate();
+		});
+	}
+
+	@After
+	public void deactivate() throws Throwable {
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	@Test
+	public void refreshOnlyAffectedAspects() throws Throwable {
+		Node n1 = new Node();
+		ZestProperties.setPosition(n1, new Point(0, 0));
+		Node n2 = new Node();
+		ZestProperties.setPosition(n2, new Point(200, 0));
+		final Edge edge = new Edge(n1, n2);
+		ZestProperties.setTargetDecoration(edge, new Polygon(0, 0, 10, 5, 0, 10));
+		final Graph graph = new Graph.Builder().nodes(n1, n2).edges(edge).build();
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		final RecordingEdgePart part = (RecordingEdgePart) viewer.getContentPartMap().get(edge);
+		final int completeRefreshes = part.completeRefreshes;
+
+		// style changes within the same pulse result in a single selective
+		// refresh
+		ctx.runAndWait(() -> {
+			ZestProperties.setCurveCssStyle(edge, "-fx-stroke: red;");
+			ZestProperties.setTargetDecorationCssStyle(edge, "-fx-fill: blue;");
+			ZestProperties.setCssClass(edge, "highlighted");
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		assertEquals(completeRefreshes, part.completeRefreshes);
+		assertEquals(Arrays.asList(new HashSet<>(Arrays.asList(ZestProperties.CURVE_CSS_STYLE__E,
+				ZestProperties.TARGET_DECORATION_CSS_STYLE__E, ZestProperties.CSS_CLASS__NE))),
+				part.selectiveRefreshes);
+		ctx.runAndWait(() -> {
+			Connection connection = part.getVisual();
+			assertEquals("-fx-stroke: red;", connection.getCurve().getStyle());
+			assertEquals("-fx-fill: blue;", connection.getEndDecoration().getStyle());
+			assertTrue(connection.getStyleClass().contains("highlighted"));
+		});
+
+		// a router change requires a complete refresh
+		ctx.runAndWait(() -> {
+			ZestProperties.setRouter(edge, new OrthogonalRouter());
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		assertEquals(completeRefreshes + 1, part.completeRefreshes);
+	}
+
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.export.PngGraphExporter;
+import org.eclipse.gef.zest.fx.export.SvgGraphExporter;
+import org.junit.Test;
+
+public class GraphExporterTests {
+
+	private Graph createGraph() {
+		Node n1 = new Node();
+		ZestProperties.setLabel(n1, "A & B");
+		ZestProperties.setPosition(n1, new Point(0, 0));
+		ZestProperties.setSize(n1, new Dimension(40, 20));
+		Node n2 = new Node();
+		ZestProperties.setLabel(n2, "C");
+		// layout results (center location) are used as fallback
+		LayoutProperties.setLocation(n2, new Point(120, 10));
+		LayoutProperties.setSize(n2, new Dimension(40, 20));
+		Node n3 = new Node();
+		ZestProperties.setInvisible(n3, true);
+		ZestProperties.setPosition(n3, new Point(1000, 1000));
+		return new Graph.Builder().nodes(n1, n2, n3).edges(new Edge(n1, n2), new Edge(n2, n3)).build();
+	}
+
+	@Test
+	public void exportPng() throws Exception {
+		PngGraphExporter exporter = new PngGraphExporter();
+		exporter.setPadding(0);
+		exporter.setScale(2);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.export(createGraph(), out);
+
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+		// bounds are (0, 0, 140, 20), invisible node is ignored
+		assertEquals(280, image.getWidth());
+		assertEquals(40, image.getHeight());
+	}
+
+	private int exportFillColor(String shapeStyle) throws Exception {
+		Node node = new Node();
+		ZestProperties.setPosition(node, new Point(0, 0));
+		ZestProperties.setSize(node, new Dimension(40, 20));
+		ZestProperties.setShapeCssStyle(node, shapeStyle);
+		PngGraphExporter exporter = new PngGraphExporter();
+		exporter.setPadding(0);
+		exporter.setAntialiased(false);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.export(new Graph.Builder().nodes(node).build(), out);
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+		return image.getRGB(20, 10) & 0xffffff;
+	}
+
+	@Test
+	public void exportPngColors() throws Exception {
+		assertEquals(0xff0000, exportFillColor("-fx-fill: #ff0000"));
+		assertEquals(0x00ff00, exportFillColor("-fx-fill: #0f0"));
+		assertEquals(0x0000ff, exportFillColor("-fx-fill: rgb(0, 0, 255)"));
+		assertEquals(0x008000, exportFillColor("-fx-fill: green"));
+		// unsupported values fall back to the default fill
+		assertEquals(0xf0f0ff, exportFillColor("-fx-fill: linear-gradient(red, blue)"));
+
+		// property names are parsed independent of the default locale
+		Locale defaultLocale = Locale.getDefault();
+		try {
+			Locale.setDefault(new Locale("tr", "TR"));
+			assertEquals(0xff0000, exportFillColor("-FX-FILL: RED"));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	public void exportSvg() throws Exception {
+		SvgGraphExporter exporter = new SvgGraphExporter();
+		exporter.setPadding(0);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.export(createGraph(), out);
+		String svg = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+		assertTrue(svg.contains("viewBox=\"0 0 140 20\""));
+		// two visible nodes, one visible edge (clipped at the node borders)
+		assertEquals(2, svg.split("<rect").length - 1);
+		assertEquals(1, svg.split("<polyline").length - 1);
+		assertTrue(svg.contains("points=\"40,10 100,10\""));
+		// labels are escaped
+		assertTrue(svg.contains(">A &amp; B</text>"));
+		assertFalse(svg.contains("A & B"));
+		assertTrue(svg.trim().endsWith("</svg>"));
+	}
+
+}
@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.behaviors.NestedGraphBehavior;
+import org.eclipse.gef.zest.fx.parts.AbstractLabelPart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.util.Duration;
+
+public class GraphLayoutBehaviorTests {
+
+	/**
+	 * A {@link GraphLayoutBehavior} that computes nested layouts using a
+	 * dedicated thread pool, so that the concurrent computation can be
+	 * verified.
+	 */
+	public static class PooledGraphLayoutBehavior extends GraphLayoutBehavior {
+		private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(NESTED_GRAPHS);
+
+		@Override
+		protected ExecutorService getNestedLayoutExecutor() {
+			return EXECUTOR;
+		}
+	}
+
+	/**
+	 * A {@link GridLayoutAlgorithm} that records the threads on which it is
+	 * applied, as well as the number of layout passes.
+	 */
+	private static class RecordingGridLayoutAlgorithm extends GridLayoutAlgorithm {
+		private final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+		private final AtomicInteger passes = new AtomicInteger();
+
+		@Override
+		public void applyLayout(LayoutContext context, boolean clean) {
+			threads.add(Thread.currentThread());
+			passes.incrementAndGet();
+			super.applyLayout(context, clean);
+		}
+	}
+
+	private static final int NESTED_GRAPHS = 3;
+
+	private IDomain domain;
+	private IViewer viewer;
+	private List<Graph> nestedGraphs = new ArrayList<>();
+	private List<RecordingGridLayoutAlgorithm> algorithms = new ArrayList<>();
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Before
+	public void activate() throws Throwable {
+		domain = Guice.createInjector(new ZestFxModule() {
+			@Override
+			protected void bindGraphPartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LayoutContext.class);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(PooledGraphLayoutBehavior.class);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LevelOfDetailBehavior.class);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(NestedGraphBehavior.class);
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(((InfiniteCanvasViewer) viewer).getCanvas(), 400, 400);
+		ctx.runAndWait(() -> {
+			domain.activate();
+		});
+	}
+
+	private Graph createGraph() {
+		List<Node> nestingNodes = new ArrayList<>();
+		for (int i = 0; i < NESTED_GRAPHS; i++) {
+			List<Node> nodes = new ArrayList<>();
+			List<Edge> edges = new ArrayList<>();
+			for (int j = 0; j < 5 + i; j++) {
+				Node node = new Node();
+				ZestProperties.setLabel(node, "n" + i + "." + j);
+				if (!nodes.isEmpty()) {
+					edges.add(new Edge(nodes.get(nodes.size() - 1), node));
+				}
+				nodes.add(node);
+			}
+			RecordingGridLayoutAlgorithm algorithm = new RecordingGridLayoutAlgorithm();
+			algorithms.add(algorithm);
+			Graph nestedGraph = new Graph.Builder().nodes(nodes.toArray(new Node[] {}))
+					.edges(edges.toArray(new Edge[] {})).attr(ZestProperties.LAYOUT_ALGORITHM__G, algorithm).build();
+			nestedGraphs.add(nestedGraph);
+
+			Node nesting = new Node();
+			ZestProperties.setPosition(nesting, new Point(i * 32, 0));
+			ZestProperties.setSize(nesting, new Dimension(30, 30));
+			nesting.setNestedGraph(nestedGraph);
+			nestingNodes.add(nesting);
+		}
+		return new Graph.Builder().nodes(nestingNodes.toArray(new Node[] {})).build();
+	}
+
+	@After
+	public void deactivate() throws Throwable {
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	// processes all pending layout (and JavaFX layout) passes
+	private void flush() throws Throwable {
+		for (int i = 0; i < 3; i++) {
+			ctx.runAndWait(() -> {
+				InfiniteCanvas canvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+				canvas.getScene().getRoot().applyCss();
+				canvas.getScene().getRoot().layout();
+				viewer.getAdapter(VisualRefreshScheduler.class).flush();
+			});
+		}
+	}
+
+	// asserts that the labels of the given graph do neither overlap each other
+	// nor the nodes
+	private void assertLabelsDoNotOverlap(Graph graph) {
+		List<Bounds> nodeBounds = new ArrayList<>();
+		List<Bounds> labelBounds = new ArrayList<>();
+		for (IVisualPart<? extends javafx.scene.Node> child : viewer.getContentPartMap().get(graph)
+				.getChildrenUnmodifiable()) {
+			if (child instanceof NodePart) {
+				nodeBounds.add(child.getVisual().getBoundsInParent());
+			} else if (child instanceof AbstractLabelPart) {
+				labelBounds.add(child.getVisual().getBoundsInParent());
+			}
+		}
+		assertEquals(graph.getNodes().size() + graph.getEdges().size(), labelBounds.size());
+		for (int i = 0; i < labelBounds.size(); i++) {
+			for (Bounds bounds : nodeBounds) {
+				assertFalse(labelBounds.get(i) + " overlaps " + bounds, overlaps(labelBounds.get(i), bounds));
+			}
+			for (int j = i + 1; j < labelBounds.size(); j++) {
+				assertFalse(labelBounds.get(i) + " overlaps " + labelBounds.get(j),
+						overlaps(labelBounds.get(i), labelBounds.get(j)));
+			}
+		}
+	}
+
+	// creates a row of closely spaced nodes with external labels that are
+	// wider than the nodes, so that the preferred label positions collide
+	private Graph createLabeledGraph() {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Node node = new Node();
+			ZestProperties.setPosition(node, new Point(i * 40, 0));
+			ZestProperties.setSize(node, new Dimension(30, 30));
+			ZestProperties.setExternalLabel(node, "external label " + i);
+			nodes.add(node);
+		}
+		Edge edge = new Edge(nodes.get(0), nodes.get(4));
+		ZestProperties.setLabel(edge, "edge label");
+		return new Graph.Builder().nodes(nodes.toArray(new Node[] {})).edges(edge).build();
+	}
+
+	private GraphLayoutBehavior getLayoutBehavior(Graph graph) {
+		return ((GraphPart) viewer.getContentPartMap().get(graph)).getAdapter(GraphLayoutBehavior.class);
+	}
+
+	// maps the labels of the nested nodes to their locations
+	private Map<String, Point> getLocations() {
+		Map<String, Point> locations = new TreeMap<>();
+		for (Graph nestedGraph : nestedGraphs) {
+			for (Node node : nestedGraph.getNodes()) {
+				Point location = LayoutProperties.getLocation(node);
+				assertNotNull(location);
+				locations.put(ZestProperties.getLabel(node), location);
+			}
+		}
+		return locations;
+	}
+
+	@Test
+	public void layoutRequestsCoalesced() throws Throwable {
+		final Graph graph = createLabeledGraph();
+		final RecordingGridLayoutAlgorithm algorithm = new RecordingGridLayoutAlgorithm();
+		ZestProperties.setLayoutAlgorithm(graph, algorithm);
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+		flush();
+		assertTrue(algorithm.passes.get() > 0);
+
+		// layout requests within the same pulse result in a single pass
+		algorithm.passes.set(0);
+		ctx.runAndWait(() -> {
+			GraphLayoutBehavior layoutBehavior = getLayoutBehavior(graph);
+			layoutBehavior.scheduleLayout(false);
+			layoutBehavior.scheduleLayout(true);
+			layoutBehavior.scheduleLayout(false);
+			assertEquals(0, algorithm.passes.get());
+		});
+		flush();
+		assertEquals(1, algorithm.passes.get());
+	}
+
+	@Test
+	public void layoutRequestsCoalescedWithinQuietPeriod() throws Throwable {
+		final Graph graph = createLabeledGraph();
+		final RecordingGridLayoutAlgorithm algorithm = new RecordingGridLayoutAlgorithm();
+		ZestProperties.setLayoutAlgorithm(graph, algorithm);
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+		flush();
+
+		// no layout pass is applied before the quiet period has elapsed
+		algorithm.passes.set(0);
+		ctx.runAndWait(() -> {
+			GraphLayoutBehavior layoutBehavior = getLayoutBehavior(graph);
+			layoutBehavior.setLayoutQuietPeriod(Duration.millis(500));
+			layoutBehavior.scheduleLayout(true);
+			layoutBehavior.scheduleLayout(false);
+		});
+		flush();
+		assertEquals(0, algorithm.passes.get());
+
+		// afterwards, the requests are applied in a single pass
+		Thread.sleep(1000);
+		flush();
+		assertEquals(1, algorithm.passes.get());
+	}
+
+	@Test
+	public void labelsDoNotOverlapAfterLayout() throws Throwable {
+		final Graph graph = createLabeledGraph();
+		ZestProperties.setLayoutAlgorithm(graph, new GridLayoutAlgorithm());
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+		flush();
+		ctx.runAndWait(() -> {
+			assertLabelsDoNotOverlap(graph);
+		});
+	}
+
+	@Test
+	public void labelsDoNotOverlapWhenAttached() throws Throwable {
+		// without a layout algorithm, the labels are only placed when they
+		// are attached to their anchorages
+		final Graph graph = createLabeledGraph();
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+		flush();
+		ctx.runAndWait(() -> {
+			assertLabelsDoNotOverlap(graph);
+		});
+	}
+
+	@Test
+	public void nestedLayoutsMatchSequentialLayouts() throws Throwable {
+		final Graph graph = createGraph();
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+			// zoom in, so that the nested graphs are materialized
+			InfiniteCanvas canvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+			canvas.getContentTransform().setMxx(4);
+			canvas.getContentTransform().setMyy(4);
+		});
+		flush();
+		for (Graph nestedGraph : nestedGraphs) {
+			assertNotNull(viewer.getContentPartMap().get(nestedGraph));
+			NodePart nestingPart = (NodePart) viewer.getContentPartMap().get(nestedGraph.getNestingNode());
+			assertTrue(nestingPart.isNestedGraphVisible());
+		}
+
+		// the nested layouts are computed concurrently on the worker pool
+		for (RecordingGridLayoutAlgorithm algorithm : algorithms) {
+			assertFalse(algorithm.threads.isEmpty());
+			for (Thread thread : algorithm.threads) {
+				assertTrue(thread.getName(), thread.getName().startsWith("pool-"));
+			}
+			algorithm.threads.clear();
+		}
+		final Map<String, Point> concurrentLocations = getLocations();
+
+		// apply the layouts sequentially (and synchronously)
+		ctx.runAndWait(() -> {
+			for (Graph nestedGraph : nestedGraphs) {
+				for (Node node : nestedGraph.getNodes()) {
+					LayoutProperties.setLocation(node, new Point());
+				}
+			}
+			for (Graph nestedGraph : nestedGraphs) {
+				getLayoutBehavior(nestedGraph).applyLayout(true, null);
+			}
+			// the layout is up-to-date when applyLayout() returns
+			assertEquals(concurrentLocations, getLocations());
+			for (RecordingGridLayoutAlgorithm algorithm : algorithms) {
+				assertEquals(Collections.singleton(Thread.currentThread()), algorithm.threads);
+				assertTrue(Platform.isFxApplicationThread());
+			}
+		});
+		flush();
+		assertEquals(concurrentLocations, getLocations());
+	}
+
+	// tests if the given bounds overlap, i.e. do not only touch
+	private boolean overlaps(Bounds b1, Bounds b2) {
+		return b1.getMinX() < b2.getMaxX() && b2.getMinX() < b1.getMaxX() && b1.getMinY() < b2.getMaxY()
+				&& b2.getMinY() < b1.getMaxY();
+	}
+
+	@Test
+	public void scheduledNestedLayoutsMatchSequentialLayouts() throws Throwable {
+		final Graph graph = createGraph();
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+			InfiniteCanvas canvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+			canvas.getContentTransform().setMxx(4);
+			canvas.getContentTransform().setMyy(4);
+		});
+		flush();
+
+		// apply the layouts sequentially (and synchronously)
+		final Map<String, Point> sequentialLocations = new TreeMap<>();
+		ctx.runAndWait(() -> {
+			for (Graph nestedGraph : nestedGraphs) {
+				getLayoutBehavior(nestedGraph).applyLayout(true, null);
+			}
+			sequentialLocations.putAll(getLocations());
+			// reset the locations and schedule concurrent layouts
+			for (Graph nestedGraph : nestedGraphs) {
+				for (Node node : nestedGraph.getNodes()) {
+					LayoutProperties.setLocation(node, new Point());
+				}
+				getLayoutBehavior(nestedGraph).scheduleLayout(true);
+			}
+			for (RecordingGridLayoutAlgorithm algorithm : algorithms) {
+				algorithm.threads.clear();
+			}
+		});
+		flush();
+		for (RecordingGridLayoutAlgorithm algorithm : algorithms) {
+			assertEquals(1, algorithm.threads.size());
+			assertTrue(algorithm.threads.iterator().next().getName().startsWith("pool-"));
+		}
+		assertEquals(sequentialLocations, getLocations());
+	}
+
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.junit.Test;
+
+import javafx.util.Pair;
+
+public class GraphPartTests {
+
+	private static List<? extends Object> contentChildren(GraphPart graphPart) {
+		graphPart.refreshContentChildren();
+		return graphPart.getContentChildrenUnmodifiable();
+	}
+
+	private static Pair<Object, String> label(Object element, String role) {
+		return new Pair<>(element, role);
+	}
+
+	@Test
+	public void contentChildrenOrder() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		ZestProperties.setExternalLabel(n2, "n2");
+		Edge e12 = new Edge(n1, n2);
+		ZestProperties.setLabel(e12, "e12");
+		Graph graph = new Graph.Builder().nodes(n1, n2).edges(e12).build();
+		GraphPart graphPart = new GraphPart();
+		graphPart.setContent(graph);
+
+		// nodes, node labels, edges, edge labels
+		assertEquals(Arrays.asList(n1, n2, label(n2, ZestProperties.EXTERNAL_LABEL__NE), e12,
+				label(e12, ZestProperties.LABEL__NE)), contentChildren(graphPart));
+
+		// add node with external label and edge with source label
+		Node n3 = new Node();
+		ZestProperties.setExternalLabel(n3, "n3");
+		graph.getNodes().add(n3);
+		Edge e23 = new Edge(n2, n3);
+		ZestProperties.setSourceLabel(e23, "e23");
+		graph.getEdges().add(e23);
+		assertEquals(Arrays.asList(n1, n2, n3, label(n2, ZestProperties.EXTERNAL_LABEL__NE),
+				label(n3, ZestProperties.EXTERNAL_LABEL__NE), e12, e23, label(e12, ZestProperties.LABEL__NE),
+				label(e23, ZestProperties.SOURCE_LABEL__E)), contentChildren(graphPart));
+
+		// remove and add external labels (ordered as within the graph)
+		ZestProperties.setExternalLabel(n2, (String) null);
+		ZestProperties.setExternalLabel(n1, "n1");
+		assertEquals(Arrays.asList(n1, n2, n3, label(n1, ZestProperties.EXTERNAL_LABEL__NE),
+				label(n3, ZestProperties.EXTERNAL_LABEL__NE), e12, e23, label(e12, ZestProperties.LABEL__NE),
+				label(e23, ZestProperties.SOURCE_LABEL__E)), contentChildren(graphPart));
+
+		// remove edge
+		graph.getEdges().remove(e12);
+		assertEquals(Arrays.asList(n1, n2, n3, label(n1, ZestProperties.EXTERNAL_LABEL__NE),
+				label(n3, ZestProperties.EXTERNAL_LABEL__NE), e23, label(e23, ZestProperties.SOURCE_LABEL__E)),
+				contentChildren(graphPart));
+
+		// hiding a node hides its incident edges and their labels
+		ZestProperties.setInvisible(n2, true);
+		assertEquals(Arrays.asList(n1, n3, label(n1, ZestProperties.EXTERNAL_LABEL__NE),
+				label(n3, ZestProperties.EXTERNAL_LABEL__NE)), contentChildren(graphPart));
+
+		// re-shown nodes and edges regain their position
+		ZestProperties.setInvisible(n2, false);
+		assertEquals(Arrays.asList(n1, n2, n3, label(n1, ZestProperties.EXTERNAL_LABEL__NE),
+				label(n3, ZestProperties.EXTERNAL_LABEL__NE), e23, label(e23, ZestProperties.SOURCE_LABEL__E)),
+				contentChildren(graphPart));
+		ZestProperties.setInvisible(n3, true);
+		assertEquals(Arrays.asList(n1, n2, label(n1, ZestProperties.EXTERNAL_LABEL__NE)), contentChildren(graphPart));
+
+		// remove node
+		graph.getNodes().remove(n1);
+		assertEquals(Arrays.asList(n2), contentChildren(graphPart));
+	}
+
+	@Test
+	public void virtualizationFollowsNodeMovements() {
+		Node n1 = new Node();
+		ZestProperties.setPosition(n1, new Point(0, 0));
+		ZestProperties.setSize(n1, new Dimension(10, 10));
+		Node n2 = new Node();
+		ZestProperties.setPosition(n2, new Point(2000, 0));
+		ZestProperties.setSize(n2, new Dimension(10, 10));
+		Node n3 = new Node();
+		ZestProperties.setPosition(n3, new Point(4000, 4000));
+		ZestProperties.setSize(n3, new Dimension(10, 10));
+		Edge e23 = new Edge(n2, n3);
+		Graph graph = new Graph.Builder().nodes(n1, n2, n3).edges(e23).build();
+		GraphPart graphPart = new GraphPart();
+		graphPart.setContent(graph);
+		graphPart.setVirtualizationBounds(new Rectangle(0, 0, 100, 100));
+		assertEquals(Arrays.asList(n1), contentChildren(graphPart));
+
+		// moving nodes does not change the materialization until it is
+		// refreshed
+		ZestProperties.setPosition(n2, new Point(50, 50));
+		assertEquals(Arrays.asList(n1), contentChildren(graphPart));
+
+		// the source and target nodes of a materialized edge are materialized
+		graphPart.refreshVirtualization();
+		assertEquals(Arrays.asList(n1, n2, n3, e23), contentChildren(graphPart));
+
+		// materialized nodes are virtualized when moved away
+		ZestProperties.setPosition(n1, new Point(-5000, 0));
+		ZestProperties.setPosition(n2, new Point(2000, 0));
+		graphPart.refreshVirtualization();
+		assertEquals(Collections.emptyList(), contentChildren(graphPart));
+
+		// virtual nodes are materialized when the virtualization bounds change
+		graphPart.setVirtualizationBounds(new Rectangle(-5010, -10, 20, 20));
+		assertEquals(Arrays.asList(n1), contentChildren(graphPart));
+		graphPart.setVirtualizationBounds(new Rectangle(-10000, -10000, 20000, 20000));
+		assertEquals(Arrays.asList(n1, n2, n3, e23), contentChildren(graphPart));
+	}
+
+	@Test
+	public void virtualizationUsesEstimatedNodeSize() {
+		Node n1 = new Node();
+		ZestProperties.setPosition(n1, new Point(0, 0));
+		Graph graph = new Graph.Builder().nodes(n1).build();
+		GraphPart graphPart = new GraphPart();
+		graphPart.setContent(graph);
+
+		// unmeasured nodes are assumed to be of the estimated node size
+		graphPart.setVirtualizationBounds(new Rectangle(GraphPart.DEFAULT_NODE_WIDTH - 1, 0, 100, 100));
+		assertEquals(Arrays.asList(n1), contentChildren(graphPart));
+		graphPart.setEstimatedNodeSize(new Dimension(10, 10));
+		graphPart.refreshVirtualization();
+		assertEquals(Collections.emptyList(), contentChildren(graphPart));
+
+		// measured nodes are not affected by the estimated node size
+		ZestProperties.setSize(n1, new Dimension(GraphPart.DEFAULT_NODE_WIDTH, 10));
+		graphPart.refreshVirtualization();
+		assertEquals(Arrays.asList(n1), contentChildren(graphPart));
+	}
+
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.models.HidingModel;
+import org.junit.Test;
+
+import javafx.collections.SetChangeListener;
+
+public class HidingModelTests {
+
+	@Test
+	public void hiddenNeighborCounts() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Node n3 = new Node();
+		Graph graph = new Graph.Builder().nodes(n1, n2, n3).edges(new Edge(n1, n2), new Edge(n2, n1), new Edge(n2, n3))
+				.build();
+		HidingModel hidingModel = new HidingModel();
+
+		hidingModel.hide(n1);
+		assertEquals(1, hidingModel.getHiddenNeighborCount(n2));
+		assertEquals(0, hidingModel.getHiddenNeighborCount(n3));
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+
+		hidingModel.hide(n3);
+		assertEquals(2, hidingModel.getHiddenNeighborCount(n2));
+		assertEquals(2, hidingModel.getHiddenNeighbors(n2).size());
+
+		hidingModel.show(n1);
+		assertEquals(1, hidingModel.getHiddenNeighborCount(n2));
+		assertTrue(hidingModel.getHiddenNeighbors(n2).contains(n3));
+
+		// graph changes are reflected in the counts
+		Edge e13 = new Edge(n1, n3);
+		graph.getEdges().add(e13);
+		assertEquals(1, hidingModel.getHiddenNeighborCount(n1));
+		graph.getEdges().remove(e13);
+		assertEquals(0, hidingModel.getHiddenNeighborCount(n1));
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+	}
+
+	@Test
+	public void nestedGraphNeighborCounts() {
+		Node m1 = new Node();
+		Node m2 = new Node();
+		Graph nestedGraph = new Graph.Builder().nodes(m1, m2).edges(new Edge(m1, m2)).build();
+		Node n1 = new Node();
+		Node n2 = new Node();
+		n1.setNestedGraph(nestedGraph);
+		// edge that crosses into the nested graph
+		Edge n2m1 = new Edge(n2, m1);
+		Graph graph = new Graph.Builder().nodes(n1, n2).edges(n2m1).build();
+		HidingModel hidingModel = new HidingModel();
+
+		hidingModel.hide(m1);
+		assertEquals(1, hidingModel.getHiddenNeighborCount(m2));
+		assertEquals(1, hidingModel.getHiddenNeighborCount(n2));
+
+		hidingModel.hide(n2);
+		assertEquals(1, hidingModel.getHiddenNeighborCount(m1));
+
+		// changes of the outer graph are reflected in the counts of nested
+		// nodes
+		graph.getEdges().remove(n2m1);
+		assertEquals(0, hidingModel.getHiddenNeighborCount(m1));
+		assertEquals(0, hidingModel.getHiddenNeighborCount(n2));
+		graph.getEdges().add(n2m1);
+		assertEquals(1, hidingModel.getHiddenNeighborCount(m1));
+		assertEquals(1, hidingModel.getHiddenNeighborCount(n2));
+
+		// showing all nodes releases the graphs
+		hidingModel.show(m1);
+		hidingModel.show(n2);
+		assertEquals(0, hidingModel.getHiddenNeighborCount(m1));
+		assertEquals(0, hidingModel.getHiddenNeighborCount(m2));
+		assertEquals(0, hidingModel.getHiddenNeighborCount(n2));
+		graph.getEdges().remove(n2m1);
+		nestedGraph.getEdges().clear();
+
+		// graphs are re-indexed when hiding again
+		graph.getEdges().add(n2m1);
+		hidingModel.hide(n2);
+		assertEquals(1, hidingModel.getHiddenNeighborCount(m1));
+		assertEquals(0, hidingModel.getHiddenNeighborCount(m2));
+	}
+
+	@Test
+	public void targetedNotifications() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Node n3 = new Node();
+		new Graph.Builder().nodes(n1, n2, n3).edges(new Edge(n1, n2)).build();
+		HidingModel hidingModel = new HidingModel();
+
+		final List<Node> notified = new ArrayList<>();
+		SetChangeListener<Node> listener = new SetChangeListener<Node>() {
+			@Override
+			public void onChanged(SetChangeListener.Change<? extends Node> change) {
+				notified.add(change.wasAdded() ? change.getElementAdded() : change.getElementRemoved());
+			}
+		};
+		hidingModel.addListener(n2, listener);
+
+		// neighbor of n2
+		hidingModel.hide(n1);
+		assertEquals(1, notified.size());
+		// not related to n2
+		hidingModel.hide(n3);
+		assertEquals(1, notified.size());
+		// n2 itself
+		hidingModel.hide(n2);
+		assertEquals(2, notified.size());
+
+		hidingModel.removeListener(n2, listener);
+		hidingModel.show(n1);
+		assertEquals(2, notified.size());
+	}
+
+}
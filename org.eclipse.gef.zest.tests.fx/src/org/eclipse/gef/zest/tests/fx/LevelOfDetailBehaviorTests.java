@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.AbstractLabelPart;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.LevelOfDetail;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+import javafx.scene.shape.Polygon;
+
+public class LevelOfDetailBehaviorTests {
+
+	// the key under which an installed tooltip is stored in the properties of
+	// a node
+	private static final String TOOLTIP_PROPERTY_KEY = "javafx.scene.control.Tooltip";
+
+	private IDomain domain;
+	private IViewer viewer;
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Before
+	public void activate() throws Throwable {
+		domain = Guice.createInjector(new ZestFxModule()).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(((InfiniteCanvasViewer) viewer).getCanvas(), 400, 400);
+		ctx.runAndWait(() -> {
+			domain.activate();
+		});
+	}
+
+	private void assertLevelOfDetail(LevelOfDetail levelOfDetail, NodePart nodePart, EdgePart edgePart,
+			List<AbstractLabelPart> labelParts) {
+		boolean full = levelOfDetail == LevelOfDetail.FULL;
+		boolean minimal = levelOfDetail == LevelOfDetail.MINIMAL;
+		assertEquals(levelOfDetail, nodePart.getLevelOfDetail());
+		// shape and label container, or only the plain rectangle
+		assertEquals(minimal ? 1 : 2, nodePart.getVisual().getChildren().size());
+		assertEquals(!minimal, nodePart.getVisual().getProperties().containsKey(TOOLTIP_PROPERTY_KEY));
+		// curve and target decoration
+		assertEquals(levelOfDetail, edgePart.getLevelOfDetail());
+		assertEquals(full ? 2 : 1, edgePart.getVisual().getChildren().size());
+		// external node label, and edge label, source label, and target label
+		assertEquals(4, labelParts.size());
+		for (AbstractLabelPart labelPart : labelParts) {
+			assertEquals(levelOfDetail, labelPart.getLevelOfDetail());
+			assertEquals(labelPart.getContent().getValue(), full ? 1 : 0, labelPart.getVisual().getChildren().size());
+		}
+	}
+
+	@After
+	public void deactivate() throws Throwable {
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	@Test
+	public void sceneGraphChildrenPerLevelOfDetail() throws Throwable {
+		Node n1 = new Node();
+		ZestProperties.setLabel(n1, "n1");
+		ZestProperties.setExternalLabel(n1, "external");
+		ZestProperties.setTooltip(n1, "tooltip");
+		ZestProperties.setPosition(n1, new Point(0, 0));
+		Node n2 = new Node();
+		ZestProperties.setPosition(n2, new Point(200, 0));
+		Edge e = new Edge(n1, n2);
+		ZestProperties.setLabel(e, "label");
+		ZestProperties.setSourceLabel(e, "source");
+		ZestProperties.setTargetLabel(e, "target");
+		ZestProperties.setTargetDecoration(e, new Polygon(0, 0, 10, 5, 0, 10));
+		final Graph graph = new Graph.Builder().nodes(n1, n2).edges(e).build();
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+
+		final NodePart nodePart = (NodePart) viewer.getContentPartMap().get(n1);
+		final EdgePart edgePart = (EdgePart) viewer.getContentPartMap().get(e);
+		final List<AbstractLabelPart> labelParts = new ArrayList<>();
+		for (IVisualPart<? extends javafx.scene.Node> child : ((GraphPart) viewer.getContentPartMap().get(graph))
+				.getChildrenUnmodifiable()) {
+			if (child instanceof AbstractLabelPart) {
+				labelParts.add((AbstractLabelPart) child);
+			}
+		}
+
+		final InfiniteCanvas canvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+		ctx.runAndWait(() -> {
+			assertLevelOfDetail(LevelOfDetail.FULL, nodePart, edgePart, labelParts);
+			canvas.getContentTransform().setMxx(0.4);
+			assertLevelOfDetail(LevelOfDetail.REDUCED, nodePart, edgePart, labelParts);
+			canvas.getContentTransform().setMxx(0.2);
+			assertLevelOfDetail(LevelOfDetail.MINIMAL, nodePart, edgePart, labelParts);
+			canvas.getContentTransform().setMxx(0.4);
+			assertLevelOfDetail(LevelOfDetail.REDUCED, nodePart, edgePart, labelParts);
+			canvas.getContentTransform().setMxx(1);
+			assertLevelOfDetail(LevelOfDetail.FULL, nodePart, edgePart, labelParts);
+		});
+	}
+
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+public class NestedGraphBehaviorTests {
+
+	private IDomain domain;
+	private IViewer viewer;
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Before
+	public void activate() throws Throwable {
+		domain = Guice.createInjector(new ZestFxModule()).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(((InfiniteCanvasViewer) viewer).getCanvas(), 400, 400);
+		ctx.runAndWait(() -> {
+			domain.activate();
+		});
+	}
+
+	@After
+	public void deactivate() throws Throwable {
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	private void setViewport(final double zoom, final double tx) throws Throwable {
+		ctx.runAndWait(() -> {
+			InfiniteCanvas canvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+			canvas.getContentTransform().setMxx(zoom);
+			canvas.getContentTransform().setMyy(zoom);
+			canvas.getContentTransform().setTx(tx);
+		});
+		// process the coalesced update
+		ctx.runAndWait(() -> {
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+	}
+
+	@Test
+	public void materializeWhenCrossingThreshold() throws Throwable {
+		Node nested = new Node();
+		Graph nestedGraph = new Graph.Builder().nodes(nested).build();
+		Node nesting = new Node();
+		ZestProperties.setPosition(nesting, new Point(10, 10));
+		ZestProperties.setSize(nesting, new Dimension(50, 50));
+		nesting.setNestedGraph(nestedGraph);
+		final Graph graph = new Graph.Builder().nodes(nesting).build();
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+
+		// below the zoom threshold
+		setViewport(1, 0);
+		assertNotNull(viewer.getContentPartMap().get(nesting));
+		assertNull(viewer.getContentPartMap().get(nested));
+
+		// above the zoom threshold and within the viewport
+		setViewport(4, 0);
+		assertNotNull(viewer.getContentPartMap().get(nested));
+
+		// above the zoom threshold but outside of the viewport
+		setViewport(4, -1000);
+		assertNull(viewer.getContentPartMap().get(nested));
+
+		// within the viewport again
+		setViewport(4, 0);
+		assertNotNull(viewer.getContentPartMap().get(nested));
+
+		// below the zoom threshold again
+		setViewport(1, 0);
+		assertNull(viewer.getContentPartMap().get(nested));
+	}
+
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+
+public class NodePartTests {
+
+	/**
+	 * A {@link NodePart} that records its complete and selective refreshes.
+	 */
+	private static class RecordingNodePart extends NodePart {
+		private int completeRefreshes = 0;
+		private int labelRefreshes = 0;
+		private final List<Set<String>> selectiveRefreshes = new ArrayList<>();
+
+		@Override
+		protected void doRefreshVisual(Group visual) {
+			completeRefreshes++;
+			super.doRefreshVisual(visual);
+		}
+
+		@Override
+		protected void refreshLabel() {
+			labelRefreshes++;
+			super.refreshLabel();
+		}
+
+		@Override
+		protected void refreshVisual(Set<String> changedAttributes) {
+			selectiveRefreshes.add(new HashSet<>(changedAttributes));
+			super.refreshVisual(changedAttributes);
+		}
+	}
+
+	private IDomain domain;
+	private IViewer viewer;
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Before
+	public void activate() throws Throwable {
+		domain = Guice.createInjector(new ZestFxModule() {
+			@Override
+			protected void configure() {
+				super.configure();
+				binder().bind(NodePart.class).to(RecordingNodePart.class);
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(((InfiniteCanvasViewer) viewer).getCanvas(), 400, 400);
+		ctx.runAndWait(() -> {
+			domain.activate();
+		});
+	}
+
+	@After
+	public void deactivate() throws Throwable {
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	@Test
+	public void refreshOnlyAffectedAspects() throws Throwable {
+		final Node node = new Node();
+		ZestProperties.setLabel(node, "label");
+		ZestProperties.setPosition(node, new Point(0, 0));
+		final Graph graph = new Graph.Builder().nodes(node).build();
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		final RecordingNodePart part = (RecordingNodePart) viewer.getContentPartMap().get(node);
+		final int completeRefreshes = part.completeRefreshes;
+		final int labelRefreshes = part.labelRefreshes;
+
+		// style changes within the same pulse result in a single selective
+		// refresh that does not update the label
+		ctx.runAndWait(() -> {
+			ZestProperties.setShapeCssStyle(node, "-fx-fill: red;");
+			ZestProperties.setLabelCssStyle(node, "-fx-fill: blue;");
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		assertEquals(completeRefreshes, part.completeRefreshes);
+		assertEquals(labelRefreshes, part.labelRefreshes);
+		assertEquals(Arrays.asList(new HashSet<>(
+				Arrays.asList(ZestProperties.SHAPE_CSS_STYLE__N, ZestProperties.LABEL_CSS_STYLE__NE))),
+				part.selectiveRefreshes);
+		ctx.runAndWait(() -> {
+			assertEquals("-fx-fill: red;", part.getShape().getStyle());
+		});
+
+		// a label change only refreshes the label
+		ctx.runAndWait(() -> {
+			ZestProperties.setLabel(node, "changed");
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		assertEquals(completeRefreshes, part.completeRefreshes);
+		assertEquals(labelRefreshes + 1, part.labelRefreshes);
+
+		// a shape change requires a complete refresh
+		ctx.runAndWait(() -> {
+			ZestProperties.setShape(node, new Rectangle(20, 20));
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		assertEquals(completeRefreshes + 1, part.completeRefreshes);
+	}
+
+}
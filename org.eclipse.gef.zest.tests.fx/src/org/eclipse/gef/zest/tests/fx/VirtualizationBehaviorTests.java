@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.VirtualizationBehavior;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.multibindings.MapBinder;
+
+public class VirtualizationBehaviorTests {
+
+	/**
+	 * An {@link ILayoutAlgorithm} that arranges all nodes in a single row
+	 * (based on their layout sizes), and records the layout sizes of the last
+	 * pass.
+	 */
+	private static class RowLayoutAlgorithm implements ILayoutAlgorithm {
+		private static final double GAP = 100;
+		private final Map<Node, Dimension> sizes = new IdentityHashMap<>();
+
+		@Override
+		public void applyLayout(LayoutContext layoutContext, boolean clean) {
+			sizes.clear();
+			double x = 0;
+			for (Node node : layoutContext.getNodes()) {
+				Dimension size = LayoutProperties.getSize(node);
+				sizes.put(node, size);
+				LayoutProperties.setLocation(node, new Point(x + size.width / 2, size.height / 2));
+				x += size.width + GAP;
+			}
+		}
+	}
+
+	private static final int NODES = 40;
+
+	private IDomain domain;
+	private IViewer viewer;
+	private RowLayoutAlgorithm algorithm = new RowLayoutAlgorithm();
+	private List<Node> nodes = new ArrayList<>();
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Before
+	public void activate() throws Throwable {
+		domain = Guice.createInjector(new ZestFxModule() {
+			@Override
+			protected void bindGraphPartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindGraphPartAdapters(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(VirtualizationBehavior.class);
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(((InfiniteCanvasViewer) viewer).getCanvas(), 400, 400);
+		ctx.runAndWait(() -> {
+			domain.activate();
+		});
+		for (int i = 0; i < NODES; i++) {
+			Node node = new Node();
+			ZestProperties.setLabel(node, "node " + i);
+			nodes.add(node);
+		}
+		final Graph graph = new Graph.Builder().nodes(nodes.toArray(new Node[] {}))
+				.attr(ZestProperties.LAYOUT_ALGORITHM__G, algorithm).build();
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+		flush();
+	}
+
+	// asserts that the materialized nodes were laid out using their measured
+	// sizes, and the virtual nodes using the estimated node size
+	private void assertLaidOut() {
+		GraphPart graphPart = getGraphPart();
+		Dimension estimatedSize = graphPart.getEstimatedNodeSize();
+		assertTrue(estimatedSize.width > 0 && estimatedSize.height > 0);
+		assertFalse(graphPart.getVirtualNodes().isEmpty());
+		assertEquals(NODES, algorithm.sizes.size());
+		for (Node node : nodes) {
+			Dimension size = algorithm.sizes.get(node);
+			if (viewer.getContentPartMap().containsKey(node)) {
+				assertNotNull(ZestProperties.getSize(node));
+				assertEquals(ZestProperties.getSize(node), size);
+			} else if (ZestProperties.getSize(node) == null) {
+				assertEquals(estimatedSize, size);
+			}
+		}
+	}
+
+	@After
+	public void deactivate() throws Throwable {
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	// processes all pending layout (and JavaFX layout) passes
+	private void flush() throws Throwable {
+		for (int i = 0; i < 5; i++) {
+			ctx.runAndWait(() -> {
+				InfiniteCanvas canvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+				canvas.getScene().getRoot().applyCss();
+				canvas.getScene().getRoot().layout();
+				viewer.getAdapter(VisualRefreshScheduler.class).flush();
+			});
+		}
+	}
+
+	private GraphPart getGraphPart() {
+		return (GraphPart) viewer.getContentPartMap().get(nodes.get(0).getGraph());
+	}
+
+	@Test
+	public void layoutUponMaterialization() throws Throwable {
+		Node last = nodes.get(NODES - 1);
+		assertFalse(viewer.getContentPartMap().containsKey(last));
+		assertNull(ZestProperties.getSize(last));
+
+		// scroll to the last node, so that it is materialized and measured
+		ctx.runAndWait(() -> {
+			InfiniteCanvas canvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+			canvas.setHorizontalScrollOffset(-ZestProperties.getPosition(last).x);
+		});
+		flush();
+		NodePart lastPart = (NodePart) viewer.getContentPartMap().get(last);
+		assertNotNull(lastPart);
+		assertEquals(lastPart.getVisual().getLayoutBounds().getWidth(), ZestProperties.getSize(last).width, 0.5);
+		assertLaidOut();
+	}
+
+	@Test
+	public void virtualNodesLaidOutWithEstimatedSize() throws Throwable {
+		assertLaidOut();
+		// the estimated size is derived from the materialized nodes
+		GraphPart graphPart = getGraphPart();
+		assertEquals(ZestProperties.getSize(nodes.get(0)).height, graphPart.getEstimatedNodeSize().height, 0.5);
+		for (Node node : graphPart.getVirtualNodes()) {
+			assertNotNull(ZestProperties.getPosition(node));
+		}
+	}
+
+}
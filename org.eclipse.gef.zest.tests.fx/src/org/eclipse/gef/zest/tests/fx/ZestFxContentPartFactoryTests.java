@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.nodes.OrthogonalRouter;
+import org.eclipse.gef.fx.nodes.PolyBezierInterpolator;
+import org.eclipse.gef.fx.nodes.PolylineInterpolator;
+import org.eclipse.gef.fx.nodes.StraightRouter;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.behaviors.ContentPartPool;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.VisualRefreshScheduler;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import javafx.scene.shape.Polygon;
+
+/**
+ * Tests for the re-binding of pooled parts by the
+ * {@link org.eclipse.gef.zest.fx.parts.ZestFxContentPartFactory}.
+ */
+public class ZestFxContentPartFactoryTests {
+
+	private Injector injector;
+	private IDomain domain;
+	private IViewer viewer;
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IContentPart<? extends javafx.scene.Node> createAndPool(Object content) {
+		IContentPart<? extends javafx.scene.Node> part = viewer.getAdapter(IContentPartFactory.class)
+				.createContentPart(content, Collections.emptyMap());
+		// pool the part like ContentBehavior does
+		part.setContent(content);
+		assertTrue(viewer.getAdapter(ContentPartPool.class).add(part));
+		part.setContent(null);
+		return part;
+	}
+
+	@Test
+	public void prewarmInjectsAdapters() throws Exception {
+		ContentPartPool pool = new ContentPartPool() {
+			@Override
+			protected Executor getAdapterInjectionExecutor() {
+				return Runnable::run;
+			}
+
+			@Override
+			protected Executor getPrewarmExecutor() {
+				return Runnable::run;
+			}
+		};
+		injector.injectMembers(pool);
+		pool.setAdaptable(viewer);
+		pool.prewarm(NodePart.class, 1).get();
+		NodePart part = pool.removeAny(NodePart.class);
+		// the adapters are injected, but the part is not bound to the viewer
+		assertFalse(part.getAdapters().isEmpty());
+		assertNull(part.getViewer());
+		assertFalse(viewer.getVisualPartMap().containsValue(part));
+	}
+
+	@Test
+	public void rebindPooledParts() {
+		IContentPartFactory factory = viewer.getAdapter(IContentPartFactory.class);
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Edge e1 = new Edge(n1, n2);
+		Graph graph = new Graph.Builder().nodes(n1, n2).edges(e1).build();
+
+		// node and edge parts are re-bound
+		IContentPart<? extends javafx.scene.Node> nodePart = createAndPool(n1);
+		assertSame(nodePart, factory.createContentPart(new Node(), Collections.emptyMap()));
+		IContentPart<? extends javafx.scene.Node> edgePart = createAndPool(e1);
+		assertTrue(edgePart instanceof EdgePart);
+		assertSame(edgePart, factory.createContentPart(new Edge(n1, n2), Collections.emptyMap()));
+
+		// graph parts are not re-bound
+		IContentPart<? extends javafx.scene.Node> graphPart = createAndPool(graph);
+		assertTrue(graphPart instanceof GraphPart);
+		assertNotSame(graphPart, factory.createContentPart(new Graph(), Collections.emptyMap()));
+	}
+
+	@Test
+	public void rebindResetsEdgeVisual() throws Throwable {
+		Node n1 = new Node();
+		ZestProperties.setPosition(n1, new Point(0, 0));
+		Node n2 = new Node();
+		ZestProperties.setPosition(n2, new Point(200, 100));
+		final Edge e1 = new Edge(n1, n2);
+		ZestProperties.setCssClass(e1, "custom");
+		ZestProperties.setCssId(e1, "e1");
+		ZestProperties.setCurve(e1, new GeometryNode<>());
+		ZestProperties.setCurveCssStyle(e1, "-fx-stroke: red;");
+		ZestProperties.setSourceDecoration(e1, new Polygon(0, 0, 10, 5, 0, 10));
+		ZestProperties.setTargetDecoration(e1, new Polygon(0, 0, 10, 5, 0, 10));
+		ZestProperties.setRouter(e1, new OrthogonalRouter());
+		ZestProperties.setInterpolator(e1, new PolyBezierInterpolator());
+		final Edge e2 = new Edge(n1, n2);
+		final Graph graph = new Graph.Builder().nodes(n1, n2).edges(e1).build();
+
+		ctx.createScene(((InfiniteCanvasViewer) viewer).getCanvas(), 400, 400);
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Collections.singletonList(graph));
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		final EdgePart edgePart = (EdgePart) viewer.getContentPartMap().get(e1);
+		final javafx.scene.Node customCurve = ZestProperties.getCurve(e1);
+		assertSame(customCurve, edgePart.getCurve());
+		assertTrue(edgePart.getVisual().getRouter() instanceof OrthogonalRouter);
+
+		// replace the routed and decorated edge by a plain one, so that the
+		// edge part is re-bound
+		ctx.runAndWait(() -> {
+			graph.getEdges().setAll(e2);
+			viewer.getAdapter(VisualRefreshScheduler.class).flush();
+		});
+		assertSame(edgePart, viewer.getContentPartMap().get(e2));
+
+		// no visual state of the previous edge is retained
+		Connection visual = edgePart.getVisual();
+		assertEquals(Collections.singletonList(EdgePart.CSS_CLASS), visual.getStyleClass());
+		assertNull(visual.getId());
+		assertNotSame(customCurve, visual.getCurve());
+		assertEquals("", visual.getCurve().getStyle());
+		assertNull(visual.getStartDecoration());
+		assertNull(visual.getEndDecoration());
+		assertTrue(visual.getRouter() instanceof StraightRouter);
+		assertTrue(visual.getInterpolator() instanceof PolylineInterpolator);
+
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+
+	@Before
+	public void setUp() {
+		injector = Guice.createInjector(new ZestFxModule());
+		domain = injector.getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+	}
+
+}